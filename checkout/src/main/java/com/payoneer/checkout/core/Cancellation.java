@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.core;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import android.util.Log;
+
+/**
+ * Class signalling the cancellation of a background task to the blocking calls made by this task.
+ * <p>
+ * Interrupting a thread does not abort blocking socket I/O. A blocking call therefore registers an action,
+ * i.e. disconnecting its HttpURLConnection, with the Cancellation of the current thread. All registered actions
+ * are run when the task is cancelled.
+ */
+public final class Cancellation {
+
+    private final static ThreadLocal<Cancellation> CURRENT = new ThreadLocal<>();
+
+    private final Map<Object, Runnable> actions = new IdentityHashMap<>();
+    private boolean cancelled;
+
+    /**
+     * Get the Cancellation attached to the current thread
+     *
+     * @return the Cancellation or null if the current thread is not running a cancellable task
+     */
+    public static Cancellation current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Attach the Cancellation to the current thread. The returned Cancellation must be attached again
+     * when the current thread has finished running the cancellable task.
+     *
+     * @param cancellation to attach or null to detach the current Cancellation
+     * @return the Cancellation previously attached to the current thread
+     */
+    public static Cancellation attach(Cancellation cancellation) {
+        Cancellation previous = CURRENT.get();
+        if (cancellation == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(cancellation);
+        }
+        return previous;
+    }
+
+    /**
+     * Check if this Cancellation has been cancelled
+     *
+     * @return true when cancelled, false otherwise
+     */
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Register the action to be run when this Cancellation is cancelled.
+     * When this Cancellation has already been cancelled, the action is run immediately.
+     *
+     * @param key identifying the action, i.e. the HttpURLConnection to be disconnected
+     * @param action to be run when cancelled
+     * @return true when registered, false when already cancelled
+     */
+    public boolean register(Object key, Runnable action) {
+        synchronized (this) {
+            if (!cancelled) {
+                actions.put(key, action);
+                return true;
+            }
+        }
+        runAction(action);
+        return false;
+    }
+
+    /**
+     * Unregister the action, i.e. when the blocking call has been completed
+     *
+     * @param key identifying the action
+     */
+    public synchronized void unregister(Object key) {
+        actions.remove(key);
+    }
+
+    /**
+     * Cancel and run all registered actions, this method does nothing when already cancelled
+     */
+    void cancel() {
+        List<Runnable> list;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            list = new ArrayList<>(actions.values());
+            actions.clear();
+        }
+        for (Runnable action : list) {
+            runAction(action);
+        }
+    }
+
+    private static void runAction(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            Log.w("Checkout", e);
+        }
+    }
+}
@@ -21,6 +21,9 @@ public class PaymentException extends Exception {
     /** Indicates that the exception is caused by a network failure, e.g. poor wifi connection */
     private boolean networkFailure;
 
+    /** The number of times the request was retried before this exception was thrown */
+    private int retryCount;
+
     /**
      * {@inheritDoc}
      *
@@ -60,6 +63,32 @@ public class PaymentException extends Exception {
         this.networkFailure = networkFailure;
     }
 
+    /**
+     * Constructs a new PaymentException with a message, the cause and networkFailure flag
+     *
+     * @param message containing a description of the error
+     * @param cause of the error
+     * @param networkFailure indicates that the exception was caused by a network failure
+     */
+    public PaymentException(final String message, final Throwable cause, boolean networkFailure) {
+        super(message, cause);
+        this.networkFailure = networkFailure;
+    }
+
+    /**
+     * Constructs a new PaymentException with a message, the cause, networkFailure flag and the number of retries
+     *
+     * @param message containing a description of the error
+     * @param cause of the error
+     * @param networkFailure indicates that the exception was caused by a network failure
+     * @param retryCount the number of times the request was retried
+     */
+    public PaymentException(final String message, final Throwable cause, boolean networkFailure, int retryCount) {
+        super(message, cause);
+        this.networkFailure = networkFailure;
+        this.retryCount = retryCount;
+    }
+
     /**
      * Constructs a new PaymentException
      *
@@ -77,4 +106,8 @@ public class PaymentException extends Exception {
     public boolean getNetworkFailure() {
         return networkFailure;
     }
+
+    public int getRetryCount() {
+        return retryCount;
+    }
 }
@@ -77,6 +77,27 @@ public class PaymentInputType {
         return false;
     }
 
+    /**
+     * Check if the given type is a sensitive payment input type, values of sensitive types must not be kept in memory
+     * longer than needed to submit them.
+     *
+     * @param type the payment input type to check
+     * @return true when sensitive, false otherwise
+     */
+    public static boolean isSensitive(final String type) {
+
+        if (type != null) {
+            switch (type) {
+                case ACCOUNT_NUMBER:
+                case IBAN:
+                case PASSWORD:
+                case VERIFICATION_CODE:
+                    return true;
+            }
+        }
+        return false;
+    }
+
     @Retention(RetentionPolicy.SOURCE)
     @StringDef({
         HOLDER_NAME,
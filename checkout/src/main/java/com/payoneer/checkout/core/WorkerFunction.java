@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.core;
+
+/**
+ * WorkerFunction transforming the result of a WorkerFuture
+ */
+public interface WorkerFunction<T, R> {
+
+    /**
+     * Apply this function to the result of a WorkerFuture
+     *
+     * @param value the result of the WorkerFuture
+     * @return the transformed result
+     */
+    R apply(T value) throws Exception;
+}
@@ -0,0 +1,451 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import android.os.Handler;
+import android.os.Looper;
+
+/**
+ * A WorkerFuture holding the result of a background task and notifying the WorkerSubscriber once it is completed.
+ * <p>
+ * WorkerFutures can be chained and combined, cancelling a WorkerFuture also cancels the WorkerFutures it depends on.
+ * Cancellation interrupts the running task and runs the actions registered with its Cancellation, i.e. disconnecting
+ * the HttpURLConnection, so that blocking network I/O is aborted. The WorkerSubscriber is notified on the main UI
+ * Thread and is never notified after the WorkerFuture has been cancelled.
+ * The WorkerSubscriber must be subscribed or unsubscribed on the main UI Thread.
+ */
+public final class WorkerFuture<V> implements Future<V> {
+
+    private final static int PENDING = 0;
+    private final static int SUCCEEDED = 1;
+    private final static int FAILED = 2;
+    private final static int CANCELLED = 3;
+
+    private final Cancellation cancellation = new Cancellation();
+    private final List<Runnable> listeners = new ArrayList<>();
+    private final List<WorkerFuture<?>> upstreams = new ArrayList<>();
+
+    private int state;
+    private V value;
+    private Throwable error;
+    private Thread runner;
+
+    private volatile WorkerSubscriber<V> subscriber;
+    private boolean delivered;
+
+    private final Executor executor;
+
+    private WorkerFuture(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Submit the Callable to the executor and return the WorkerFuture holding its result.
+     * When the executor rejects the Callable the WorkerFuture fails with a RejectedExecutionException.
+     *
+     * @param executor running the Callable
+     * @param callable the Callable to run in the background
+     * @return newly created WorkerFuture
+     */
+    public static <V> WorkerFuture<V> submit(Executor executor, Callable<V> callable) {
+        final WorkerFuture<V> future = new WorkerFuture<>(executor);
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    future.run(callable);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.complete(FAILED, null, e, false);
+        }
+        return future;
+    }
+
+    /**
+     * Create a WorkerFuture that succeeds when all WorkerFutures have succeeded. When one of the WorkerFutures fails
+     * or is cancelled, the returned WorkerFuture fails or is cancelled as well and the other WorkerFutures are cancelled.
+     *
+     * @param futures the WorkerFutures to combine
+     * @return WorkerFuture holding the results in the order of the provided WorkerFutures
+     */
+    public static <V> WorkerFuture<List<V>> all(final List<WorkerFuture<V>> futures) {
+        final WorkerFuture<List<V>> combined = new WorkerFuture<>(futures.isEmpty() ? null : futures.get(0).executor);
+        combined.addUpstreams(futures);
+
+        if (futures.isEmpty()) {
+            combined.complete(SUCCEEDED, new ArrayList<>(), null, false);
+            return combined;
+        }
+        final AtomicInteger remaining = new AtomicInteger(futures.size());
+        for (final WorkerFuture<V> future : futures) {
+            future.whenDone(new Runnable() {
+                @Override
+                public void run() {
+                    if (future.isCancelled()) {
+                        combined.cancel(true);
+                    } else if (future.getError() != null) {
+                        combined.complete(FAILED, null, future.getError(), true);
+                    } else if (remaining.decrementAndGet() == 0) {
+                        List<V> values = new ArrayList<>(futures.size());
+                        for (WorkerFuture<V> item : futures) {
+                            values.add(item.getValue());
+                        }
+                        combined.complete(SUCCEEDED, values, null, false);
+                    }
+                }
+            });
+        }
+        return combined;
+    }
+
+    /**
+     * Create a WorkerFuture that succeeds with the result of the first WorkerFuture that succeeds, the other
+     * WorkerFutures are then cancelled. When all WorkerFutures fail, the returned WorkerFuture fails with the
+     * error of the last failed WorkerFuture.
+     *
+     * @param futures the WorkerFutures to combine
+     * @return WorkerFuture holding the first successful result
+     */
+    public static <V> WorkerFuture<V> any(final List<WorkerFuture<V>> futures) {
+        if (futures.isEmpty()) {
+            throw new IllegalArgumentException("futures may not be empty");
+        }
+        final WorkerFuture<V> combined = new WorkerFuture<>(futures.get(0).executor);
+        combined.addUpstreams(futures);
+
+        final AtomicInteger remaining = new AtomicInteger(futures.size());
+        for (final WorkerFuture<V> future : futures) {
+            future.whenDone(new Runnable() {
+                @Override
+                public void run() {
+                    if (future.isSucceeded()) {
+                        combined.complete(SUCCEEDED, future.getValue(), null, true);
+                    } else if (remaining.decrementAndGet() == 0) {
+                        Throwable cause = future.getError();
+                        combined.complete(FAILED, null, cause != null ? cause : new CancellationException(), false);
+                    }
+                }
+            });
+        }
+        return combined;
+    }
+
+    /**
+     * Create a WorkerFuture that applies the function to the result of this WorkerFuture. The function is run in the
+     * thread that completed this WorkerFuture and may be cancelled like any other task. When this WorkerFuture has
+     * already completed, the function is submitted to the executor of this WorkerFuture instead of being run by the
+     * calling thread. When this WorkerFuture fails or is cancelled, the returned WorkerFuture fails or is cancelled
+     * as well.
+     *
+     * @param function applied to the result of this WorkerFuture
+     * @return WorkerFuture holding the result of the function
+     */
+    public <R> WorkerFuture<R> then(final WorkerFunction<? super V, ? extends R> function) {
+        final WorkerFuture<R> next = new WorkerFuture<>(executor);
+        next.addUpstreams(Arrays.asList(this));
+        final Callable<R> callable = new Callable<R>() {
+            @Override
+            public R call() throws Exception {
+                return function.apply(getValue());
+            }
+        };
+        if (isSucceeded()) {
+            // Never run the function in the calling thread, i.e. the main UI Thread
+            next.dispatch(callable);
+            return next;
+        }
+        whenDone(new Runnable() {
+            @Override
+            public void run() {
+                if (isCancelled()) {
+                    next.cancel(true);
+                } else if (getError() != null) {
+                    next.complete(FAILED, null, getError(), false);
+                } else {
+                    next.run(callable);
+                }
+            }
+        });
+        return next;
+    }
+
+    /**
+     * Set the deadline of this WorkerFuture. When it is not completed within the timeout, the WorkerFuture fails
+     * with a TimeoutException and the running task is cancelled.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the time unit of the timeout
+     * @return this WorkerFuture
+     */
+    public WorkerFuture<V> withTimeout(final long timeout, final TimeUnit unit) {
+        final ScheduledFuture<?> scheduled = TimerHolder.TIMER.schedule(new Runnable() {
+            @Override
+            public void run() {
+                complete(FAILED, null, new TimeoutException("Task did not complete within " + unit.toMillis(timeout) + "ms"),
+                    true);
+            }
+        }, timeout, unit);
+        whenDone(new Runnable() {
+            @Override
+            public void run() {
+                scheduled.cancel(false);
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Subscribe the WorkerSubscriber to this WorkerFuture, this subscriber will be notified on the main UI Thread
+     * when the WorkerFuture has succeeded or failed. Subscribing to a cancelled WorkerFuture has no effect.
+     *
+     * @param subscriber the subscriber to assign to this WorkerFuture
+     */
+    public void subscribe(WorkerSubscriber<V> subscriber) {
+        if (isCancelled()) {
+            return;
+        }
+        this.subscriber = subscriber;
+        if (isDone()) {
+            postDelivery();
+        }
+    }
+
+    /**
+     * Unsubscribe from this WorkerFuture, the subscriber will not be notified anymore but the task keeps running
+     */
+    public void unsubscribe() {
+        this.subscriber = null;
+    }
+
+    /**
+     * Check if a Subscriber has been subscribed to this WorkerFuture.
+     *
+     * @return true when subscribed, false otherwise
+     */
+    public boolean isSubscribed() {
+        return this.subscriber != null;
+    }
+
+    /**
+     * Cancel this WorkerFuture and the WorkerFutures it depends on. The subscriber is unsubscribed and will not be notified.
+     *
+     * @param mayInterruptIfRunning true if the running task should be interrupted and its blocking calls aborted
+     * @return true when cancelled, false if this WorkerFuture was already completed
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        subscriber = null;
+        return complete(CANCELLED, null, null, mayInterruptIfRunning);
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return state == CANCELLED;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return state != PENDING;
+    }
+
+    @Override
+    public synchronized V get() throws InterruptedException, ExecutionException {
+        while (state == PENDING) {
+            wait();
+        }
+        return report();
+    }
+
+    @Override
+    public synchronized V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (state == PENDING) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new TimeoutException();
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return report();
+    }
+
+    private V report() throws ExecutionException {
+        switch (state) {
+            case SUCCEEDED:
+                return value;
+            case FAILED:
+                throw new ExecutionException(error);
+            default:
+                throw new CancellationException();
+        }
+    }
+
+    private synchronized boolean isSucceeded() {
+        return state == SUCCEEDED;
+    }
+
+    private synchronized V getValue() {
+        return value;
+    }
+
+    private synchronized Throwable getError() {
+        return error;
+    }
+
+    private synchronized void addUpstreams(List<? extends WorkerFuture<?>> futures) {
+        upstreams.addAll(futures);
+    }
+
+    private void run(Callable<? extends V> callable) {
+        synchronized (this) {
+            if (state != PENDING) {
+                return;
+            }
+            runner = Thread.currentThread();
+        }
+        Cancellation previous = Cancellation.attach(cancellation);
+        try {
+            complete(SUCCEEDED, callable.call(), null, false);
+        } catch (Throwable e) {
+            // Errors like OutOfMemoryError are reported to the subscriber, as FutureTask does
+            complete(FAILED, null, e, false);
+        } finally {
+            Cancellation.attach(previous);
+            synchronized (this) {
+                runner = null;
+            }
+            if (cancellation.isCancelled()) {
+                // Clear the interrupt that was used to cancel the task before the thread runs the next task
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private void dispatch(final Callable<? extends V> callable) {
+        // Combining an empty list of WorkerFutures does not provide an executor
+        Executor target = executor != null ? executor : Workers.getInstance().forNetworkTasks();
+        try {
+            target.execute(new Runnable() {
+                @Override
+                public void run() {
+                    WorkerFuture.this.run(callable);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            complete(FAILED, null, e, false);
+        }
+    }
+
+    private void whenDone(Runnable listener) {
+        synchronized (this) {
+            if (state == PENDING) {
+                listeners.add(listener);
+                return;
+            }
+        }
+        listener.run();
+    }
+
+    private boolean complete(int newState, V newValue, Throwable newError, boolean abort) {
+        List<Runnable> completed;
+        List<WorkerFuture<?>> dependencies;
+        synchronized (this) {
+            if (state != PENDING) {
+                return false;
+            }
+            state = newState;
+            value = newValue;
+            error = newError;
+            if (abort && runner != null) {
+                runner.interrupt();
+            }
+            completed = new ArrayList<>(listeners);
+            dependencies = new ArrayList<>(upstreams);
+            listeners.clear();
+            upstreams.clear();
+            notifyAll();
+        }
+        if (abort) {
+            cancellation.cancel();
+            for (WorkerFuture<?> upstream : dependencies) {
+                upstream.cancel(true);
+            }
+        }
+        for (Runnable listener : completed) {
+            listener.run();
+        }
+        if (newState != CANCELLED) {
+            postDelivery();
+        }
+        return true;
+    }
+
+    private void postDelivery() {
+        if (subscriber == null) {
+            return;
+        }
+        MainHolder.HANDLER.post(new Runnable() {
+            @Override
+            public void run() {
+                deliver();
+            }
+        });
+    }
+
+    private void deliver() {
+        WorkerSubscriber<V> current = subscriber;
+        if (current == null || delivered || isCancelled()) {
+            return;
+        }
+        delivered = true;
+        if (isSucceeded()) {
+            current.onSuccess(getValue());
+        } else {
+            current.onError(getError());
+        }
+    }
+
+    private static class MainHolder {
+        static final Handler HANDLER = new Handler(Looper.getMainLooper());
+    }
+
+    private static class TimerHolder {
+        static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+        private static ScheduledThreadPoolExecutor createTimer() {
+            ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "checkout-timer");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            timer.setRemoveOnCancelPolicy(true);
+            return timer;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.core;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ExecutorService submitting tasks with the same priority to a shared executor.
+ * Tasks are wrapped in a PrioritizedTask so that an executor with a PriorityBlockingQueue runs tasks with a
+ * higher priority first, and tasks with the same priority in the order in which they were submitted.
+ * A WorkerLane is a view on the shared executor, shutting down a lane does nothing and the shared executor keeps
+ * running. Tasks of the application sharing the executor are ordered like tasks with the OPERATION priority.
+ */
+final class WorkerLane extends AbstractExecutorService {
+
+    private final static AtomicLong SEQUENCE = new AtomicLong();
+
+    private final int priority;
+    private volatile Executor executor;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong submittedTasks = new AtomicLong();
+    private final AtomicLong completedTasks = new AtomicLong();
+    private final AtomicLong rejectedTasks = new AtomicLong();
+    private final AtomicLong totalWaitMillis = new AtomicLong();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+
+    /**
+     * Construct a new WorkerLane
+     *
+     * @param priority of the tasks submitted through this lane
+     * @param executor the executor running the tasks
+     */
+    WorkerLane(int priority, Executor executor) {
+        this.priority = priority;
+        this.executor = executor;
+    }
+
+    int getPriority() {
+        return priority;
+    }
+
+    void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Get a snapshot of the metrics of this lane
+     *
+     * @return the metrics
+     */
+    WorkerMetrics getMetrics() {
+        return new WorkerMetrics(priority, queueDepth.get(), submittedTasks.get(), completedTasks.get(),
+            rejectedTasks.get(), totalWaitMillis.get(), maxWaitMillis.get());
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException("command may not be null");
+        }
+        PrioritizedTask task = new PrioritizedTask(command);
+        queueDepth.incrementAndGet();
+        submittedTasks.incrementAndGet();
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            queueDepth.decrementAndGet();
+            submittedTasks.decrementAndGet();
+            rejectedTasks.incrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Does nothing, the shared executor is owned by Workers or by the application and is not shut down by a lane
+     */
+    @Override
+    public void shutdown() {
+    }
+
+    /**
+     * Does nothing, the shared executor is owned by Workers or by the application and is not shut down by a lane
+     *
+     * @return always an empty list
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return false;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return false;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        return false;
+    }
+
+    private void recordWait(long waitMillis) {
+        queueDepth.decrementAndGet();
+        totalWaitMillis.addAndGet(waitMillis);
+        long max = maxWaitMillis.get();
+        while (waitMillis > max && !maxWaitMillis.compareAndSet(max, waitMillis)) {
+            max = maxWaitMillis.get();
+        }
+    }
+
+    /**
+     * Task ordered by priority first and by submission order second. Other tasks in the same queue, i.e. tasks of the
+     * application, are ordered like tasks with the OPERATION priority.
+     */
+    final class PrioritizedTask implements Runnable, Comparable<Runnable> {
+        private final Runnable command;
+        private final long sequence;
+        private final long submittedAt;
+
+        PrioritizedTask(Runnable command) {
+            this.command = command;
+            this.sequence = SEQUENCE.incrementAndGet();
+            this.submittedAt = System.nanoTime();
+        }
+
+        @Override
+        public void run() {
+            recordWait(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submittedAt));
+            try {
+                command.run();
+            } finally {
+                completedTasks.incrementAndGet();
+            }
+        }
+
+        @Override
+        public int compareTo(Runnable other) {
+            if (!(other instanceof PrioritizedTask)) {
+                return Integer.compare(priority, WorkerPriority.OPERATION);
+            }
+            PrioritizedTask task = (PrioritizedTask) other;
+            int result = Integer.compare(priority, task.getLane().priority);
+            return result != 0 ? result : Long.compare(sequence, task.sequence);
+        }
+
+        private WorkerLane getLane() {
+            return WorkerLane.this;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.core;
+
+import java.util.Locale;
+
+/**
+ * Class holding a snapshot of the metrics of the background tasks with the same priority.
+ * The wait time of a task is the time between submitting the task and a worker thread starting it.
+ */
+public final class WorkerMetrics {
+
+    private final int priority;
+    private final int queueDepth;
+    private final long submittedTasks;
+    private final long completedTasks;
+    private final long rejectedTasks;
+    private final long totalWaitMillis;
+    private final long maxWaitMillis;
+
+    WorkerMetrics(int priority, int queueDepth, long submittedTasks, long completedTasks, long rejectedTasks,
+        long totalWaitMillis, long maxWaitMillis) {
+        this.priority = priority;
+        this.queueDepth = queueDepth;
+        this.submittedTasks = submittedTasks;
+        this.completedTasks = completedTasks;
+        this.rejectedTasks = rejectedTasks;
+        this.totalWaitMillis = totalWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * Get the priority of the tasks, see WorkerPriority
+     *
+     * @return the priority
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Get the number of tasks that have been submitted but were not started yet
+     *
+     * @return the number of waiting tasks
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Get the number of tasks that have been accepted for execution
+     *
+     * @return the number of submitted tasks
+     */
+    public long getSubmittedTasks() {
+        return submittedTasks;
+    }
+
+    /**
+     * Get the number of tasks that have finished running
+     *
+     * @return the number of completed tasks
+     */
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    /**
+     * Get the number of tasks that have been rejected by the executor
+     *
+     * @return the number of rejected tasks
+     */
+    public long getRejectedTasks() {
+        return rejectedTasks;
+    }
+
+    /**
+     * Get the accumulated wait time of all started tasks
+     *
+     * @return the total wait time in milliseconds
+     */
+    public long getTotalWaitMillis() {
+        return totalWaitMillis;
+    }
+
+    /**
+     * Get the longest wait time of a single task
+     *
+     * @return the maximum wait time in milliseconds
+     */
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    /**
+     * Get the average wait time of the started tasks
+     *
+     * @return the average wait time in milliseconds
+     */
+    public long getAverageWaitMillis() {
+        long started = submittedTasks - queueDepth;
+        return started > 0 ? totalWaitMillis / started : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "WorkerMetrics[priority=%d, queueDepth=%d, submitted=%d, completed=%d, "
+            + "rejected=%d, averageWait=%dms, maxWait=%dms]", priority, queueDepth, submittedTasks, completedTasks,
+            rejectedTasks, getAverageWaitMillis(), maxWaitMillis);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.core;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import androidx.annotation.IntDef;
+
+/**
+ * Class containing the priorities of background tasks, a lower value has a higher priority.
+ */
+public class WorkerPriority {
+    public final static int OPERATION = 0;
+    public final static int SESSION = 1;
+    public final static int LOCALIZATION = 2;
+    public final static int IMAGE = 3;
+
+    /**
+     * Check if the given priority is a valid worker priority
+     *
+     * @param priority the worker priority to validate
+     * @return true when valid, false otherwise
+     */
+    public static boolean isValid(final int priority) {
+        switch (priority) {
+            case OPERATION:
+            case SESSION:
+            case LOCALIZATION:
+            case IMAGE:
+                return true;
+        }
+        return false;
+    }
+
+    @Retention(RetentionPolicy.SOURCE)
+    @IntDef({
+        OPERATION,
+        SESSION,
+        LOCALIZATION,
+        IMAGE
+    })
+    public @interface Definition { }
+}
@@ -9,19 +9,19 @@
 package com.payoneer.checkout.core;
 
 /**
- * WorkerSubscriber listening for a WorkerTask to be completed
+ * WorkerSubscriber listening for a WorkerFuture to be completed
  */
 public interface WorkerSubscriber<V> {
 
     /**
-     * The WorkerTask has successfully completed
+     * The WorkerFuture has successfully completed
      *
      * @param param the result parameter
      */
     void onSuccess(V param);
 
     /**
-     * An error occurred while executing the WorkerTask
+     * An error occurred while executing the WorkerFuture
      *
      * @param error the cause of the error
      */
@@ -9,20 +9,46 @@
 package com.payoneer.checkout.core;
 
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The Singleton class maintaining a list of Workers processing background tasks
+ * <p>
+ * Network tasks are run by a bounded pool of threads in the order of their priority, i.e. a user initiated operation
+ * is started before the payment session and localization files. Images are run by a separate bounded pool so that
+ * downloading logos never occupies a thread needed by an operation. Idle threads are stopped after a short time.
  */
 public final class Workers {
 
-    private final ExecutorService networkService;
+    /** Maximum number of threads running network tasks */
+    final static int NETWORK_THREADS = 4;
 
-    private final ExecutorService imageService;
+    /** Maximum number of threads running image tasks */
+    final static int IMAGE_THREADS = 3;
+
+    /** Time in seconds after which idle threads are stopped */
+    private final static long KEEP_ALIVE_SECONDS = 30;
+
+    private final ExecutorService defaultNetworkExecutor;
+    private final ExecutorService defaultImageExecutor;
+
+    private final WorkerLane operationLane;
+    private final WorkerLane sessionLane;
+    private final WorkerLane localizationLane;
+    private final WorkerLane imageLane;
 
     private Workers() {
-        this.networkService = Executors.newCachedThreadPool();
-        this.imageService = Executors.newCachedThreadPool();
+        this.defaultNetworkExecutor = createExecutor("checkout-network", NETWORK_THREADS);
+        this.defaultImageExecutor = createExecutor("checkout-image", IMAGE_THREADS);
+
+        this.operationLane = new WorkerLane(WorkerPriority.OPERATION, defaultNetworkExecutor);
+        this.sessionLane = new WorkerLane(WorkerPriority.SESSION, defaultNetworkExecutor);
+        this.localizationLane = new WorkerLane(WorkerPriority.LOCALIZATION, defaultNetworkExecutor);
+        this.imageLane = new WorkerLane(WorkerPriority.IMAGE, defaultImageExecutor);
     }
 
     /**
@@ -35,12 +61,30 @@ public final class Workers {
     }
 
     /**
-     * Get the WorkerExecutor for network tasks
+     * Get the WorkerExecutor for user initiated operations, i.e. charging or deleting an account
+     *
+     * @return the executor for operation tasks
+     */
+    public ExecutorService forOperationTasks() {
+        return operationLane;
+    }
+
+    /**
+     * Get the WorkerExecutor for network tasks, i.e. loading the payment session
      *
      * @return the network executor for network tasks
      */
     public ExecutorService forNetworkTasks() {
-        return networkService;
+        return sessionLane;
+    }
+
+    /**
+     * Get the WorkerExecutor for loading localization files
+     *
+     * @return the executor for localization tasks
+     */
+    public ExecutorService forLocalizationTasks() {
+        return localizationLane;
     }
 
     /**
@@ -49,7 +93,76 @@ public final class Workers {
      * @return the image executor for image tasks
      */
     public ExecutorService forImageTasks() {
-        return imageService;
+        return imageLane;
+    }
+
+    /**
+     * Get a snapshot of the metrics of the tasks with the given priority
+     *
+     * @param priority of the tasks, see WorkerPriority
+     * @return the metrics of the tasks
+     */
+    public WorkerMetrics getMetrics(@WorkerPriority.Definition int priority) {
+        switch (priority) {
+            case WorkerPriority.OPERATION:
+                return operationLane.getMetrics();
+            case WorkerPriority.SESSION:
+                return sessionLane.getMetrics();
+            case WorkerPriority.LOCALIZATION:
+                return localizationLane.getMetrics();
+            case WorkerPriority.IMAGE:
+                return imageLane.getMetrics();
+            default:
+                throw new IllegalArgumentException("Worker priority is not supported: " + priority);
+        }
+    }
+
+    /**
+     * Set the executors running the background tasks, i.e. to share the threads of the host application.
+     * The submitted tasks implement Comparable, executors using a PriorityBlockingQueue therefore run them
+     * in the order of their priority. The executors must not be shut down while the Payment Page is in use.
+     *
+     * @param networkExecutor running the network tasks or null to use the default executor
+     * @param imageExecutor running the image tasks or null to use the default executor
+     */
+    public synchronized void setExecutors(ExecutorService networkExecutor, ExecutorService imageExecutor) {
+        ExecutorService network = networkExecutor != null ? networkExecutor : defaultNetworkExecutor;
+        ExecutorService image = imageExecutor != null ? imageExecutor : defaultImageExecutor;
+
+        operationLane.setExecutor(network);
+        sessionLane.setExecutor(network);
+        localizationLane.setExecutor(network);
+        imageLane.setExecutor(image);
+    }
+
+    /**
+     * Create a bounded executor running tasks in the order of their priority
+     *
+     * @param name prefix of the thread names
+     * @param threads maximum number of threads
+     * @return the newly created executor
+     */
+    static ThreadPoolExecutor createExecutor(String name, int threads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new PriorityBlockingQueue<>(), new WorkerThreadFactory(name));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+        private final String name;
+
+        WorkerThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
     }
 
     private static class InstanceHolder {
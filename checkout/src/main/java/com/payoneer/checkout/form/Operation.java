@@ -13,6 +13,7 @@ import static com.payoneer.checkout.core.PaymentInputCategory.REGISTRATION;
 
 import java.net.URL;
 import java.util.Map;
+import java.util.UUID;
 
 import com.google.gson.JsonSyntaxException;
 import com.payoneer.checkout.core.PaymentException;
@@ -46,12 +47,14 @@ public class Operation implements Parcelable {
     private final String operationType;
     private final URL url;
     private final OperationData operationData;
+    private final String idempotencyKey;
 
     public Operation(String networkCode, String paymentMethod, String operationType, URL url) {
         this.networkCode = networkCode;
         this.paymentMethod = paymentMethod;
         this.operationType = operationType;
         this.url = url;
+        this.idempotencyKey = UUID.randomUUID().toString();
 
         operationData = new OperationData();
         operationData.setAccount(new AccountInputData());
@@ -66,6 +69,7 @@ public class Operation implements Parcelable {
         this.paymentMethod = in.readString();
         this.operationType = in.readString();
         this.url = (URL) in.readSerializable();
+        this.idempotencyKey = in.readString();
 
         try {
             GsonHelper gson = GsonHelper.getInstance();
@@ -94,6 +98,7 @@ public class Operation implements Parcelable {
         out.writeString(paymentMethod);
         out.writeString(operationType);
         out.writeSerializable(url);
+        out.writeString(idempotencyKey);
 
         GsonHelper gson = GsonHelper.getInstance();
         out.writeString(gson.toJson(operationData));
@@ -266,6 +271,16 @@ public class Operation implements Parcelable {
         return url;
     }
 
+    /**
+     * Get the idempotency key of this operation. The key is created once per Operation and is sent with every
+     * attempt to post it, allowing the Payment API to recognize repeated requests of the same operation.
+     *
+     * @return the idempotency key
+     */
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
     public static Operation fromPresetAccount(PresetAccount account) {
         Map<String, URL> links = account.getLinks();
         URL url = links != null ? links.get("operation") : null;
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.localization;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Class holding the localization entries of a remote localization file together with the validators
+ * needed to revalidate the file with the server.
+ */
+public final class CachedLocalization {
+
+    private final String url;
+    private final String eTag;
+    private final String lastModified;
+    private final long storedAt;
+    private final Map<String, String> entries;
+
+    /**
+     * Construct a new CachedLocalization
+     *
+     * @param url from which the localization file was loaded
+     * @param eTag value of the ETag response header, may be null
+     * @param lastModified value of the Last-Modified response header, may be null
+     * @param storedAt time in milliseconds when this localization was received or revalidated
+     * @param entries the localization entries
+     */
+    public CachedLocalization(String url, String eTag, String lastModified, long storedAt, Map<String, String> entries) {
+        if (url == null) {
+            throw new IllegalArgumentException("url cannot be null");
+        }
+        this.url = url;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+        this.storedAt = storedAt;
+        this.entries = entries != null ? entries : Collections.emptyMap();
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public long getStoredAt() {
+        return storedAt;
+    }
+
+    public Map<String, String> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Check if this localization can be revalidated with the server using a conditional request
+     *
+     * @return true when an ETag or Last-Modified value is available
+     */
+    public boolean hasValidators() {
+        return eTag != null || lastModified != null;
+    }
+
+    /**
+     * Create a copy of this CachedLocalization after the server confirmed the entries have not been modified.
+     *
+     * @param eTag the new ETag value, if null the current value will be kept
+     * @param lastModified the new Last-Modified value, if null the current value will be kept
+     * @param storedAt time in milliseconds when the entries have been revalidated
+     * @return the revalidated CachedLocalization
+     */
+    public CachedLocalization revalidate(String eTag, String lastModified, long storedAt) {
+        return new CachedLocalization(url, eTag != null ? eTag : this.eTag,
+            lastModified != null ? lastModified : this.lastModified, storedAt, entries);
+    }
+
+    /**
+     * Create a LocalizationHolder containing the entries of this CachedLocalization
+     *
+     * @return newly created LocalizationHolder
+     */
+    public LocalizationHolder toLocalizationHolder() {
+        return new MapLocalizationHolder(entries);
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.localization;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.payoneer.checkout.util.CacheFiles;
+
+import android.content.Context;
+import android.util.Log;
+
+/**
+ * Class for storing localization files on disk so they survive between payment sessions.
+ * <p>
+ * Entries are stored in one file per localization URL. An entry is fresh for the configured time to live,
+ * after which it must be revalidated with the server using its ETag or Last-Modified value.
+ * The total size of the cache is bounded, the least recently used entries are removed first when the cache
+ * grows beyond its maximum size.
+ */
+public final class LocalizationDiskCache {
+
+    /** Name of the directory, inside the cache directory of the app, in which localizations are stored */
+    private final static String DIRECTORY_NAME = "checkout-localizations";
+
+    /** Default maximum size in bytes of all stored localizations */
+    private final static long DEFAULT_MAX_SIZE = 2 * 1024 * 1024;
+
+    /** Default duration in milliseconds during which a stored localization is used without revalidation */
+    private final static long DEFAULT_TIME_TO_LIVE = TimeUnit.HOURS.toMillis(24);
+
+    private final static String FILE_EXTENSION = ".json";
+
+    private final File directory;
+    private final long maxSize;
+    private final long timeToLive;
+    private final Gson gson;
+
+    /** The shared instance stored in the cache directory of the app */
+    private static LocalizationDiskCache instance;
+
+    /**
+     * Get the LocalizationDiskCache stored in the cache directory of the app using the default maximum size and
+     * time to live. All services share this instance so that writing and trimming the files are serialized.
+     *
+     * @param context used to obtain the cache directory
+     * @return the shared LocalizationDiskCache
+     */
+    public static synchronized LocalizationDiskCache getInstance(Context context) {
+        if (instance == null) {
+            File directory = new File(context.getApplicationContext().getCacheDir(), DIRECTORY_NAME);
+            instance = new LocalizationDiskCache(directory, DEFAULT_MAX_SIZE, DEFAULT_TIME_TO_LIVE);
+        }
+        return instance;
+    }
+
+    /**
+     * Construct a new LocalizationDiskCache
+     *
+     * @param directory in which the localization files are stored
+     * @param maxSize maximum size in bytes of all stored localizations
+     * @param timeToLive duration in milliseconds during which a stored localization is considered fresh
+     */
+    public LocalizationDiskCache(File directory, long maxSize, long timeToLive) {
+        if (directory == null) {
+            throw new IllegalArgumentException("directory cannot be null");
+        }
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+        this.gson = new GsonBuilder().create();
+    }
+
+    /**
+     * Get the stored localization for the given URL. The returned localization may be stale,
+     * use isFresh to check if it must be revalidated before it is used.
+     *
+     * @param url of the localization file
+     * @return the stored localization or null if none is available
+     */
+    public synchronized CachedLocalization get(String url) {
+        File file = getFile(url);
+        if (!file.exists()) {
+            return null;
+        }
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            CachedLocalization cached = gson.fromJson(reader, CachedLocalization.class);
+            if (cached == null || !url.equals(cached.getUrl()) || cached.getEntries() == null) {
+                CacheFiles.deleteFile(file);
+                return null;
+            }
+            file.setLastModified(System.currentTimeMillis());
+            return cached;
+        } catch (IOException | JsonParseException e) {
+            Log.w("Checkout", e);
+            CacheFiles.deleteFile(file);
+            return null;
+        }
+    }
+
+    /**
+     * Store the localization on disk, replacing any previously stored localization for the same URL.
+     * Least recently used localizations are removed when the size of the cache exceeds its maximum size.
+     *
+     * @param cached the localization to store
+     */
+    public synchronized void put(CachedLocalization cached) {
+        boolean written = CacheFiles.write(getFile(cached.getUrl()), out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            gson.toJson(cached, writer);
+            writer.flush();
+        });
+        if (written) {
+            CacheFiles.trimToSize(directory, maxSize);
+        }
+    }
+
+    /**
+     * Check if the localization is fresh and may be used without revalidating it with the server
+     *
+     * @param cached the localization to check
+     * @return true when fresh, false otherwise
+     */
+    public boolean isFresh(CachedLocalization cached) {
+        long age = System.currentTimeMillis() - cached.getStoredAt();
+        return age >= 0 && age < timeToLive;
+    }
+
+    /**
+     * Remove all stored localizations from this cache
+     */
+    public synchronized void clear() {
+        CacheFiles.deleteFiles(directory);
+    }
+
+    /**
+     * Get the total size in bytes of all stored localizations
+     *
+     * @return size in bytes
+     */
+    public synchronized long size() {
+        long size = 0;
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                size += file.length();
+            }
+        }
+        return size;
+    }
+
+    private File getFile(String url) {
+        return CacheFiles.getFile(directory, url, FILE_EXTENSION);
+    }
+}
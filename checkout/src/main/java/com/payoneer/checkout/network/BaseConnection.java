@@ -9,19 +9,28 @@
 package com.payoneer.checkout.network;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.lang.reflect.Type;
 import java.net.CookieHandler;
 import java.net.CookieManager;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.payoneer.checkout.core.Cancellation;
 import com.payoneer.checkout.core.PaymentException;
 import com.payoneer.checkout.model.ErrorInfo;
 
@@ -38,12 +47,15 @@ abstract class BaseConnection {
     final static String HEADER_ACCEPT = "Accept";
     final static String HEADER_CONTENT_TYPE = "Content-Type";
     final static String VALUE_APP_JSON = "application/json;charset=UTF-8";
+    private final static String HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+    private final static String ENCODING_GZIP = "gzip";
     private final static int TIMEOUT_CONNECT = 5000;
     private final static int TIMEOUT_READ = 30000;
     private final static String HEADER_USER_AGENT = "User-Agent";
-    private final static String HTTP_GET = "GET";
+    final static String HTTP_GET = "GET";
     private final static String HTTP_POST = "POST";
     private final static String HTTP_DELETE = "DELETE";
+    private final static String HTTP_HEAD = "HEAD";
     private final static String CONTENTTYPE_JSON = "application/json";
     private static volatile String userAgent;
 
@@ -54,6 +66,12 @@ abstract class BaseConnection {
      */
     final Gson gson = new GsonBuilder().create();
 
+    /** The timers of the requests that are currently made by this connection */
+    private final Map<HttpURLConnection, RequestTimer> timers = new ConcurrentHashMap<>();
+
+    /** The transports that opened the connections of the requests that are currently made by this connection */
+    private final Map<HttpURLConnection, HttpTransport> transports = new ConcurrentHashMap<>();
+
     /**
      * Just a default constructor for classes that do not need a context
      */
@@ -92,36 +110,68 @@ abstract class BaseConnection {
     }
 
     /**
-     * This method will try to close the
-     * HttpURLConnection if it exists
+     * This method will release the HttpURLConnection if it exists.
+     * The connection is not disconnected, allowing the socket to be kept alive and reused by the next request.
+     * The connection is released to the HttpTransport that opened it, even if the transport has been replaced since.
      *
      * @param conn the connection to close
      */
     void close(final HttpURLConnection conn) {
 
         if (conn != null) {
-            conn.disconnect();
+            Cancellation cancellation = Cancellation.current();
+            if (cancellation != null) {
+                cancellation.unregister(conn);
+            }
+            HttpTransport transport = transports.remove(conn);
+            if (transport == null) {
+                transport = HttpTransports.getInstance().getTransport();
+            }
+            transport.release(conn);
+
+            RequestTimer timer = timers.remove(conn);
+            if (timer != null) {
+                RequestMonitor.getInstance().report(timer.finish());
+            }
         }
     }
 
+    /**
+     * Make an idempotent GET request. Concurrent requests with the same key are merged into a single request and
+     * the request is retried according to the RetryPolicy when it fails because of a network failure.
+     *
+     * @param key identifying the request, concurrent requests with equal keys must have the same result
+     * @param url the url of the request
+     * @param attempt making a single attempt of the request
+     * @param copier copying the result for merged requests, may be null when the result is immutable
+     * @param <T> the type of the request result
+     * @return the result of the request
+     */
+    <T> T executeGet(final String key, final String url, final RetryHandler.Attempt<T> attempt,
+        final SingleFlight.Copier<T> copier) throws PaymentException {
+        return SingleFlight.getInstance().execute(key, () -> RetryHandler.getInstance().execute(url, attempt), copier);
+    }
+
     /**
      * Creates a new HTTP GET connection given the String url
      *
      * @param url the url pointing to the Payment API
+     * @param requestType the logical operation of the request, see RequestType
      * @return HttpURLConnection a HttpURLConnection object
      */
-    HttpURLConnection createGetConnection(final String url) throws IOException {
-        return createGetConnection(new URL(url));
+    HttpURLConnection createGetConnection(final String url, final String requestType) throws IOException {
+        return createGetConnection(new URL(url), requestType);
     }
 
     /**
      * Creates a new HTTP GET connection
      *
      * @param url the Url pointing to the Payment API
+     * @param requestType the logical operation of the request, see RequestType
      * @return HttpURLConnection a HttpURLConnection object
      */
-    HttpURLConnection createGetConnection(final URL url) throws IOException {
-        final HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+    HttpURLConnection createGetConnection(final URL url, final String requestType) throws IOException {
+        final HttpURLConnection conn = openConnection(url, HTTP_GET, requestType);
         setConnProperties(conn);
         conn.setRequestMethod(HTTP_GET);
         conn.setDoInput(true);
@@ -129,14 +179,31 @@ abstract class BaseConnection {
         return conn;
     }
 
+    /**
+     * Creates a new HTTP HEAD connection
+     *
+     * @param url the Url pointing to the Payment API
+     * @param requestType the logical operation of the request, see RequestType
+     * @return HttpURLConnection a HttpURLConnection object
+     */
+    HttpURLConnection createHeadConnection(final URL url, final String requestType) throws IOException {
+        final HttpURLConnection conn = openConnection(url, HTTP_HEAD, requestType);
+        setConnProperties(conn);
+        conn.setRequestMethod(HTTP_HEAD);
+        conn.setDoInput(true);
+        conn.setDoOutput(false);
+        return conn;
+    }
+
     /**
      * Creates a new HTTP DELETE connection
      *
      * @param url the Url pointing to the Payment API
+     * @param requestType the logical operation of the request, see RequestType
      * @return HttpURLConnection a HttpURLConnection object
      */
-    HttpURLConnection createDeleteConnection(final URL url) throws IOException {
-        final HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+    HttpURLConnection createDeleteConnection(final URL url, final String requestType) throws IOException {
+        final HttpURLConnection conn = openConnection(url, HTTP_DELETE, requestType);
         setConnProperties(conn);
         conn.setRequestMethod(HTTP_DELETE);
         conn.setDoInput(true);
@@ -148,20 +215,22 @@ abstract class BaseConnection {
      * Creates an HTTP POST connection with the given String url
      *
      * @param url the url for the connection
+     * @param requestType the logical operation of the request, see RequestType
      * @return HttpURLConnection the created HttpURLConnection
      */
-    HttpURLConnection createPostConnection(final String url) throws IOException {
-        return createPostConnection(new URL(url));
+    HttpURLConnection createPostConnection(final String url, final String requestType) throws IOException {
+        return createPostConnection(new URL(url), requestType);
     }
 
     /**
      * Creates a HTTP POST connection
      *
      * @param url the url for the connection
+     * @param requestType the logical operation of the request, see RequestType
      * @return HttpURLConnection the created HttpURLConnection
      */
-    HttpURLConnection createPostConnection(final URL url) throws IOException {
-        final HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+    HttpURLConnection createPostConnection(final URL url, final String requestType) throws IOException {
+        final HttpURLConnection conn = openConnection(url, HTTP_POST, requestType);
         setConnProperties(conn);
         conn.setRequestMethod(HTTP_POST);
         conn.setDoInput(true);
@@ -170,17 +239,147 @@ abstract class BaseConnection {
     }
 
     /**
-     * Reads a String from the given Inputstream.
+     * Open a new HttpURLConnection from the current HttpTransport. When the current thread runs a cancellable task,
+     * the connection is disconnected once the task is cancelled so that blocking reads and writes are aborted.
+     * The phases of the request are timed when a RequestMetricsListener has been registered.
+     *
+     * @param url the Url pointing to the Payment API
+     * @param method the HTTP method of the request
+     * @param requestType the logical operation of the request
+     * @return HttpURLConnection a HttpURLConnection object
+     */
+    private HttpURLConnection openConnection(final URL url, final String method, final String requestType)
+        throws IOException {
+        RequestTimer timer = RequestMonitor.getInstance().start(requestType, method, url.toString());
+        final HttpTransport transport = HttpTransports.getInstance().getTransport();
+        final HttpURLConnection conn;
+        try {
+            conn = transport.open(url, RetryHandler.getTimeout(TIMEOUT_READ));
+        } catch (IOException e) {
+            if (timer != null) {
+                RequestMonitor.getInstance().report(timer.finish());
+            }
+            throw e;
+        }
+        transports.put(conn, transport);
+        if (timer != null) {
+            timer.leased();
+            timers.put(conn, timer);
+        }
+        Cancellation cancellation = Cancellation.current();
+
+        if (cancellation != null && !cancellation.register(conn, conn::disconnect)) {
+            close(conn);
+            throw new InterruptedIOException("Request has been cancelled: " + url);
+        }
+        return conn;
+    }
+
+    /**
+     * Connect the HttpURLConnection and send the request
+     *
+     * @param conn the connection to connect
+     */
+    void connect(final HttpURLConnection conn) throws IOException {
+        conn.connect();
+        RequestTimer timer = timers.get(conn);
+        if (timer != null) {
+            timer.connected();
+        }
+    }
+
+    /**
+     * Get the status code of the response, this blocks until the headers of the response have been received
+     *
+     * @param conn the connection to obtain the status code from
+     * @return the HTTP status code
+     */
+    int getResponseCode(final HttpURLConnection conn) throws IOException {
+        int rc = conn.getResponseCode();
+        RequestTimer timer = timers.get(conn);
+        if (timer != null) {
+            timer.responded(rc);
+        }
+        return rc;
+    }
+
+    /**
+     * Drain the remaining content from the InputStream so that the connection can be reused.
+     *
+     * @param in the InputStream to drain
+     */
+    void drainInputStream(final InputStream in) throws IOException {
+        ConnectionPool.getInstance().drain(in);
+    }
+
+    /**
+     * Read the remaining content from the InputStream into a byte array
+     *
+     * @param in the InputStream to read from
+     * @return the content read from the InputStream
+     */
+    byte[] readBytes(final InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes the Json content from the Inputstream of the HttpURLConnection into an object of the given type.
+     * The content is decoded while it is being read, without first storing it in memory as a String.
      *
      * @param conn the HttpURLConnection to read from
-     * @return the string representation read from the Inputstream
+     * @param type the type of the object to decode
+     * @return the object decoded from the Inputstream
      */
-    String readFromInputStream(final HttpURLConnection conn) throws IOException {
+    <T> T readFromInputStream(final HttpURLConnection conn, final Type type) throws IOException, JsonParseException {
+        return readFromInputStream(getInputStream(conn), type);
+    }
 
-        try (InputStream in = conn.getInputStream();
-            InputStreamReader ir = new InputStreamReader(in);
-            BufferedReader rd = new BufferedReader(ir)) {
-            return readFromBufferedReader(rd);
+    /**
+     * Get the InputStream from the HttpURLConnection. When the content of the response has been compressed,
+     * the returned InputStream will transparently decompress the content.
+     *
+     * @param conn the HttpURLConnection to obtain the InputStream from
+     * @return the InputStream containing the decoded content
+     */
+    InputStream getInputStream(final HttpURLConnection conn) throws IOException {
+        InputStream in = conn.getInputStream();
+        RequestTimer timer = timers.get(conn);
+        if (timer != null) {
+            timer.responded(conn.getResponseCode());
+            in = timer.wrap(in);
+        }
+        return decodeContent(conn, in);
+    }
+
+    /**
+     * Decodes the Json content from the Inputstream into an object of the given type.
+     *
+     * @param in the Inputstream to read from, this stream will be closed after reading
+     * @param type the type of the object to decode
+     * @return the object decoded from the Inputstream
+     */
+    <T> T readFromInputStream(final InputStream in, final Type type) throws IOException, JsonParseException {
+
+        try (InputStream stream = in;
+            InputStreamReader ir = new InputStreamReader(stream, StandardCharsets.UTF_8);
+            JsonReader reader = new JsonReader(ir)) {
+            T result = gson.fromJson(reader, type);
+            drainInputStream(stream);
+            return result;
+        } catch (JsonParseException e) {
+            // Gson wraps IOExceptions thrown while reading from the stream,
+            // these must be reported as network failures and not as parse errors.
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw e;
         }
     }
 
@@ -192,10 +391,15 @@ abstract class BaseConnection {
      */
     private String readFromErrorStream(final HttpURLConnection conn) throws IOException {
 
-        if (conn.getErrorStream() == null) {
+        InputStream errorStream = conn.getErrorStream();
+        if (errorStream == null) {
             return null;
         }
-        try (InputStream in = conn.getErrorStream();
+        RequestTimer timer = timers.get(conn);
+        if (timer != null) {
+            errorStream = timer.wrap(errorStream);
+        }
+        try (InputStream in = decodeContent(conn, errorStream);
             InputStreamReader ir = new InputStreamReader(in);
             BufferedReader rd = new BufferedReader(ir)) {
             return readFromBufferedReader(rd);
@@ -211,8 +415,13 @@ abstract class BaseConnection {
      */
     void writeToOutputStream(final HttpURLConnection conn, String data) throws IOException {
 
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
         try (OutputStream out = conn.getOutputStream()) {
-            out.write(data.getBytes(StandardCharsets.UTF_8));
+            out.write(bytes);
+        }
+        RequestTimer timer = timers.get(conn);
+        if (timer != null) {
+            timer.sent(bytes.length);
         }
     }
 
@@ -257,17 +466,39 @@ abstract class BaseConnection {
     }
 
     /**
-     * Set connection properties
+     * Set connection properties, the timeouts are capped at the time left before the deadline of a retried request
      *
      * @param conn the url connection
      */
     private void setConnProperties(final HttpURLConnection conn) {
-        conn.setConnectTimeout(TIMEOUT_CONNECT);
-        conn.setReadTimeout(TIMEOUT_READ);
+        conn.setConnectTimeout(RetryHandler.getTimeout(TIMEOUT_CONNECT));
+        conn.setReadTimeout(RetryHandler.getTimeout(TIMEOUT_READ));
 
         if (!TextUtils.isEmpty(userAgent)) {
             conn.setRequestProperty(HEADER_USER_AGENT, userAgent);
         }
+        conn.setRequestProperty(HEADER_ACCEPT_ENCODING, ENCODING_GZIP);
+    }
+
+    /**
+     * Wrap the InputStream with a decompressing InputStream if the content of the response has been compressed.
+     * An empty body, i.e. of a 204 response, is returned as is since it does not contain a gzip header.
+     *
+     * @param conn the HttpURLConnection containing the Content-Encoding of the response
+     * @param in the InputStream with the content as received from the server
+     * @return the InputStream providing the decompressed content
+     */
+    private InputStream decodeContent(final HttpURLConnection conn, final InputStream in) throws IOException {
+        if (!ENCODING_GZIP.equalsIgnoreCase(conn.getContentEncoding())) {
+            return in;
+        }
+        PushbackInputStream pushback = new PushbackInputStream(in, 1);
+        int first = pushback.read();
+        if (first == -1) {
+            return pushback;
+        }
+        pushback.unread(first);
+        return new GZIPInputStream(pushback);
     }
 
     /**
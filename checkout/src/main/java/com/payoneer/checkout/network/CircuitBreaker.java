@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import android.os.SystemClock;
+
+/**
+ * Class keeping track of consecutive network failures of requests made to one host.
+ * <p>
+ * The circuit opens once the failure threshold has been reached, requests are then rejected until the open duration
+ * has passed. After that a single trial request is allowed, its outcome either closes the circuit or opens it again.
+ */
+final class CircuitBreaker {
+
+    private final int failureThreshold;
+    private final long openDuration;
+
+    private int failures;
+    private boolean open;
+    private boolean trial;
+    private long openedAt;
+    private Throwable lastFailure;
+
+    /**
+     * Construct a new CircuitBreaker
+     *
+     * @param failureThreshold number of consecutive failures opening the circuit, zero never opens it
+     * @param openDuration time in milliseconds the circuit stays open before a trial request is allowed
+     */
+    CircuitBreaker(int failureThreshold, long openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+    }
+
+    /**
+     * Check if a request may be made to the host
+     *
+     * @return true when the request is allowed, false when it should fail fast
+     */
+    synchronized boolean allowRequest() {
+        if (!open) {
+            return true;
+        }
+        if (trial || SystemClock.elapsedRealtime() - openedAt < openDuration) {
+            return false;
+        }
+        trial = true;
+        return true;
+    }
+
+    /**
+     * Record that the host responded, this closes the circuit
+     */
+    synchronized void onSuccess() {
+        failures = 0;
+        open = false;
+        trial = false;
+    }
+
+    /**
+     * Record that a request to the host failed because of a network failure
+     *
+     * @param cause the network failure, reported as cause when requests fail fast
+     */
+    synchronized void onFailure(Throwable cause) {
+        failures++;
+        lastFailure = cause;
+        if (trial || (failureThreshold > 0 && failures >= failureThreshold)) {
+            open = true;
+            trial = false;
+            openedAt = SystemClock.elapsedRealtime();
+        }
+    }
+
+    /**
+     * Record that a request was cancelled before its outcome was known, this allows a new trial request
+     */
+    synchronized void onAbort() {
+        trial = false;
+    }
+
+    synchronized boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Get the network failure that was recorded last
+     *
+     * @return the last network failure or null if none has been recorded
+     */
+    synchronized Throwable getLastFailure() {
+        return lastFailure;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import android.util.Log;
+
+/**
+ * The ConnectionPool keeps the sockets of the HttpURLConnection alive between requests.
+ * <p>
+ * HttpURLConnection already maintains a bounded pool of idle keep-alive connections per host, but a connection is only
+ * returned to this pool when its response body has been fully consumed and the connection has not been disconnected.
+ * This class leases connections per host to limit the number of concurrent connections and releases them in a way that
+ * allows the underlying socket, and its TLS session, to be reused by the next request to the same host. The keep-alive
+ * settings of HttpURLConnection are shared with the app and are therefore left untouched.
+ * This is the default HttpTransport used by all connections to the Payment API.
+ */
+final class ConnectionPool implements HttpTransport {
+
+    /** Maximum number of concurrent connections per host */
+    private final static int MAX_CONNECTIONS_PER_HOST = 5;
+
+    /** Maximum number of bytes that will be drained from a response before the connection is discarded */
+    private final static int MAX_DRAIN_BYTES = 64 * 1024;
+
+    private final Map<String, Semaphore> hostPermits;
+    private final Map<HttpURLConnection, Semaphore> leases;
+
+    private ConnectionPool() {
+        this.hostPermits = new ConcurrentHashMap<>();
+        this.leases = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the instance of this ConnectionPool
+     *
+     * @return the instance of this ConnectionPool
+     */
+    static ConnectionPool getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Get the maximum number of concurrent connections allowed per host
+     *
+     * @return the maximum number of connections per host
+     */
+    int getMaxConnectionsPerHost() {
+        return MAX_CONNECTIONS_PER_HOST;
+    }
+
+    /**
+     * Open a new HttpURLConnection for the given URL. This method blocks when the maximum number of connections
+     * to the host of this URL are in use.
+     *
+     * @param url the url for which a connection should be opened
+     * @param timeout maximum time in milliseconds to wait for a free connection
+     * @return the opened HttpURLConnection, this connection must be released after usage
+     */
+    @Override
+    public HttpURLConnection open(final URL url, final int timeout) throws IOException {
+        Semaphore permits = getHostPermits(url);
+        try {
+            if (!permits.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                throw new IOException("Timed out waiting for a free connection to host: " + url.getHost());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a free connection to host: " + url.getHost());
+        }
+        HttpURLConnection conn = null;
+        try {
+            conn = (HttpURLConnection) url.openConnection();
+            leases.put(conn, permits);
+            return conn;
+        } finally {
+            if (conn == null) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Release the HttpURLConnection back into the pool. Any unread error body will be drained so that
+     * the underlying socket can be reused for the next request to the same host.
+     *
+     * @param conn the connection to release
+     */
+    @Override
+    public void release(final HttpURLConnection conn) {
+        try {
+            InputStream in = conn.getErrorStream();
+            if (in != null && !drain(in)) {
+                conn.disconnect();
+            }
+        } catch (IOException e) {
+            // The error stream has already been read and closed or the socket is broken,
+            // in both cases the HttpURLConnection takes care of discarding or reusing the socket.
+        } catch (RuntimeException e) {
+            Log.w("Checkout", e);
+            conn.disconnect();
+        } finally {
+            Semaphore permits = leases.remove(conn);
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Drain and close the InputStream. Remaining bytes must be read in order for the connection to be kept alive.
+     *
+     * @param in the InputStream to drain
+     * @return true when the stream has been drained completely, false otherwise
+     */
+    boolean drain(final InputStream in) throws IOException {
+        try (InputStream stream = in) {
+            byte[] buf = new byte[4096];
+            int total = 0;
+            int read;
+
+            while ((read = stream.read(buf)) != -1) {
+                total += read;
+                if (total > MAX_DRAIN_BYTES) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private Semaphore getHostPermits(final URL url) {
+        String key = url.getProtocol() + "://" + url.getAuthority();
+        Semaphore permits = hostPermits.get(key);
+
+        if (permits == null) {
+            Semaphore newPermits = new Semaphore(MAX_CONNECTIONS_PER_HOST);
+            permits = hostPermits.putIfAbsent(key, newPermits);
+            if (permits == null) {
+                permits = newPermits;
+            }
+        }
+        return permits;
+    }
+
+    private static class InstanceHolder {
+        static final ConnectionPool INSTANCE = new ConnectionPool();
+    }
+}
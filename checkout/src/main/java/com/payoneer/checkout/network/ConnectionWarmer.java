@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.payoneer.checkout.core.Workers;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+/**
+ * The Singleton class warming up the connection to the host of the Payment API before the first request is made.
+ * <p>
+ * Warming up resolves the host name, opens the socket and completes the TLS handshake by making a HEAD request to
+ * the given URL. The response has no body so the connection is kept alive afterwards, and the next request to the same
+ * host, i.e. loading the list, reuses the warm connection without paying for these round trips again.
+ */
+public final class ConnectionWarmer extends BaseConnection {
+
+    /** Time in milliseconds a warmed connection is expected to be kept alive by the server */
+    public final static long WARM_DURATION = 60000;
+
+    private final static long NOT_WARMED = -1;
+
+    private final Map<String, Long> warmedHosts;
+
+    private ConnectionWarmer() {
+        this.warmedHosts = new HashMap<>();
+    }
+
+    /**
+     * Get the instance of this ConnectionWarmer
+     *
+     * @return the instance of this ConnectionWarmer
+     */
+    public static ConnectionWarmer getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Warm up the connection to the host of the given URL in the background. This method returns immediately and
+     * does nothing when the host is being warmed up or has been warmed up recently.
+     *
+     * @param url pointing to the Payment API, i.e. the list URL
+     */
+    public void warmUp(String url) {
+        final URL warmUrl;
+        try {
+            warmUrl = new URL(url);
+        } catch (MalformedURLException e) {
+            Log.w("Checkout", e);
+            return;
+        }
+        final String host = getHost(warmUrl);
+        synchronized (warmedHosts) {
+            if (isWarm(host)) {
+                return;
+            }
+            // the host is marked as warm while it is being warmed up to avoid duplicate requests
+            warmedHosts.put(host, SystemClock.elapsedRealtime());
+        }
+        try {
+            Workers.getInstance().forNetworkTasks().execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (!warmUpConnection(warmUrl)) {
+                        synchronized (warmedHosts) {
+                            warmedHosts.remove(host);
+                        }
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            synchronized (warmedHosts) {
+                warmedHosts.remove(host);
+            }
+            Log.w("Checkout", e);
+        }
+    }
+
+    /**
+     * Check if the connection to the host of the given URL is warm or being warmed up
+     *
+     * @param url pointing to the Payment API
+     * @return true when warm, false otherwise
+     */
+    public boolean isWarm(URL url) {
+        synchronized (warmedHosts) {
+            return isWarm(getHost(url));
+        }
+    }
+
+    /**
+     * Forget all warmed up hosts
+     */
+    void reset() {
+        synchronized (warmedHosts) {
+            warmedHosts.clear();
+        }
+    }
+
+    /**
+     * Make the HEAD request warming up the connection, any response from the server leaves a warm connection behind.
+     *
+     * @param url pointing to the Payment API
+     * @return true when the server responded, false when the connection failed
+     */
+    boolean warmUpConnection(URL url) {
+        HttpURLConnection conn = null;
+        try {
+            conn = createHeadConnection(url, RequestType.WARMUP);
+            connect(conn);
+            getResponseCode(conn);
+            return true;
+        } catch (IOException | SecurityException e) {
+            // The list will be loaded over a new connection instead
+            Log.w("Checkout", e);
+            return false;
+        } finally {
+            close(conn);
+        }
+    }
+
+    private boolean isWarm(String host) {
+        Long warmedAt = warmedHosts.get(host);
+        long elapsed = warmedAt != null ? SystemClock.elapsedRealtime() - warmedAt : NOT_WARMED;
+        return elapsed >= 0 && elapsed < WARM_DURATION;
+    }
+
+    private static String getHost(URL url) {
+        return url.getProtocol() + "://" + url.getAuthority();
+    }
+
+    private static class InstanceHolder {
+        static final ConnectionWarmer INSTANCE = new ConnectionWarmer();
+    }
+}
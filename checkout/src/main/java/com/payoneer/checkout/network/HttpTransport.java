@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * Interface for the transport opening the HTTP connections used by all requests to the Payment API.
+ * <p>
+ * The default transport opens the connections from the shared ConnectionPool, other transports may serve the
+ * requests from memory, i.e. to run tests or benchmarks without network access.
+ */
+public interface HttpTransport {
+
+    /**
+     * Open a new HttpURLConnection for the given URL, the connection is not yet connected.
+     *
+     * @param url the url for which a connection should be opened
+     * @param timeout maximum time in milliseconds to wait for a free connection
+     * @return the opened HttpURLConnection, this connection must be released after usage
+     */
+    HttpURLConnection open(URL url, int timeout) throws IOException;
+
+    /**
+     * Release the HttpURLConnection after the request has been completed
+     *
+     * @param conn the connection to release
+     */
+    void release(HttpURLConnection conn);
+}
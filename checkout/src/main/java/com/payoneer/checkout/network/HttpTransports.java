@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+/**
+ * The Singleton class holding the HttpTransport used by all connections to the Payment API
+ */
+public final class HttpTransports {
+
+    private volatile HttpTransport transport;
+
+    private HttpTransports() {
+    }
+
+    /**
+     * Get the instance of this HttpTransports
+     *
+     * @return the instance of this HttpTransports
+     */
+    public static HttpTransports getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Set the HttpTransport used by all subsequent requests
+     *
+     * @param transport the transport to use or null to use the default transport
+     */
+    public void setTransport(HttpTransport transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * Get the HttpTransport used to open connections
+     *
+     * @return the transport set by the application or the default HttpURLConnection transport
+     */
+    public HttpTransport getTransport() {
+        HttpTransport current = transport;
+        return current != null ? current : ConnectionPool.getInstance();
+    }
+
+    private static class InstanceHolder {
+        static final HttpTransports INSTANCE = new HttpTransports();
+    }
+}
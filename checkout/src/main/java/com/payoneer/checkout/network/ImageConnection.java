@@ -14,9 +14,9 @@ import java.net.HttpURLConnection;
 import java.net.URL;
 
 import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.util.BitmapDecoder;
 
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 
 /**
  * Class for loading images from the network
@@ -28,21 +28,93 @@ import android.graphics.BitmapFactory;
 public final class ImageConnection extends BaseConnection {
 
     /**
-     * Load the Bitmap from the given URL
+     * Load the Bitmap from the given URL, the request is retried according to the RetryPolicy
+     * when it fails because of a network failure.
      *
      * @param url the pointing to the language entries
      * @return Bitmap drawable
      */
     public Bitmap loadBitmap(final URL url) throws PaymentException {
+        return loadBitmap(url, BitmapDecoder.createDefault());
+    }
+
+    /**
+     * Load the Bitmap from the given URL and decode it with the given decoder, the request is retried according to the
+     * RetryPolicy when it fails because of a network failure.
+     *
+     * @param url the pointing to the image
+     * @param decoder decoding the image into a Bitmap sized for the view in which it is shown
+     * @return Bitmap drawable
+     */
+    public Bitmap loadBitmap(final URL url, final BitmapDecoder decoder) throws PaymentException {
+        if (url == null) {
+            throw new IllegalArgumentException("url cannot be null");
+        }
+        if (decoder == null) {
+            throw new IllegalArgumentException("decoder cannot be null");
+        }
+        String key = SingleFlight.createKey(HTTP_GET, url.toString()) + " [" + decoder.getKey() + "]";
+        return executeGet(key, url.toString(), () -> requestBitmap(url, decoder), null);
+    }
+
+    /**
+     * Load the encoded image from the given URL without decoding it, the request is retried according to the RetryPolicy
+     * when it fails because of a network failure.
+     *
+     * @param url the pointing to the image
+     * @return the encoded image
+     */
+    public byte[] loadImageData(final URL url) throws PaymentException {
         if (url == null) {
             throw new IllegalArgumentException("url cannot be null");
         }
+        String key = SingleFlight.createKey(HTTP_GET, url.toString()) + " [data]";
+        return executeGet(key, url.toString(), () -> requestImageData(url), null);
+    }
+
+    /**
+     * Make a single request to load the encoded image from the given URL
+     *
+     * @param url the pointing to the image
+     * @return the encoded image
+     */
+    private byte[] requestImageData(final URL url) throws PaymentException {
         HttpURLConnection conn = null;
         try {
-            conn = createGetConnection(url);
+            conn = createGetConnection(url, RequestType.LOGO);
+            connect(conn);
+            final int rc = getResponseCode(conn);
+            if (rc != HttpURLConnection.HTTP_OK) {
+                throw createPaymentException(rc, conn);
+            }
+            try (InputStream in = getInputStream(conn)) {
+                return readBytes(in);
+            }
+        } catch (IOException e) {
+            throw createPaymentException(e, true);
+        } finally {
+            close(conn);
+        }
+    }
 
-            try (InputStream in = conn.getInputStream()) {
-                return BitmapFactory.decodeStream(in);
+    /**
+     * Make a single request to load the Bitmap from the given URL
+     *
+     * @param url the pointing to the image
+     * @param decoder decoding the image into a Bitmap
+     * @return Bitmap drawable
+     */
+    private Bitmap requestBitmap(final URL url, final BitmapDecoder decoder) throws PaymentException {
+        HttpURLConnection conn = null;
+        try {
+            conn = createGetConnection(url, RequestType.LOGO);
+            connect(conn);
+            final int rc = getResponseCode(conn);
+            if (rc != HttpURLConnection.HTTP_OK) {
+                throw createPaymentException(rc, conn);
+            }
+            try (InputStream in = getInputStream(conn)) {
+                return decoder.decode(in);
             }
         } catch (IOException e) {
             throw createPaymentException(e, true);
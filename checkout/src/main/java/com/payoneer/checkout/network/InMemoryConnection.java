@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.ProtocolException;
+import java.net.SocketException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * HttpURLConnection exchanging the request and response with the InMemoryTransport.
+ * The request is made when the connection is connected, the response body is read with the bandwidth of the transport.
+ */
+final class InMemoryConnection extends HttpURLConnection {
+
+    private final InMemoryTransport transport;
+    private ByteArrayOutputStream requestBody;
+    private InMemoryTransport.Response response;
+    private volatile boolean disconnected;
+    private boolean released;
+
+    /**
+     * Construct a new InMemoryConnection
+     *
+     * @param url the URL of the request
+     * @param transport making the request
+     */
+    InMemoryConnection(URL url, InMemoryTransport transport) {
+        super(url);
+        this.transport = transport;
+    }
+
+    @Override
+    public void connect() throws IOException {
+        if (connected) {
+            return;
+        }
+        if (disconnected) {
+            throw new SocketException("Connection has been disconnected");
+        }
+        Map<String, String> headers = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : getRequestProperties().entrySet()) {
+            List<String> values = entry.getValue();
+            if (entry.getKey() != null && !values.isEmpty()) {
+                headers.put(entry.getKey().toLowerCase(Locale.ROOT), values.get(0));
+            }
+        }
+        byte[] body = requestBody != null ? requestBody.toByteArray() : new byte[0];
+        response = transport.exchange(new InMemoryTransport.Request(method, url, headers, body));
+        responseCode = response.code;
+        connected = true;
+    }
+
+    @Override
+    public void disconnect() {
+        disconnected = true;
+    }
+
+    @Override
+    public boolean usingProxy() {
+        return false;
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        if (connected) {
+            throw new ProtocolException("Cannot write output after reading input");
+        }
+        if (!doOutput) {
+            throw new ProtocolException("Output is not enabled for this connection");
+        }
+        if (requestBody == null) {
+            requestBody = new ByteArrayOutputStream();
+        }
+        return requestBody;
+    }
+
+    @Override
+    public int getResponseCode() throws IOException {
+        connect();
+        return response.code;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        connect();
+        if (response.code >= HTTP_BAD_REQUEST) {
+            throw new FileNotFoundException(url.toString());
+        }
+        return new ResponseStream(response.body);
+    }
+
+    @Override
+    public InputStream getErrorStream() {
+        if (!connected || response.code < HTTP_BAD_REQUEST || response.body.length == 0) {
+            return null;
+        }
+        return new ResponseStream(response.body);
+    }
+
+    @Override
+    public String getHeaderField(String name) {
+        if (!connectQuietly()) {
+            return null;
+        }
+        return response.getHeader(name);
+    }
+
+    @Override
+    public Map<String, List<String>> getHeaderFields() {
+        if (!connectQuietly()) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<String>> fields = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : response.headers.entrySet()) {
+            List<String> values = new ArrayList<>();
+            values.add(entry.getValue());
+            fields.put(entry.getKey(), Collections.unmodifiableList(values));
+        }
+        return Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * Mark this connection as released
+     *
+     * @return true when released for the first time, false otherwise
+     */
+    synchronized boolean release() {
+        if (released) {
+            return false;
+        }
+        released = true;
+        return true;
+    }
+
+    private boolean connectQuietly() {
+        try {
+            connect();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * InputStream reading the response body with the bandwidth of the transport, reading fails once the connection
+     * has been disconnected.
+     */
+    private class ResponseStream extends FilterInputStream {
+
+        /** Maximum number of bytes read at once, this keeps the throttling of larger bodies smooth */
+        private final static int MAX_CHUNK = 1024;
+
+        ResponseStream(byte[] body) {
+            super(new ByteArrayInputStream(body));
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkDisconnected();
+            int value = super.read();
+            if (value != -1) {
+                transport.throttle(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            checkDisconnected();
+            int read = super.read(b, off, Math.min(len, MAX_CHUNK));
+            transport.throttle(read);
+            return read;
+        }
+
+        private void checkDisconnected() throws IOException {
+            if (disconnected) {
+                throw new SocketException("Socket closed");
+            }
+        }
+    }
+}
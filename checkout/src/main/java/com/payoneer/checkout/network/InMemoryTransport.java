@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HttpTransport serving all requests from memory without opening any sockets.
+ * <p>
+ * Responses are created by a Handler and can be delayed by a fixed latency and a limited bandwidth. Network failures
+ * are injected either for the next number of requests or randomly with a failure rate, the random failures are
+ * reproducible since they are drawn from a seeded random generator. This makes it possible to test and benchmark
+ * payment sessions and operations deterministically without network access.
+ */
+public final class InMemoryTransport implements HttpTransport {
+
+    private final Handler handler;
+    private final Random random;
+    private final List<Request> requests;
+    private final AtomicInteger openConnections;
+    private final AtomicInteger pendingFailures;
+
+    private volatile long latency;
+    private volatile long bandwidth;
+    private volatile double failureRate;
+
+    /**
+     * Interface for creating the responses of requests made through the InMemoryTransport
+     */
+    public interface Handler {
+
+        /**
+         * Create the response for the given request
+         *
+         * @param request the request received by the transport
+         * @return the response to be returned, null results in a 404 response
+         */
+        Response handle(Request request) throws IOException;
+    }
+
+    /**
+     * Construct a new InMemoryTransport
+     *
+     * @param handler creating the responses
+     */
+    public InMemoryTransport(Handler handler) {
+        this(handler, 0);
+    }
+
+    /**
+     * Construct a new InMemoryTransport
+     *
+     * @param handler creating the responses
+     * @param seed of the random generator deciding which requests fail when a failure rate is set
+     */
+    public InMemoryTransport(Handler handler, long seed) {
+        if (handler == null) {
+            throw new IllegalArgumentException("handler cannot be null");
+        }
+        this.handler = handler;
+        this.random = new Random(seed);
+        this.requests = new CopyOnWriteArrayList<>();
+        this.openConnections = new AtomicInteger();
+        this.pendingFailures = new AtomicInteger();
+    }
+
+    /**
+     * Set the latency added to every request before the response is available
+     *
+     * @param latency the latency in milliseconds
+     */
+    public void setLatency(long latency) {
+        this.latency = Math.max(0, latency);
+    }
+
+    /**
+     * Set the bandwidth at which response bodies are read
+     *
+     * @param bandwidth the number of bytes per second, zero for unlimited bandwidth
+     */
+    public void setBandwidth(long bandwidth) {
+        this.bandwidth = Math.max(0, bandwidth);
+    }
+
+    /**
+     * Set the rate at which requests randomly fail with a network failure
+     *
+     * @param failureRate the rate between 0 and 1
+     */
+    public void setFailureRate(double failureRate) {
+        if (failureRate < 0 || failureRate > 1) {
+            throw new IllegalArgumentException("failureRate must be between 0 and 1");
+        }
+        this.failureRate = failureRate;
+    }
+
+    /**
+     * Let the next number of requests fail with a network failure
+     *
+     * @param count the number of requests that should fail
+     */
+    public void failNext(int count) {
+        pendingFailures.set(Math.max(0, count));
+    }
+
+    /**
+     * Get all requests received by this transport in the order they were made, including failed requests
+     *
+     * @return the list of received requests
+     */
+    public List<Request> getRequests() {
+        return new ArrayList<>(requests);
+    }
+
+    /**
+     * Get the number of connections that have been opened and not yet released
+     *
+     * @return the number of open connections
+     */
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    @Override
+    public HttpURLConnection open(URL url, int timeout) {
+        openConnections.incrementAndGet();
+        return new InMemoryConnection(url, this);
+    }
+
+    @Override
+    public void release(HttpURLConnection conn) {
+        if (conn instanceof InMemoryConnection && ((InMemoryConnection) conn).release()) {
+            openConnections.decrementAndGet();
+        }
+    }
+
+    /**
+     * Make the request, this blocks for the configured latency
+     *
+     * @param request to be send
+     * @return the response of the request
+     */
+    Response exchange(Request request) throws IOException {
+        requests.add(request);
+        sleep(TimeUnit.MILLISECONDS.toNanos(latency));
+
+        if (shouldFail()) {
+            throw new ConnectException("Injected network failure: " + request.url);
+        }
+        Response response = handler.handle(request);
+        return response != null ? response : new Response(HttpURLConnection.HTTP_NOT_FOUND, new byte[0]);
+    }
+
+    /**
+     * Block the reading thread for the time it takes to receive the number of bytes with the configured bandwidth
+     *
+     * @param bytes the number of bytes that have been read
+     */
+    void throttle(int bytes) throws IOException {
+        long current = bandwidth;
+        if (current > 0 && bytes > 0) {
+            sleep(TimeUnit.SECONDS.toNanos(bytes) / current);
+        }
+    }
+
+    private boolean shouldFail() {
+        while (true) {
+            int pending = pendingFailures.get();
+            if (pending == 0) {
+                break;
+            }
+            if (pendingFailures.compareAndSet(pending, pending - 1)) {
+                return true;
+            }
+        }
+        double rate = failureRate;
+        if (rate == 0) {
+            return false;
+        }
+        synchronized (random) {
+            return random.nextDouble() < rate;
+        }
+    }
+
+    private static void sleep(long nanos) throws IOException {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the response");
+        }
+    }
+
+    /**
+     * Class holding a request received by the InMemoryTransport
+     */
+    public static final class Request {
+        public final String method;
+        public final URL url;
+        public final Map<String, String> headers;
+        public final byte[] body;
+
+        Request(String method, URL url, Map<String, String> headers, byte[] body) {
+            this.method = method;
+            this.url = url;
+            this.headers = Collections.unmodifiableMap(headers);
+            this.body = body;
+        }
+
+        /**
+         * Get the value of the request header
+         *
+         * @param name of the header, case insensitive
+         * @return the value or null if not found
+         */
+        public String getHeader(String name) {
+            return headers.get(name.toLowerCase(Locale.ROOT));
+        }
+
+        /**
+         * Get the body of the request as UTF-8 String
+         *
+         * @return the body of the request
+         */
+        public String getBodyAsString() {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Class holding the response returned by the InMemoryTransport
+     */
+    public static final class Response {
+        public final int code;
+        public final Map<String, String> headers = new LinkedHashMap<>();
+        public final byte[] body;
+
+        public Response(int code, byte[] body) {
+            this.code = code;
+            this.body = body != null ? body : new byte[0];
+        }
+
+        /**
+         * Create a new Response containing Json content
+         *
+         * @param code the HTTP status code
+         * @param json the body of the response
+         * @return newly created response
+         */
+        public static Response json(int code, String json) {
+            Response response = new Response(code, json.getBytes(StandardCharsets.UTF_8));
+            response.headers.put("Content-Type", "application/json;charset=UTF-8");
+            return response;
+        }
+
+        /**
+         * Add a header to this response
+         *
+         * @param name of the header
+         * @param value of the header
+         * @return this response
+         */
+        public Response header(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+
+        /**
+         * Get the value of the response header
+         *
+         * @param name of the header, case insensitive
+         * @return the value or null if not found
+         */
+        String getHeader(String name) {
+            for (Map.Entry<String, String> entry : headers.entrySet()) {
+                if (entry.getKey().equalsIgnoreCase(name)) {
+                    return entry.getValue();
+                }
+            }
+            return null;
+        }
+    }
+}
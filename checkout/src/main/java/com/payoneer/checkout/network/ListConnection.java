@@ -63,17 +63,17 @@ public final class ListConnection extends BaseConnection {
 
         HttpURLConnection conn = null;
         try {
-            conn = createPostConnection(listUrl);
+            conn = createPostConnection(listUrl, RequestType.LIST);
             conn.setRequestProperty(HEADER_AUTHORIZATION, authorization);
             conn.setRequestProperty(HEADER_CONTENT_TYPE, VALUE_APP_JSON);
             conn.setRequestProperty(HEADER_ACCEPT, VALUE_APP_JSON);
 
             writeToOutputStream(conn, listData);
-            conn.connect();
-            final int rc = conn.getResponseCode();
+            connect(conn);
+            final int rc = getResponseCode(conn);
 
             if (rc == HttpURLConnection.HTTP_OK) {
-                return handleCreatePaymentSessionOk(readFromInputStream(conn));
+                return handleCreatePaymentSessionOk(conn);
             }
             throw createPaymentException(rc, conn);
         } catch (JsonParseException | MalformedURLException | SecurityException e) {
@@ -87,7 +87,8 @@ public final class ListConnection extends BaseConnection {
 
     /**
      * Make a get request to the Payment API in order to
-     * obtain the details of an active list session
+     * obtain the details of an active list session. The request is
+     * retried according to the RetryPolicy when it fails because of a network failure.
      *
      * @param url the url pointing to the list
      * @return the NetworkResponse containing either an error or the ListResult
@@ -96,20 +97,42 @@ public final class ListConnection extends BaseConnection {
         if (TextUtils.isEmpty(url)) {
             throw new IllegalArgumentException("url cannot be null or empty");
         }
+        String key = SingleFlight.createKey(HTTP_GET, url);
+        return executeGet(key, url, () -> loadListResult(url), this::copyListResult);
+    }
+
+    /**
+     * Copy the ListResult for callers whose request has been merged with an identical request,
+     * each caller receives its own ListResult since it is mutable.
+     *
+     * @param listResult to be copied
+     * @return the copy of the ListResult
+     */
+    private ListResult copyListResult(final ListResult listResult) {
+        return gson.fromJson(gson.toJson(listResult), ListResult.class);
+    }
+
+    /**
+     * Make a single get request to the Payment API to obtain the details of an active list session
+     *
+     * @param url the url pointing to the list
+     * @return the ListResult
+     */
+    private ListResult loadListResult(final String url) throws PaymentException {
         HttpURLConnection conn = null;
 
         try {
             final String requestUrl = Uri.parse(url).buildUpon()
                 .build().toString();
 
-            conn = createGetConnection(requestUrl);
+            conn = createGetConnection(requestUrl, RequestType.LIST);
             conn.setRequestProperty(HEADER_CONTENT_TYPE, VALUE_APP_JSON);
             conn.setRequestProperty(HEADER_ACCEPT, VALUE_APP_JSON);
 
-            conn.connect();
-            final int rc = conn.getResponseCode();
+            connect(conn);
+            final int rc = getResponseCode(conn);
             if (rc == HttpURLConnection.HTTP_OK) {
-                return handleGetListResultOk(readFromInputStream(conn));
+                return handleGetListResultOk(conn);
             }
             throw createPaymentException(rc, conn);
         } catch (JsonParseException | MalformedURLException | SecurityException e) {
@@ -125,20 +148,20 @@ public final class ListConnection extends BaseConnection {
     /**
      * Handle the create new payment session OK state
      *
-     * @param data the response data received from the API
+     * @param conn the connection containing the response data received from the API
      * @return the ListResult
      */
-    private ListResult handleCreatePaymentSessionOk(final String data) throws JsonParseException {
-        return gson.fromJson(data, ListResult.class);
+    private ListResult handleCreatePaymentSessionOk(final HttpURLConnection conn) throws IOException, JsonParseException {
+        return readFromInputStream(conn, ListResult.class);
     }
 
     /**
      * Handle get list result OK state
      *
-     * @param data the response data received from the Payment API
+     * @param conn the connection containing the response data received from the Payment API
      * @return the ListResult
      */
-    private ListResult handleGetListResultOk(final String data) throws JsonParseException {
-        return gson.fromJson(data, ListResult.class);
+    private ListResult handleGetListResultOk(final HttpURLConnection conn) throws IOException, JsonParseException {
+        return readFromInputStream(conn, ListResult.class);
     }
 }
@@ -17,6 +17,7 @@ import java.util.Map;
 import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
 import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.localization.CachedLocalization;
 import com.payoneer.checkout.localization.LocalizationHolder;
 import com.payoneer.checkout.localization.MapLocalizationHolder;
 
@@ -32,6 +33,11 @@ import android.content.Context;
  */
 public final class LocalizationConnection extends BaseConnection {
 
+    private final static String HEADER_ETAG = "ETag";
+    private final static String HEADER_LAST_MODIFIED = "Last-Modified";
+    private final static String HEADER_IF_NONE_MATCH = "If-None-Match";
+    private final static String HEADER_IF_MODIFIED_SINCE = "If-Modified-Since";
+
     /**
      * Construct a new LocalizationConnection
      *
@@ -42,7 +48,8 @@ public final class LocalizationConnection extends BaseConnection {
     }
 
     /**
-     * Load the localization file given the URL.
+     * Load the localization file given the URL. The request is retried according to the RetryPolicy when it fails
+     * because of a network failure.
      *
      * @param url containing the address of the remote language file
      * @return LocalizationFile object containing the language entries
@@ -51,15 +58,26 @@ public final class LocalizationConnection extends BaseConnection {
         if (url == null) {
             throw new IllegalArgumentException("url cannot be null");
         }
+        String key = SingleFlight.createKey(HTTP_GET, url.toString());
+        return executeGet(key, url.toString(), () -> requestLocalization(url), null);
+    }
+
+    /**
+     * Make a single request to load the localization file given the URL
+     *
+     * @param url containing the address of the remote language file
+     * @return LocalizationFile object containing the language entries
+     */
+    private LocalizationHolder requestLocalization(URL url) throws PaymentException {
         HttpURLConnection conn = null;
         try {
-            conn = createGetConnection(url);
+            conn = createGetConnection(url, RequestType.LOCALIZATION);
             conn.setRequestProperty(HEADER_CONTENT_TYPE, VALUE_APP_JSON);
             conn.setRequestProperty(HEADER_ACCEPT, VALUE_APP_JSON);
-            conn.connect();
-            final int rc = conn.getResponseCode();
+            connect(conn);
+            final int rc = getResponseCode(conn);
             if (rc == HttpURLConnection.HTTP_OK) {
-                return handleLoadLocalizationOk(readFromInputStream(conn));
+                return handleLoadLocalizationOk(conn);
             }
             throw createPaymentException(rc, conn);
         } catch (JsonParseException | SecurityException e) {
@@ -71,15 +89,95 @@ public final class LocalizationConnection extends BaseConnection {
         }
     }
 
+    /**
+     * Load the localization file given the URL. If a previously stored localization is provided, a conditional request
+     * is made using its ETag and Last-Modified values. When the server responds that the file has not been modified,
+     * the stored localization is returned with an updated timestamp.
+     *
+     * @param url containing the address of the remote language file
+     * @param cached previously stored localization of the same URL, may be null
+     * @return CachedLocalization containing the language entries and validators
+     */
+    public CachedLocalization loadLocalization(URL url, CachedLocalization cached) throws PaymentException {
+        if (url == null) {
+            throw new IllegalArgumentException("url cannot be null");
+        }
+        // Conditional requests are only merged when they are made with the same validators
+        String key = SingleFlight.createKey(HTTP_GET, url.toString()) + getValidatorsKey(cached);
+        return executeGet(key, url.toString(), () -> requestLocalization(url, cached), null);
+    }
+
+    /**
+     * Make a single, optionally conditional, request to load the localization file given the URL
+     *
+     * @param url containing the address of the remote language file
+     * @param cached previously stored localization of the same URL, may be null
+     * @return CachedLocalization containing the language entries and validators
+     */
+    private CachedLocalization requestLocalization(URL url, CachedLocalization cached) throws PaymentException {
+        HttpURLConnection conn = null;
+        try {
+            conn = createGetConnection(url, RequestType.LOCALIZATION);
+            conn.setRequestProperty(HEADER_CONTENT_TYPE, VALUE_APP_JSON);
+            conn.setRequestProperty(HEADER_ACCEPT, VALUE_APP_JSON);
+            setConditionalProperties(conn, cached);
+            connect(conn);
+            final int rc = getResponseCode(conn);
+            if (rc == HttpURLConnection.HTTP_OK) {
+                return new CachedLocalization(url.toString(), conn.getHeaderField(HEADER_ETAG),
+                    conn.getHeaderField(HEADER_LAST_MODIFIED), System.currentTimeMillis(), readLocalizationEntries(conn));
+            }
+            if (rc == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+                return cached.revalidate(conn.getHeaderField(HEADER_ETAG), conn.getHeaderField(HEADER_LAST_MODIFIED),
+                    System.currentTimeMillis());
+            }
+            throw createPaymentException(rc, conn);
+        } catch (JsonParseException | SecurityException e) {
+            throw createPaymentException(e, false);
+        } catch (IOException e) {
+            throw createPaymentException(e, true);
+        } finally {
+            close(conn);
+        }
+    }
+
+    /**
+     * Get the part of the SingleFlight key identifying the validators of a conditional request
+     *
+     * @param cached previously stored localization, may be null
+     * @return the validators key
+     */
+    private String getValidatorsKey(final CachedLocalization cached) {
+        if (cached == null) {
+            return " [cached]";
+        }
+        return " [cached " + cached.getETag() + " " + cached.getLastModified() + "]";
+    }
+
     /**
      * Handle get localizations ok
      *
-     * @param data the response data received from the Payment API
+     * @param conn the connection containing the response data received from the Payment API
      * @return the LocalizationHolder containing the localizations
      */
-    private LocalizationHolder handleLoadLocalizationOk(final String data) throws JsonParseException {
-        Map<String, String> map = gson.fromJson(data, new TypeToken<HashMap<String, String>>() {
+    private LocalizationHolder handleLoadLocalizationOk(final HttpURLConnection conn) throws IOException, JsonParseException {
+        return new MapLocalizationHolder(readLocalizationEntries(conn));
+    }
+
+    private Map<String, String> readLocalizationEntries(final HttpURLConnection conn) throws IOException, JsonParseException {
+        return readFromInputStream(conn, new TypeToken<HashMap<String, String>>() {
         }.getType());
-        return new MapLocalizationHolder(map);
+    }
+
+    private void setConditionalProperties(final HttpURLConnection conn, final CachedLocalization cached) {
+        if (cached == null) {
+            return;
+        }
+        if (cached.getETag() != null) {
+            conn.setRequestProperty(HEADER_IF_NONE_MATCH, cached.getETag());
+        }
+        if (cached.getLastModified() != null) {
+            conn.setRequestProperty(HEADER_IF_MODIFIED_SINCE, cached.getLastModified());
+        }
     }
 }
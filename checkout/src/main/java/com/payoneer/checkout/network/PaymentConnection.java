@@ -9,8 +9,13 @@
 package com.payoneer.checkout.network;
 
 import java.io.IOException;
+import java.net.ConnectException;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+
+import javax.net.ssl.SSLHandshakeException;
 
 import com.google.gson.JsonParseException;
 import com.payoneer.checkout.core.PaymentException;
@@ -30,6 +35,8 @@ import android.content.Context;
  */
 public final class PaymentConnection extends BaseConnection {
 
+    private final static String HEADER_IDEMPOTENCY_KEY = "Idempotency-Key";
+
     /**
      * Construct a new PaymentConnection
      *
@@ -52,18 +59,18 @@ public final class PaymentConnection extends BaseConnection {
         HttpURLConnection conn = null;
 
         try {
-            conn = createDeleteConnection(account.getURL());
+            conn = createDeleteConnection(account.getURL(), RequestType.DELETE);
             conn.setRequestProperty(HEADER_CONTENT_TYPE, VALUE_APP_JSON);
             conn.setRequestProperty(HEADER_ACCEPT, VALUE_APP_JSON);
 
             writeToOutputStream(conn, account.toJson());
-            conn.connect();
-            final int rc = conn.getResponseCode();
+            connect(conn);
+            final int rc = getResponseCode(conn);
             if (rc == HttpURLConnection.HTTP_OK) {
-                return handleOperationResult(readFromInputStream(conn));
+                return handleOperationResult(conn);
             }
             throw createPaymentException(rc, conn);
-        } catch (MalformedURLException | SecurityException e) {
+        } catch (JsonParseException | MalformedURLException | SecurityException e) {
             throw createPaymentException(e, false);
         } catch (IOException e) {
             throw createPaymentException(e, true);
@@ -82,36 +89,80 @@ public final class PaymentConnection extends BaseConnection {
         if (operation == null) {
             throw new IllegalArgumentException("operation cannot be null");
         }
+        return requestOperation(operation);
+    }
+
+    /**
+     * Post an operation to the Payment API and keep retrying it until the retry timeout expires when it could not be
+     * sent, i.e. because the host could not be resolved or the connection or TLS handshake failed. Network failures
+     * after the operation may have reached the Payment API are not retried. Every attempt carries the idempotency
+     * key of the operation.
+     *
+     * @param operation holding the request data
+     * @param retryTimeout the total time in milliseconds in which the operation may be retried
+     * @return the OperationResult object received from the Payment API
+     */
+    public OperationResult postOperation(final Operation operation, final long retryTimeout) throws PaymentException {
+        if (operation == null) {
+            throw new IllegalArgumentException("operation cannot be null");
+        }
+        String url = String.valueOf(operation.getURL());
+        return RetryHandler.getInstance().executeUntil(url, retryTimeout, () -> requestOperation(operation));
+    }
+
+    /**
+     * Make a single attempt to post the operation to the Payment API
+     *
+     * @param operation holding the request data
+     * @return the OperationResult object received from the Payment API
+     */
+    private OperationResult requestOperation(final Operation operation) throws PaymentException {
         HttpURLConnection conn = null;
 
         try {
-            conn = createPostConnection(operation.getURL());
+            conn = createPostConnection(operation.getURL(), RequestType.OPERATION);
             conn.setRequestProperty(HEADER_CONTENT_TYPE, VALUE_APP_JSON);
             conn.setRequestProperty(HEADER_ACCEPT, VALUE_APP_JSON);
+            conn.setRequestProperty(HEADER_IDEMPOTENCY_KEY, operation.getIdempotencyKey());
 
             writeToOutputStream(conn, operation.toJson());
-            conn.connect();
-            final int rc = conn.getResponseCode();
+            connect(conn);
+            final int rc = getResponseCode(conn);
             if (rc == HttpURLConnection.HTTP_OK) {
-                return handleOperationResult(readFromInputStream(conn));
+                return handleOperationResult(conn);
             }
             throw createPaymentException(rc, conn);
-        } catch (MalformedURLException | SecurityException e) {
+        } catch (JsonParseException | MalformedURLException | SecurityException e) {
             throw createPaymentException(e, false);
         } catch (IOException e) {
+            if (conn == null || isNotSent(e)) {
+                throw new RequestNotSentException(e);
+            }
             throw createPaymentException(e, true);
         } finally {
             close(conn);
         }
     }
 
+    /**
+     * Check if the request failed before it was sent, i.e. the host could not be resolved or the connection or TLS
+     * handshake failed. These failures occur before any byte of the request has been sent.
+     *
+     * @param e the exception thrown by the connection
+     * @return true when the request has not been sent, false when it may have reached the Payment API
+     */
+    private static boolean isNotSent(final IOException e) {
+        return e instanceof UnknownHostException || e instanceof ConnectException ||
+            e instanceof NoRouteToHostException || e instanceof SSLHandshakeException;
+    }
+
     /**
      * Handle the Operation Result
      *
-     * @param data the response data received from the API
+     * @param conn the connection containing the response data received from the API
      * @return the network response containing the OperationResult
      */
-    private OperationResult handleOperationResult(final String data) throws JsonParseException {
-        return gson.fromJson(data, OperationResult.class);
+    private OperationResult handleOperationResult(final HttpURLConnection conn) throws IOException, JsonParseException {
+        return readFromInputStream(conn, OperationResult.class);
     }
 }
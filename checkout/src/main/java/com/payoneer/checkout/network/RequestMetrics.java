@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class holding the metrics of a single request made to the Payment API.
+ * <p>
+ * The duration of a request is split into phases, a phase that was not reached because the request failed has a
+ * duration of -1. The connect phase contains resolving the host, the TCP and TLS handshakes and sending the request
+ * body. The response body is decoded while it is being downloaded, the download time is the time spent waiting
+ * for bytes from the network, the decode time is the remaining time spent on decompressing and parsing the body.
+ */
+public final class RequestMetrics {
+
+    private final String requestType;
+    private final String method;
+    private final String url;
+    private final int statusCode;
+    private final int retryCount;
+    private final long waitMillis;
+    private final long connectMillis;
+    private final long firstByteMillis;
+    private final long downloadMillis;
+    private final long decodeMillis;
+    private final long totalMillis;
+    private final long bytesSent;
+    private final long bytesReceived;
+
+    /**
+     * Construct the RequestMetrics of a finished request
+     *
+     * @param timer that recorded the phases of the request
+     * @param finishedAt the time in nanoseconds at which the request finished
+     */
+    RequestMetrics(RequestTimer timer, long finishedAt) {
+        this.requestType = timer.requestType;
+        this.method = timer.method;
+        this.url = timer.url;
+        this.statusCode = timer.statusCode;
+        this.retryCount = timer.retryCount;
+        this.waitMillis = toMillis(timer.startedAt, timer.leasedAt);
+        this.connectMillis = toMillis(timer.leasedAt, timer.connectedAt);
+        this.firstByteMillis = toMillis(timer.connectedAt, timer.respondedAt);
+        this.downloadMillis = timer.respondedAt == 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(timer.readNanos);
+        this.decodeMillis = timer.respondedAt == 0 ? -1 :
+            Math.max(0, TimeUnit.NANOSECONDS.toMillis(finishedAt - timer.respondedAt - timer.readNanos));
+        this.totalMillis = TimeUnit.NANOSECONDS.toMillis(finishedAt - timer.startedAt);
+        this.bytesSent = timer.bytesSent;
+        this.bytesReceived = timer.bytesReceived;
+    }
+
+    /**
+     * Get the logical operation of the request, see RequestType
+     *
+     * @return the request type
+     */
+    public String getRequestType() {
+        return requestType;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Get the HTTP status code of the response
+     *
+     * @return the status code or 0 when no response was received, i.e. because of a network failure
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Get the number of times the request had been retried before this attempt was made
+     *
+     * @return the retry count, 0 for the first attempt
+     */
+    public int getRetryCount() {
+        return retryCount;
+    }
+
+    /**
+     * Get the time spent waiting for a free connection to the host
+     *
+     * @return the wait time in milliseconds
+     */
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+
+    /**
+     * Get the time spent on connecting to the host and sending the request
+     *
+     * @return the connect time in milliseconds or -1 if not connected
+     */
+    public long getConnectMillis() {
+        return connectMillis;
+    }
+
+    /**
+     * Get the time between sending the request and receiving the headers of the response
+     *
+     * @return the time to first byte in milliseconds or -1 if no response was received
+     */
+    public long getFirstByteMillis() {
+        return firstByteMillis;
+    }
+
+    /**
+     * Get the time spent waiting for the response body to be received from the network
+     *
+     * @return the download time in milliseconds or -1 if no response was received
+     */
+    public long getDownloadMillis() {
+        return downloadMillis;
+    }
+
+    /**
+     * Get the time spent decompressing and decoding the response body
+     *
+     * @return the decode time in milliseconds or -1 if no response was received
+     */
+    public long getDecodeMillis() {
+        return decodeMillis;
+    }
+
+    /**
+     * Get the time from starting the request until it was finished
+     *
+     * @return the total time in milliseconds
+     */
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Get the number of bytes of the request body
+     *
+     * @return the number of bytes sent
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * Get the number of bytes of the response body as received from the network, before decompression
+     *
+     * @return the number of bytes received
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * Check if a response was received from the Payment API
+     *
+     * @return true when a response was received, false when the request failed or was cancelled before
+     */
+    public boolean hasResponse() {
+        return statusCode != 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "RequestMetrics[type=%s, method=%s, status=%d, retry=%d, wait=%dms, "
+                + "connect=%dms, firstByte=%dms, download=%dms, decode=%dms, total=%dms, sent=%d, received=%d]",
+            requestType, method, statusCode, retryCount, waitMillis, connectMillis, firstByteMillis, downloadMillis,
+            decodeMillis, totalMillis, bytesSent, bytesReceived);
+    }
+
+    private static long toMillis(long start, long end) {
+        return start == 0 || end == 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(end - start);
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+/**
+ * Interface for receiving the metrics of every request made to the Payment API
+ */
+public interface RequestMetricsListener {
+
+    /**
+     * Called when a request has been completed, failed or was cancelled. This method is called from the background
+     * thread that made the request and should return quickly.
+     *
+     * @param metrics the metrics of the request
+     */
+    void onRequestCompleted(RequestMetrics metrics);
+}
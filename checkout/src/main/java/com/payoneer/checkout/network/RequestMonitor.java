@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import android.util.Log;
+
+/**
+ * The Singleton class passing the RequestMetrics of all requests made to the Payment API to the registered listener.
+ * Requests are only timed while a listener is registered.
+ */
+public final class RequestMonitor {
+
+    private volatile RequestMetricsListener listener;
+
+    private RequestMonitor() {
+    }
+
+    /**
+     * Get the instance of this RequestMonitor
+     *
+     * @return the instance of this RequestMonitor
+     */
+    public static RequestMonitor getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Set the listener receiving the RequestMetrics of all subsequent requests
+     *
+     * @param listener to receive the metrics or null to stop timing requests
+     */
+    public void setListener(RequestMetricsListener listener) {
+        this.listener = listener;
+    }
+
+    public RequestMetricsListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Start timing a new request
+     *
+     * @param requestType the logical operation of the request
+     * @param method the HTTP method of the request
+     * @param url the URL of the request
+     * @return the RequestTimer or null when no listener has been registered
+     */
+    RequestTimer start(String requestType, String method, String url) {
+        if (listener == null) {
+            return null;
+        }
+        return new RequestTimer(requestType, method, url, RetryHandler.getCurrentRetryCount());
+    }
+
+    /**
+     * Pass the metrics of the completed request to the listener
+     *
+     * @param metrics of the completed request
+     */
+    void report(RequestMetrics metrics) {
+        RequestMetricsListener current = listener;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.onRequestCompleted(metrics);
+        } catch (RuntimeException e) {
+            // a failing listener must never fail the request itself
+            Log.w("Checkout", e);
+        }
+    }
+
+    private static class InstanceHolder {
+        static final RequestMonitor INSTANCE = new RequestMonitor();
+    }
+}
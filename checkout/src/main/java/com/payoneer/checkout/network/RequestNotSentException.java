@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import com.payoneer.checkout.core.PaymentException;
+
+/**
+ * PaymentException marking a network failure that occurred before the request was sent, the Payment API has not
+ * received the request and it is safe to send it again.
+ */
+final class RequestNotSentException extends PaymentException {
+
+    /**
+     * Construct a new RequestNotSentException
+     *
+     * @param cause the network failure thrown by the connection
+     */
+    RequestNotSentException(final Throwable cause) {
+        super(cause, true);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Class recording the phases of a single request. A request is made by one thread, this class is not thread safe.
+ */
+final class RequestTimer {
+
+    final String requestType;
+    final String method;
+    final String url;
+    final int retryCount;
+    final long startedAt;
+
+    long leasedAt;
+    long connectedAt;
+    long respondedAt;
+    long readNanos;
+    long bytesSent;
+    long bytesReceived;
+    int statusCode;
+
+    /**
+     * Construct a new RequestTimer, the request starts when the timer is created
+     *
+     * @param requestType the logical operation of the request
+     * @param method the HTTP method of the request
+     * @param url the URL of the request
+     * @param retryCount the number of times the request has been retried before
+     */
+    RequestTimer(String requestType, String method, String url, int retryCount) {
+        this.requestType = requestType;
+        this.method = method;
+        this.url = url;
+        this.retryCount = retryCount;
+        this.startedAt = System.nanoTime();
+    }
+
+    /**
+     * Mark that a connection has been obtained from the transport
+     */
+    void leased() {
+        leasedAt = System.nanoTime();
+    }
+
+    /**
+     * Mark that the connection has been established and the request has been sent
+     */
+    void connected() {
+        if (connectedAt == 0) {
+            connectedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Mark that the status line and headers of the response have been received
+     *
+     * @param statusCode the HTTP status code of the response
+     */
+    void responded(int statusCode) {
+        if (respondedAt == 0) {
+            connected();
+            respondedAt = System.nanoTime();
+            this.statusCode = statusCode;
+        }
+    }
+
+    /**
+     * Add the number of bytes of the request body that have been written
+     *
+     * @param bytes number of bytes written
+     */
+    void sent(long bytes) {
+        bytesSent += bytes;
+    }
+
+    /**
+     * Wrap the InputStream of the response so that the bytes received and the time spent reading are counted
+     *
+     * @param in the InputStream as received from the connection
+     * @return the counting InputStream
+     */
+    InputStream wrap(InputStream in) {
+        return in == null ? null : new CountingInputStream(in);
+    }
+
+    /**
+     * Finish timing the request
+     *
+     * @return the metrics of the request
+     */
+    RequestMetrics finish() {
+        return new RequestMetrics(this, System.nanoTime());
+    }
+
+    private class CountingInputStream extends FilterInputStream {
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            long start = System.nanoTime();
+            try {
+                int value = super.read();
+                if (value != -1) {
+                    bytesReceived++;
+                }
+                return value;
+            } finally {
+                readNanos += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            long start = System.nanoTime();
+            try {
+                int read = super.read(b, off, len);
+                if (read > 0) {
+                    bytesReceived += read;
+                }
+                return read;
+            } finally {
+                readNanos += System.nanoTime() - start;
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import androidx.annotation.StringDef;
+
+/**
+ * This class describes the logical operations of the requests made to the Payment API
+ */
+public class RequestType {
+
+    public final static String LIST = "list";
+    public final static String LOCALIZATION = "localization";
+    public final static String LOGO = "logo";
+    public final static String OPERATION = "operation";
+    public final static String DELETE = "delete";
+    public final static String WARMUP = "warmup";
+
+    /**
+     * The interface Definition
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @StringDef({
+        LIST,
+        LOCALIZATION,
+        LOGO,
+        OPERATION,
+        DELETE,
+        WARMUP
+    })
+    public @interface Definition { }
+}
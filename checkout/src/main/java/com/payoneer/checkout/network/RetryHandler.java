@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.payoneer.checkout.core.Cancellation;
+import com.payoneer.checkout.core.PaymentException;
+
+/**
+ * The Singleton class retrying idempotent requests that failed because of a network failure.
+ * <p>
+ * Only requests failing with a PaymentException marked as network failure are retried, errors returned by the
+ * Payment API are thrown immediately. Each host has its own circuit breaker, once a host has failed too many times in
+ * a row requests to it fail fast without opening a connection. Operations have their own circuit breakers so that
+ * failing GET requests never block the payment of the user and vice versa. Operations are only retried when they
+ * failed before they were sent. Requests are never retried after they have been cancelled or the calling thread has
+ * been interrupted.
+ */
+public final class RetryHandler {
+
+    /** The number of retries made before the attempt currently running in this thread */
+    private final static ThreadLocal<Integer> CURRENT_RETRY_COUNT = new ThreadLocal<>();
+
+    /** The deadline, in System.nanoTime(), of the request currently running in this thread */
+    private final static ThreadLocal<Long> CURRENT_DEADLINE = new ThreadLocal<>();
+
+    private final Map<String, CircuitBreaker> breakers;
+    private final Map<String, CircuitBreaker> operationBreakers;
+    private final Random random;
+    private RetryPolicy policy;
+
+    /**
+     * Interface for making a single attempt of a request
+     *
+     * @param <T> the type of the request result
+     */
+    interface Attempt<T> {
+
+        /**
+         * Make the request
+         *
+         * @return the result of the request
+         */
+        T run() throws PaymentException;
+    }
+
+    private RetryHandler() {
+        this.breakers = new HashMap<>();
+        this.operationBreakers = new HashMap<>();
+        this.random = new Random();
+        this.policy = RetryPolicy.createDefault();
+    }
+
+    /**
+     * Get the instance of this RetryHandler
+     *
+     * @return the instance of this RetryHandler
+     */
+    public static RetryHandler getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Set the RetryPolicy used for all subsequent requests, this resets the state of all circuit breakers
+     *
+     * @param policy the RetryPolicy to use
+     */
+    public synchronized void setRetryPolicy(RetryPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("policy cannot be null");
+        }
+        this.policy = policy;
+        breakers.clear();
+        operationBreakers.clear();
+    }
+
+    public synchronized RetryPolicy getRetryPolicy() {
+        return policy;
+    }
+
+    /**
+     * Check if requests to the host of the given URL currently fail fast
+     *
+     * @param url pointing to the host
+     * @return true when the circuit of the host is open, false otherwise
+     */
+    public boolean isCircuitOpen(String url) {
+        String host = getHost(url);
+        return host != null && getCircuitBreaker(breakers, host).isOpen();
+    }
+
+    /**
+     * Execute the request and retry it according to the current RetryPolicy
+     *
+     * @param url the URL of the request, used to select the circuit breaker of the host
+     * @param attempt making a single attempt of the request
+     * @param <T> the type of the request result
+     * @return the result of the request
+     */
+    <T> T execute(String url, Attempt<T> attempt) throws PaymentException {
+        return execute(url, breakers, getRetryPolicy().getMaxAttempts(), 0, false, attempt);
+    }
+
+    /**
+     * Execute the request and keep retrying it with the backoff of the current RetryPolicy until the timeout expires.
+     * Only attempts failing with a RequestNotSentException are retried, other network failures may have reached the
+     * server and are thrown immediately. The timeouts of each attempt are capped at the time left before the timeout
+     * expires, see getTimeout. A timeout of zero or less disables retrying. The circuit breakers of operations are
+     * separate from those of the other requests.
+     *
+     * @param url the URL of the request, used to select the circuit breaker of the host
+     * @param timeout the total time in milliseconds in which the request may be retried
+     * @param attempt making a single attempt of the request
+     * @param <T> the type of the request result
+     * @return the result of the request
+     */
+    <T> T executeUntil(String url, long timeout, Attempt<T> attempt) throws PaymentException {
+        return timeout > 0 ? execute(url, operationBreakers, Integer.MAX_VALUE, timeout, true, attempt) :
+            execute(url, operationBreakers, 1, 0, true, attempt);
+    }
+
+    private <T> T execute(String url, Map<String, CircuitBreaker> hostBreakers, int maxAttempts, long timeout,
+        boolean notSentOnly, Attempt<T> attempt) throws PaymentException {
+        String host = getHost(url);
+        if (host == null) {
+            return attempt.run();
+        }
+        RetryPolicy policy = getRetryPolicy();
+        CircuitBreaker breaker = getCircuitBreaker(hostBreakers, host);
+        long start = System.nanoTime();
+        int attempts = 0;
+        Throwable lastFailure = null;
+
+        while (true) {
+            if (!breaker.allowRequest()) {
+                Throwable cause = lastFailure != null ? lastFailure : breaker.getLastFailure();
+                throw new PaymentException("Requests to " + host + " fail fast after repeated network failures",
+                    cause, true, Math.max(0, attempts - 1));
+            }
+            attempts++;
+            CURRENT_RETRY_COUNT.set(attempts - 1);
+            if (timeout > 0) {
+                CURRENT_DEADLINE.set(start + TimeUnit.MILLISECONDS.toNanos(timeout));
+            }
+            try {
+                T result = attempt.run();
+                breaker.onSuccess();
+                return result;
+            } catch (PaymentException e) {
+                if (!e.getNetworkFailure()) {
+                    // The host did respond so it is reachable
+                    breaker.onSuccess();
+                    throw withRetryCount(e, attempts - 1);
+                }
+                if (isCancelled()) {
+                    breaker.onAbort();
+                    throw withRetryCount(e, attempts - 1);
+                }
+                lastFailure = getFailure(e);
+                breaker.onFailure(lastFailure);
+                long backoff = policy.getBackoff(attempts, random);
+                if ((notSentOnly && !(e instanceof RequestNotSentException)) || attempts >= maxAttempts ||
+                    isExpired(start, timeout, backoff)) {
+                    throw withRetryCount(e, attempts - 1);
+                }
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw withRetryCount(e, attempts - 1);
+                }
+            } catch (RuntimeException e) {
+                breaker.onAbort();
+                throw e;
+            } finally {
+                CURRENT_RETRY_COUNT.remove();
+                CURRENT_DEADLINE.remove();
+            }
+        }
+    }
+
+    /**
+     * Get the number of retries that were made before the attempt currently running in the calling thread
+     *
+     * @return the number of retries, 0 when not called from within a retried request
+     */
+    static int getCurrentRetryCount() {
+        Integer count = CURRENT_RETRY_COUNT.get();
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Get the timeout for a blocking step of the attempt currently running in the calling thread. When the request has
+     * a deadline, the timeout is capped at the time left before the deadline.
+     *
+     * @param timeout the timeout in milliseconds used when the request has no deadline
+     * @return the timeout in milliseconds, always greater than zero since zero means an infinite timeout
+     */
+    static int getTimeout(int timeout) {
+        Long deadline = CURRENT_DEADLINE.get();
+        if (deadline == null) {
+            return timeout;
+        }
+        long timeLeft = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        return (int) Math.max(1, Math.min(timeout, timeLeft));
+    }
+
+    /**
+     * Reset the state of all circuit breakers
+     */
+    synchronized void reset() {
+        breakers.clear();
+        operationBreakers.clear();
+    }
+
+    private synchronized CircuitBreaker getCircuitBreaker(Map<String, CircuitBreaker> hostBreakers, String host) {
+        CircuitBreaker breaker = hostBreakers.get(host);
+        if (breaker == null) {
+            breaker = new CircuitBreaker(policy.getFailureThreshold(), policy.getOpenDuration());
+            hostBreakers.put(host, breaker);
+        }
+        return breaker;
+    }
+
+    private static boolean isExpired(long start, long timeout, long backoff) {
+        return timeout > 0 && TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + backoff >= timeout;
+    }
+
+    /**
+     * Check if the request made by the calling thread has been cancelled
+     *
+     * @return true when the thread has been interrupted or its Cancellation has been cancelled
+     */
+    static boolean isCancelled() {
+        Cancellation cancellation = Cancellation.current();
+        return Thread.currentThread().isInterrupted() || (cancellation != null && cancellation.isCancelled());
+    }
+
+    /**
+     * Get the network failure causing the PaymentException, this is the exception thrown by the connection when set
+     *
+     * @param e the PaymentException thrown by the attempt
+     * @return the network failure
+     */
+    private static Throwable getFailure(PaymentException e) {
+        return e.getCause() != null ? e.getCause() : e;
+    }
+
+    private static PaymentException withRetryCount(PaymentException e, int retryCount) {
+        // Errors returned by the Payment API are passed on unchanged
+        if (retryCount == 0 || e.getErrorInfo() != null) {
+            return e;
+        }
+        String message = e.getMessage() + " (retried " + retryCount + " times)";
+        PaymentException retried = new PaymentException(message, getFailure(e), e.getNetworkFailure(), retryCount);
+        retried.setStackTrace(e.getStackTrace());
+        return retried;
+    }
+
+    private static String getHost(String url) {
+        try {
+            String authority = new URL(url).getAuthority();
+            return authority == null || authority.isEmpty() ? null : authority;
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
+    private static class InstanceHolder {
+        static final RetryHandler INSTANCE = new RetryHandler();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.util.Random;
+
+/**
+ * Class holding the settings used to retry idempotent requests that failed because of a network failure.
+ * <p>
+ * The delay before each retry grows exponentially from the initial backoff up to the maximum backoff, and a random
+ * jitter of up to half the delay is applied to prevent clients from retrying in lockstep. Requests to a host are
+ * failed immediately once the number of consecutive network failures has reached the failure threshold, until the
+ * open duration has passed and a single trial request is allowed through again.
+ */
+public final class RetryPolicy {
+    private final int maxAttempts;
+    private final long initialBackoff;
+    private final long maxBackoff;
+    private final int failureThreshold;
+    private final long openDuration;
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+        this.failureThreshold = builder.failureThreshold;
+        this.openDuration = builder.openDuration;
+    }
+
+    public static Builder createBuilder() {
+        return new Builder();
+    }
+
+    public static RetryPolicy createDefault() {
+        return createBuilder().
+            setMaxAttempts(3).
+            setInitialBackoff(250).
+            setMaxBackoff(2000).
+            setFailureThreshold(5).
+            setOpenDuration(30000).
+            build();
+    }
+
+    /**
+     * Create a RetryPolicy that never retries requests and never fails requests fast
+     *
+     * @return the RetryPolicy disabling retries
+     */
+    public static RetryPolicy createNoRetry() {
+        return createBuilder().build();
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public long getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public long getOpenDuration() {
+        return openDuration;
+    }
+
+    /**
+     * Get the delay in milliseconds before the next attempt is made
+     *
+     * @param attempt the number of the attempt that failed, starting at 1
+     * @param random used to compute the jitter
+     * @return the delay in milliseconds
+     */
+    long getBackoff(int attempt, Random random) {
+        long backoff = initialBackoff;
+        for (int i = 1; i < attempt && backoff < maxBackoff; i++) {
+            backoff *= 2;
+        }
+        backoff = Math.min(backoff, maxBackoff);
+        long half = backoff / 2;
+        return half > 0 ? half + (long) (random.nextDouble() * (backoff - half)) : backoff;
+    }
+
+    public static final class Builder {
+        int maxAttempts = 1;
+        long initialBackoff;
+        long maxBackoff;
+        int failureThreshold;
+        long openDuration;
+
+        Builder() {
+        }
+
+        /**
+         * Set the maximum number of attempts, including the first one
+         *
+         * @param maxAttempts the maximum number of attempts, must be at least 1
+         * @return this Builder
+         */
+        public Builder setMaxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be at least 1");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        public Builder setInitialBackoff(long initialBackoff) {
+            this.initialBackoff = Math.max(0, initialBackoff);
+            return this;
+        }
+
+        public Builder setMaxBackoff(long maxBackoff) {
+            this.maxBackoff = Math.max(0, maxBackoff);
+            return this;
+        }
+
+        /**
+         * Set the number of consecutive network failures after which requests to the same host fail fast,
+         * zero disables failing fast.
+         *
+         * @param failureThreshold the number of consecutive network failures
+         * @return this Builder
+         */
+        public Builder setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = Math.max(0, failureThreshold);
+            return this;
+        }
+
+        public Builder setOpenDuration(long openDuration) {
+            this.openDuration = Math.max(0, openDuration);
+            return this;
+        }
+
+        public RetryPolicy build() {
+            if (maxBackoff < initialBackoff) {
+                maxBackoff = initialBackoff;
+            }
+            return new RetryPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.payoneer.checkout.core.PaymentException;
+
+/**
+ * The Singleton class merging concurrent identical requests into a single request.
+ * <p>
+ * The first caller of a key makes the request, callers with the same key arriving while this request is in flight
+ * wait for it and receive its result or error. When the request of the first caller is cancelled the waiting callers
+ * do not fail, one of them makes the request again instead. Callers can provide a Copier so that waiting callers
+ * receive their own copy of a mutable result.
+ */
+final class SingleFlight {
+
+    /** Interval in milliseconds in which waiting callers check if they have been cancelled */
+    private final static long WAIT_INTERVAL = 100;
+
+    private final Map<String, Call<?>> calls;
+
+    /**
+     * Interface for copying the result of a request for each waiting caller
+     *
+     * @param <T> the type of the request result
+     */
+    interface Copier<T> {
+
+        /**
+         * Copy the result
+         *
+         * @param value the result to copy
+         * @return the copy of the result
+         */
+        T copy(T value);
+    }
+
+    private SingleFlight() {
+        this.calls = new HashMap<>();
+    }
+
+    /**
+     * Get the instance of this SingleFlight
+     *
+     * @return the instance of this SingleFlight
+     */
+    static SingleFlight getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Build the key of a request from its method and URL
+     *
+     * @param method the HTTP method of the request
+     * @param url the URL of the request
+     * @return the key identifying the request
+     */
+    static String createKey(String method, String url) {
+        return method + " " + url;
+    }
+
+    /**
+     * Make the request or wait for the identical request that is already in flight
+     *
+     * @param key identifying the request
+     * @param attempt making the request
+     * @param copier copying the result for waiting callers, may be null when the result is immutable
+     * @param <T> the type of the request result
+     * @return the result of the request
+     */
+    <T> T execute(String key, RetryHandler.Attempt<T> attempt, Copier<T> copier) throws PaymentException {
+        while (true) {
+            Call<T> call;
+            boolean leader = false;
+
+            synchronized (calls) {
+                @SuppressWarnings("unchecked")
+                Call<T> current = (Call<T>) calls.get(key);
+                if (current == null) {
+                    current = new Call<>();
+                    calls.put(key, current);
+                    leader = true;
+                }
+                call = current;
+            }
+            if (leader) {
+                return run(key, call, attempt);
+            }
+            await(call);
+            if (call.cancelled) {
+                continue;
+            }
+            if (call.runtimeError != null) {
+                throw call.runtimeError;
+            }
+            if (call.error != null) {
+                throw call.error;
+            }
+            return copier != null ? copier.copy(call.value) : call.value;
+        }
+    }
+
+    /**
+     * Check if a request with the given key is currently in flight
+     *
+     * @param key identifying the request
+     * @return true when in flight, false otherwise
+     */
+    boolean isInFlight(String key) {
+        synchronized (calls) {
+            return calls.containsKey(key);
+        }
+    }
+
+    private <T> T run(String key, Call<T> call, RetryHandler.Attempt<T> attempt) throws PaymentException {
+        boolean completed = false;
+        try {
+            T value = attempt.run();
+            call.value = value;
+            completed = true;
+            return value;
+        } catch (PaymentException e) {
+            call.error = e;
+            completed = true;
+            throw e;
+        } catch (RuntimeException e) {
+            call.runtimeError = e;
+            completed = true;
+            throw e;
+        } finally {
+            // Waiting callers make the request themselves when the result is not usable for them
+            call.cancelled = !completed || RetryHandler.isCancelled();
+            synchronized (calls) {
+                calls.remove(key);
+            }
+            call.done.countDown();
+        }
+    }
+
+    /**
+     * Wait for the request in flight, waiting stops when the calling thread is interrupted or its Cancellation has
+     * been cancelled
+     *
+     * @param call the request in flight
+     */
+    private static void await(Call<?> call) throws PaymentException {
+        try {
+            while (!call.done.await(WAIT_INTERVAL, TimeUnit.MILLISECONDS)) {
+                if (RetryHandler.isCancelled()) {
+                    throw new PaymentException(new InterruptedIOException("Cancelled while waiting for the request"),
+                        true);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentException(new InterruptedIOException("Interrupted while waiting for the request"), true);
+        }
+    }
+
+    /**
+     * Class holding the outcome of a request in flight, the fields are published to the waiting callers by the latch
+     */
+    private static class Call<T> {
+        final CountDownLatch done = new CountDownLatch(1);
+        T value;
+        PaymentException error;
+        RuntimeException runtimeError;
+        boolean cancelled;
+    }
+
+    private static class InstanceHolder {
+        static final SingleFlight INSTANCE = new SingleFlight();
+    }
+}
@@ -8,19 +8,31 @@
 
 package com.payoneer.checkout.resource;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 /**
  * Class containing filters for which PaymentMethods should be combined in the payment page.
+ * PaymentGroups are shared by all payment sessions and cannot be modified once created.
  */
 public class PaymentGroup {
 
     private List<PaymentGroupItem> items;
 
-    public void setPaymentGroupItems(List<PaymentGroupItem> items) {
-        this.items = items;
+    private PaymentGroup() {
+    }
+
+    /**
+     * Construct a new PaymentGroup
+     *
+     * @param items the filters of the payment methods in this group
+     */
+    PaymentGroup(List<PaymentGroupItem> items) {
+        this.items = Collections.unmodifiableList(new ArrayList<>(items));
     }
 
     /**
@@ -62,4 +74,23 @@ public class PaymentGroup {
         }
         return null;
     }
+
+    /**
+     * Get the compiled smart selection regex for the given code
+     *
+     * @param code the code of the payment method
+     * @return the compiled Pattern or null if not found
+     */
+    public Pattern getSmartSelectionPattern(String code) {
+        if (items == null) {
+            return null;
+        }
+        for (PaymentGroupItem item : items) {
+
+            if (Objects.equals(item.getCode(), code)) {
+                return item.getPattern();
+            }
+        }
+        return null;
+    }
 }
@@ -8,6 +8,8 @@
 
 package com.payoneer.checkout.resource;
 
+import java.util.regex.Pattern;
+
 /**
  * Class holding a filter for a PaymentMethod inside a payment group
  */
@@ -15,10 +17,22 @@ public class PaymentGroupItem {
 
     private String code;
     private String regex;
+    private transient volatile Pattern pattern;
 
     private PaymentGroupItem() {
     }
 
+    /**
+     * Construct a new PaymentGroupItem
+     *
+     * @param code the code of the payment method
+     * @param regex the smart selection regex of the payment method
+     */
+    PaymentGroupItem(String code, String regex) {
+        this.code = code;
+        this.regex = regex;
+    }
+
     public String getCode() {
         return code;
     }
@@ -26,4 +40,16 @@ public class PaymentGroupItem {
     public String getRegex() {
         return this.regex;
     }
+
+    /**
+     * Get the compiled smart selection regex, the regex is compiled once when this method is called for the first time.
+     *
+     * @return the compiled Pattern or null if this item does not have a regex
+     */
+    public Pattern getPattern() {
+        if (pattern == null && regex != null && !regex.isEmpty()) {
+            pattern = Pattern.compile(regex);
+        }
+        return pattern;
+    }
 }
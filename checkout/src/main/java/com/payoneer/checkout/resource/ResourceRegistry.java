@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.resource;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.core.Workers;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.util.Log;
+
+/**
+ * The Singleton class holding the payment groups and validations that are shared by all payment sessions.
+ * <p>
+ * The resources are created the first time they are needed, or when the registry is warmed up in the background,
+ * and are kept for the lifetime of the process. The returned maps are immutable. By default the resources are
+ * created from the tables that are generated from the raw json files at build time.
+ */
+public final class ResourceRegistry {
+
+    private final ResourceParser parser;
+    private final Object groupsLock = new Object();
+    private final Object validationsLock = new Object();
+
+    private volatile Map<String, PaymentGroup> paymentGroups;
+    private volatile Map<String, ValidationGroup> validations;
+
+    /**
+     * Interface for parsing the payment groups and validations from the resources
+     */
+    interface ResourceParser {
+
+        /**
+         * Parse the payment groups
+         *
+         * @param res the resources containing the payment groups
+         * @return the map of payment groups
+         */
+        Map<String, PaymentGroup> parsePaymentGroups(Resources res) throws PaymentException;
+
+        /**
+         * Parse the validations
+         *
+         * @param res the resources containing the validations
+         * @return the map of validation groups
+         */
+        Map<String, ValidationGroup> parseValidations(Resources res) throws PaymentException;
+    }
+
+    private ResourceRegistry() {
+        this(new GeneratedResourceParser());
+    }
+
+    /**
+     * Construct a new ResourceRegistry using the provided parser
+     *
+     * @param parser used to parse the resources
+     */
+    ResourceRegistry(ResourceParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Get the instance of this ResourceRegistry
+     *
+     * @return the instance of this ResourceRegistry
+     */
+    public static ResourceRegistry getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Get the payment groups, they are parsed when this method is called for the first time
+     *
+     * @param context used to obtain the resources
+     * @return immutable map of payment groups, each PaymentGroupItem code can be used as lookup key
+     */
+    public Map<String, PaymentGroup> getPaymentGroups(Context context) throws PaymentException {
+        Map<String, PaymentGroup> map = paymentGroups;
+        if (map != null) {
+            return map;
+        }
+        synchronized (groupsLock) {
+            if (paymentGroups == null) {
+                paymentGroups = Collections.unmodifiableMap(parser.parsePaymentGroups(context.getResources()));
+            }
+            return paymentGroups;
+        }
+    }
+
+    /**
+     * Get the validations, they are parsed when this method is called for the first time
+     *
+     * @param context used to obtain the resources
+     * @return immutable map of validation groups with the code as lookup key
+     */
+    public Map<String, ValidationGroup> getValidations(Context context) throws PaymentException {
+        Map<String, ValidationGroup> map = validations;
+        if (map != null) {
+            return map;
+        }
+        synchronized (validationsLock) {
+            if (validations == null) {
+                validations = Collections.unmodifiableMap(parser.parseValidations(context.getResources()));
+            }
+            return validations;
+        }
+    }
+
+    /**
+     * Check if both the payment groups and validations have been loaded
+     *
+     * @return true when loaded, false otherwise
+     */
+    public boolean isLoaded() {
+        return paymentGroups != null && validations != null;
+    }
+
+    /**
+     * Load the payment groups and validations in the background. This method returns immediately and
+     * does nothing when the resources have already been loaded.
+     *
+     * @param context used to obtain the resources
+     */
+    public void warmUp(Context context) {
+        if (isLoaded()) {
+            return;
+        }
+        final Context appContext = context.getApplicationContext();
+        try {
+            Workers.getInstance().forNetworkTasks().execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        getPaymentGroups(appContext);
+                        getValidations(appContext);
+                    } catch (PaymentException e) {
+                        // The resources will be loaded again when they are needed by the payment session
+                        Log.w("Checkout", e);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            Log.w("Checkout", e);
+        }
+    }
+
+    /**
+     * Parser creating the payment groups and validations from the tables generated at build time
+     */
+    private static class GeneratedResourceParser implements ResourceParser {
+
+        @Override
+        public Map<String, PaymentGroup> parsePaymentGroups(Resources res) {
+            return ResourceTables.createPaymentGroups();
+        }
+
+        @Override
+        public Map<String, ValidationGroup> parseValidations(Resources res) {
+            return ResourceTables.createValidations();
+        }
+    }
+
+    private static class InstanceHolder {
+        static final ResourceRegistry INSTANCE = new ResourceRegistry();
+    }
+}
@@ -8,7 +8,10 @@
 
 package com.payoneer.checkout.resource;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * Model class holding the validation per PaymentMethod.
@@ -19,12 +22,19 @@ public class ValidationGroup {
     private String code;
     private List<ValidationGroupItem> items;
 
-    public void setCode(String code) {
-        this.code = code;
+    private ValidationGroup() {
     }
 
-    public void setValidationGroupItems(List<ValidationGroupItem> items) {
-        this.items = items;
+    /**
+     * Construct a new ValidationGroup, ValidationGroups are shared by all payment sessions and cannot be modified
+     * once created.
+     *
+     * @param code of the PaymentMethod
+     * @param items the validations of the input elements
+     */
+    ValidationGroup(String code, List<ValidationGroupItem> items) {
+        this.code = code;
+        this.items = Collections.unmodifiableList(new ArrayList<>(items));
     }
 
     public String getCode() {
@@ -50,6 +60,11 @@ public class ValidationGroup {
         return item != null ? item.getRegex() : null;
     }
 
+    public Pattern getValidationPattern(String type) {
+        ValidationGroupItem item = getGroupItem(type);
+        return item != null ? item.getPattern() : null;
+    }
+
     public ValidationGroupItem getGroupItem(String type) {
         if (items == null) {
             return null;
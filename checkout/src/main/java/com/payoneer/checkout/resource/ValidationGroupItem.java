@@ -8,6 +8,8 @@
 
 package com.payoneer.checkout.resource;
 
+import java.util.regex.Pattern;
+
 /**
  * Model class holding the validation Regex for the PaymentInputType
  */
@@ -17,10 +19,26 @@ public class ValidationGroupItem {
     private String regex;
     private boolean hide;
     private int maxLength;
+    private transient volatile Pattern pattern;
 
     private ValidationGroupItem() {
     }
 
+    /**
+     * Construct a new ValidationGroupItem
+     *
+     * @param type the input element type
+     * @param regex the validation regex
+     * @param hide should the input element be hidden
+     * @param maxLength the maximum length of the input value
+     */
+    ValidationGroupItem(String type, String regex, boolean hide, int maxLength) {
+        this.type = type;
+        this.regex = regex;
+        this.hide = hide;
+        this.maxLength = maxLength;
+    }
+
     public int getMaxLength() {
         return maxLength;
     }
@@ -36,4 +54,16 @@ public class ValidationGroupItem {
     public boolean getHide() {
         return hide;
     }
+
+    /**
+     * Get the compiled validation regex, the regex is compiled once when this method is called for the first time.
+     *
+     * @return the compiled Pattern or null if this item does not have a regex
+     */
+    public Pattern getPattern() {
+        if (pattern == null && regex != null) {
+            pattern = Pattern.compile(regex);
+        }
+        return pattern;
+    }
 }
@@ -8,13 +8,26 @@
 
 package com.payoneer.checkout.ui;
 
+import java.util.concurrent.ExecutorService;
+
 import com.payoneer.checkout.R;
+import com.payoneer.checkout.core.Workers;
 import com.payoneer.checkout.localization.LocalLocalizationHolder;
 import com.payoneer.checkout.localization.Localization;
+import com.payoneer.checkout.network.ConnectionWarmer;
+import com.payoneer.checkout.network.HttpTransport;
+import com.payoneer.checkout.network.HttpTransports;
+import com.payoneer.checkout.network.RequestMetricsListener;
+import com.payoneer.checkout.network.RequestMonitor;
+import com.payoneer.checkout.network.RetryHandler;
+import com.payoneer.checkout.network.RetryPolicy;
+import com.payoneer.checkout.resource.ResourceRegistry;
 import com.payoneer.checkout.ui.page.ChargePaymentActivity;
 import com.payoneer.checkout.ui.page.PaymentListActivity;
+import com.payoneer.checkout.ui.service.PaymentSessionPrefetcher;
 
 import android.app.Activity;
+import android.content.Context;
 import android.content.Intent;
 import android.content.pm.ActivityInfo;
 import android.text.TextUtils;
@@ -35,6 +48,12 @@ public final class PaymentUI {
     /** The cached payment theme */
     private PaymentTheme theme;
 
+    /** Indicates if the connection to the Payment API is warmed up when the listUrl is set */
+    private boolean warmUpConnection;
+
+    /** The time in milliseconds in which a payment operation is retried when it could not be sent */
+    private long operationRetryTimeout;
+
     private PaymentUI() {
         this.orientation = ActivityInfo.SCREEN_ORIENTATION_LOCKED;
     }
@@ -71,6 +90,21 @@ public final class PaymentUI {
             throw new IllegalArgumentException("listUrl does not have a valid url format");
         }
         this.listUrl = listUrl;
+
+        if (warmUpConnection) {
+            ConnectionWarmer.getInstance().warmUp(listUrl);
+        }
+    }
+
+    /**
+     * Warm up the connection to the Payment API in the background as soon as the listUrl is set. The host is resolved
+     * and the TLS handshake completed before the PaymentPage is opened, the list is then loaded over the warm
+     * connection. By default the connection is not warmed up.
+     *
+     * @param warmUpConnection true to warm up the connection when the listUrl is set, false otherwise
+     */
+    public void setWarmUpConnection(boolean warmUpConnection) {
+        this.warmUpConnection = warmUpConnection;
     }
 
     /**
@@ -128,6 +162,75 @@ public final class PaymentUI {
         this.theme = theme;
     }
 
+    /**
+     * Set the executors running the background tasks of the PaymentPage, i.e. to share the threads of the application.
+     * Tasks are submitted in the order of their priority, executors using a PriorityBlockingQueue will run a user
+     * initiated operation before loading the payment session, localizations and logos. Tasks of the application in
+     * the same PriorityBlockingQueue must implement Comparable&lt;Runnable&gt; and accept tasks of the PaymentPage,
+     * which order tasks of the application like user initiated operations.
+     * The executors must not be shut down while the PaymentPage is in use.
+     *
+     * @param networkExecutor running the network tasks or null to use the default executor
+     * @param imageExecutor running the image tasks or null to use the default executor
+     */
+    public void setWorkerExecutors(ExecutorService networkExecutor, ExecutorService imageExecutor) {
+        Workers.getInstance().setExecutors(networkExecutor, imageExecutor);
+    }
+
+    /**
+     * Set the RetryPolicy used to retry loading the payment session, localizations and logos after a network failure.
+     * Payment operations are only retried when enabled with setOperationRetryTimeout, using the backoff of this policy.
+     *
+     * @param retryPolicy the policy to use, RetryPolicy.createNoRetry() disables retries
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        RetryHandler.getInstance().setRetryPolicy(retryPolicy);
+    }
+
+    /**
+     * Get the time in which a payment operation is automatically retried when it could not be sent to the Payment API
+     *
+     * @return the time in milliseconds, zero when operations are not retried
+     */
+    public long getOperationRetryTimeout() {
+        return operationRetryTimeout;
+    }
+
+    /**
+     * Retry a payment operation automatically when it could not be sent to the Payment API, i.e. because the host
+     * could not be resolved or the connection or TLS handshake failed. Operations that may have reached the Payment
+     * API are never retried automatically. Every attempt carries the same idempotency key and no attempt runs longer
+     * than the remaining retry time. By default operations are not retried.
+     *
+     * @param operationRetryTimeout the total time in milliseconds in which an operation is retried, zero disables retrying
+     */
+    public void setOperationRetryTimeout(long operationRetryTimeout) {
+        if (operationRetryTimeout < 0) {
+            throw new IllegalArgumentException("operationRetryTimeout cannot be negative");
+        }
+        this.operationRetryTimeout = operationRetryTimeout;
+    }
+
+    /**
+     * Set the HttpTransport used for all requests to the Payment API, i.e. an InMemoryTransport to run the payment
+     * screens in tests or benchmarks without network access.
+     *
+     * @param transport the transport to use or null to use the default HttpURLConnection transport
+     */
+    public void setHttpTransport(HttpTransport transport) {
+        HttpTransports.getInstance().setTransport(transport);
+    }
+
+    /**
+     * Set the listener receiving the timings, byte counts and status codes of all requests made to the Payment API.
+     * The listener is called from background threads.
+     *
+     * @param listener to receive the RequestMetrics or null to stop timing requests
+     */
+    public void setRequestMetricsListener(RequestMetricsListener listener) {
+        RequestMonitor.getInstance().setListener(listener);
+    }
+
     /**
      * Open the PaymentPage and instruct the page to immediately charge the PresetAccount.
      * If no PresetAccount is set in the ListResult then an error will be returned.
@@ -153,6 +256,33 @@ public final class PaymentUI {
         activity.overridePendingTransition(PaymentListActivity.getStartTransition(), R.anim.no_animation);
     }
 
+    /**
+     * Start loading the payment session in the background before the PaymentPage is opened, i.e. when the
+     * listUrl is known on the shopping cart screen. The PaymentPage shows the prefetched payment session
+     * immediately when it is opened, or waits for it when it is still loading.
+     * A prefetched payment session is used only once and expires after PaymentSessionPrefetcher.MAX_AGE milliseconds.
+     * Errors are not reported, the PaymentPage loads the payment session again when the prefetch has failed.
+     *
+     * @param context used to load the payment session, the application context is retained
+     */
+    public void prefetchPaymentSession(Context context) {
+        if (listUrl == null) {
+            throw new IllegalStateException("listUrl must be set before prefetching the payment session");
+        }
+        if (context == null) {
+            throw new IllegalArgumentException("context may not be null");
+        }
+        PaymentSessionPrefetcher.getInstance().prefetch(context, listUrl);
+    }
+
+    /**
+     * Cancel prefetching the payment session and discard the prefetched payment session, i.e. when the user
+     * left the shopping cart screen without opening the PaymentPage.
+     */
+    public void cancelPrefetch() {
+        PaymentSessionPrefetcher.getInstance().cancel();
+    }
+
     /**
      * Validate Android SDK Settings and Localization before launching the Activity.
      *
@@ -170,6 +300,7 @@ public final class PaymentUI {
             throw new IllegalArgumentException("intent may not be null");
         }
         initLocalization(activity);
+        ResourceRegistry.getInstance().warmUp(activity);
 
         if (theme == null) {
             setPaymentTheme(PaymentTheme.createDefault());
@@ -34,8 +34,8 @@ public final class AccountCardViewHolder extends PaymentCardViewHolder {
     private final IconView iconView;
     private final MaterialCardView cardView;
 
-    private AccountCardViewHolder(ListAdapter listAdapter, View parent, AccountCard accountCard) {
-        super(listAdapter, parent, accountCard);
+    private AccountCardViewHolder(ListAdapter listAdapter, View parent) {
+        super(listAdapter, parent);
         this.titleView = parent.findViewById(R.id.text_title);
         this.subtitleView = parent.findViewById(R.id.text_subtitle);
 
@@ -47,19 +47,21 @@ public final class AccountCardViewHolder extends PaymentCardViewHolder {
             }
         });
         cardView = parent.findViewById(R.id.card_account);
+    }
+
+    static ViewHolder createInstance(ListAdapter listAdapter, ViewGroup parent) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        View view = inflater.inflate(R.layout.list_item_accountcard, parent, false);
+        return new AccountCardViewHolder(listAdapter, view);
+    }
 
+    @Override
+    void addFormWidgets() {
+        AccountCard accountCard = (AccountCard) paymentCard;
         addExtraElementWidgets(accountCard.getTopExtraElements());
         addInputElementWidgets(accountCard.getInputElements());
         addExtraElementWidgets(accountCard.getBottomExtraElements());
         addButtonWidget();
-        layoutWidgets();
-        setLastImeOptions();
-    }
-
-    static ViewHolder createInstance(ListAdapter listAdapter, AccountCard accountCard, ViewGroup parent) {
-        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
-        View view = inflater.inflate(R.layout.list_item_accountcard, parent, false);
-        return new AccountCardViewHolder(listAdapter, view, accountCard);
     }
 
     @Override
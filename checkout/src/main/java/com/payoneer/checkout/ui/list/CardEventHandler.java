@@ -105,6 +105,9 @@ class CardEventHandler implements WidgetPresenter {
 
     @Override
     public void onTextInputChanged(String type, String text) {
+        if (holder.isBinding()) {
+            return;
+        }
         if (holder.hasValidPosition()) {
             PaymentCard card = holder.getPaymentCard();
 
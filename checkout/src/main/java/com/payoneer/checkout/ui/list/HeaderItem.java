@@ -16,8 +16,8 @@ final class HeaderItem extends ListItem {
     private final String title;
     private final String message;
 
-    HeaderItem(int viewType, String title, String message) {
-        super(viewType);
+    HeaderItem(String title, String message) {
+        super(VIEWTYPE_HEADER);
         this.title = title;
         this.message = message;
     }
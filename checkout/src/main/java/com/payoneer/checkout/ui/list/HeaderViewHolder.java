@@ -39,7 +39,9 @@ public final class HeaderViewHolder extends RecyclerView.ViewHolder {
     void onBind(HeaderItem item) {
         PaymentUtils.setTestId(itemView, "label", "header");
         titleTextView.setText(item.getTitle());
-        if (!TextUtils.isEmpty(item.getMessage())) {
+        if (TextUtils.isEmpty(item.getMessage())) {
+            messageTextView.setVisibility(View.GONE);
+        } else {
             messageTextView.setVisibility(View.VISIBLE);
             messageTextView.setText(item.getMessage());
         }
@@ -8,11 +8,6 @@
 
 package com.payoneer.checkout.ui.list;
 
-import com.payoneer.checkout.ui.model.AccountCard;
-import com.payoneer.checkout.ui.model.NetworkCard;
-import com.payoneer.checkout.ui.model.PaymentCard;
-import com.payoneer.checkout.ui.model.PresetCard;
-
 import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
@@ -33,17 +28,17 @@ final class ListAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
     @Override
     public @NonNull
     ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        ListItem item = itemList.getItemWithViewType(viewType);
-        if (HeaderItem.isHeaderItem(item)) {
-            return HeaderViewHolder.createInstance(parent);
-        }
-        PaymentCard card = ((PaymentCardItem)item).getPaymentCard();
-        if (card instanceof NetworkCard) {
-            return NetworkCardViewHolder.createInstance(this, (NetworkCard) card, parent);
-        } else if (card instanceof AccountCard) {
-            return AccountCardViewHolder.createInstance(this, (AccountCard) card, parent);
-        } else {
-            return PresetCardViewHolder.createInstance(this, (PresetCard) card, parent);
+        switch (viewType) {
+            case ListItem.VIEWTYPE_HEADER:
+                return HeaderViewHolder.createInstance(parent);
+            case ListItem.VIEWTYPE_NETWORKCARD:
+                return NetworkCardViewHolder.createInstance(this, parent);
+            case ListItem.VIEWTYPE_ACCOUNTCARD:
+                return AccountCardViewHolder.createInstance(this, parent);
+            case ListItem.VIEWTYPE_PRESETCARD:
+                return PresetCardViewHolder.createInstance(this, parent);
+            default:
+                throw new IllegalArgumentException("View type is not supported: " + viewType);
         }
     }
 
@@ -55,11 +50,18 @@ final class ListAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
             ((HeaderViewHolder) holder).onBind((HeaderItem) item);
         } else {
             PaymentCardViewHolder ph = (PaymentCardViewHolder) holder;
-            ph.onBind();
+            ph.bind(((PaymentCardItem) item).getPaymentCard());
             ph.expand(itemList.getSelectedIndex() == position);
         }
     }
 
+    @Override
+    public void onViewRecycled(@NonNull ViewHolder holder) {
+        if (holder instanceof PaymentCardViewHolder) {
+            ((PaymentCardViewHolder) holder).onRecycled();
+        }
+    }
+
     @Override
     public int getItemCount() {
         return itemList.getItemCount();
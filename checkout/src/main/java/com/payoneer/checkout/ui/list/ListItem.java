@@ -8,13 +8,17 @@
 
 package com.payoneer.checkout.ui.list;
 
-import com.payoneer.checkout.ui.model.PaymentCard;
-
 /**
  * Class representing an item in the PaymentList
  */
 abstract class ListItem {
 
+    /** View types of the items, ViewHolders are recycled between items of the same view type */
+    final static int VIEWTYPE_HEADER = 0;
+    final static int VIEWTYPE_NETWORKCARD = 1;
+    final static int VIEWTYPE_ACCOUNTCARD = 2;
+    final static int VIEWTYPE_PRESETCARD = 3;
+
     final int viewType;
 
     ListItem(int viewType) {
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.list;
+
+import java.util.List;
+import java.util.Objects;
+
+import com.payoneer.checkout.ui.model.AccountCard;
+import com.payoneer.checkout.ui.model.PaymentCard;
+import com.payoneer.checkout.ui.model.PresetCard;
+import com.payoneer.checkout.util.GsonHelper;
+
+import androidx.recyclerview.widget.DiffUtil;
+
+/**
+ * Class calculating the differences between the ListItems of a shown PaymentSession and the ListItems of its revalidated
+ * PaymentSession. ListItems that did not change are reused by the new list so that their ViewHolders and any user input
+ * are kept, only the differences are dispatched to the adapter.
+ */
+final class ListItemDiff extends DiffUtil.Callback {
+
+    private final List<ListItem> oldItems;
+    private final List<ListItem> newItems;
+
+    /**
+     * Construct a new ListItemDiff
+     *
+     * @param oldItems the ListItems currently shown
+     * @param newItems the ListItems to be shown
+     */
+    ListItemDiff(List<ListItem> oldItems, List<ListItem> newItems) {
+        this.oldItems = oldItems;
+        this.newItems = newItems;
+    }
+
+    @Override
+    public int getOldListSize() {
+        return oldItems.size();
+    }
+
+    @Override
+    public int getNewListSize() {
+        return newItems.size();
+    }
+
+    @Override
+    public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+        ListItem oldItem = oldItems.get(oldItemPosition);
+        ListItem newItem = newItems.get(newItemPosition);
+        if (oldItem == newItem) {
+            return true;
+        }
+        if (HeaderItem.isHeaderItem(oldItem) && HeaderItem.isHeaderItem(newItem)) {
+            return Objects.equals(((HeaderItem) oldItem).getTitle(), ((HeaderItem) newItem).getTitle());
+        }
+        if (oldItem instanceof PaymentCardItem && newItem instanceof PaymentCardItem) {
+            return Objects.equals(getCardKey(((PaymentCardItem) oldItem).getPaymentCard()),
+                getCardKey(((PaymentCardItem) newItem).getPaymentCard()));
+        }
+        return false;
+    }
+
+    @Override
+    public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+        // Only unchanged items are reused, a new ListItem holds a new PaymentCard that must be bound to the ViewHolder
+        return oldItems.get(oldItemPosition) == newItems.get(newItemPosition);
+    }
+
+    /**
+     * Find the ListItem in the given list that can be reused to show the header
+     *
+     * @param items the ListItems currently shown
+     * @param title of the header
+     * @param message of the header
+     * @return the reusable HeaderItem or null if not found
+     */
+    static HeaderItem findHeaderItem(List<ListItem> items, String title, String message) {
+        for (ListItem item : items) {
+            if (HeaderItem.isHeaderItem(item)) {
+                HeaderItem header = (HeaderItem) item;
+                if (Objects.equals(header.getTitle(), title) && Objects.equals(header.getMessage(), message)) {
+                    return header;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find the ListItem in the given list that can be reused to show the PaymentCard. Only saved and preset accounts
+     * are reused, and only when the account has not changed at all.
+     *
+     * @param items the ListItems currently shown
+     * @param card the PaymentCard to be shown
+     * @return the reusable PaymentCardItem or null if not found
+     */
+    static PaymentCardItem findPaymentCardItem(List<ListItem> items, PaymentCard card) {
+        String content = getCardContent(card);
+        if (content == null) {
+            return null;
+        }
+        for (ListItem item : items) {
+            if (item instanceof PaymentCardItem) {
+                PaymentCardItem cardItem = (PaymentCardItem) item;
+                if (content.equals(getCardContent(cardItem.getPaymentCard()))) {
+                    return cardItem;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String getCardKey(PaymentCard card) {
+        return card.getClass().getSimpleName() + " " + card.getNetworkCode() + " " + card.getOperationLink();
+    }
+
+    private static String getCardContent(PaymentCard card) {
+        GsonHelper gson = GsonHelper.getInstance();
+        if (card instanceof AccountCard) {
+            AccountCard accountCard = (AccountCard) card;
+            return "AccountCard " + accountCard.isDeletable() + " " + gson.toJson(accountCard.getAccountRegistration());
+        }
+        if (card instanceof PresetCard) {
+            return "PresetCard " + gson.toJson(((PresetCard) card).getPresetAccount());
+        }
+        return null;
+    }
+}
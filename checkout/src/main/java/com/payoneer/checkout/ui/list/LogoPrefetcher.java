@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.list;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.payoneer.checkout.R;
+import com.payoneer.checkout.core.WorkerFuture;
+import com.payoneer.checkout.ui.model.PaymentCard;
+import com.payoneer.checkout.util.LogoRequest;
+import com.payoneer.checkout.util.NetworkLogoLoader;
+
+import android.content.res.Resources;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Class prefetching the logos of the cards in the payment list once a PaymentSession is shown.
+ * <p>
+ * The logos of the visible cards are prefetched first, followed by the cards below and above them. Remote logos are
+ * downloaded until the download budget is used up, the remaining logos are loaded when their cards are bound.
+ */
+final class LogoPrefetcher {
+
+    /** Maximum number of bytes downloaded when prefetching the logos of a PaymentSession */
+    final static long DOWNLOAD_BUDGET = 256 * 1024;
+
+    private final RecyclerView recyclerView;
+    private WorkerFuture<Integer> prefetchFuture;
+
+    /**
+     * Construct a new LogoPrefetcher
+     *
+     * @param recyclerView showing the payment list
+     */
+    LogoPrefetcher(RecyclerView recyclerView) {
+        this.recyclerView = recyclerView;
+    }
+
+    /**
+     * Prefetch the logos of the list items, any previous prefetching is cancelled first
+     *
+     * @param items shown in the payment list
+     * @param anchorPosition position of the first visible item if the list has not been laid out yet
+     */
+    void prefetch(List<ListItem> items, int anchorPosition) {
+        cancel();
+        int first = RecyclerView.NO_POSITION;
+        int last = RecyclerView.NO_POSITION;
+        RecyclerView.LayoutManager manager = recyclerView.getLayoutManager();
+
+        if (manager instanceof LinearLayoutManager) {
+            first = ((LinearLayoutManager) manager).findFirstVisibleItemPosition();
+            last = ((LinearLayoutManager) manager).findLastVisibleItemPosition();
+        }
+        if (first == RecyclerView.NO_POSITION || last == RecyclerView.NO_POSITION) {
+            first = anchorPosition;
+            last = anchorPosition;
+        }
+        List<ListItem> ordered = new ArrayList<>();
+        for (int position : orderByViewport(first, last, items.size())) {
+            ordered.add(items.get(position));
+        }
+        Resources res = recyclerView.getResources();
+        List<LogoRequest> requests = createLogoRequests(ordered,
+            res.getDimensionPixelSize(R.dimen.pmlogo_width), res.getDimensionPixelSize(R.dimen.pmlogo_height),
+            res.getDimensionPixelSize(R.dimen.pmlogosmall_width), res.getDimensionPixelSize(R.dimen.pmlogosmall_height));
+
+        if (!requests.isEmpty()) {
+            prefetchFuture = NetworkLogoLoader.prefetchNetworkLogos(recyclerView.getContext(), requests, DOWNLOAD_BUDGET);
+        }
+    }
+
+    /**
+     * Cancel the prefetching of logos, i.e. when the list is cleared
+     */
+    void cancel() {
+        if (prefetchFuture != null) {
+            prefetchFuture.cancel(true);
+            prefetchFuture = null;
+        }
+    }
+
+    /**
+     * Get the positions of the list in the order in which their logos are prefetched, the visible positions come first,
+     * followed by the positions below and then above the visible range.
+     *
+     * @param first visible position
+     * @param last visible position
+     * @param count number of items in the list
+     * @return the ordered positions
+     */
+    static List<Integer> orderByViewport(int first, int last, int count) {
+        List<Integer> positions = new ArrayList<>(Math.max(0, count));
+        int start = Math.max(0, Math.min(first, count));
+        int end = Math.max(start, Math.min(last + 1, count));
+
+        for (int i = start; i < end; i++) {
+            positions.add(i);
+        }
+        for (int i = end; i < count; i++) {
+            positions.add(i);
+        }
+        for (int i = start - 1; i >= 0; i--) {
+            positions.add(i);
+        }
+        return positions;
+    }
+
+    /**
+     * Create the requests for the logos shown by the cards of the list items
+     *
+     * @param items ordered by the priority of their logos
+     * @param cardWidth width of the card logo in pixels
+     * @param cardHeight height of the card logo in pixels
+     * @param smallWidth width of the small network logos in pixels
+     * @param smallHeight height of the small network logos in pixels
+     * @return the logo requests without duplicates
+     */
+    static List<LogoRequest> createLogoRequests(Collection<ListItem> items, int cardWidth, int cardHeight,
+        int smallWidth, int smallHeight) {
+        List<PaymentCard> cards = new ArrayList<>();
+        for (ListItem item : items) {
+            if (item instanceof PaymentCardItem) {
+                cards.add(((PaymentCardItem) item).getPaymentCard());
+            }
+        }
+        return LogoRequest.forPaymentCards(cards, cardWidth, cardHeight, smallWidth, smallHeight);
+    }
+}
@@ -33,10 +33,20 @@ import androidx.recyclerview.widget.RecyclerView.ViewHolder;
 final class NetworkCardViewHolder extends PaymentCardViewHolder {
     private final TextView titleView;
 
-    public NetworkCardViewHolder(ListAdapter adapter, View parent, NetworkCard networkCard) {
-        super(adapter, parent, networkCard);
+    public NetworkCardViewHolder(ListAdapter adapter, View parent) {
+        super(adapter, parent);
         this.titleView = parent.findViewById(R.id.text_title);
+    }
+
+    static ViewHolder createInstance(ListAdapter adapter, ViewGroup parent) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        View view = inflater.inflate(R.layout.list_item_networkcard, parent, false);
+        return new NetworkCardViewHolder(adapter, view);
+    }
 
+    @Override
+    void addFormWidgets() {
+        NetworkCard networkCard = (NetworkCard) paymentCard;
         addExtraElementWidgets(networkCard.getTopExtraElements());
         if (networkCard.getPaymentNetworkCount() > 1) {
             addNetworkLogosWidget();
@@ -45,15 +55,6 @@ final class NetworkCardViewHolder extends PaymentCardViewHolder {
         addRegistrationWidget();
         addExtraElementWidgets(networkCard.getBottomExtraElements());
         addButtonWidget();
-
-        layoutWidgets();
-        setLastImeOptions();
-    }
-
-    static ViewHolder createInstance(ListAdapter adapter, NetworkCard networkCard, ViewGroup parent) {
-        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
-        View view = inflater.inflate(R.layout.list_item_networkcard, parent, false);
-        return new NetworkCardViewHolder(adapter, view, networkCard);
     }
 
     void onBind() {
@@ -8,6 +8,8 @@
 
 package com.payoneer.checkout.ui.list;
 
+import com.payoneer.checkout.ui.model.AccountCard;
+import com.payoneer.checkout.ui.model.NetworkCard;
 import com.payoneer.checkout.ui.model.PaymentCard;
 
 /**
@@ -17,11 +19,21 @@ final class PaymentCardItem extends ListItem {
 
     final PaymentCard paymentCard;
 
-    PaymentCardItem(int viewType, PaymentCard paymentCard) {
-        super(viewType);
+    PaymentCardItem(PaymentCard paymentCard) {
+        super(getViewType(paymentCard));
         this.paymentCard = paymentCard;
     }
 
+    private static int getViewType(PaymentCard paymentCard) {
+        if (paymentCard instanceof NetworkCard) {
+            return VIEWTYPE_NETWORKCARD;
+        } else if (paymentCard instanceof AccountCard) {
+            return VIEWTYPE_ACCOUNTCARD;
+        } else {
+            return VIEWTYPE_PRESETCARD;
+        }
+    }
+
     PaymentCard getPaymentCard() {
         return paymentCard;
     }
@@ -18,11 +18,13 @@ import static com.payoneer.checkout.core.PaymentInputType.VERIFICATION_CODE;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.payoneer.checkout.R;
+import com.payoneer.checkout.core.PaymentInputType;
 import com.payoneer.checkout.model.ExtraElement;
 import com.payoneer.checkout.model.InputElement;
 import com.payoneer.checkout.model.InputElementType;
@@ -55,23 +57,24 @@ public abstract class PaymentCardViewHolder extends RecyclerView.ViewHolder {
     final static String BUTTON = "button";
 
     final ViewGroup formLayout;
-    final Map<String, FormWidget> widgets;
     final ImageView cardLogoView;
-    final PaymentCard paymentCard;
     final CardEventHandler cardHandler;
     final ListAdapter adapter;
+    Map<String, FormWidget> widgets;
+    PaymentCard paymentCard;
+    private boolean binding;
+    private boolean recycled;
 
     /**
-     * Construct a new PaymentCardViewHolder, this is the base class for other card ViewHolder
+     * Construct a new PaymentCardViewHolder, this is the base class for other card ViewHolder.
+     * The ViewHolder is recycled by the list and may be bound to different PaymentCards of the same kind.
      *
      * @param adapter maintaining the items in the payment list
      * @param parent view of the list
-     * @param paymentCard to be shown and bind to this ViewHolder
      */
-    PaymentCardViewHolder(ListAdapter adapter, View parent, PaymentCard paymentCard) {
+    PaymentCardViewHolder(ListAdapter adapter, View parent) {
         super(parent);
         this.adapter = adapter;
-        this.paymentCard = paymentCard;
         this.cardHandler = new CardEventHandler(this, adapter);
         this.formLayout = parent.findViewById(R.id.layout_form);
         this.widgets = new LinkedHashMap<>();
@@ -86,12 +89,60 @@ public abstract class PaymentCardViewHolder extends RecyclerView.ViewHolder {
         });
     }
 
+    /**
+     * Sub classes must implement this method and add the FormWidgets needed by the bound PaymentCard.
+     */
+    abstract void addFormWidgets();
+
     /**
      * Sub classes must implement this method and make sure that all FormWidgets are
      * bound to the correct data elements.
      */
     abstract void onBind();
 
+    /**
+     * Bind the PaymentCard to this ViewHolder. The input state of the widgets is stored in the previously bound card
+     * and restored from the new card, the input of sensitive widgets like the card number is not stored. The widgets are only created and inflated again when the new card needs
+     * different widgets than the previous card.
+     *
+     * @param card to be bound to this ViewHolder
+     */
+    final void bind(PaymentCard card) {
+        if (paymentCard != null && !recycled) {
+            saveInputStates();
+        }
+        this.paymentCard = card;
+        this.recycled = false;
+        this.binding = true;
+        try {
+            updateFormWidgets();
+            onBind();
+            restoreInputStates();
+        } finally {
+            this.binding = false;
+        }
+    }
+
+    /**
+     * Called when this ViewHolder is recycled by the list, the input state of the widgets is stored in the bound card.
+     */
+    void onRecycled() {
+        if (paymentCard != null && !recycled) {
+            saveInputStates();
+        }
+        recycled = true;
+        NetworkLogoLoader.cancelNetworkLogo(cardLogoView);
+    }
+
+    /**
+     * Is this ViewHolder binding a PaymentCard, input changes caused by binding should not be handled as user input.
+     *
+     * @return true when binding, false otherwise
+     */
+    boolean isBinding() {
+        return binding;
+    }
+
     PaymentCard getPaymentCard() {
         return paymentCard;
     }
@@ -192,6 +243,53 @@ public abstract class PaymentCardViewHolder extends RecyclerView.ViewHolder {
         widgets.put(widget.getKey(), widget);
     }
 
+    private void updateFormWidgets() {
+        Map<String, FormWidget> current = widgets;
+        widgets = new LinkedHashMap<>();
+        addFormWidgets();
+
+        if (sameFormWidgets(current, widgets)) {
+            widgets = current;
+            return;
+        }
+        formLayout.removeAllViews();
+        layoutWidgets();
+        setLastImeOptions();
+    }
+
+    private static boolean sameFormWidgets(Map<String, FormWidget> current, Map<String, FormWidget> widgets) {
+        if (current.size() != widgets.size()) {
+            return false;
+        }
+        Iterator<FormWidget> iterator = current.values().iterator();
+        for (FormWidget widget : widgets.values()) {
+            FormWidget other = iterator.next();
+            if (!widget.getKey().equals(other.getKey()) || widget.getClass() != other.getClass()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void saveInputStates() {
+        for (FormWidget widget : widgets.values()) {
+            String name = widget.getName();
+            if (INPUTELEMENT.equals(widget.getCategory()) && PaymentInputType.isSensitive(name)) {
+                // Sensitive input is never kept in the card, the text is lost and the card has no input for it anymore
+                paymentCard.putWidgetState(widget.getKey(), null);
+                paymentCard.onTextInputChanged(name, null);
+            } else {
+                paymentCard.putWidgetState(widget.getKey(), widget.saveInputState());
+            }
+        }
+    }
+
+    private void restoreInputStates() {
+        for (FormWidget widget : widgets.values()) {
+            widget.restoreInputState(paymentCard.getWidgetState(widget.getKey()));
+        }
+    }
+
     void layoutWidgets() {
         ViewGroup rowLayout = null;
         boolean rowAdded = false;
@@ -343,11 +441,13 @@ public abstract class PaymentCardViewHolder extends RecyclerView.ViewHolder {
     }
 
     void bindCardLogo(int logoResId) {
+        NetworkLogoLoader.cancelNetworkLogo(cardLogoView);
         cardLogoView.setImageResource(logoResId);
     }
 
     void bindCardLogo(String networkCode, URL url) {
         if (networkCode == null || url == null) {
+            NetworkLogoLoader.cancelNetworkLogo(cardLogoView);
             return;
         }
         NetworkLogoLoader.loadNetworkLogo(cardLogoView, networkCode, url);
@@ -44,15 +44,6 @@ final class PaymentItemList {
         return index >= 0 && index < items.size();
     }
 
-    ListItem getItemWithViewType(int viewType) {
-        for (ListItem item : items) {
-            if (item.viewType == viewType) {
-                return item;
-            }
-        }
-        return null;
-    }
-
     int getItemCount() {
         return items.size();
     }
@@ -61,6 +52,16 @@ final class PaymentItemList {
         return items.get(index).viewType;
     }
 
+    List<ListItem> getItems() {
+        return new ArrayList<>(items);
+    }
+
+    void setItems(List<ListItem> items, int selectedIndex) {
+        this.items.clear();
+        this.items.addAll(items);
+        this.selectedIndex = selectedIndex;
+    }
+
     void addItem(ListItem item, boolean preselected) {
         items.add(item);
         if (preselected) {
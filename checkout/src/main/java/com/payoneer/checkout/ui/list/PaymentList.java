@@ -8,7 +8,10 @@
 
 package com.payoneer.checkout.ui.list;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import com.payoneer.checkout.ui.model.PaymentCard;
 import com.payoneer.checkout.ui.model.PaymentSection;
@@ -20,6 +23,7 @@ import android.content.Context;
 import android.os.IBinder;
 import android.view.View;
 import android.view.inputmethod.InputMethodManager;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.LinearSmoothScroller;
 import androidx.recyclerview.widget.RecyclerView;
@@ -34,9 +38,9 @@ public final class PaymentList {
     private final RecyclerView recyclerView;
     private final ListAdapter adapter;
     private final PaymentItemList itemList;
+    private final LogoPrefetcher logoPrefetcher;
 
     private PaymentSession session;
-    private int nextViewType;
 
     /**
      * Construct a new PaymentList handling the RecyclerView
@@ -52,6 +56,7 @@ public final class PaymentList {
 
         this.itemList = new PaymentItemList();
         this.adapter = new ListAdapter(createCardListener(), itemList);
+        this.logoPrefetcher = new LogoPrefetcher(recyclerView);
 
         this.recyclerView.setAdapter(adapter);
         this.recyclerView.setLayoutManager(new LinearLayoutManager(activity));
@@ -67,8 +72,9 @@ public final class PaymentList {
     }
 
     public void clear() {
+        logoPrefetcher.cancel();
         if (session != null) {
-            session.reset();
+            resetPaymentCards();
             session = null;
         }
         itemList.clear();
@@ -76,7 +82,13 @@ public final class PaymentList {
     }
 
     public boolean hasUserInputData() {
-        return session != null && session.hasUserInputData();
+        // Cards of a previously shown session are kept when the session is revalidated, hence the items are checked
+        for (ListItem item : itemList.getItems()) {
+            if (item instanceof PaymentCardItem && ((PaymentCardItem) item).getPaymentCard().hasUserInputData()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public void showPaymentSession(PaymentSession session) {
@@ -84,6 +96,10 @@ public final class PaymentList {
             setVisible(true);
             return;
         }
+        if (this.session != null && Objects.equals(this.session.getListSelfUrl(), session.getListSelfUrl())) {
+            updatePaymentSession(session);
+            return;
+        }
         clear();
         this.session = session;
         setPaymentSessionItems(session);
@@ -93,12 +109,54 @@ public final class PaymentList {
 
         int scrollPosition = calculateScrollPosition(itemList.getSelectedIndex());
         recyclerView.scrollToPosition(scrollPosition);
+        logoPrefetcher.prefetch(itemList.getItems(), scrollPosition);
     }
 
     public void setVisible(boolean visible) {
         recyclerView.setVisibility(visible ? View.VISIBLE : View.INVISIBLE);
     }
 
+    /**
+     * Show the revalidated PaymentSession of the currently shown list. Items that did not change are kept as they are,
+     * only added, removed and changed items are updated in the RecyclerView.
+     *
+     * @param session the revalidated PaymentSession
+     */
+    private void updatePaymentSession(PaymentSession session) {
+        List<ListItem> oldItems = itemList.getItems();
+        ListItem selectedItem = itemList.getItem(itemList.getSelectedIndex());
+        List<ListItem> newItems = new ArrayList<>();
+        int selectedIndex = -1;
+
+        for (PaymentSection section : session.getPaymentSections()) {
+            HeaderItem header = ListItemDiff.findHeaderItem(oldItems, section.getTitle(), section.getMessage());
+            newItems.add(header != null ? header : new HeaderItem(section.getTitle(), section.getMessage()));
+
+            for (PaymentCard card : section.getPaymentCards()) {
+                ListItem item = ListItemDiff.findPaymentCardItem(oldItems, card);
+                if (item == null) {
+                    item = new PaymentCardItem(card);
+                }
+                if (item == selectedItem || (selectedIndex == -1 && selectedItem == null && card.isPreselected())) {
+                    selectedIndex = newItems.size();
+                }
+                newItems.add(item);
+            }
+        }
+        for (ListItem item : oldItems) {
+            if (item instanceof PaymentCardItem && !newItems.contains(item)) {
+                ((PaymentCardItem) item).getPaymentCard().reset();
+            }
+        }
+        DiffUtil.DiffResult result = DiffUtil.calculateDiff(new ListItemDiff(oldItems, newItems));
+        this.session = session;
+        itemList.setItems(newItems, selectedIndex);
+
+        setVisible(true);
+        result.dispatchUpdatesTo(adapter);
+        logoPrefetcher.prefetch(newItems, 0);
+    }
+
     private int calculateScrollPosition(int index) {
         int headerIndex = index - 1;
         ListItem item = itemList.getItem(headerIndex);
@@ -203,6 +261,14 @@ public final class PaymentList {
         }
     }
 
+    private void resetPaymentCards() {
+        for (ListItem item : itemList.getItems()) {
+            if (item instanceof PaymentCardItem) {
+                ((PaymentCardItem) item).getPaymentCard().reset();
+            }
+        }
+    }
+
     private void setPaymentSessionItems(PaymentSession paymentSession) {
         for (PaymentSection section : paymentSession.getPaymentSections()) {
             addPaymentSectionItems(section);
@@ -210,14 +276,10 @@ public final class PaymentList {
     }
 
     private void addPaymentSectionItems(PaymentSection section) {
-        itemList.addItem(new HeaderItem(nextViewType(), section.getTitle(), section.getMessage()), false);
+        itemList.addItem(new HeaderItem(section.getTitle(), section.getMessage()), false);
         for (PaymentCard card : section.getPaymentCards()) {
-            PaymentCardItem item = new PaymentCardItem(nextViewType(), card);
+            PaymentCardItem item = new PaymentCardItem(card);
             itemList.addItem(item, card.isPreselected());
         }
     }
-
-    private int nextViewType() {
-        return nextViewType++;
-    }
 }
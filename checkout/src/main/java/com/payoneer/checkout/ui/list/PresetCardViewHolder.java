@@ -29,23 +29,26 @@ final class PresetCardViewHolder extends PaymentCardViewHolder {
     private final TextView subtitleView;
     private final MaterialCardView card;
 
-    private PresetCardViewHolder(ListAdapter adapter, View parent, PresetCard presetCard) {
-        super(adapter, parent, presetCard);
+    private PresetCardViewHolder(ListAdapter adapter, View parent) {
+        super(adapter, parent);
         titleView = parent.findViewById(R.id.text_title);
         subtitleView = parent.findViewById(R.id.text_subtitle);
         card = parent.findViewById(R.id.card_preset);
         card.setCheckable(true);
-
-        addExtraElementWidgets(presetCard.getTopExtraElements());
-        addExtraElementWidgets(presetCard.getTopExtraElements());
-        addButtonWidget();
-        layoutWidgets();
     }
 
-    static RecyclerView.ViewHolder createInstance(ListAdapter adapter, PresetCard presetCard, ViewGroup parent) {
+    static RecyclerView.ViewHolder createInstance(ListAdapter adapter, ViewGroup parent) {
         LayoutInflater inflater = LayoutInflater.from(parent.getContext());
         View view = inflater.inflate(R.layout.list_item_presetcard, parent, false);
-        return new PresetCardViewHolder(adapter, view, presetCard);
+        return new PresetCardViewHolder(adapter, view);
+    }
+
+    @Override
+    void addFormWidgets() {
+        PresetCard presetCard = (PresetCard) paymentCard;
+        addExtraElementWidgets(presetCard.getTopExtraElements());
+        addExtraElementWidgets(presetCard.getTopExtraElements());
+        addButtonWidget();
     }
 
     void onBind() {
@@ -14,6 +14,7 @@ import static com.payoneer.checkout.ui.model.PaymentSession.LINK_OPERATION;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -35,6 +36,7 @@ public abstract class PaymentCard {
     private boolean disabled;
     private boolean preselected;
     final List<String> userInputTypes;
+    private final Map<String, String> widgetStates;
 
     /**
      * Construct a PaymentCard, when a card is checkable and marked as checked
@@ -45,6 +47,7 @@ public abstract class PaymentCard {
     public PaymentCard(ExtraElements extraElements) {
         this.extraElements = extraElements;
         this.userInputTypes = new ArrayList<>();
+        this.widgetStates = new HashMap<>();
     }
 
     public void setDisabled(final boolean disabled) {
@@ -216,6 +219,32 @@ public abstract class PaymentCard {
      */
     public void reset() {
         userInputTypes.clear();
+        widgetStates.clear();
+    }
+
+    /**
+     * Store the input state of a widget shown in this card, i.e. the text typed by the user.
+     * The state is kept in the card so the views showing the card can be recycled for other cards.
+     *
+     * @param widgetKey key of the widget
+     * @param state of the widget, null to remove the state
+     */
+    public void putWidgetState(String widgetKey, String state) {
+        if (state == null) {
+            widgetStates.remove(widgetKey);
+        } else {
+            widgetStates.put(widgetKey, state);
+        }
+    }
+
+    /**
+     * Get the stored input state of a widget shown in this card
+     *
+     * @param widgetKey key of the widget
+     * @return the state or null if no state was stored
+     */
+    public String getWidgetState(String widgetKey) {
+        return widgetStates.get(widgetKey);
     }
 
     /**
@@ -9,6 +9,7 @@
 package com.payoneer.checkout.ui.model;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -92,6 +93,22 @@ public final class PaymentSection {
         return false;
     }
 
+    /**
+     * Create a copy of this section without the payment cards containing the self link
+     *
+     * @param url of the self link of the payment cards to remove
+     * @return the copy of this section, or this section when none of its payment cards contains the self link
+     */
+    public PaymentSection removePaymentCard(URL url) {
+        List<PaymentCard> remaining = new ArrayList<>();
+        for (PaymentCard card : cards) {
+            if (!card.containsLink(PaymentSession.LINK_SELF, url)) {
+                remaining.add(card);
+            }
+        }
+        return remaining.size() == cards.size() ? this : new PaymentSection(titleKey, messageKey, remaining);
+    }
+
     /**
      * Check if this section contains a PaymentCard that has user input data.
      *
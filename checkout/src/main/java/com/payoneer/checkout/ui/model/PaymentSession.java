@@ -9,6 +9,7 @@
 package com.payoneer.checkout.ui.model;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -101,6 +102,24 @@ public final class PaymentSession {
         return false;
     }
 
+    /**
+     * Create a copy of this PaymentSession without the payment card containing the self link, i.e. after the account
+     * has been deleted. Sections without remaining payment cards are left out.
+     *
+     * @param url of the self link of the payment card to remove
+     * @return the copy of this PaymentSession
+     */
+    public PaymentSession removePaymentCard(URL url) {
+        List<PaymentSection> sections = new ArrayList<>();
+        for (PaymentSection section : paymentSections) {
+            PaymentSection remaining = section.removePaymentCard(url);
+            if (remaining.getPaymentCards().size() > 0) {
+                sections.add(remaining);
+            }
+        }
+        return new PaymentSession(listResult, sections, swipeRefresh);
+    }
+
     public Map<String, URL> getLanguageLinks() {
         Map<String, URL> links = new HashMap<>();
         for (PaymentSection section : paymentSections) {
@@ -14,8 +14,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
 
-import android.text.TextUtils;
-
 /**
  * Class for storing and selecting payment networks based on smart switch logic
  */
@@ -33,9 +31,15 @@ public final class SmartSwitch {
         this.smartBuffer = new ArrayList<>();
     }
 
-    public void addSelectionRegex(String code, String regex) {
-        if (!TextUtils.isEmpty(regex)) {
-            smartMapping.put(code, Pattern.compile(regex));
+    /**
+     * Add a compiled selection regex for the payment network with the given code
+     *
+     * @param code the code of the payment network
+     * @param pattern the compiled smart selection regex
+     */
+    public void addSelectionPattern(String code, Pattern pattern) {
+        if (pattern != null) {
+            smartMapping.put(code, pattern);
         }
     }
 
@@ -28,9 +28,11 @@ public final class ChargePaymentActivity extends BasePaymentActivity implements
 
     private final static String EXTRA_OPERATION = "operation";
     private final static String EXTRA_CHARGE_TYPE = "charge_type";
+    private final static String EXTRA_SESSION_VERSION = "session_version";
     public final static int TYPE_CHARGE_OPERATION = 1;
     public final static int TYPE_CHARGE_PRESET_ACCOUNT = 2;
     private int chargeType;
+    private long sessionVersion;
     private ChargePaymentPresenter presenter;
     private Operation operation;
 
@@ -53,6 +55,20 @@ public final class ChargePaymentActivity extends BasePaymentActivity implements
         return intent;
     }
 
+    /**
+     * Create the start intent for this ChargePaymentActivity with a PaymentSession handed off through the PaymentSessionStore
+     *
+     * @param context Context to create the intent
+     * @param operation the operation to be posted to the Payment API
+     * @param sessionVersion version of the PaymentSession stored in the PaymentSessionStore
+     * @return newly created start intent
+     */
+    public static Intent createStartIntent(Context context, Operation operation, long sessionVersion) {
+        Intent intent = createStartIntent(context, operation);
+        intent.putExtra(EXTRA_SESSION_VERSION, sessionVersion);
+        return intent;
+    }
+
     /**
      * Create the start intent for this ChargePaymentActivity
      *
@@ -91,6 +107,7 @@ public final class ChargePaymentActivity extends BasePaymentActivity implements
         if (bundle != null) {
             this.operation = bundle.getParcelable(EXTRA_OPERATION);
             this.chargeType = bundle.getInt(EXTRA_CHARGE_TYPE);
+            this.sessionVersion = bundle.getLong(EXTRA_SESSION_VERSION);
         }
         setContentView(R.layout.activity_chargepayment);
 
@@ -124,7 +141,7 @@ public final class ChargePaymentActivity extends BasePaymentActivity implements
     @Override
     public void onResume() {
         super.onResume();
-        presenter.onStart(operation, chargeType);
+        presenter.onStart(operation, chargeType, sessionVersion);
     }
 
     /**
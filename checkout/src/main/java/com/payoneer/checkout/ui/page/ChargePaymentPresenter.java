@@ -34,6 +34,7 @@ import com.payoneer.checkout.ui.service.NetworkService;
 import com.payoneer.checkout.ui.service.NetworkServiceListener;
 import com.payoneer.checkout.ui.service.PaymentSessionListener;
 import com.payoneer.checkout.ui.service.PaymentSessionService;
+import com.payoneer.checkout.ui.service.PaymentSessionStore;
 import com.payoneer.checkout.util.PaymentResultHelper;
 
 import android.content.Context;
@@ -44,6 +45,9 @@ import android.content.Context;
  */
 final class ChargePaymentPresenter extends BasePaymentPresenter implements PaymentSessionListener, NetworkServiceListener {
 
+    /** Maximum age in milliseconds of a PaymentSession handed off by the payment list */
+    private final static long HANDOFF_MAX_AGE = 60000;
+
     private final PaymentSessionService sessionService;
     private PaymentSession session;
     private Operation operation;
@@ -62,7 +66,7 @@ final class ChargePaymentPresenter extends BasePaymentPresenter implements Payme
         sessionService.setListener(this);
     }
 
-    void onStart(Operation operation, int chargeType) {
+    void onStart(Operation operation, int chargeType, long sessionVersion) {
         this.chargeType = chargeType;
         if (chargeType == ChargePaymentActivity.TYPE_CHARGE_OPERATION) {
             this.operation = operation;
@@ -72,6 +76,12 @@ final class ChargePaymentPresenter extends BasePaymentPresenter implements Payme
         if (redirectRequest != null) {
             handleRedirectRequest(redirectRequest);
             redirectRequest = null;
+            return;
+        }
+        // Reuse the PaymentSession handed off by the payment list, it is only available once
+        PaymentSession handoff = PaymentSessionStore.getInstance().take(listUrl, sessionVersion, HANDOFF_MAX_AGE);
+        if (handoff != null) {
+            onPaymentSessionSuccess(handoff);
         } else {
             loadPaymentSession();
         }
@@ -82,6 +82,10 @@ public final class PaymentListActivity extends BasePaymentActivity implements Pa
         paymentList.onStop();
         presenter.onStop();
         resetSwipeRefreshLayout();
+
+        if (isFinishing()) {
+            presenter.onFinish();
+        }
     }
 
     @Override
@@ -122,8 +126,8 @@ public final class PaymentListActivity extends BasePaymentActivity implements Pa
     }
 
     @Override
-    public void showChargePaymentScreen(int requestCode, Operation operation) {
-        Intent intent = ChargePaymentActivity.createStartIntent(this, operation);
+    public void showChargePaymentScreen(int requestCode, Operation operation, long sessionVersion) {
+        Intent intent = ChargePaymentActivity.createStartIntent(this, operation, sessionVersion);
         startActivityForResult(intent, requestCode);
         overridePendingTransition(ChargePaymentActivity.getStartTransition(), R.anim.no_animation);
         idlingResources.setCloseIdlingState(true);
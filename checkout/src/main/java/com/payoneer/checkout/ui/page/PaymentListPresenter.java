@@ -51,7 +51,9 @@ import com.payoneer.checkout.ui.model.PresetCard;
 import com.payoneer.checkout.ui.service.NetworkService;
 import com.payoneer.checkout.ui.service.NetworkServiceListener;
 import com.payoneer.checkout.ui.service.PaymentSessionListener;
+import com.payoneer.checkout.ui.service.PaymentSessionPrefetcher;
 import com.payoneer.checkout.ui.service.PaymentSessionService;
+import com.payoneer.checkout.ui.service.PaymentSessionStore;
 import com.payoneer.checkout.ui.widget.FormWidget;
 import com.payoneer.checkout.util.PaymentResultHelper;
 import com.payoneer.checkout.util.PaymentUtils;
@@ -76,6 +78,8 @@ final class PaymentListPresenter extends BasePaymentPresenter
     private PaymentActivityResult activityResult;
     private NetworkService networkService;
     private RedirectRequest redirectRequest;
+    private boolean loadingSnapshot;
+    private boolean revalidating;
 
     /**
      * Create a new PaymentListPresenter
@@ -100,9 +104,12 @@ final class PaymentListPresenter extends BasePaymentPresenter
             handlePaymentActivityResult(activityResult);
             activityResult = null;
         } else if (session == null) {
-            loadPaymentSession();
+            loadPrefetchedPaymentSession();
         } else {
             showPaymentSession();
+            if (revalidating) {
+                revalidatePaymentSession();
+            }
         }
     }
 
@@ -115,6 +122,13 @@ final class PaymentListPresenter extends BasePaymentPresenter
         }
     }
 
+    /**
+     * Called when the payment page is finishing, a PaymentSession that has not been handed off is removed
+     */
+    void onFinish() {
+        PaymentSessionStore.getInstance().remove(listUrl);
+    }
+
     public void onRefresh(boolean hasUserInputData) {
         if (!checkState(STARTED)) {
             return;
@@ -187,6 +201,11 @@ final class PaymentListPresenter extends BasePaymentPresenter
 
     @Override
     public void onPaymentSessionSuccess(PaymentSession session) {
+        if (loadingSnapshot) {
+            handleLoadSnapshotSuccess(session);
+            return;
+        }
+        revalidating = false;
         ListResult listResult = session.getListResult();
         Interaction interaction = listResult.getInteraction();
 
@@ -200,6 +219,13 @@ final class PaymentListPresenter extends BasePaymentPresenter
 
     @Override
     public void onPaymentSessionError(Throwable cause) {
+        if (loadingSnapshot) {
+            // The snapshot is only a shortcut, the list is loaded from the Payment API instead
+            loadingSnapshot = false;
+            sessionService.loadPrefetchedPaymentSession(listUrl, view.getActivity());
+            return;
+        }
+        revalidating = false;
         PaymentResult result = PaymentResultHelper.fromThrowable(cause);
         if (result.isNetworkFailure()) {
             handleLoadingNetworkFailure(result);
@@ -224,6 +250,9 @@ final class PaymentListPresenter extends BasePaymentPresenter
 
         switch (interaction.getCode()) {
             case PROCEED:
+                removeDeletedAccountCard();
+                loadPaymentSession();
+                break;
             case RELOAD:
                 loadPaymentSession();
                 break;
@@ -376,6 +405,18 @@ final class PaymentListPresenter extends BasePaymentPresenter
         showPaymentSession();
     }
 
+    private void handleLoadSnapshotSuccess(PaymentSession session) {
+        loadingSnapshot = false;
+        Interaction interaction = session.getListResult().getInteraction();
+        if (!Objects.equals(interaction.getCode(), PROCEED) || session.isEmpty()) {
+            sessionService.loadPrefetchedPaymentSession(listUrl, view.getActivity());
+            return;
+        }
+        this.session = session;
+        showPaymentSession();
+        revalidatePaymentSession();
+    }
+
     private void handleLoadingNetworkFailure(final PaymentResult result) {
         view.showConnectionErrorDialog(new PaymentDialogListener() {
             @Override
@@ -429,7 +470,8 @@ final class PaymentListPresenter extends BasePaymentPresenter
         try {
             operation = createOperation(paymentCard, widgets);
             if (CHARGE.equals(operation.getOperationType())) {
-                listView.showChargePaymentScreen(CHARGEPAYMENT_REQUEST_CODE, operation);
+                long sessionVersion = PaymentSessionStore.getInstance().put(listUrl, session);
+                listView.showChargePaymentScreen(CHARGEPAYMENT_REQUEST_CODE, operation, sessionVersion);
             } else {
                 networkService = loadNetworkService(paymentCard.getNetworkCode(), paymentCard.getPaymentMethod());
                 networkService.setListener(this);
@@ -454,6 +496,18 @@ final class PaymentListPresenter extends BasePaymentPresenter
         }
     }
 
+    /**
+     * Remove the deleted account from the shown PaymentSession, the saved accounts are kept visible while the list is
+     * revalidated and the deleted account must not be selectable anymore.
+     */
+    private void removeDeletedAccountCard() {
+        if (session == null || deleteAccount == null) {
+            return;
+        }
+        session = session.removePaymentCard(deleteAccount.getURL());
+        showPaymentSession();
+    }
+
     private void processPayment(Operation operation) {
         setState(PROCESS);
         networkService.processPayment(operation);
@@ -527,12 +581,43 @@ final class PaymentListPresenter extends BasePaymentPresenter
     }
 
     private void loadPaymentSession() {
+        PaymentSessionStore.getInstance().remove(listUrl);
+        if (session != null && UPDATE.equals(session.getListOperationType())) {
+            // Keep showing the saved accounts while the list is revalidated with the Payment API
+            revalidatePaymentSession();
+            return;
+        }
         this.session = null;
         listView.clearPaymentList();
         view.showProgress(true);
         sessionService.loadPaymentSession(listUrl, view.getActivity());
     }
 
+    private void loadPrefetchedPaymentSession() {
+        PaymentSession prefetched = sessionService.takePrefetchedPaymentSession(listUrl);
+        if (prefetched != null) {
+            onPaymentSessionSuccess(prefetched);
+            return;
+        }
+        listView.clearPaymentList();
+        view.showProgress(true);
+        if (PaymentSessionPrefetcher.getInstance().isPrefetched(listUrl)) {
+            sessionService.loadPrefetchedPaymentSession(listUrl, view.getActivity());
+        } else if (sessionService.hasSnapshotPaymentSession(listUrl)) {
+            loadingSnapshot = true;
+            sessionService.loadSnapshotPaymentSession(listUrl, view.getActivity());
+        } else {
+            sessionService.loadPaymentSession(listUrl, view.getActivity());
+        }
+    }
+
+    private void revalidatePaymentSession() {
+        revalidating = true;
+        if (!sessionService.isActive()) {
+            sessionService.loadPaymentSession(listUrl, view.getActivity());
+        }
+    }
+
     private void showMessageAndResetPaymentSession(InteractionMessage message) {
         view.showInteractionDialog(message, null);
         listView.clearPaymentList();
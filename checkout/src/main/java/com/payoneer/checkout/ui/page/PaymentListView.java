@@ -26,8 +26,9 @@ interface PaymentListView extends BasePaymentView {
      *
      * @param requestCode the code identifying the request
      * @param operation to be handled by the charge payment screen
+     * @param sessionVersion version of the PaymentSession handed off to the charge payment screen
      */
-    void showChargePaymentScreen(int requestCode, Operation operation);
+    void showChargePaymentScreen(int requestCode, Operation operation, long sessionVersion);
 
     /**
      * Stop loading and show the PaymentSession
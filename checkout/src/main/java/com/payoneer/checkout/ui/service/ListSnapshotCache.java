@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.service;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.payoneer.checkout.model.ListResult;
+import com.payoneer.checkout.util.CacheFiles;
+
+import android.content.Context;
+import android.util.Log;
+
+/**
+ * Class for storing a snapshot of the last loaded ListResult per list URL on disk.
+ * <p>
+ * A snapshot allows the payment page to be shown immediately when it is opened again, while the list is revalidated
+ * with the Payment API in the background. Snapshots older than the maximum age are never returned and only a small
+ * number of snapshots is kept, the least recently used snapshots are removed first.
+ */
+final class ListSnapshotCache {
+
+    /** Name of the directory, inside the cache directory of the app, in which snapshots are stored */
+    private final static String DIRECTORY_NAME = "checkout-lists";
+
+    /** Default maximum number of stored snapshots */
+    private final static int DEFAULT_MAX_ENTRIES = 4;
+
+    /** Default maximum age in milliseconds of a snapshot */
+    private final static long DEFAULT_MAX_AGE = TimeUnit.HOURS.toMillis(24);
+
+    private final static String FILE_EXTENSION = ".json";
+
+    private final File directory;
+    private final int maxEntries;
+    private final long maxAge;
+    private final Gson gson;
+
+    /** The shared instance stored in the cache directory of the app */
+    private static ListSnapshotCache instance;
+
+    /**
+     * Get the ListSnapshotCache stored in the cache directory of the app using the default maximum number of entries
+     * and maximum age. All services share this instance so that writing and trimming the files are serialized.
+     *
+     * @param context used to obtain the cache directory
+     * @return the shared ListSnapshotCache
+     */
+    static synchronized ListSnapshotCache getInstance(Context context) {
+        if (instance == null) {
+            File directory = new File(context.getApplicationContext().getCacheDir(), DIRECTORY_NAME);
+            instance = new ListSnapshotCache(directory, DEFAULT_MAX_ENTRIES, DEFAULT_MAX_AGE);
+        }
+        return instance;
+    }
+
+    /**
+     * Construct a new ListSnapshotCache
+     *
+     * @param directory in which the snapshots are stored
+     * @param maxEntries maximum number of stored snapshots
+     * @param maxAge maximum age in milliseconds of a snapshot
+     */
+    ListSnapshotCache(File directory, int maxEntries, long maxAge) {
+        if (directory == null) {
+            throw new IllegalArgumentException("directory cannot be null");
+        }
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+        this.maxAge = maxAge;
+        this.gson = new GsonBuilder().create();
+    }
+
+    /**
+     * Get the snapshot of the ListResult stored for the given list URL
+     *
+     * @param listUrl URL pointing to the list on the Payment API
+     * @return the ListResult or null if no snapshot is available or the snapshot is too old
+     */
+    synchronized ListResult get(String listUrl) {
+        File file = getFile(listUrl);
+        if (!file.exists()) {
+            return null;
+        }
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            Snapshot snapshot = gson.fromJson(reader, Snapshot.class);
+            if (snapshot == null || !listUrl.equals(snapshot.listUrl) || snapshot.listResult == null || isExpired(snapshot)) {
+                CacheFiles.deleteFile(file);
+                return null;
+            }
+            file.setLastModified(System.currentTimeMillis());
+            return snapshot.listResult;
+        } catch (IOException | JsonParseException e) {
+            Log.w("Checkout", e);
+            CacheFiles.deleteFile(file);
+            return null;
+        }
+    }
+
+    /**
+     * Check if a snapshot file is stored for the given list URL. The file is not read, hence a snapshot that is too old
+     * or cannot be read is only detected when getting it.
+     *
+     * @param listUrl URL pointing to the list on the Payment API
+     * @return true when a snapshot is stored, false otherwise
+     */
+    synchronized boolean contains(String listUrl) {
+        return getFile(listUrl).exists();
+    }
+
+    /**
+     * Store the snapshot of the ListResult for the given list URL, replacing any previously stored snapshot
+     *
+     * @param listUrl URL pointing to the list on the Payment API
+     * @param listResult to store
+     */
+    synchronized void put(String listUrl, ListResult listResult) {
+        boolean written = CacheFiles.write(getFile(listUrl), out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            gson.toJson(new Snapshot(listUrl, System.currentTimeMillis(), listResult), writer);
+            writer.flush();
+        });
+        if (written) {
+            CacheFiles.trimToCount(directory, maxEntries);
+        }
+    }
+
+    /**
+     * Remove the snapshot stored for the given list URL
+     *
+     * @param listUrl URL pointing to the list on the Payment API
+     */
+    synchronized void remove(String listUrl) {
+        CacheFiles.deleteFile(getFile(listUrl));
+    }
+
+    /**
+     * Remove all stored snapshots
+     */
+    synchronized void clear() {
+        CacheFiles.deleteFiles(directory);
+    }
+
+    private boolean isExpired(Snapshot snapshot) {
+        long age = System.currentTimeMillis() - snapshot.storedAt;
+        return age < 0 || age >= maxAge;
+    }
+
+    private File getFile(String listUrl) {
+        return CacheFiles.getFile(directory, listUrl, FILE_EXTENSION);
+    }
+
+    /**
+     * Class holding the stored ListResult together with the URL and time it was stored
+     */
+    private static class Snapshot {
+        final String listUrl;
+        final long storedAt;
+        final ListResult listResult;
+
+        Snapshot(String listUrl, long storedAt, ListResult listResult) {
+            this.listUrl = listUrl;
+            this.storedAt = storedAt;
+            this.listResult = listResult;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.service;
+
+import com.payoneer.checkout.localization.Localization;
+import com.payoneer.checkout.ui.model.PaymentSession;
+
+import android.os.SystemClock;
+
+/**
+ * Class holding a loaded PaymentSession together with its Localization. The Localization is not set as
+ * the current instance until the PaymentSession is shown to the user.
+ */
+final class LoadedPaymentSession {
+
+    private final PaymentSession session;
+    private final Localization localization;
+    private final long loadedAt;
+
+    /**
+     * Construct a new LoadedPaymentSession
+     *
+     * @param session the loaded PaymentSession
+     * @param localization the Localization belonging to the PaymentSession
+     */
+    LoadedPaymentSession(PaymentSession session, Localization localization) {
+        this.session = session;
+        this.localization = localization;
+        this.loadedAt = SystemClock.elapsedRealtime();
+    }
+
+    PaymentSession getPaymentSession() {
+        return session;
+    }
+
+    Localization getLocalization() {
+        return localization;
+    }
+
+    /**
+     * Get the time since this PaymentSession has been loaded
+     *
+     * @return the age in milliseconds
+     */
+    long getAge() {
+        return SystemClock.elapsedRealtime() - loadedAt;
+    }
+}
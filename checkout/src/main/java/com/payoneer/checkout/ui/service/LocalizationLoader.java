@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.service;
+
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.payoneer.checkout.core.Cancellation;
+import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.core.WorkerFuture;
+import com.payoneer.checkout.localization.LocalizationHolder;
+
+/**
+ * Class for loading multiple localization files concurrently.
+ * <p>
+ * The localization files are loaded by a bounded number of workers that take the URLs from a shared queue. The workers
+ * run on the executor while the calling thread waits for them. All files must be loaded within a single deadline,
+ * when it expires or the calling task is cancelled, the workers are cancelled and their connections disconnected.
+ * Failures of the individual files are aggregated into one PaymentException.
+ */
+final class LocalizationLoader {
+
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final long timeout;
+
+    /**
+     * Interface for loading a single localization file
+     */
+    interface Loader {
+
+        /**
+         * Load the localization file from the given URL
+         *
+         * @param url pointing to the localization file
+         * @return the LocalizationHolder containing the localizations
+         */
+        LocalizationHolder load(URL url) throws PaymentException;
+    }
+
+    /**
+     * Construct a new LocalizationLoader
+     *
+     * @param executor used to run the additional workers
+     * @param parallelism maximum number of localization files loaded at the same time
+     * @param timeout maximum time in milliseconds to load all localization files
+     */
+    LocalizationLoader(ExecutorService executor, int parallelism, long timeout) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be greater than zero");
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Load all localization files, this method blocks until all files have been loaded, one of them failed,
+     * or the deadline expired.
+     *
+     * @param urls the localization file URLs mapped by their keys
+     * @param loader used to load a single localization file
+     * @return the loaded LocalizationHolders mapped by the keys of the URLs
+     */
+    Map<String, LocalizationHolder> loadAll(Map<String, URL> urls, Loader loader) throws PaymentException {
+        if (urls.isEmpty()) {
+            return new HashMap<>();
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        LoadBatch batch = new LoadBatch(urls, loader, deadline);
+        List<WorkerFuture<Void>> workers = new ArrayList<>();
+        int count = Math.min(parallelism, urls.size());
+        for (int i = 0; i < count; i++) {
+            workers.add(WorkerFuture.submit(executor, batch));
+        }
+        final WorkerFuture<List<Void>> future = WorkerFuture.all(workers);
+
+        // Cancelling the calling task cancels the workers and disconnects their connections
+        Cancellation cancellation = Cancellation.current();
+        if (cancellation != null && !cancellation.register(batch, () -> future.cancel(true))) {
+            throw new PaymentException("Cancelled while loading localization files", new InterruptedIOException());
+        }
+        try {
+            future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            batch.throwFailures();
+            throw new PaymentException("Timed out loading localization files", e, true);
+        } catch (ExecutionException e) {
+            throw new PaymentException("Failed to load localization files", e.getCause());
+        } catch (CancellationException e) {
+            throw new PaymentException("Cancelled while loading localization files", new InterruptedIOException());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentException("Interrupted while loading localization files", e);
+        } finally {
+            // Failures caused by disconnecting the workers are not reported, the loads still running are cancelled
+            future.cancel(true);
+            if (cancellation != null) {
+                cancellation.unregister(batch);
+            }
+        }
+        batch.throwFailures();
+        if (batch.results.size() < urls.size()) {
+            // The workers stopped taking localization files because the deadline expired
+            throw new PaymentException("Timed out loading localization files", new TimeoutException(), true);
+        }
+        return new HashMap<>(batch.results);
+    }
+
+    /**
+     * Class containing the state shared by the workers loading the localization files
+     */
+    private static class LoadBatch implements Callable<Void> {
+
+        final Queue<Map.Entry<String, URL>> queue;
+        final Map<String, LocalizationHolder> results;
+        final List<PaymentException> failures;
+        final Loader loader;
+        final long deadline;
+
+        LoadBatch(Map<String, URL> urls, Loader loader, long deadline) {
+            this.queue = new ConcurrentLinkedQueue<>(urls.entrySet());
+            this.results = new ConcurrentHashMap<>();
+            this.failures = Collections.synchronizedList(new ArrayList<>());
+            this.loader = loader;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public Void call() {
+            Map.Entry<String, URL> entry;
+            while (!isStopped() && (entry = queue.poll()) != null) {
+                try {
+                    LocalizationHolder holder = loader.load(entry.getValue());
+                    if (holder == null) {
+                        throw new PaymentException("Missing localization file: " + entry.getValue());
+                    }
+                    results.put(entry.getKey(), holder);
+                } catch (PaymentException e) {
+                    failures.add(e);
+                } catch (RuntimeException e) {
+                    failures.add(new PaymentException(e));
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Stop taking new localization files when the worker has been cancelled, the deadline expired or
+         * loading of a localization file failed, since the session cannot be loaded anymore.
+         */
+        private boolean isStopped() {
+            Cancellation cancellation = Cancellation.current();
+            return (cancellation != null && cancellation.isCancelled()) || !failures.isEmpty() ||
+                System.nanoTime() - deadline >= 0;
+        }
+
+        void throwFailures() throws PaymentException {
+            if (failures.isEmpty()) {
+                return;
+            }
+            List<PaymentException> list;
+            synchronized (failures) {
+                list = new ArrayList<>(failures);
+            }
+            if (list.size() == 1) {
+                throw list.get(0);
+            }
+            boolean networkFailure = false;
+            for (PaymentException failure : list) {
+                networkFailure |= failure.getNetworkFailure();
+            }
+            String message = "Failed to load " + list.size() + " localization files";
+            PaymentException exception = new PaymentException(message, list.get(0), networkFailure);
+            for (int i = 1; i < list.size(); i++) {
+                exception.addSuppressed(list.get(i));
+            }
+            throw exception;
+        }
+    }
+}
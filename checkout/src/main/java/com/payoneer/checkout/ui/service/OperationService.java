@@ -11,8 +11,8 @@ package com.payoneer.checkout.ui.service;
 import java.util.concurrent.Callable;
 
 import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.core.WorkerFuture;
 import com.payoneer.checkout.core.WorkerSubscriber;
-import com.payoneer.checkout.core.WorkerTask;
 import com.payoneer.checkout.core.Workers;
 import com.payoneer.checkout.form.BrowserDataBuilder;
 import com.payoneer.checkout.form.DeleteAccount;
@@ -28,10 +28,12 @@ import android.content.Context;
  * This service makes callbacks in the operation listener to notify of request completions.
  */
 public final class OperationService {
+
     private final PaymentConnection paymentConnection;
     private final BrowserData browserData;
     private OperationListener listener;
-    private WorkerTask<OperationResult> task;
+    private WorkerFuture<OperationResult> task;
+    private long retryTimeout;
 
     /**
      * Create a new OperationService
@@ -52,8 +54,19 @@ public final class OperationService {
         this.listener = listener;
     }
 
+    /**
+     * Set the total time in which a posted operation is automatically retried when it could not be sent to the
+     * Payment API, i.e. because the connection failed. By default operations are not retried.
+     *
+     * @param retryTimeout the time in milliseconds, zero disables retrying
+     */
+    public void setRetryTimeout(long retryTimeout) {
+        this.retryTimeout = retryTimeout;
+    }
+
     /**
      * Stop and unsubscribe from the task that is currently active in this service.
+     * The request is not cancelled, aborting a request that changes the payment would leave its outcome unknown.
      */
     public void stop() {
         if (task != null) {
@@ -81,7 +94,7 @@ public final class OperationService {
         if (isActive()) {
             throw new IllegalStateException("OperationService is already active, stop first");
         }
-        task = WorkerTask.fromCallable(new Callable<OperationResult>() {
+        task = WorkerFuture.submit(Workers.getInstance().forOperationTasks(), new Callable<OperationResult>() {
             @Override
             public OperationResult call() throws PaymentException {
                 return asyncDeleteAccount(account);
@@ -106,7 +119,6 @@ public final class OperationService {
                 }
             }
         });
-        Workers.getInstance().forNetworkTasks().execute(task);
     }
 
     /**
@@ -119,10 +131,11 @@ public final class OperationService {
         if (isActive()) {
             throw new IllegalStateException("Already posting operation, stop first");
         }
-        task = WorkerTask.fromCallable(new Callable<OperationResult>() {
+        final long timeout = retryTimeout;
+        task = WorkerFuture.submit(Workers.getInstance().forOperationTasks(), new Callable<OperationResult>() {
             @Override
             public OperationResult call() throws PaymentException {
-                return asyncPostOperation(operation);
+                return asyncPostOperation(operation, timeout);
             }
         });
         task.subscribe(new WorkerSubscriber<OperationResult>() {
@@ -144,12 +157,11 @@ public final class OperationService {
                 }
             }
         });
-        Workers.getInstance().forNetworkTasks().execute(task);
     }
 
-    private OperationResult asyncPostOperation(Operation operation) throws PaymentException {
+    private OperationResult asyncPostOperation(Operation operation, long timeout) throws PaymentException {
         operation.setBrowserData(browserData);
-        return paymentConnection.postOperation(operation);
+        return paymentConnection.postOperation(operation, timeout);
     }
 
     private OperationResult asyncDeleteAccount(DeleteAccount account) throws PaymentException {
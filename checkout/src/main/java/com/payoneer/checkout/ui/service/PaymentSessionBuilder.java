@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import com.payoneer.checkout.R;
 import com.payoneer.checkout.core.PaymentException;
@@ -46,8 +47,6 @@ import com.payoneer.checkout.ui.model.PresetCard;
 import com.payoneer.checkout.ui.model.RegistrationOptions;
 import com.payoneer.checkout.util.PaymentUtils;
 
-import android.text.TextUtils;
-
 /**
  * The PaymentSessionBuilder for building a PaymentSession from a ListResult
  * This builder will group PaymentNetworks together according to the provided group settings.
@@ -275,10 +274,10 @@ public final class PaymentSessionBuilder {
         throws PaymentException {
         String code = network.getNetworkCode();
         String groupId = group.getId();
-        String regex = group.getSmartSelectionRegex(code);
+        Pattern pattern = group.getSmartSelectionPattern(code);
         ExtraElements extraElements = listResult.getExtraElements();
 
-        if (TextUtils.isEmpty(regex)) {
+        if (pattern == null) {
             throw new PaymentException("Missing regex for network: " + code + " in group: " + groupId);
         }
         NetworkCard card = cards.get(groupId);
@@ -291,7 +290,7 @@ public final class PaymentSessionBuilder {
             addNetwork2SingleCard(cards, network, listResult);
             return;
         }
-        card.getSmartSwitch().addSelectionRegex(code, regex);
+        card.getSmartSwitch().addSelectionPattern(code, pattern);
     }
 
     /**
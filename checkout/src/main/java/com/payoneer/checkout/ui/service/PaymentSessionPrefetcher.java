@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.payoneer.checkout.R;
+import com.payoneer.checkout.core.Cancellation;
+import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.core.Workers;
+import com.payoneer.checkout.localization.LocalizationCache;
+import com.payoneer.checkout.ui.model.PaymentCard;
+import com.payoneer.checkout.ui.model.PaymentSection;
+import com.payoneer.checkout.ui.model.PaymentSession;
+import com.payoneer.checkout.util.LogoRequest;
+import com.payoneer.checkout.util.NetworkLogoLoader;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.util.Log;
+
+/**
+ * The Singleton class prefetching a PaymentSession before the Payment Page is opened.
+ * <p>
+ * At most one PaymentSession is prefetched at a time, prefetching a different list URL cancels the current prefetch.
+ * The logos of a prefetched PaymentSession are prefetched as well.
+ * A prefetched PaymentSession is handed out once and expires after MAX_AGE milliseconds, after which the Payment
+ * Page loads the PaymentSession again. A prefetch that has failed is discarded and never reported to the user,
+ * the Payment Page will load the PaymentSession itself and report the error.
+ */
+public final class PaymentSessionPrefetcher {
+
+    /** Maximum time in milliseconds a prefetched PaymentSession may be used by the Payment Page */
+    public final static long MAX_AGE = 120000;
+
+    /** Maximum number of bytes downloaded when prefetching the logos of a PaymentSession */
+    final static long LOGO_DOWNLOAD_BUDGET = 256 * 1024;
+
+    private final Executor executor;
+    private final long maxAge;
+    private Prefetch current;
+
+    /**
+     * Interface for loading the PaymentSession in the background
+     */
+    interface Loader {
+
+        /**
+         * Load the PaymentSession for the given list URL
+         *
+         * @param listUrl URL pointing to the list on the Payment API
+         * @return the loaded PaymentSession
+         */
+        LoadedPaymentSession load(String listUrl) throws PaymentException;
+    }
+
+    private PaymentSessionPrefetcher() {
+        this(Workers.getInstance().forNetworkTasks(), MAX_AGE);
+    }
+
+    /**
+     * Construct a new PaymentSessionPrefetcher
+     *
+     * @param executor used to run the prefetch tasks
+     * @param maxAge maximum age in milliseconds of a prefetched PaymentSession
+     */
+    PaymentSessionPrefetcher(Executor executor, long maxAge) {
+        this.executor = executor;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Get the instance of this PaymentSessionPrefetcher
+     *
+     * @return the instance of this PaymentSessionPrefetcher
+     */
+    public static PaymentSessionPrefetcher getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Start prefetching the PaymentSession with the given list URL. This method returns immediately and does nothing
+     * when the same list URL is already being prefetched or has been prefetched and did not expire yet.
+     *
+     * @param context used to load the PaymentSession, the application context is retained
+     * @param listUrl URL pointing to the list on the Payment API
+     */
+    public void prefetch(Context context, String listUrl) {
+        final Context appContext = context.getApplicationContext();
+
+        prefetch(listUrl, new Loader() {
+            @Override
+            public LoadedPaymentSession load(String listUrl) throws PaymentException {
+                // The service has its own localization cache, the shared cache of the Payment Page is left untouched
+                PaymentSessionService service = new PaymentSessionService(appContext, new LocalizationCache());
+                LoadedPaymentSession loaded = service.asyncPreparePaymentSession(listUrl, appContext);
+                prefetchLogos(appContext, loaded.getPaymentSession());
+                return loaded;
+            }
+        });
+    }
+
+    /**
+     * Prefetch the logos of the payment cards so they are cached before the Payment Page shows them
+     *
+     * @param context used to load the logos
+     * @param session the prefetched PaymentSession
+     */
+    private static void prefetchLogos(Context context, PaymentSession session) {
+        List<PaymentCard> cards = new ArrayList<>();
+        for (PaymentSection section : session.getPaymentSections()) {
+            cards.addAll(section.getPaymentCards());
+        }
+        Resources res = context.getResources();
+        List<LogoRequest> requests = LogoRequest.forPaymentCards(cards,
+            res.getDimensionPixelSize(R.dimen.pmlogo_width), res.getDimensionPixelSize(R.dimen.pmlogo_height),
+            res.getDimensionPixelSize(R.dimen.pmlogosmall_width), res.getDimensionPixelSize(R.dimen.pmlogosmall_height));
+
+        if (!requests.isEmpty()) {
+            NetworkLogoLoader.prefetchNetworkLogos(context, requests, LOGO_DOWNLOAD_BUDGET);
+        }
+    }
+
+    synchronized void prefetch(String listUrl, Loader loader) {
+        if (listUrl == null) {
+            throw new IllegalArgumentException("listUrl may not be null");
+        }
+        if (current != null && current.isUsable(listUrl)) {
+            return;
+        }
+        cancel();
+        Prefetch prefetch = new Prefetch(listUrl, loader);
+        try {
+            executor.execute(prefetch);
+            current = prefetch;
+        } catch (RejectedExecutionException e) {
+            // The Payment Page will load the PaymentSession itself
+            Log.w("Checkout", e);
+        }
+    }
+
+    /**
+     * Cancel the current prefetch and discard the prefetched PaymentSession if it was already loaded
+     */
+    public synchronized void cancel() {
+        if (current != null) {
+            current.cancel(true);
+            current = null;
+        }
+    }
+
+    /**
+     * Check if a PaymentSession with the given list URL is being prefetched or is ready to be used
+     *
+     * @param listUrl URL pointing to the list on the Payment API
+     * @return true when prefetching or prefetched, false otherwise
+     */
+    public synchronized boolean isPrefetched(String listUrl) {
+        return current != null && current.isUsable(listUrl);
+    }
+
+    /**
+     * Take the prefetched PaymentSession if it has been loaded successfully and did not expire.
+     * This method does not block, a prefetch that is still loading is kept so it can be awaited.
+     *
+     * @param listUrl URL pointing to the list on the Payment API
+     * @return the prefetched PaymentSession or null if not available
+     */
+    synchronized LoadedPaymentSession take(String listUrl) {
+        if (current == null || !current.listUrl.equals(listUrl) || !current.isDone()) {
+            return null;
+        }
+        Prefetch prefetch = current;
+        current = null;
+        return prefetch.getLoaded();
+    }
+
+    /**
+     * Take the prefetched PaymentSession and wait for it when it is still loading.
+     * This method must not be called from the main UI Thread. When the calling task is cancelled, the prefetch is
+     * kept so that the PaymentSession can be taken by the next caller.
+     *
+     * @param listUrl URL pointing to the list on the Payment API
+     * @return the prefetched PaymentSession or null if not available, has failed, expired or the caller was cancelled
+     */
+    LoadedPaymentSession await(String listUrl) {
+        Prefetch prefetch;
+        synchronized (this) {
+            if (current == null || !current.listUrl.equals(listUrl)) {
+                return null;
+            }
+            prefetch = current;
+        }
+        // Run the prefetch in the calling thread if no worker has started it yet, detached from the Cancellation of
+        // the caller so that cancelling the caller does not abort the prefetch
+        Cancellation previous = Cancellation.attach(null);
+        try {
+            prefetch.run();
+        } finally {
+            Cancellation.attach(previous);
+        }
+        LoadedPaymentSession loaded = prefetch.awaitLoaded();
+        if (!prefetch.isDone() || isCancelled()) {
+            return null;
+        }
+        synchronized (this) {
+            if (current == prefetch) {
+                current = null;
+            }
+        }
+        return loaded;
+    }
+
+    private static boolean isCancelled() {
+        Cancellation cancellation = Cancellation.current();
+        return Thread.currentThread().isInterrupted() || (cancellation != null && cancellation.isCancelled());
+    }
+
+    /**
+     * Task loading a single PaymentSession
+     */
+    private class Prefetch extends FutureTask<LoadedPaymentSession> {
+        final String listUrl;
+
+        Prefetch(String listUrl, Loader loader) {
+            super(() -> loader.load(listUrl));
+            this.listUrl = listUrl;
+        }
+
+        boolean isUsable(String listUrl) {
+            if (!this.listUrl.equals(listUrl)) {
+                return false;
+            }
+            return !isDone() || getLoaded() != null;
+        }
+
+        LoadedPaymentSession getLoaded() {
+            if (!isDone()) {
+                return null;
+            }
+            return awaitLoaded();
+        }
+
+        LoadedPaymentSession awaitLoaded() {
+            try {
+                LoadedPaymentSession loaded = get();
+                return loaded.getAge() <= maxAge ? loaded : null;
+            } catch (ExecutionException | CancellationException e) {
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    private static class InstanceHolder {
+        static final PaymentSessionPrefetcher INSTANCE = new PaymentSessionPrefetcher();
+    }
+}
@@ -9,34 +9,43 @@
 package com.payoneer.checkout.ui.service;
 
 import static com.payoneer.checkout.model.IntegrationType.MOBILE_NATIVE;
+import static com.payoneer.checkout.model.InteractionCode.PROCEED;
 import static com.payoneer.checkout.model.NetworkOperationType.CHARGE;
 import static com.payoneer.checkout.model.NetworkOperationType.PRESET;
 import static com.payoneer.checkout.model.NetworkOperationType.UPDATE;
 
 import java.net.URL;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
-import com.payoneer.checkout.R;
 import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.core.WorkerFuture;
 import com.payoneer.checkout.core.WorkerSubscriber;
-import com.payoneer.checkout.core.WorkerTask;
 import com.payoneer.checkout.core.Workers;
+import com.payoneer.checkout.localization.CachedLocalization;
 import com.payoneer.checkout.localization.LocalLocalizationHolder;
 import com.payoneer.checkout.localization.Localization;
 import com.payoneer.checkout.localization.LocalizationCache;
+import com.payoneer.checkout.localization.LocalizationDiskCache;
 import com.payoneer.checkout.localization.LocalizationHolder;
 import com.payoneer.checkout.localization.MultiLocalizationHolder;
+import com.payoneer.checkout.model.Interaction;
 import com.payoneer.checkout.model.ListResult;
 import com.payoneer.checkout.network.ListConnection;
 import com.payoneer.checkout.network.LocalizationConnection;
 import com.payoneer.checkout.resource.PaymentGroup;
-import com.payoneer.checkout.resource.ResourceLoader;
+import com.payoneer.checkout.resource.ResourceRegistry;
 import com.payoneer.checkout.ui.model.PaymentSession;
 import com.payoneer.checkout.validation.Validator;
 
 import android.content.Context;
+import android.os.SystemClock;
 
 /**
  * The PaymentSessionService providing asynchronous loading of the PaymentSession, validator and localizations.
@@ -46,12 +55,24 @@ public final class PaymentSessionService {
 
     private final ListConnection listConnection;
     private final LocalizationConnection locConnection;
+    private final LocalizationDiskCache diskCache;
+    private final ListSnapshotCache snapshotCache;
+    private final LocalizationLoader localizationLoader;
 
     private PaymentSessionListener listener;
-    private WorkerTask<PaymentSession> sessionTask;
+    private WorkerFuture<PaymentSession> sessionTask;
+    private volatile PaymentSessionTimings timings;
 
-    /** Memory cache of localizations */
-    private static final LocalizationCache cache = new LocalizationCache();
+    /** Maximum number of localization files loaded at the same time */
+    private final static int LOCALIZATION_PARALLELISM = 4;
+
+    /** Maximum time in milliseconds for loading all localization files of a payment session */
+    private final static long LOCALIZATION_TIMEOUT = 30000;
+
+    /** Memory cache of localizations shared by the services of the Payment Page */
+    private static final LocalizationCache sharedCache = new LocalizationCache();
+
+    private final LocalizationCache cache;
 
     /**
      * Create a new PaymentSessionService, this service is used to load the PaymentSession.
@@ -59,8 +80,24 @@ public final class PaymentSessionService {
      * @param context context in which this service will run
      */
     public PaymentSessionService(Context context) {
+        this(context, sharedCache);
+    }
+
+    /**
+     * Create a new PaymentSessionService using its own memory cache of localizations, i.e. for prefetching
+     * a PaymentSession without clearing the localizations used by the Payment Page.
+     *
+     * @param context context in which this service will run
+     * @param cache memory cache of localizations
+     */
+    PaymentSessionService(Context context, LocalizationCache cache) {
+        this.cache = cache;
         this.listConnection = new ListConnection(context);
         this.locConnection = new LocalizationConnection(context);
+        this.diskCache = LocalizationDiskCache.getInstance(context);
+        this.snapshotCache = ListSnapshotCache.getInstance(context);
+        this.localizationLoader = new LocalizationLoader(Workers.getInstance().forLocalizationTasks(),
+            LOCALIZATION_PARALLELISM, LOCALIZATION_TIMEOUT);
     }
 
     /**
@@ -73,11 +110,11 @@ public final class PaymentSessionService {
     }
 
     /**
-     * Stop and unsubscribe from tasks that are currently active in this service.
+     * Stop and cancel the tasks that are currently active in this service, requests that are in progress are aborted.
      */
     public void stop() {
         if (sessionTask != null) {
-            sessionTask.unsubscribe();
+            sessionTask.cancel(true);
             sessionTask = null;
         }
     }
@@ -98,16 +135,86 @@ public final class PaymentSessionService {
      * @param context Android context in which this service is used
      */
     public void loadPaymentSession(final String listUrl, final Context context) {
-
-        if (sessionTask != null) {
-            throw new IllegalStateException("Already loading payment session, stop first");
-        }
-        sessionTask = WorkerTask.fromCallable(new Callable<PaymentSession>() {
+        startSessionTask(new Callable<PaymentSession>() {
             @Override
             public PaymentSession call() throws PaymentException {
                 return asyncLoadPaymentSession(listUrl, context);
             }
         });
+    }
+
+    /**
+     * Load the PaymentSession with the given listUrl and use the prefetched PaymentSession when available.
+     * If the PaymentSession is still being prefetched this service waits for it instead of loading the list again.
+     * When the prefetch has failed or expired, the PaymentSession is loaded from the Payment API.
+     *
+     * @param listUrl URL pointing to the list on the Payment API
+     * @param context Android context in which this service is used
+     */
+    public void loadPrefetchedPaymentSession(final String listUrl, final Context context) {
+        startSessionTask(new Callable<PaymentSession>() {
+            @Override
+            public PaymentSession call() throws PaymentException {
+                LoadedPaymentSession loaded = PaymentSessionPrefetcher.getInstance().await(listUrl);
+                if (loaded == null) {
+                    loaded = asyncPreparePaymentSession(listUrl, context);
+                }
+                Localization.setInstance(loaded.getLocalization());
+                return loaded.getPaymentSession();
+            }
+        });
+    }
+
+    /**
+     * Load the PaymentSession from the snapshot of the list that was stored when the list was last loaded.
+     * Only lists with the UPDATE operation type are stored as snapshot, the PaymentSession loaded from a snapshot may be
+     * outdated and should be revalidated by loading the PaymentSession from the Payment API afterwards.
+     * The listener is informed about an error when no snapshot is available for the given listUrl.
+     *
+     * @param listUrl URL pointing to the list on the Payment API
+     * @param context Android context in which this service is used
+     */
+    public void loadSnapshotPaymentSession(final String listUrl, final Context context) {
+        startSessionTask(new Callable<PaymentSession>() {
+            @Override
+            public PaymentSession call() throws PaymentException {
+                return asyncLoadSnapshotPaymentSession(listUrl, context);
+            }
+        });
+    }
+
+    /**
+     * Check if a snapshot of the list is stored for the given listUrl. This method does not read the snapshot and can be
+     * used to decide whether loading the snapshot is worthwhile before loading the PaymentSession from the Payment API.
+     *
+     * @param listUrl URL pointing to the list on the Payment API
+     * @return true when a snapshot is stored, false otherwise
+     */
+    public boolean hasSnapshotPaymentSession(String listUrl) {
+        return snapshotCache.contains(listUrl);
+    }
+
+    /**
+     * Take the PaymentSession that has been prefetched for the given listUrl if it is ready to be used.
+     * This method does not block, the Localization of the prefetched PaymentSession is set as the current instance.
+     *
+     * @param listUrl URL pointing to the list on the Payment API
+     * @return the prefetched PaymentSession or null if it is not available
+     */
+    public PaymentSession takePrefetchedPaymentSession(String listUrl) {
+        LoadedPaymentSession loaded = PaymentSessionPrefetcher.getInstance().take(listUrl);
+        if (loaded == null) {
+            return null;
+        }
+        Localization.setInstance(loaded.getLocalization());
+        return loaded.getPaymentSession();
+    }
+
+    private void startSessionTask(Callable<PaymentSession> callable) {
+        if (sessionTask != null) {
+            throw new IllegalStateException("Already loading payment session, stop first");
+        }
+        sessionTask = WorkerFuture.submit(Workers.getInstance().forNetworkTasks(), callable);
         sessionTask.subscribe(new WorkerSubscriber<PaymentSession>() {
             @Override
             public void onSuccess(PaymentSession paymentSession) {
@@ -127,7 +234,6 @@ public final class PaymentSessionService {
                 }
             }
         });
-        Workers.getInstance().forNetworkTasks().execute(sessionTask);
     }
 
     /**
@@ -150,9 +256,101 @@ public final class PaymentSessionService {
         }
     }
 
-    private PaymentSession asyncLoadPaymentSession(String listUrl, Context context) throws PaymentException {
-        ListResult listResult = listConnection.getListResult(listUrl);
+    /**
+     * Get the durations of the stages of the most recent payment session load
+     *
+     * @return the timings or null if no payment session has been loaded yet
+     */
+    public PaymentSessionTimings getTimings() {
+        return timings;
+    }
+
+    PaymentSession asyncLoadPaymentSession(String listUrl, Context context) throws PaymentException {
+        LoadedPaymentSession loaded = asyncPreparePaymentSession(listUrl, context);
+        Localization.setInstance(loaded.getLocalization());
+        return loaded.getPaymentSession();
+    }
 
+    PaymentSession asyncLoadSnapshotPaymentSession(String listUrl, Context context) throws PaymentException {
+        ListResult listResult = snapshotCache.get(listUrl);
+        if (listResult == null) {
+            throw new PaymentException("No snapshot available for list: " + listUrl);
+        }
+        checkListResult(listResult);
+        loadValidator(context);
+        PaymentSession session = new PaymentSessionBuilder()
+            .setListResult(listResult)
+            .setPaymentGroups(loadPaymentGroups(context))
+            .build();
+        Localization localization = loadLocalizations(context, session);
+        Localization.setInstance(localization);
+        return session;
+    }
+
+    /**
+     * Load the PaymentSession without setting its Localization as the current instance
+     *
+     * @param listUrl URL pointing to the list on the Payment API
+     * @param context Android context in which this service is used
+     * @return the loaded PaymentSession and its Localization
+     */
+    LoadedPaymentSession asyncPreparePaymentSession(String listUrl, Context context) throws PaymentException {
+        final PaymentSessionTimings timings = new PaymentSessionTimings();
+        this.timings = timings;
+        long start = SystemClock.elapsedRealtime();
+
+        // The raw resources do not depend on the ListResult and are loaded while waiting for the Payment API
+        FutureTask<Map<String, PaymentGroup>> groupsTask = new FutureTask<>(new Callable<Map<String, PaymentGroup>>() {
+            @Override
+            public Map<String, PaymentGroup> call() throws PaymentException {
+                long groupsStart = SystemClock.elapsedRealtime();
+                try {
+                    return loadPaymentGroups(context);
+                } finally {
+                    timings.setPaymentGroupsMillis(SystemClock.elapsedRealtime() - groupsStart);
+                }
+            }
+        });
+        FutureTask<Void> validatorTask = new FutureTask<>(new Callable<Void>() {
+            @Override
+            public Void call() throws PaymentException {
+                long validatorStart = SystemClock.elapsedRealtime();
+                try {
+                    loadValidator(context);
+                    return null;
+                } finally {
+                    timings.setValidatorMillis(SystemClock.elapsedRealtime() - validatorStart);
+                }
+            }
+        });
+        executeTask(groupsTask);
+        executeTask(validatorTask);
+
+        try {
+            long listStart = SystemClock.elapsedRealtime();
+            ListResult listResult = listConnection.getListResult(listUrl);
+            timings.setListResultMillis(SystemClock.elapsedRealtime() - listStart);
+
+            checkListResult(listResult);
+            updateSnapshot(listUrl, listResult);
+            PaymentSession session = new PaymentSessionBuilder()
+                .setListResult(listResult)
+                .setPaymentGroups(joinTask(groupsTask))
+                .build();
+
+            joinTask(validatorTask);
+            long localizationsStart = SystemClock.elapsedRealtime();
+            Localization localization = loadLocalizations(context, session);
+            timings.setLocalizationsMillis(SystemClock.elapsedRealtime() - localizationsStart);
+            return new LoadedPaymentSession(session, localization);
+        } finally {
+            groupsTask.cancel(false);
+            validatorTask.cancel(false);
+            timings.setTotalMillis(SystemClock.elapsedRealtime() - start);
+        }
+    }
+
+    private void checkListResult(ListResult listResult) throws PaymentException {
         String integrationType = listResult.getIntegrationType();
         if (!MOBILE_NATIVE.equals(integrationType)) {
             throw new PaymentException("Integration type is not supported: " + integrationType);
@@ -161,52 +359,115 @@ public final class PaymentSessionService {
         if (!isSupportedNetworkOperationType(operationType)) {
             throw new PaymentException("List operationType is not supported: " + operationType);
         }
-        PaymentSession session = new PaymentSessionBuilder()
-            .setListResult(listResult)
-            .setPaymentGroups(loadPaymentGroups(context))
-            .build();
+    }
 
-        loadValidator(context);
-        loadLocalizations(context, session);
-        return session;
+    private void updateSnapshot(String listUrl, ListResult listResult) {
+        // Only the saved accounts of the UPDATE flow are worth showing before the list has been revalidated
+        Interaction interaction = listResult.getInteraction();
+        boolean proceed = interaction != null && Objects.equals(interaction.getCode(), PROCEED);
+        if (proceed && UPDATE.equals(listResult.getOperationType())) {
+            snapshotCache.put(listUrl, listResult);
+        } else {
+            snapshotCache.remove(listUrl);
+        }
+    }
+
+    private void executeTask(FutureTask<?> task) {
+        try {
+            Workers.getInstance().forNetworkTasks().execute(task);
+        } catch (RejectedExecutionException e) {
+            // The task will be run by the calling thread when joined
+        }
+    }
+
+    private static <V> V joinTask(FutureTask<V> task) throws PaymentException {
+        // Run the task in the calling thread if no worker has started it yet
+        task.run();
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof PaymentException) {
+                throw (PaymentException) cause;
+            }
+            throw new PaymentException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentException("Interrupted while loading payment session resources", e);
+        }
     }
 
     private Map<String, PaymentGroup> loadPaymentGroups(Context context) throws PaymentException {
-        return ResourceLoader.loadPaymentGroups(context.getResources(), R.raw.groups);
+        return ResourceRegistry.getInstance().getPaymentGroups(context);
     }
 
     private void loadValidator(Context context) throws PaymentException {
         if (Validator.getInstance() == null) {
-            Validator validator = new Validator(ResourceLoader.loadValidations(context.getResources(), R.raw.validations));
+            Validator validator = new Validator(ResourceRegistry.getInstance().getValidations(context));
             Validator.setInstance(validator);
         }
     }
 
-    private void loadLocalizations(Context context, PaymentSession session) throws PaymentException {
+    private Localization loadLocalizations(Context context, PaymentSession session) throws PaymentException {
         String listUrl = session.getListSelfUrl();
         if (!listUrl.equals(cache.getCacheId())) {
             cache.clear();
             cache.setCacheId(listUrl);
         }
+        URL sharedUrl = session.getListLanguageLink();
+        Map<String, URL> links = session.getLanguageLinks();
+
+        // Load all localization files that are not cached yet at the same time
+        Map<String, URL> urls = new LinkedHashMap<>();
+        addUncachedUrl(urls, sharedUrl);
+        for (URL url : links.values()) {
+            addUncachedUrl(urls, url);
+        }
+        Map<String, LocalizationHolder> loaded = localizationLoader.loadAll(urls, new LocalizationLoader.Loader() {
+            @Override
+            public LocalizationHolder load(URL url) throws PaymentException {
+                return loadCachedLocalization(url).toLocalizationHolder();
+            }
+        });
         LocalizationHolder localHolder = new LocalLocalizationHolder(context);
-        LocalizationHolder sharedHolder = loadLocalizationHolder(session.getListLanguageLink(), localHolder);
+        LocalizationHolder sharedHolder = getLocalizationHolder(sharedUrl, loaded, localHolder);
 
         Map<String, LocalizationHolder> holders = new HashMap<>();
-        Map<String, URL> links = session.getLanguageLinks();
         for (Map.Entry<String, URL> entry : links.entrySet()) {
-            holders.put(entry.getKey(), loadLocalizationHolder(entry.getValue(), sharedHolder));
+            holders.put(entry.getKey(), getLocalizationHolder(entry.getValue(), loaded, sharedHolder));
+        }
+        return new Localization(sharedHolder, holders);
+    }
+
+    private void addUncachedUrl(Map<String, URL> urls, URL url) {
+        String langUrl = url.toString();
+        if (cache.get(langUrl) == null) {
+            urls.put(langUrl, url);
         }
-        Localization.setInstance(new Localization(sharedHolder, holders));
     }
 
-    private LocalizationHolder loadLocalizationHolder(URL url, LocalizationHolder fallback) throws PaymentException {
+    private LocalizationHolder getLocalizationHolder(URL url, Map<String, LocalizationHolder> loaded,
+        LocalizationHolder fallback) {
         String langUrl = url.toString();
         LocalizationHolder holder = cache.get(langUrl);
 
         if (holder == null) {
-            holder = new MultiLocalizationHolder(locConnection.loadLocalization(url), fallback);
+            holder = new MultiLocalizationHolder(loaded.get(langUrl), fallback);
             cache.put(langUrl, holder);
         }
         return holder;
     }
+
+    private CachedLocalization loadCachedLocalization(URL url) throws PaymentException {
+        CachedLocalization cached = diskCache.get(url.toString());
+        if (cached != null && diskCache.isFresh(cached)) {
+            return cached;
+        }
+        if (cached != null && !cached.hasValidators()) {
+            cached = null;
+        }
+        CachedLocalization loaded = locConnection.loadLocalization(url, cached);
+        diskCache.put(loaded);
+        return loaded;
+    }
 }
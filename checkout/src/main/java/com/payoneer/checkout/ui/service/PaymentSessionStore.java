@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.service;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.payoneer.checkout.ui.model.PaymentSession;
+
+import android.os.SystemClock;
+
+/**
+ * The Singleton class storing loaded PaymentSessions in memory so they can be handed off between screens
+ * without loading them again from the Payment API.
+ * <p>
+ * Each stored PaymentSession is identified by its list URL and a version. A new version is created every time a
+ * PaymentSession is stored, the receiving screen must provide the version it was given to obtain the PaymentSession.
+ * This guarantees that a screen never receives a PaymentSession that has been replaced or removed in the meantime.
+ * PaymentSessions that are never taken expire, expired PaymentSessions are removed when a new one is stored.
+ */
+public final class PaymentSessionStore {
+
+    /** Maximum time in milliseconds a PaymentSession is kept in this store */
+    public final static long MAX_AGE = 60000;
+
+    private final Map<String, Entry> entries;
+    private long lastVersion;
+
+    private PaymentSessionStore() {
+        this.entries = new HashMap<>();
+    }
+
+    /**
+     * Get the instance of this PaymentSessionStore
+     *
+     * @return the instance of this PaymentSessionStore
+     */
+    public static PaymentSessionStore getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Store the PaymentSession for the given list URL, any previously stored PaymentSession for this URL is replaced.
+     *
+     * @param listUrl the URL of the list from which the PaymentSession was loaded
+     * @param session the PaymentSession to store
+     * @return the version identifying the stored PaymentSession, always greater than zero
+     */
+    public synchronized long put(String listUrl, PaymentSession session) {
+        if (listUrl == null) {
+            throw new IllegalArgumentException("listUrl may not be null");
+        }
+        if (session == null) {
+            throw new IllegalArgumentException("session may not be null");
+        }
+        removeExpired();
+        long version = ++lastVersion;
+        entries.put(listUrl, new Entry(session, version, SystemClock.elapsedRealtime()));
+        return version;
+    }
+
+    /**
+     * Take the PaymentSession with the given version out of this store. The PaymentSession is only returned when the version
+     * matches and the PaymentSession has not been stored for longer than the given maximum age.
+     *
+     * @param listUrl the URL of the list from which the PaymentSession was loaded
+     * @param version the version of the PaymentSession obtained when it was stored
+     * @param maxAge the maximum age in milliseconds of the stored PaymentSession, limited to MAX_AGE
+     * @return the PaymentSession or null if it is missing or stale
+     */
+    public synchronized PaymentSession take(String listUrl, long version, long maxAge) {
+        Entry entry = entries.get(listUrl);
+        if (entry == null || entry.version != version) {
+            return null;
+        }
+        entries.remove(listUrl);
+        return entry.getAge() <= Math.min(maxAge, MAX_AGE) ? entry.session : null;
+    }
+
+    /**
+     * Remove the PaymentSession stored for the given list URL
+     *
+     * @param listUrl the URL of the list from which the PaymentSession was loaded
+     */
+    public synchronized void remove(String listUrl) {
+        entries.remove(listUrl);
+    }
+
+    /**
+     * Check if a PaymentSession is stored for the given list URL
+     *
+     * @param listUrl the URL of the list from which the PaymentSession was loaded
+     * @return true when stored, false otherwise
+     */
+    synchronized boolean contains(String listUrl) {
+        return entries.containsKey(listUrl);
+    }
+
+    /**
+     * Remove all stored PaymentSessions
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private void removeExpired() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getAge() > MAX_AGE) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static class Entry {
+        final PaymentSession session;
+        final long version;
+        final long storedAt;
+
+        Entry(PaymentSession session, long version, long storedAt) {
+            this.session = session;
+            this.version = version;
+            this.storedAt = storedAt;
+        }
+
+        long getAge() {
+            return SystemClock.elapsedRealtime() - storedAt;
+        }
+    }
+
+    private static class InstanceHolder {
+        static final PaymentSessionStore INSTANCE = new PaymentSessionStore();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.service;
+
+import java.util.Locale;
+
+/**
+ * Class holding the durations of the individual stages of loading a PaymentSession.
+ * The payment groups and validator are loaded at the same time as the list result, the total duration
+ * is therefore smaller than the sum of the individual stages.
+ */
+public final class PaymentSessionTimings {
+
+    private volatile long listResultMillis;
+    private volatile long paymentGroupsMillis;
+    private volatile long validatorMillis;
+    private volatile long localizationsMillis;
+    private volatile long totalMillis;
+
+    /**
+     * Get the duration of loading the ListResult from the Payment API
+     *
+     * @return duration in milliseconds
+     */
+    public long getListResultMillis() {
+        return listResultMillis;
+    }
+
+    /**
+     * Get the duration of loading the payment groups from the raw resource
+     *
+     * @return duration in milliseconds
+     */
+    public long getPaymentGroupsMillis() {
+        return paymentGroupsMillis;
+    }
+
+    /**
+     * Get the duration of loading the validator from the raw resource
+     *
+     * @return duration in milliseconds
+     */
+    public long getValidatorMillis() {
+        return validatorMillis;
+    }
+
+    /**
+     * Get the duration of loading the localization files
+     *
+     * @return duration in milliseconds
+     */
+    public long getLocalizationsMillis() {
+        return localizationsMillis;
+    }
+
+    /**
+     * Get the total duration of loading the PaymentSession
+     *
+     * @return duration in milliseconds
+     */
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    void setListResultMillis(long listResultMillis) {
+        this.listResultMillis = listResultMillis;
+    }
+
+    void setPaymentGroupsMillis(long paymentGroupsMillis) {
+        this.paymentGroupsMillis = paymentGroupsMillis;
+    }
+
+    void setValidatorMillis(long validatorMillis) {
+        this.validatorMillis = validatorMillis;
+    }
+
+    void setLocalizationsMillis(long localizationsMillis) {
+        this.localizationsMillis = localizationsMillis;
+    }
+
+    void setTotalMillis(long totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "PaymentSessionTimings[listResult=%dms, paymentGroups=%dms, validator=%dms, "
+            + "localizations=%dms, total=%dms]", listResultMillis, paymentGroupsMillis, validatorMillis,
+            localizationsMillis, totalMillis);
+    }
+}
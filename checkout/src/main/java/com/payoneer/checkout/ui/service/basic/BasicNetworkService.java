@@ -26,6 +26,7 @@ import com.payoneer.checkout.model.OperationResult;
 import com.payoneer.checkout.model.Redirect;
 import com.payoneer.checkout.redirect.RedirectRequest;
 import com.payoneer.checkout.ui.PaymentResult;
+import com.payoneer.checkout.ui.PaymentUI;
 import com.payoneer.checkout.ui.service.NetworkService;
 import com.payoneer.checkout.ui.service.OperationListener;
 import com.payoneer.checkout.ui.service.OperationService;
@@ -54,6 +55,7 @@ public final class BasicNetworkService extends NetworkService {
      */
     public BasicNetworkService(Context context) {
         operationService = new OperationService(context);
+        operationService.setRetryTimeout(PaymentUI.getInstance().getOperationRetryTimeout());
         operationService.setListener(new OperationListener() {
 
             @Override
@@ -46,6 +46,18 @@ public class CheckboxWidget extends FormWidget {
         operation.putBooleanValue(category, name, switchView.isChecked());
     }
 
+    @Override
+    public String saveInputState() {
+        return Boolean.toString(switchView.isChecked());
+    }
+
+    @Override
+    public void restoreInputState(String state) {
+        if (state != null && switchView.getVisibility() == View.VISIBLE) {
+            switchView.setChecked(Boolean.parseBoolean(state));
+        }
+    }
+
     /**
      * Bind this CheckboxWidget to the mode and label.
      * For now the required and required preselected are handled the same as the optional modes.
@@ -161,6 +161,23 @@ public abstract class FormWidget {
         return false;
     }
 
+    /**
+     * Save the input state of this widget, the state is restored when the widget is bound again to the same card.
+     *
+     * @return the input state or null if this widget has no input state
+     */
+    public String saveInputState() {
+        return null;
+    }
+
+    /**
+     * Restore the input state of this widget, this is called after the widget has been bound.
+     *
+     * @param state previously saved input state or null if no state was saved
+     */
+    public void restoreInputState(String state) {
+    }
+
     /**
      * Request the widget to inject its input value into the operation Object.
      *
@@ -133,6 +133,21 @@ public abstract class InputLayoutWidget extends FormWidget {
         return setValidationResult(result);
     }
 
+    @Override
+    public String saveInputState() {
+        CharSequence cs = textInput.getText();
+        return (cs != null) ? cs.toString() : null;
+    }
+
+    @Override
+    public void restoreInputState(String state) {
+        String text = (state != null) ? state : "";
+        if (!TextUtils.equals(text, textInput.getText())) {
+            textInput.setText(text);
+            setValidation();
+        }
+    }
+
     @Override
     public void putValue(Operation operation) throws PaymentException {
         String val = getValue();
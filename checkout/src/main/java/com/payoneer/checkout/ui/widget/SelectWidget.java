@@ -69,6 +69,25 @@ public final class SelectWidget extends FormWidget {
         }
     }
 
+    @Override
+    public String saveInputState() {
+        SpinnerItem selected = (SpinnerItem) spinner.getSelectedItem();
+        return (selected != null) ? selected.value : null;
+    }
+
+    @Override
+    public void restoreInputState(String state) {
+        if (state == null) {
+            return;
+        }
+        for (int i = 0, e = adapter.getCount(); i < e; i++) {
+            if (state.equals(adapter.getItem(i).value)) {
+                spinner.setSelection(i);
+                return;
+            }
+        }
+    }
+
     public void onBind(String code, InputElement element) {
         label.setText(Localization.translateAccountLabel(code, name));
         adapter.clear();
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+
+/**
+ * Class for decoding images into Bitmaps no larger than needed for the view in which they are shown.
+ * <p>
+ * The size of the image is read first, the image is then sampled down by the largest power of two that keeps it at
+ * least as large as the target size. Decoding can use a lower memory config and reuse Bitmaps from a BitmapPool.
+ */
+public final class BitmapDecoder {
+
+    private final static int BUFFER_SIZE = 4096;
+
+    private final int targetWidth;
+    private final int targetHeight;
+    private final Bitmap.Config config;
+    private final BitmapPool bitmapPool;
+
+    private BitmapDecoder(Builder builder) {
+        this.targetWidth = builder.targetWidth;
+        this.targetHeight = builder.targetHeight;
+        this.config = builder.config;
+        this.bitmapPool = builder.bitmapPool;
+    }
+
+    public static Builder createBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a BitmapDecoder decoding images at full size in the ARGB_8888 config
+     *
+     * @return the default BitmapDecoder
+     */
+    public static BitmapDecoder createDefault() {
+        return createBuilder().build();
+    }
+
+    public int getTargetWidth() {
+        return targetWidth;
+    }
+
+    public int getTargetHeight() {
+        return targetHeight;
+    }
+
+    public Bitmap.Config getConfig() {
+        return config;
+    }
+
+    public BitmapPool getBitmapPool() {
+        return bitmapPool;
+    }
+
+    /**
+     * Get the key describing the Bitmaps produced by this decoder, decoders with the same key produce the same Bitmaps
+     *
+     * @return the key of this decoder
+     */
+    public String getKey() {
+        return targetWidth + "x" + targetHeight + " " + config;
+    }
+
+    /**
+     * Decode the image read from the input stream, the stream is read until the end but not closed.
+     *
+     * @param in stream containing the encoded image
+     * @return the decoded Bitmap or null if the image could not be decoded
+     */
+    public Bitmap decode(InputStream in) throws IOException {
+        return decode(readAll(in));
+    }
+
+    /**
+     * Decode the image read from the input stream of which the size is already known, i.e. a bundled logo.
+     * The stream is read until the end but not closed.
+     *
+     * @param in stream containing the encoded image
+     * @param width of the image in pixels, zero or less if unknown
+     * @param height of the image in pixels, zero or less if unknown
+     * @return the decoded Bitmap or null if the image could not be decoded
+     */
+    public Bitmap decode(InputStream in, int width, int height) throws IOException {
+        return decode(readAll(in), width, height);
+    }
+
+    /**
+     * Decode the image stored in the byte array
+     *
+     * @param data containing the encoded image
+     * @return the decoded Bitmap or null if the image could not be decoded
+     */
+    public Bitmap decode(byte[] data) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(data, 0, data.length, options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return null;
+        }
+        return decodeSampled(data, options.outWidth, options.outHeight);
+    }
+
+    /**
+     * Decode the image stored in the byte array of which the size is already known, this skips reading the size of the
+     * image before decoding it.
+     *
+     * @param data containing the encoded image
+     * @param width of the image in pixels, zero or less if unknown
+     * @param height of the image in pixels, zero or less if unknown
+     * @return the decoded Bitmap or null if the image could not be decoded
+     */
+    public Bitmap decode(byte[] data, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return decode(data);
+        }
+        return decodeSampled(data, width, height);
+    }
+
+    private Bitmap decodeSampled(byte[] data, int width, int height) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        int sampleSize = calculateSampleSize(width, height, targetWidth, targetHeight);
+        options.inSampleSize = sampleSize;
+        options.inPreferredConfig = config;
+
+        if (bitmapPool != null) {
+            options.inMutable = true;
+            options.inBitmap = bitmapPool.get((width + sampleSize - 1) / sampleSize, (height + sampleSize - 1) / sampleSize,
+                config);
+        }
+        try {
+            return BitmapFactory.decodeByteArray(data, 0, data.length, options);
+        } catch (IllegalArgumentException e) {
+            // The pooled Bitmap could not be reused for this image, decode into a new Bitmap instead
+            if (options.inBitmap == null) {
+                throw e;
+            }
+            options.inBitmap = null;
+            return BitmapFactory.decodeByteArray(data, 0, data.length, options);
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER_SIZE);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Calculate the largest power of two sample size that keeps both dimensions of the image at least as large as the
+     * target dimensions. A target dimension of zero or less is ignored.
+     *
+     * @param width of the image in pixels
+     * @param height of the image in pixels
+     * @param targetWidth of the view in pixels
+     * @param targetHeight of the view in pixels
+     * @return the sample size, always one or more
+     */
+    static int calculateSampleSize(int width, int height, int targetWidth, int targetHeight) {
+        if (targetWidth <= 0 && targetHeight <= 0) {
+            return 1;
+        }
+        int sampleSize = 1;
+        while (isLargeEnough(width / (sampleSize * 2), targetWidth) && isLargeEnough(height / (sampleSize * 2), targetHeight)) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    private static boolean isLargeEnough(int size, int targetSize) {
+        return size > 0 && size >= targetSize;
+    }
+
+    public static final class Builder {
+        int targetWidth;
+        int targetHeight;
+        Bitmap.Config config = Bitmap.Config.ARGB_8888;
+        BitmapPool bitmapPool;
+
+        Builder() {
+        }
+
+        /**
+         * Set the size of the view in which the decoded Bitmaps are shown, zero disables sampling for a dimension
+         *
+         * @param targetWidth width of the view in pixels
+         * @param targetHeight height of the view in pixels
+         * @return this Builder
+         */
+        public Builder setTargetSize(int targetWidth, int targetHeight) {
+            this.targetWidth = Math.max(0, targetWidth);
+            this.targetHeight = Math.max(0, targetHeight);
+            return this;
+        }
+
+        /**
+         * Set the config of decoded Bitmaps, i.e. RGB_565 halves the memory of images without transparency
+         *
+         * @param config of the decoded Bitmaps
+         * @return this Builder
+         */
+        public Builder setConfig(Bitmap.Config config) {
+            if (config == null) {
+                throw new IllegalArgumentException("config cannot be null");
+            }
+            this.config = config;
+            return this;
+        }
+
+        /**
+         * Set the pool from which Bitmaps are reused for decoding, decoded Bitmaps are mutable when a pool is set
+         *
+         * @param bitmapPool the pool of reusable Bitmaps or null to always decode into new Bitmaps
+         * @return this Builder
+         */
+        public Builder setBitmapPool(BitmapPool bitmapPool) {
+            this.bitmapPool = bitmapPool;
+            return this;
+        }
+
+        public BitmapDecoder build() {
+            return new BitmapDecoder(this);
+        }
+    }
+}
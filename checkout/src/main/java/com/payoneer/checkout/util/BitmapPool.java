@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.util;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+
+import android.graphics.Bitmap;
+
+/**
+ * Class keeping Bitmaps that are no longer shown so their memory can be reused when decoding new Bitmaps.
+ * <p>
+ * Only mutable Bitmaps are accepted, a Bitmap can be reused for decoding when its allocation is at least as large as the
+ * decoded image and its config matches. The total size of the pooled Bitmaps is bounded, the oldest Bitmaps are dropped
+ * first. A Bitmap must not be put into this pool while it is still shown by a view.
+ */
+public final class BitmapPool {
+
+    /** Default maximum size in bytes of all pooled Bitmaps */
+    public final static long DEFAULT_MAX_SIZE = 1024 * 1024;
+
+    private final LinkedList<Bitmap> bitmaps;
+    private final long maxSize;
+    private long size;
+
+    /**
+     * Construct a new BitmapPool
+     *
+     * @param maxSize maximum size in bytes of all pooled Bitmaps
+     */
+    public BitmapPool(long maxSize) {
+        this.bitmaps = new LinkedList<>();
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Take a Bitmap out of this pool that can be reused for decoding an image of the given size and config
+     *
+     * @param width of the decoded image in pixels
+     * @param height of the decoded image in pixels
+     * @param config of the decoded image
+     * @return the reusable Bitmap or null if none is available
+     */
+    public synchronized Bitmap get(int width, int height, Bitmap.Config config) {
+        long byteCount = (long) width * height * getBytesPerPixel(config);
+        Iterator<Bitmap> iterator = bitmaps.iterator();
+
+        while (iterator.hasNext()) {
+            Bitmap bitmap = iterator.next();
+            if (bitmap.getConfig() == config && bitmap.getAllocationByteCount() >= byteCount) {
+                iterator.remove();
+                size -= bitmap.getAllocationByteCount();
+                return bitmap;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Put the Bitmap into this pool, Bitmaps that are immutable, recycled or too large are ignored.
+     *
+     * @param bitmap that is no longer shown
+     */
+    public synchronized void put(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled() || !bitmap.isMutable() || bitmaps.contains(bitmap)) {
+            return;
+        }
+        int byteCount = bitmap.getAllocationByteCount();
+        if (byteCount > maxSize) {
+            return;
+        }
+        bitmaps.addLast(bitmap);
+        size += byteCount;
+
+        while (size > maxSize) {
+            size -= bitmaps.removeFirst().getAllocationByteCount();
+        }
+    }
+
+    /**
+     * Remove all Bitmaps from this pool
+     */
+    public synchronized void clear() {
+        bitmaps.clear();
+        size = 0;
+    }
+
+    /**
+     * Get the total size in bytes of all pooled Bitmaps
+     *
+     * @return size in bytes
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Get the number of bytes used to store a single pixel with the given config
+     *
+     * @param config of the Bitmap
+     * @return number of bytes per pixel
+     */
+    static int getBytesPerPixel(Bitmap.Config config) {
+        if (config == null) {
+            return 4;
+        }
+        switch (config) {
+            case ALPHA_8:
+                return 1;
+            case RGB_565:
+            case ARGB_4444:
+                return 2;
+            case ARGB_8888:
+                return 4;
+            default:
+                return 8;
+        }
+    }
+}
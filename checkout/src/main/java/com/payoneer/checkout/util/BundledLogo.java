@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.util;
+
+/**
+ * Class describing a network logo bundled as asset, the size is known at build time so decoding the logo does not have
+ * to read the size of the image first. The size is zero for logos mapped by the application that are not in the index.
+ */
+final class BundledLogo {
+
+    final String fileName;
+    final int width;
+    final int height;
+
+    /**
+     * Construct a new BundledLogo
+     *
+     * @param fileName of the logo in the assets
+     * @param width of the image in pixels, zero if unknown
+     * @param height of the image in pixels, zero if unknown
+     */
+    BundledLogo(String fileName, int width, int height) {
+        this.fileName = fileName;
+        this.width = width;
+        this.height = height;
+    }
+}
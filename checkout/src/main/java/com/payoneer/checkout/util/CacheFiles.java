@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import android.util.Log;
+
+/**
+ * The CacheFiles class containing helper methods for the caches storing one file per URL on disk
+ */
+public final class CacheFiles {
+
+    private final static String TEMP_EXTENSION = ".tmp";
+
+    /**
+     * Interface for writing the content of a cache file
+     */
+    public interface Content {
+
+        /**
+         * Write the content to the output stream
+         *
+         * @param out the stream to write to, it is closed by the caller
+         */
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Get the file in which the value for the given URL is stored
+     *
+     * @param directory of the cache
+     * @param url of the stored value
+     * @param extension of the file name, including the dot
+     * @return the file for the URL
+     */
+    public static File getFile(File directory, String url, String extension) {
+        return new File(directory, hash(url) + extension);
+    }
+
+    /**
+     * Write the content to a temporary file and rename it to the target file, readers never see a partially written
+     * file. The directory of the file is created when it does not exist.
+     *
+     * @param file the target file
+     * @param content writing the content of the file
+     * @return true when the file has been written, false otherwise
+     */
+    public static boolean write(File file, Content content) {
+        File directory = file.getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs()) {
+            Log.w("Checkout", "Failed to create cache directory: " + directory);
+            return false;
+        }
+        File tempFile = new File(directory, file.getName() + TEMP_EXTENSION);
+
+        try (OutputStream out = new FileOutputStream(tempFile)) {
+            content.writeTo(out);
+        } catch (IOException e) {
+            Log.w("Checkout", e);
+            deleteFile(tempFile);
+            return false;
+        }
+        if (!tempFile.renameTo(file)) {
+            deleteFile(tempFile);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Remove the least recently modified files until the total size of the directory does not exceed the maximum size
+     *
+     * @param directory of the cache
+     * @param maxSize maximum size in bytes of all files
+     */
+    public static void trimToSize(File directory, long maxSize) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        long size = 0;
+        for (File file : files) {
+            size += file.length();
+        }
+        if (size <= maxSize) {
+            return;
+        }
+        sortByLastModified(files);
+        for (File file : files) {
+            if (size <= maxSize) {
+                break;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                size -= length;
+            }
+        }
+    }
+
+    /**
+     * Remove the least recently modified files until the directory does not contain more than the maximum number of files
+     *
+     * @param directory of the cache
+     * @param maxEntries maximum number of files
+     */
+    public static void trimToCount(File directory, int maxEntries) {
+        File[] files = directory.listFiles();
+        if (files == null || files.length <= maxEntries) {
+            return;
+        }
+        sortByLastModified(files);
+        for (int i = 0; i < files.length - maxEntries; i++) {
+            deleteFile(files[i]);
+        }
+    }
+
+    /**
+     * Remove all files from the directory
+     *
+     * @param directory of the cache
+     */
+    public static void deleteFiles(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                deleteFile(file);
+            }
+        }
+    }
+
+    /**
+     * Delete the file if it exists
+     *
+     * @param file to delete
+     */
+    public static void deleteFile(File file) {
+        if (file.exists() && !file.delete()) {
+            Log.w("Checkout", "Failed to delete cache file: " + file);
+        }
+    }
+
+    /**
+     * Hash the value into a string that can be used as file name
+     *
+     * @param value to hash
+     * @return the hex encoded SHA-1 hash of the value
+     */
+    public static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] bytes = digest.digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(bytes.length * 2);
+            for (byte b : bytes) {
+                sb.append(Character.forDigit((b >> 4) & 0xf, 16));
+                sb.append(Character.forDigit(b & 0xf, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(value.hashCode());
+        }
+    }
+
+    private static void sortByLastModified(File[] files) {
+        Arrays.sort(files, (lhs, rhs) -> Long.compare(lhs.lastModified(), rhs.lastModified()));
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.util;
+
+/**
+ * Class holding the hit and miss statistics of the network logo caches. The memory cache holds decoded Bitmaps of all
+ * logos, the disk cache holds the encoded images of remote logos only.
+ */
+public final class LogoCacheStats {
+
+    private final long memoryHits;
+    private final long memoryMisses;
+    private final long memorySize;
+    private final long diskHits;
+    private final long diskMisses;
+
+    LogoCacheStats(long memoryHits, long memoryMisses, long memorySize, long diskHits, long diskMisses) {
+        this.memoryHits = memoryHits;
+        this.memoryMisses = memoryMisses;
+        this.memorySize = memorySize;
+        this.diskHits = diskHits;
+        this.diskMisses = diskMisses;
+    }
+
+    public long getMemoryHits() {
+        return memoryHits;
+    }
+
+    public long getMemoryMisses() {
+        return memoryMisses;
+    }
+
+    /**
+     * Get the size in bytes of the Bitmaps in the memory cache
+     *
+     * @return size in bytes
+     */
+    public long getMemorySize() {
+        return memorySize;
+    }
+
+    public long getDiskHits() {
+        return diskHits;
+    }
+
+    public long getDiskMisses() {
+        return diskMisses;
+    }
+
+    @Override
+    public String toString() {
+        return "LogoCacheStats[memoryHits=" + memoryHits + ", memoryMisses=" + memoryMisses + ", memorySize=" + memorySize
+            + ", diskHits=" + diskHits + ", diskMisses=" + diskMisses + "]";
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import android.content.Context;
+import android.util.Log;
+
+/**
+ * Class for storing the encoded images of remote network logos on disk so they are downloaded only once.
+ * <p>
+ * Logos are stored in one file per logo URL and are used for the configured time to live, after which they are
+ * downloaded again. The total size of the cache is bounded, the logos stored first are removed first.
+ */
+final class LogoDiskCache {
+
+    /** Name of the directory, inside the cache directory of the app, in which logos are stored */
+    private final static String DIRECTORY_NAME = "checkout-logos";
+
+    /** Default maximum size in bytes of all stored logos */
+    private final static long DEFAULT_MAX_SIZE = 2 * 1024 * 1024;
+
+    /** Default duration in milliseconds during which a stored logo is used */
+    private final static long DEFAULT_TIME_TO_LIVE = TimeUnit.DAYS.toMillis(7);
+
+    private final static String FILE_EXTENSION = ".img";
+
+    private final File directory;
+    private final long maxSize;
+    private final long timeToLive;
+
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Construct a new LogoDiskCache stored in the cache directory of the app using the default
+     * maximum size and time to live.
+     *
+     * @param context used to obtain the cache directory
+     */
+    LogoDiskCache(Context context) {
+        this(new File(context.getCacheDir(), DIRECTORY_NAME), DEFAULT_MAX_SIZE, DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * Construct a new LogoDiskCache
+     *
+     * @param directory in which the logos are stored
+     * @param maxSize maximum size in bytes of all stored logos
+     * @param timeToLive duration in milliseconds during which a stored logo is used
+     */
+    LogoDiskCache(File directory, long maxSize, long timeToLive) {
+        if (directory == null) {
+            throw new IllegalArgumentException("directory cannot be null");
+        }
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Get the stored logo for the given URL
+     *
+     * @param url of the logo
+     * @return the encoded image or null if not stored or expired
+     */
+    synchronized byte[] get(String url) {
+        File file = getFile(url);
+        if (!file.exists() || isExpired(file)) {
+            CacheFiles.deleteFile(file);
+            missCount++;
+            return null;
+        }
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] data = new byte[(int) file.length()];
+            int read = 0;
+            while (read < data.length) {
+                int count = in.read(data, read, data.length - read);
+                if (count == -1) {
+                    throw new IOException("Unexpected end of logo file: " + file);
+                }
+                read += count;
+            }
+            hitCount++;
+            return data;
+        } catch (IOException e) {
+            Log.w("Checkout", e);
+            CacheFiles.deleteFile(file);
+            missCount++;
+            return null;
+        }
+    }
+
+    /**
+     * Store the logo on disk, replacing any previously stored logo for the same URL.
+     * The oldest logos are removed when the size of the cache exceeds its maximum size.
+     *
+     * @param url of the logo
+     * @param data the encoded image
+     */
+    synchronized void put(String url, byte[] data) {
+        if (CacheFiles.write(getFile(url), out -> out.write(data))) {
+            CacheFiles.trimToSize(directory, maxSize);
+        }
+    }
+
+    /**
+     * Remove all stored logos from this cache and reset the statistics
+     */
+    synchronized void clear() {
+        CacheFiles.deleteFiles(directory);
+        hitCount = 0;
+        missCount = 0;
+    }
+
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    private boolean isExpired(File file) {
+        // The modification time is the time the logo was stored, reading a logo does not touch it
+        long age = System.currentTimeMillis() - file.lastModified();
+        return age < 0 || age >= timeToLive;
+    }
+
+    private File getFile(String url) {
+        return CacheFiles.getFile(directory, url, FILE_EXTENSION);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.util;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import com.payoneer.checkout.ui.model.NetworkCard;
+import com.payoneer.checkout.ui.model.PaymentCard;
+import com.payoneer.checkout.ui.model.PaymentNetwork;
+import com.payoneer.checkout.ui.model.PaymentSession;
+
+/**
+ * Class describing a network logo to be prefetched, the size must be the size of the view in which the logo is shown
+ * so the prefetched Bitmap is found in the memory cache when the logo is loaded into the view.
+ */
+public final class LogoRequest {
+
+    private final String networkCode;
+    private final URL url;
+    private final int width;
+    private final int height;
+
+    /**
+     * Construct a new LogoRequest
+     *
+     * @param networkCode code of the payment network
+     * @param url pointing to the remote image
+     * @param width of the view in pixels
+     * @param height of the view in pixels
+     */
+    public LogoRequest(String networkCode, URL url, int width, int height) {
+        this.networkCode = networkCode;
+        this.url = url;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Create the requests for the logos shown by the payment cards. Cards grouping several networks show the small
+     * logos of their networks, all other cards show a single card logo.
+     *
+     * @param cards ordered by the priority of their logos
+     * @param cardWidth width of the card logo in pixels
+     * @param cardHeight height of the card logo in pixels
+     * @param smallWidth width of the small network logos in pixels
+     * @param smallHeight height of the small network logos in pixels
+     * @return the logo requests without duplicates
+     */
+    public static List<LogoRequest> forPaymentCards(Collection<PaymentCard> cards, int cardWidth, int cardHeight,
+        int smallWidth, int smallHeight) {
+        Set<LogoRequest> requests = new LinkedHashSet<>();
+        for (PaymentCard card : cards) {
+            if (card instanceof NetworkCard && ((NetworkCard) card).getPaymentNetworkCount() > 1) {
+                for (PaymentNetwork network : ((NetworkCard) card).getPaymentNetworks()) {
+                    addLogoRequest(requests, network.getNetworkCode(), network.getLink(PaymentSession.LINK_LOGO),
+                        smallWidth, smallHeight);
+                }
+            } else {
+                addLogoRequest(requests, card.getNetworkCode(), card.getLogoLink(), cardWidth, cardHeight);
+            }
+        }
+        return new ArrayList<>(requests);
+    }
+
+    private static void addLogoRequest(Set<LogoRequest> requests, String networkCode, URL url, int width, int height) {
+        if (networkCode != null && url != null) {
+            requests.add(new LogoRequest(networkCode, url, width, height));
+        }
+    }
+
+    public String getNetworkCode() {
+        return networkCode;
+    }
+
+    public URL getUrl() {
+        return url;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LogoRequest)) {
+            return false;
+        }
+        LogoRequest other = (LogoRequest) obj;
+        // URLs are compared by their string form, URL.equals resolves the host names
+        return width == other.width && height == other.height && Objects.equals(networkCode, other.networkCode)
+            && Objects.equals(String.valueOf(url), String.valueOf(other.url));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(networkCode, String.valueOf(url), width, height);
+    }
+
+    @Override
+    public String toString() {
+        return "LogoRequest[networkCode=" + networkCode + ", url=" + url + ", size=" + width + "x" + height + "]";
+    }
+}
@@ -11,33 +11,90 @@ package com.payoneer.checkout.util;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 import com.payoneer.checkout.R;
+import com.payoneer.checkout.core.Cancellation;
 import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.core.WorkerFuture;
 import com.payoneer.checkout.core.WorkerSubscriber;
-import com.payoneer.checkout.core.WorkerTask;
 import com.payoneer.checkout.core.Workers;
 import com.payoneer.checkout.network.ImageConnection;
 
 import android.content.Context;
-import android.content.res.Resources;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.util.Log;
+import android.util.LruCache;
+import android.view.View;
+import android.view.ViewGroup;
 import android.widget.ImageView;
 
 /**
  * Class for loading network logo images into an ImageView.
- * This loader will first check if a locally stored logo image is available, if not, the loader will
- * download the logo using the provided URL.
+ * This loader will first check if a bundled logo image is mapped to the network code by the networklogos string array
+ * resource, if not, the loader will download the logo using the provided URL. The sizes of the bundled logos are read
+ * from the NetworkLogoIndex generated at build time.
+ * <p>
+ * Decoded logos are kept in a memory cache bounded by the size of the Bitmaps, a logo shown again is set on the view
+ * without any I/O. The encoded images of remote logos are also stored on disk so they are downloaded only once.
+ * <p>
+ * Each ImageView has at most one logo request, loading another logo into the view cancels the previous request of the
+ * view. Detaching the view from its window cancels its pending request, the request is made again when the view is
+ * attached again. Views waiting for the same logo share a single load.
  */
 public final class NetworkLogoLoader {
 
     private final static String NETWORKLOGO_FOLDER = "networklogos/";
-    private final Map<String, String> localNetworkLogos = new HashMap<>();
+
+    /** Maximum size in bytes of the decoded logos kept in memory */
+    private final static int MEMORY_CACHE_SIZE = (int) Math.min(Runtime.getRuntime().maxMemory() / 32, 4 * 1024 * 1024);
+
+    private final Map<String, BundledLogo> bundledLogos = new HashMap<>();
     private final ImageConnection imageConnection = new ImageConnection();
+    private final BitmapPool bitmapPool = new BitmapPool(BitmapPool.DEFAULT_MAX_SIZE);
+    private final LogoMemoryCache memoryCache = new LogoMemoryCache(MEMORY_CACHE_SIZE);
+    private LogoDiskCache diskCache;
+
+    /**
+     * The Bitmap loaded into each view and the number of references to each loaded Bitmap. A Bitmap is referenced by the
+     * views showing it, the memory cache and deliveries in progress, it is put into the pool when no longer referenced.
+     */
+    private final Map<ImageView, Bitmap> viewBitmaps = new WeakHashMap<>();
+    private final Map<Bitmap, Integer> bitmapRefs = new WeakHashMap<>();
+    private long memoryHits;
+    private long memoryMisses;
+
+    /** The loads in flight and the load each view is waiting for, only accessed from the main UI Thread */
+    private final Map<String, LogoLoad> logoLoads = new HashMap<>();
+    private final Map<ImageView, LogoLoad> viewLoads = new WeakHashMap<>();
+    private final Map<ImageView, LogoLoad> detachedViewLoads = new WeakHashMap<>();
+    private final Set<View> attachWatchedViews = Collections.newSetFromMap(new WeakHashMap<>());
+    private final View.OnAttachStateChangeListener attachListener = new View.OnAttachStateChangeListener() {
+        @Override
+        public void onViewAttachedToWindow(View view) {
+            LogoLoad load = detachedViewLoads.remove(view);
+            if (load != null) {
+                loadImageIntoView((ImageView) view, load.networkCode, load.networkLogoUrl);
+            }
+        }
+
+        @Override
+        public void onViewDetachedFromWindow(View view) {
+            ImageView imageView = (ImageView) view;
+            LogoLoad load = viewLoads.get(imageView);
+            cancelRequest(imageView);
+            if (load != null) {
+                // Restart the request when the view is attached again, i.e. after it has been scrolled back into view
+                detachedViewLoads.put(imageView, load);
+            }
+        }
+    };
 
     /*
      * This is private because this class should never have an object created. The loading functionality
@@ -66,66 +123,385 @@ public final class NetworkLogoLoader {
         getInstance().loadImageIntoView(view, networkCode, networkLogoUrl);
     }
 
+    /**
+     * Prefetch the network logos into the memory cache so they are shown without delay when loaded into their views.
+     * The logos are loaded one after the other in the order of the list, bundled and disk cached logos are always
+     * loaded whereas remote logos are no longer downloaded once the downloaded bytes reach the budget.
+     *
+     * @param context used to read the bundled and disk cached logos
+     * @param requests the logos to prefetch in the order of their priority
+     * @param downloadBudget maximum number of bytes to download
+     * @return WorkerFuture providing the number of prefetched logos, cancelling it stops the prefetching
+     */
+    public static WorkerFuture<Integer> prefetchNetworkLogos(Context context, List<LogoRequest> requests, long downloadBudget) {
+        return getInstance().prefetchLogos(context, requests, downloadBudget);
+    }
+
+    /**
+     * Cancel the logo request of the ImageView, i.e. when the view shows another image. A load shared with other views
+     * keeps running until none of its views is waiting for it anymore.
+     *
+     * @param view ImageView for which the logo was requested
+     */
+    public static void cancelNetworkLogo(ImageView view) {
+        getInstance().cancelRequest(view);
+    }
+
+    /**
+     * Get the hit and miss statistics of the memory and disk caches of this loader
+     *
+     * @return the current cache statistics
+     */
+    public LogoCacheStats getCacheStats() {
+        LogoDiskCache disk = getDiskCache(null);
+        synchronized (viewBitmaps) {
+            return new LogoCacheStats(memoryHits, memoryMisses, memoryCache.size(),
+                disk != null ? disk.getHitCount() : 0, disk != null ? disk.getMissCount() : 0);
+        }
+    }
+
+    /**
+     * Remove all logos from the memory and disk caches of this loader and reset the statistics
+     */
+    void clearCaches() {
+        synchronized (viewBitmaps) {
+            memoryCache.evictAll();
+            viewBitmaps.clear();
+            bitmapRefs.clear();
+            bitmapPool.clear();
+            memoryHits = 0;
+            memoryMisses = 0;
+        }
+        LogoDiskCache disk = getDiskCache(null);
+        if (disk != null) {
+            disk.clear();
+        }
+    }
+
     private void loadImageIntoView(ImageView view, String networkCode, URL networkLogoUrl) {
         final Context context = view.getContext();
-        if (localNetworkLogos.size() == 0) {
-            loadLocalNetworkLogos(view.getContext());
+        ViewGroup.LayoutParams params = view.getLayoutParams();
+        int width = params != null && params.width > 0 ? params.width : view.getWidth();
+        int height = params != null && params.height > 0 ? params.height : view.getHeight();
+        final BitmapDecoder decoder = createDecoder(width, height);
+        final BundledLogo bundledLogo = getBundledLogo(context, networkCode);
+        final String cacheKey = createCacheKey(bundledLogo, networkLogoUrl, decoder);
+
+        cancelRequest(view);
+
+        Bitmap cached;
+        synchronized (viewBitmaps) {
+            cached = memoryCache.get(cacheKey);
+            if (cached != null) {
+                memoryHits++;
+                retain(cached);
+            } else {
+                memoryMisses++;
+            }
+        }
+        if (cached != null) {
+            onLoadBitmapSuccess(view, cached);
+            releaseBitmap(cached);
+            return;
         }
+        LogoLoad load = logoLoads.get(cacheKey);
+        if (load == null) {
+            WorkerFuture<Bitmap> future = WorkerFuture.submit(Workers.getInstance().forImageTasks(),
+                () -> loadLogo(context, bundledLogo, networkLogoUrl, decoder, cacheKey));
+            load = new LogoLoad(cacheKey, networkCode, networkLogoUrl, future);
+            logoLoads.put(cacheKey, load);
+            future.subscribe(load);
+        }
+        load.views.add(view);
+        viewLoads.put(view, load);
 
-        WorkerTask<Bitmap> task = WorkerTask.fromCallable(() -> loadLogo(context, networkCode, networkLogoUrl));
-        task.subscribe(new WorkerSubscriber<Bitmap>() {
-            @Override
-            public void onSuccess(Bitmap bitmap) {
-                onLoadBitmapSuccess(view, bitmap);
+        if (attachWatchedViews.add(view)) {
+            view.addOnAttachStateChangeListener(attachListener);
+        }
+    }
+
+    private WorkerFuture<Integer> prefetchLogos(Context context, List<LogoRequest> requests, long downloadBudget) {
+        final Context appContext = context.getApplicationContext();
+        final List<LogoPrefetch> prefetches = new ArrayList<>();
+        for (LogoRequest request : requests) {
+            BitmapDecoder decoder = createDecoder(request.getWidth(), request.getHeight());
+            BundledLogo bundledLogo = getBundledLogo(appContext, request.getNetworkCode());
+            if (bundledLogo == null && request.getUrl() == null) {
+                continue;
             }
+            String cacheKey = createCacheKey(bundledLogo, request.getUrl(), decoder);
+            prefetches.add(new LogoPrefetch(bundledLogo, request.getUrl(), decoder, cacheKey));
+        }
+        return WorkerFuture.submit(Workers.getInstance().forImageTasks(),
+            () -> runPrefetches(appContext, prefetches, downloadBudget));
+    }
 
-            @Override
-            public void onError(Throwable cause) {
-                Log.w("sdk_ImageHelper", cause);
-                // we ignore image loading failures
+    private int runPrefetches(Context context, List<LogoPrefetch> prefetches, long downloadBudget) {
+        Cancellation cancellation = Cancellation.current();
+        long downloaded = 0;
+        int count = 0;
+
+        for (LogoPrefetch prefetch : prefetches) {
+            if (cancellation != null && cancellation.isCancelled()) {
+                break;
+            }
+            synchronized (viewBitmaps) {
+                if (memoryCache.get(prefetch.cacheKey) != null) {
+                    continue;
+                }
             }
-        });
-        Workers.getInstance().forImageTasks().execute(task);
+            try {
+                Bitmap bitmap;
+                if (prefetch.bundledLogo != null) {
+                    bitmap = loadBundledLogo(context, prefetch.bundledLogo, prefetch.decoder);
+                } else {
+                    LogoDiskCache disk = getDiskCache(context);
+                    String url = prefetch.url.toString();
+                    byte[] data = disk.get(url);
+                    if (data == null) {
+                        if (downloaded >= downloadBudget) {
+                            continue;
+                        }
+                        data = imageConnection.loadImageData(prefetch.url);
+                        disk.put(url, data);
+                        downloaded += data.length;
+                    }
+                    bitmap = prefetch.decoder.decode(data);
+                }
+                if (bitmap != null) {
+                    synchronized (viewBitmaps) {
+                        // The only reference is held by the memory cache
+                        retain(bitmap);
+                        memoryCache.put(prefetch.cacheKey, bitmap);
+                    }
+                    count++;
+                }
+            } catch (PaymentException e) {
+                Log.w("sdk_ImageHelper", e);
+                // we ignore prefetch failures, the logo is loaded again when shown
+            }
+        }
+        return count;
+    }
+
+    private void cancelRequest(ImageView view) {
+        detachedViewLoads.remove(view);
+        LogoLoad load = viewLoads.remove(view);
+        if (load == null) {
+            return;
+        }
+        load.views.remove(view);
+        if (load.views.isEmpty()) {
+            logoLoads.remove(load.cacheKey);
+            load.future.cancel(true);
+        }
     }
 
     private void onLoadBitmapSuccess(ImageView view, Bitmap bitmap) {
         try {
             view.setImageBitmap(bitmap);
+            setViewBitmap(view, bitmap);
         } catch (Exception e) {
             Log.w("checkout-sdk", e);
             // we ignore image loading failures which may occur if the device is out of memory
         }
     }
 
-    private Bitmap loadLogo(Context context, String networkCode, URL networkLogoUrl) throws PaymentException {
-        if (localNetworkLogos.containsKey(networkCode)) {
-            String fileName = localNetworkLogos.get(networkCode);
-            return loadBitmapFromFile(context, fileName);
+    private void releaseBitmap(Bitmap bitmap) {
+        synchronized (viewBitmaps) {
+            release(bitmap);
+        }
+    }
+
+    /**
+     * Keep track of the Bitmap shown by the view, the Bitmap previously loaded into the view is released.
+     *
+     * @param view showing the Bitmap
+     * @param bitmap loaded into the view
+     */
+    private void setViewBitmap(ImageView view, Bitmap bitmap) {
+        synchronized (viewBitmaps) {
+            retain(bitmap);
+            release(bitmap != null ? viewBitmaps.put(view, bitmap) : viewBitmaps.remove(view));
+        }
+    }
+
+    private void retain(Bitmap bitmap) {
+        if (bitmap != null) {
+            Integer count = bitmapRefs.get(bitmap);
+            bitmapRefs.put(bitmap, count == null ? 1 : count + 1);
+        }
+    }
+
+    private void release(Bitmap bitmap) {
+        if (bitmap == null) {
+            return;
+        }
+        Integer count = bitmapRefs.get(bitmap);
+        if (count != null && count > 1) {
+            bitmapRefs.put(bitmap, count - 1);
         } else {
-            return imageConnection.loadBitmap(networkLogoUrl);
+            bitmapRefs.remove(bitmap);
+            bitmapPool.put(bitmap);
         }
     }
 
-    private Bitmap loadBitmapFromFile(Context context, String fileName) throws PaymentException {
-        try {
-            InputStream inputStream = context.getAssets().open(fileName);
-            return BitmapFactory.decodeStream(inputStream);
+    private static String createCacheKey(BundledLogo bundledLogo, URL networkLogoUrl, BitmapDecoder decoder) {
+        return (bundledLogo != null ? bundledLogo.fileName : String.valueOf(networkLogoUrl)) + " " + decoder.getKey();
+    }
+
+    private BitmapDecoder createDecoder(int width, int height) {
+        return BitmapDecoder.createBuilder()
+            .setTargetSize(width, height)
+            .setBitmapPool(bitmapPool)
+            .build();
+    }
+
+    private Bitmap loadLogo(Context context, BundledLogo bundledLogo, URL networkLogoUrl, BitmapDecoder decoder, String cacheKey)
+        throws PaymentException {
+        Bitmap bitmap;
+        if (bundledLogo != null) {
+            bitmap = loadBundledLogo(context, bundledLogo, decoder);
+        } else {
+            bitmap = decoder.decode(loadRemoteImageData(context, networkLogoUrl));
+        }
+        if (bitmap != null) {
+            synchronized (viewBitmaps) {
+                // One reference for the delivery to the view and one for the memory cache
+                retain(bitmap);
+                retain(bitmap);
+                memoryCache.put(cacheKey, bitmap);
+            }
+        }
+        return bitmap;
+    }
+
+    private byte[] loadRemoteImageData(Context context, URL networkLogoUrl) throws PaymentException {
+        LogoDiskCache disk = getDiskCache(context);
+        String url = networkLogoUrl.toString();
+        byte[] data = disk.get(url);
+        if (data == null) {
+            data = imageConnection.loadImageData(networkLogoUrl);
+            disk.put(url, data);
+        }
+        return data;
+    }
+
+    private Bitmap loadBundledLogo(Context context, BundledLogo bundledLogo, BitmapDecoder decoder) throws PaymentException {
+        try (InputStream inputStream = context.getAssets().open(bundledLogo.fileName)) {
+            return decoder.decode(inputStream, bundledLogo.width, bundledLogo.height);
         } catch (IOException e) {
             throw new PaymentException(e);
         }
     }
 
-    private void loadLocalNetworkLogos(Context context) {
-        synchronized (localNetworkLogos) {
-            if (localNetworkLogos.size() != 0) {
-                return;
+    /**
+     * Get the bundled logo of the network, the networklogos string array maps the network codes to the asset files
+     * and may be overridden by the application. Logos missing in the NetworkLogoIndex are decoded without known size.
+     *
+     * @param context used to read the networklogos string array
+     * @param networkCode code of the payment network
+     * @return the bundled logo or null if the network has no bundled logo
+     */
+    private BundledLogo getBundledLogo(Context context, String networkCode) {
+        synchronized (bundledLogos) {
+            if (bundledLogos.isEmpty()) {
+                Map<String, BundledLogo> index = NetworkLogoIndex.createBundledLogos();
+                for (String item : context.getResources().getStringArray(R.array.networklogos)) {
+                    String[] values = item.split(",");
+                    String fileName = NETWORKLOGO_FOLDER + values[1];
+                    BundledLogo logo = index.get(fileName);
+                    bundledLogos.put(values[0], logo != null ? logo : new BundledLogo(fileName, 0, 0));
+                }
             }
-            Resources res = context.getResources();
-            String[] ts;
-            String[] ar = res.getStringArray(R.array.networklogos);
-            for (String icon : ar) {
-                ts = icon.split(",");
-                localNetworkLogos.put(ts[0], NETWORKLOGO_FOLDER + ts[1]);
+            return bundledLogos.get(networkCode);
+        }
+    }
+
+    private synchronized LogoDiskCache getDiskCache(Context context) {
+        if (diskCache == null && context != null) {
+            diskCache = new LogoDiskCache(context.getApplicationContext());
+        }
+        return diskCache;
+    }
+
+    /**
+     * Logo to be prefetched, resolved on the main UI Thread before the prefetching starts
+     */
+    private static class LogoPrefetch {
+        final BundledLogo bundledLogo;
+        final URL url;
+        final BitmapDecoder decoder;
+        final String cacheKey;
+
+        LogoPrefetch(BundledLogo bundledLogo, URL url, BitmapDecoder decoder, String cacheKey) {
+            this.bundledLogo = bundledLogo;
+            this.url = url;
+            this.decoder = decoder;
+            this.cacheKey = cacheKey;
+        }
+    }
+
+    /**
+     * Load of a single logo shared by all views waiting for it, the views are only accessed from the main UI Thread
+     */
+    private class LogoLoad implements WorkerSubscriber<Bitmap> {
+        final String cacheKey;
+        final String networkCode;
+        final URL networkLogoUrl;
+        final WorkerFuture<Bitmap> future;
+        final List<ImageView> views = new ArrayList<>();
+
+        LogoLoad(String cacheKey, String networkCode, URL networkLogoUrl, WorkerFuture<Bitmap> future) {
+            this.cacheKey = cacheKey;
+            this.networkCode = networkCode;
+            this.networkLogoUrl = networkLogoUrl;
+            this.future = future;
+        }
+
+        @Override
+        public void onSuccess(Bitmap bitmap) {
+            logoLoads.remove(cacheKey);
+            for (ImageView view : views) {
+                viewLoads.remove(view);
+                onLoadBitmapSuccess(view, bitmap);
+            }
+            views.clear();
+            // Release the reference held for the delivery to the views
+            releaseBitmap(bitmap);
+        }
+
+        @Override
+        public void onError(Throwable cause) {
+            logoLoads.remove(cacheKey);
+            for (ImageView view : views) {
+                viewLoads.remove(view);
+            }
+            views.clear();
+            Log.w("sdk_ImageHelper", cause);
+            // we ignore image loading failures
+        }
+    }
+
+    /**
+     * Memory cache of decoded logos bounded by the size of the Bitmaps, the reference of the cache to a Bitmap is
+     * released when the Bitmap is evicted or replaced.
+     */
+    private class LogoMemoryCache extends LruCache<String, Bitmap> {
+
+        LogoMemoryCache(int maxSize) {
+            super(maxSize);
+        }
+
+        @Override
+        protected int sizeOf(String key, Bitmap bitmap) {
+            return bitmap.getAllocationByteCount();
+        }
+
+        @Override
+        protected void entryRemoved(boolean evicted, String key, Bitmap oldValue, Bitmap newValue) {
+            synchronized (viewBitmaps) {
+                release(oldValue);
             }
         }
     }
@@ -10,6 +10,7 @@ package com.payoneer.checkout.validation;
 
 import java.util.Calendar;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import com.payoneer.checkout.core.PaymentInputType;
 import com.payoneer.checkout.model.PaymentMethod;
@@ -37,6 +38,13 @@ public class Validator {
     public final static int MAXLENGTH_BIC = 11;
     public final static int MAX_EXPIRY_YEAR = 50;
 
+    private final static Pattern PATTERN_MONTH = Pattern.compile(REGEX_MONTH);
+    private final static Pattern PATTERN_YEAR = Pattern.compile(REGEX_YEAR);
+    private final static Pattern PATTERN_BIC = Pattern.compile(REGEX_BIC);
+    private final static Pattern PATTERN_ACCOUNT_NUMBER = Pattern.compile(REGEX_ACCOUNT_NUMBER);
+    private final static Pattern PATTERN_VERIFICATION_CODE = Pattern.compile(REGEX_VERIFICATION_CODE);
+    private final static Pattern PATTERN_BANK_CODE = Pattern.compile(REGEX_BANK_CODE);
+
     private final Map<String, ValidationGroup> validations;
     private static Validator instance;
 
@@ -86,6 +94,22 @@ public class Validator {
         return group != null ? group.getValidationRegex(type) : null;
     }
 
+    /**
+     * Get the compiled validation regex for the given code and type
+     *
+     * @param code Payment code like VISA
+     * @param type payment input type like "number"
+     * @return the compiled Pattern or null if not found
+     */
+    public Pattern getValidationPattern(String code, String type) {
+
+        if (code == null || type == null) {
+            return null;
+        }
+        ValidationGroup group = validations.get(code);
+        return group != null ? group.getValidationPattern(type) : null;
+    }
+
     public int getMaxInputLength(String code, String type) {
 
         if (code == null || type == null) {
@@ -148,17 +172,17 @@ public class Validator {
         }
         value1 = value1 == null ? "" : value1;
         value2 = value2 == null ? "" : value2;
-        String regex = getValidationRegex(code, type);
+        Pattern pattern = getValidationPattern(code, type);
 
         switch (type) {
             case PaymentInputType.ACCOUNT_NUMBER:
-                return validateAccountNumber(method, value1, regex);
+                return validateAccountNumber(method, value1, pattern);
             case PaymentInputType.VERIFICATION_CODE:
-                return validateVerificationCode(value1, regex);
+                return validateVerificationCode(value1, pattern);
             case PaymentInputType.HOLDER_NAME:
                 return validateHolderName(value1);
             case PaymentInputType.BANK_CODE:
-                return validateBankCode(value1, regex);
+                return validateBankCode(value1, pattern);
             case PaymentInputType.EXPIRY_DATE:
                 return validateExpiryDate(value1, value2);
             case PaymentInputType.EXPIRY_MONTH:
@@ -174,15 +198,15 @@ public class Validator {
         }
     }
 
-    private ValidationResult validateAccountNumber(String method, String number, String regex) {
-        regex = regex != null ? regex : REGEX_ACCOUNT_NUMBER;
+    private ValidationResult validateAccountNumber(String method, String number, Pattern pattern) {
+        pattern = pattern != null ? pattern : PATTERN_ACCOUNT_NUMBER;
 
         switch (method) {
             case PaymentMethod.CREDIT_CARD:
             case PaymentMethod.DEBIT_CARD:
-                return validateCardNumber(number, regex);
+                return validateCardNumber(number, pattern);
             default:
-                if (!number.matches(regex)) {
+                if (!pattern.matcher(number).matches()) {
                     if (TextUtils.isEmpty(number)) {
                         return new ValidationResult(ValidationResult.MISSING_ACCOUNT_NUMBER);
                     }
@@ -192,9 +216,9 @@ public class Validator {
         return new ValidationResult(null);
     }
 
-    private ValidationResult validateCardNumber(String number, String regex) {
+    private ValidationResult validateCardNumber(String number, Pattern pattern) {
 
-        if (!number.matches(regex)) {
+        if (!pattern.matcher(number).matches()) {
             if (TextUtils.isEmpty(number)) {
                 return new ValidationResult(ValidationResult.MISSING_ACCOUNT_NUMBER);
             }
@@ -206,10 +230,10 @@ public class Validator {
         return new ValidationResult(null);
     }
 
-    private ValidationResult validateVerificationCode(String verificationCode, String regex) {
-        regex = regex != null ? regex : REGEX_VERIFICATION_CODE;
+    private ValidationResult validateVerificationCode(String verificationCode, Pattern pattern) {
+        pattern = pattern != null ? pattern : PATTERN_VERIFICATION_CODE;
 
-        if (!verificationCode.matches(regex)) {
+        if (!pattern.matcher(verificationCode).matches()) {
             if (TextUtils.isEmpty(verificationCode)) {
                 return new ValidationResult(ValidationResult.MISSING_VERIFICATION_CODE);
             }
@@ -245,7 +269,7 @@ public class Validator {
 
         if (TextUtils.isEmpty(month)) {
             error = ValidationResult.MISSING_EXPIRY_MONTH;
-        } else if (!month.matches(REGEX_MONTH)) {
+        } else if (!PATTERN_MONTH.matcher(month).matches()) {
             error = ValidationResult.INVALID_EXPIRY_MONTH;
         }
         return new ValidationResult(error);
@@ -256,16 +280,16 @@ public class Validator {
 
         if (TextUtils.isEmpty(year)) {
             error = ValidationResult.MISSING_EXPIRY_YEAR;
-        } else if (!year.matches(REGEX_YEAR)) {
+        } else if (!PATTERN_YEAR.matcher(year).matches()) {
             error = ValidationResult.INVALID_EXPIRY_YEAR;
         }
         return new ValidationResult(error);
     }
 
-    private ValidationResult validateBankCode(String bankCode, String regex) {
-        regex = regex != null ? regex : REGEX_BANK_CODE;
+    private ValidationResult validateBankCode(String bankCode, Pattern pattern) {
+        pattern = pattern != null ? pattern : PATTERN_BANK_CODE;
 
-        if (!bankCode.matches(regex)) {
+        if (!pattern.matcher(bankCode).matches()) {
             if (TextUtils.isEmpty(bankCode)) {
                 return new ValidationResult(ValidationResult.MISSING_BANK_CODE);
             }
@@ -290,7 +314,7 @@ public class Validator {
 
         if (TextUtils.isEmpty(bic)) {
             error = ValidationResult.MISSING_BIC;
-        } else if (!bic.matches(REGEX_BIC)) {
+        } else if (!PATTERN_BIC.matcher(bic).matches()) {
             error = ValidationResult.INVALID_BIC;
         }
         return new ValidationResult(error);
@@ -298,7 +322,7 @@ public class Validator {
 
     private boolean isValidExpiryDate(String month, String year) {
 
-        if (!(month.matches(REGEX_MONTH) && year.matches(REGEX_YEAR))) {
+        if (!(PATTERN_MONTH.matcher(month).matches() && PATTERN_YEAR.matcher(year).matches())) {
             return false;
         }
         try {
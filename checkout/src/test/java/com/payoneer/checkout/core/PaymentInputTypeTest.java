@@ -44,4 +44,20 @@ public class PaymentInputTypeTest {
         assertTrue(PaymentInputType.isValid(PaymentInputType.ALLOW_RECURRENCE));
         assertTrue(PaymentInputType.isValid(PaymentInputType.AUTO_REGISTRATION));
     }
+
+    @Test
+    public void isSensitive_sensitiveTypes_true() {
+        assertTrue(PaymentInputType.isSensitive(PaymentInputType.ACCOUNT_NUMBER));
+        assertTrue(PaymentInputType.isSensitive(PaymentInputType.IBAN));
+        assertTrue(PaymentInputType.isSensitive(PaymentInputType.PASSWORD));
+        assertTrue(PaymentInputType.isSensitive(PaymentInputType.VERIFICATION_CODE));
+    }
+
+    @Test
+    public void isSensitive_otherTypes_false() {
+        assertFalse(PaymentInputType.isSensitive(null));
+        assertFalse(PaymentInputType.isSensitive(PaymentInputType.HOLDER_NAME));
+        assertFalse(PaymentInputType.isSensitive(PaymentInputType.EXPIRY_DATE));
+        assertFalse(PaymentInputType.isSensitive(PaymentInputType.AUTO_REGISTRATION));
+    }
 }
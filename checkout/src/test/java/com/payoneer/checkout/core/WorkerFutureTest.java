@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import com.payoneer.checkout.network.ListConnection;
+import com.payoneer.checkout.test.util.TestHttpServer;
+
+import android.content.Context;
+import android.os.Looper;
+import androidx.test.core.app.ApplicationProvider;
+
+@RunWith(RobolectricTestRunner.class)
+public class WorkerFutureTest {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void subscribe_succeeded_notifiedOnMainThread() throws Exception {
+        WorkerFuture<String> future = WorkerFuture.submit(executor, () -> "result");
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+        future.subscribe(subscriber);
+        assertEquals("result", future.get(5, TimeUnit.SECONDS));
+
+        idleUntilNotified(subscriber);
+        assertEquals("result", subscriber.value);
+        assertTrue(subscriber.mainThread);
+
+        // A completed WorkerFuture notifies the subscriber only once
+        future.subscribe(subscriber);
+        ShadowLooper.idleMainLooper();
+        assertEquals(1, subscriber.count);
+    }
+
+    @Test
+    public void subscribe_failed_notifiesError() throws Exception {
+        WorkerFuture<String> future = WorkerFuture.submit(executor, () -> {
+            throw new PaymentException("Failed");
+        });
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+        future.subscribe(subscriber);
+        awaitDone(future);
+
+        idleUntilNotified(subscriber);
+        assertTrue(subscriber.error instanceof PaymentException);
+        assertNull(subscriber.value);
+    }
+
+    @Test
+    public void subscribe_cancelled_notNotified() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        WorkerFuture<String> future = WorkerFuture.submit(executor, () -> block(started));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(future.cancel(true));
+
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+        future.subscribe(subscriber);
+        ShadowLooper.idleMainLooper();
+        assertFalse(future.isSubscribed());
+        assertEquals(0, subscriber.count);
+    }
+
+    @Test
+    public void then_succeeded_appliesFunction() throws Exception {
+        WorkerFuture<Integer> future = WorkerFuture.submit(executor, () -> 20).then(value -> value + 1);
+        assertEquals(Integer.valueOf(21), future.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void then_alreadySucceeded_runsFunctionOnExecutor() throws Exception {
+        WorkerFuture<Integer> upstream = WorkerFuture.submit(executor, () -> 20);
+        assertEquals(Integer.valueOf(20), upstream.get(5, TimeUnit.SECONDS));
+
+        Thread caller = Thread.currentThread();
+        AtomicBoolean callingThread = new AtomicBoolean(true);
+        WorkerFuture<Integer> future = upstream.then(value -> {
+            callingThread.set(Thread.currentThread() == caller);
+            return value + 1;
+        });
+        assertEquals(Integer.valueOf(21), future.get(5, TimeUnit.SECONDS));
+        assertFalse(callingThread.get());
+    }
+
+    @Test
+    public void then_failed_propagatesError() throws Exception {
+        AtomicBoolean applied = new AtomicBoolean();
+        WorkerFuture<Integer> future = WorkerFuture.<Integer>submit(executor, () -> {
+            throw new PaymentException("Failed");
+        }).then(value -> {
+            applied.set(true);
+            return value + 1;
+        });
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof PaymentException);
+        }
+        assertFalse(applied.get());
+    }
+
+    @Test
+    public void cancel_then_cancelsUpstream() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        WorkerFuture<String> upstream = WorkerFuture.submit(executor, () -> block(started));
+        WorkerFuture<String> next = upstream.then(value -> value);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertTrue(next.cancel(true));
+        assertTrue(upstream.isCancelled());
+    }
+
+    @Test
+    public void all_succeeded_returnsResultsInOrder() throws Exception {
+        WorkerFuture<List<String>> future = WorkerFuture.all(Arrays.asList(
+            WorkerFuture.submit(executor, () -> {
+                Thread.sleep(50);
+                return "first";
+            }),
+            WorkerFuture.submit(executor, () -> "second")));
+        assertEquals(Arrays.asList("first", "second"), future.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void all_oneFailed_cancelsOthers() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        WorkerFuture<String> blocked = WorkerFuture.submit(executor, () -> block(started));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        WorkerFuture<List<String>> future = WorkerFuture.all(Arrays.asList(blocked,
+            WorkerFuture.submit(executor, () -> {
+                throw new PaymentException("Failed");
+            })));
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof PaymentException);
+        }
+        assertCancelled(blocked);
+    }
+
+    @Test
+    public void any_firstSucceeded_cancelsOthers() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        WorkerFuture<String> blocked = WorkerFuture.submit(executor, () -> block(started));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        WorkerFuture<String> future = WorkerFuture.any(Arrays.asList(blocked,
+            WorkerFuture.submit(executor, () -> "fast")));
+        assertEquals("fast", future.get(5, TimeUnit.SECONDS));
+        assertCancelled(blocked);
+    }
+
+    @Test
+    public void any_allFailed_failsWithError() throws Exception {
+        WorkerFuture<String> future = WorkerFuture.any(Arrays.asList(
+            WorkerFuture.submit(executor, () -> {
+                throw new PaymentException("Failed");
+            }),
+            WorkerFuture.submit(executor, () -> {
+                throw new PaymentException("Failed");
+            })));
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof PaymentException);
+        }
+    }
+
+    @Test
+    public void withTimeout_expired_failsAndInterruptsTask() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        WorkerFuture<String> future = WorkerFuture.submit(executor, () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "late";
+        }).withTimeout(50, TimeUnit.MILLISECONDS);
+
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void cancel_running_runsCancellationActionsAndSkipsSubscriber() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch aborted = new CountDownLatch(1);
+        WorkerFuture<String> future = WorkerFuture.submit(executor, () -> {
+            Cancellation.current().register(this, aborted::countDown);
+            return block(started);
+        });
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+        future.subscribe(subscriber);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertTrue(future.cancel(true));
+        assertTrue(aborted.await(5, TimeUnit.SECONDS));
+        assertFalse(future.cancel(true));
+        try {
+            future.get();
+            fail("Expected CancellationException");
+        } catch (CancellationException e) {
+            // expected
+        }
+        ShadowLooper.idleMainLooper();
+        assertEquals(0, subscriber.count);
+    }
+
+    @Test
+    public void cancel_blockedRequest_disconnectsConnection() throws Exception {
+        CountDownLatch received = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicReference<Object> result = new AtomicReference<>();
+
+        try (TestHttpServer server = new TestHttpServer(request -> {
+            received.countDown();
+            await(release);
+            return TestHttpServer.Response.json(200, "{}");
+        })) {
+            Context context = ApplicationProvider.getApplicationContext();
+            ListConnection conn = new ListConnection(context);
+            String url = server.url("/lists/1");
+
+            WorkerFuture<Object> future = WorkerFuture.submit(executor, () -> {
+                try {
+                    result.set(conn.getListResult(url));
+                    return result.get();
+                } finally {
+                    finished.countDown();
+                }
+            });
+            assertTrue(received.await(5, TimeUnit.SECONDS));
+            future.cancel(true);
+
+            // The blocking read is aborted while the server is still holding back the response
+            assertTrue(finished.await(5, TimeUnit.SECONDS));
+            assertNull(result.get());
+            assertTrue(future.isCancelled());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static String block(CountDownLatch started) throws InterruptedException {
+        started.countDown();
+        new CountDownLatch(1).await();
+        return "unreachable";
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void assertCancelled(WorkerFuture<?> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected CancellationException");
+        } catch (CancellationException e) {
+            assertTrue(future.isCancelled());
+        }
+    }
+
+    private static void idleUntilNotified(RecordingSubscriber<?> subscriber) throws InterruptedException {
+        // The subscriber is notified after the result has been published to waiting threads
+        for (int i = 0; i < 500 && subscriber.count == 0; i++) {
+            ShadowLooper.idleMainLooper();
+            Thread.sleep(10);
+        }
+    }
+
+    private static void awaitDone(WorkerFuture<?> future) throws InterruptedException {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // only waiting for completion
+        }
+    }
+
+    private static class RecordingSubscriber<V> implements WorkerSubscriber<V> {
+        V value;
+        Throwable error;
+        int count;
+        boolean mainThread;
+
+        @Override
+        public void onSuccess(V param) {
+            value = param;
+            count++;
+            mainThread = Looper.myLooper() == Looper.getMainLooper();
+        }
+
+        @Override
+        public void onError(Throwable cause) {
+            error = cause;
+            count++;
+            mainThread = Looper.myLooper() == Looper.getMainLooper();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class WorkerLaneTest {
+
+    @Test
+    public void execute_waitingTasks_runByPriorityThenSubmissionOrder() throws InterruptedException {
+        ThreadPoolExecutor executor = Workers.createExecutor("test", 1);
+        try {
+            WorkerLane operation = new WorkerLane(WorkerPriority.OPERATION, executor);
+            WorkerLane session = new WorkerLane(WorkerPriority.SESSION, executor);
+            WorkerLane image = new WorkerLane(WorkerPriority.IMAGE, executor);
+
+            CountDownLatch blocked = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            image.execute(() -> {
+                blocked.countDown();
+                await(release);
+            });
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+            List<String> order = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch done = new CountDownLatch(5);
+            image.execute(new Recorder(order, "image1", done));
+            session.execute(new Recorder(order, "session1", done));
+            image.execute(new Recorder(order, "image2", done));
+            operation.execute(new Recorder(order, "operation", done));
+            session.execute(new Recorder(order, "session2", done));
+            assertEquals(2, image.getMetrics().getQueueDepth());
+
+            release.countDown();
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList("operation", "session1", "session2", "image1", "image2"), order);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void getMetrics_completedTasks_countedAndWaitRecorded() throws Exception {
+        ThreadPoolExecutor executor = Workers.createExecutor("test", 2);
+        try {
+            WorkerLane lane = new WorkerLane(WorkerPriority.SESSION, executor);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                futures.add(lane.submit(() -> sleep(10)));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+            WorkerMetrics metrics = lane.getMetrics();
+            assertEquals(WorkerPriority.SESSION, metrics.getPriority());
+            assertEquals(0, metrics.getQueueDepth());
+            assertEquals(6, metrics.getSubmittedTasks());
+            assertEquals(6, metrics.getCompletedTasks());
+            assertTrue(metrics.getMaxWaitMillis() >= 10);
+            assertTrue(metrics.getTotalWaitMillis() >= metrics.getMaxWaitMillis());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void execute_rejected_countedAsRejected() {
+        ThreadPoolExecutor executor = Workers.createExecutor("test", 1);
+        executor.shutdown();
+        WorkerLane lane = new WorkerLane(WorkerPriority.IMAGE, executor);
+        try {
+            lane.execute(() -> { });
+            fail("Expected RejectedExecutionException");
+        } catch (RejectedExecutionException e) {
+            WorkerMetrics metrics = lane.getMetrics();
+            assertEquals(1, metrics.getRejectedTasks());
+            assertEquals(0, metrics.getSubmittedTasks());
+            assertEquals(0, metrics.getQueueDepth());
+        }
+    }
+
+    @Test
+    public void shutdown_sharedExecutorKeepsRunning() throws Exception {
+        ThreadPoolExecutor executor = Workers.createExecutor("test", 1);
+        try {
+            WorkerLane lane = new WorkerLane(WorkerPriority.OPERATION, executor);
+            lane.shutdown();
+            assertTrue(lane.shutdownNow().isEmpty());
+            assertFalse(executor.isShutdown());
+            assertEquals("done", lane.submit(() -> "done").get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void execute_sharedPriorityQueue_ordersApplicationTasks() throws InterruptedException {
+        ThreadPoolExecutor executor = Workers.createExecutor("test", 1);
+        try {
+            WorkerLane image = new WorkerLane(WorkerPriority.IMAGE, executor);
+            CountDownLatch blocked = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> {
+                blocked.countDown();
+                await(release);
+            });
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+            List<String> order = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch done = new CountDownLatch(2);
+            image.execute(new Recorder(order, "image", done));
+            executor.execute(new AppTask(new Recorder(order, "application", done)));
+
+            release.countDown();
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList("application", "image"), order);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Recorder implements Runnable {
+        final List<String> order;
+        final String name;
+        final CountDownLatch done;
+
+        Recorder(List<String> order, String name, CountDownLatch done) {
+            this.order = order;
+            this.name = name;
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            order.add(name);
+            done.countDown();
+        }
+    }
+
+    /**
+     * Task of the application, sharing the PriorityBlockingQueue requires all tasks to be comparable with each other
+     */
+    private static class AppTask implements Runnable, Comparable<Runnable> {
+        final Runnable command;
+
+        AppTask(Runnable command) {
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            command.run();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public int compareTo(Runnable other) {
+            return other instanceof AppTask ? 0 : -((Comparable<Runnable>) other).compareTo(this);
+        }
+    }
+}
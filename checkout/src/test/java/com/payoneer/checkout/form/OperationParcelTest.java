@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.form;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.test.util.TestUtils;
+
+import android.os.Parcel;
+
+@RunWith(RobolectricTestRunner.class)
+public class OperationParcelTest {
+
+    @Test
+    public void writeToParcel_keepsIdempotencyKey() {
+        Operation writeOperation = createOperation();
+
+        Parcel parcel = Parcel.obtain();
+        writeOperation.writeToParcel(parcel, 0);
+
+        parcel.setDataPosition(0);
+        Operation readOperation = Operation.CREATOR.createFromParcel(parcel);
+        assertEquals(writeOperation.getIdempotencyKey(), readOperation.getIdempotencyKey());
+        assertEquals(writeOperation.getURL(), readOperation.getURL());
+        assertEquals(writeOperation.toJson(), readOperation.toJson());
+    }
+
+    @Test
+    public void construct_createsUniqueIdempotencyKey() {
+        assertNotEquals(createOperation().getIdempotencyKey(), createOperation().getIdempotencyKey());
+    }
+
+    private static Operation createOperation() {
+        return new Operation("VISA", "CREDIT_CARD", "CHARGE", TestUtils.createTestURL("http://localhost/charge"));
+    }
+}
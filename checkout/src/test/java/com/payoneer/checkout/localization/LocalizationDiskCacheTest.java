@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.localization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import android.content.Context;
+import androidx.test.core.app.ApplicationProvider;
+
+@RunWith(RobolectricTestRunner.class)
+public class LocalizationDiskCacheTest {
+
+    private final static String URL = "https://resources.sandbox.oscato.com/resource/lang/VISA/en_US/VISA.json";
+    private final static long TIME_TO_LIVE = TimeUnit.HOURS.toMillis(1);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void put_get_sameEntries() throws IOException {
+        LocalizationDiskCache cache = createCache(1024 * 1024);
+        cache.put(createLocalization(URL, System.currentTimeMillis(), 5));
+
+        CachedLocalization cached = cache.get(URL);
+        assertNotNull(cached);
+        assertEquals(URL, cached.getUrl());
+        assertEquals("\"etag\"", cached.getETag());
+        assertEquals(5, cached.getEntries().size());
+        assertEquals("value0", cached.getEntries().get("key0"));
+        assertEquals("value0", cached.toLocalizationHolder().translate("key0"));
+    }
+
+    @Test
+    public void getInstance_returnsSharedInstance() {
+        Context context = ApplicationProvider.getApplicationContext();
+        assertSame(LocalizationDiskCache.getInstance(context), LocalizationDiskCache.getInstance(context));
+    }
+
+    @Test
+    public void get_missingEntry_returnsNull() throws IOException {
+        LocalizationDiskCache cache = createCache(1024 * 1024);
+        assertNull(cache.get(URL));
+    }
+
+    @Test
+    public void get_corruptedEntry_returnsNull() throws IOException {
+        File directory = folder.newFolder();
+        LocalizationDiskCache cache = new LocalizationDiskCache(directory, 1024 * 1024, TIME_TO_LIVE);
+        cache.put(createLocalization(URL, System.currentTimeMillis(), 5));
+
+        File[] files = directory.listFiles();
+        assertNotNull(files);
+        assertEquals(1, files.length);
+        try (FileOutputStream out = new FileOutputStream(files[0])) {
+            out.write("{\"url\": [".getBytes(StandardCharsets.UTF_8));
+        }
+        assertNull(cache.get(URL));
+        assertFalse(files[0].exists());
+    }
+
+    @Test
+    public void isFresh() throws IOException {
+        LocalizationDiskCache cache = createCache(1024 * 1024);
+        long now = System.currentTimeMillis();
+        assertTrue(cache.isFresh(createLocalization(URL, now, 1)));
+        assertFalse(cache.isFresh(createLocalization(URL, now - TIME_TO_LIVE - 1, 1)));
+        assertFalse(cache.isFresh(createLocalization(URL, now + TIME_TO_LIVE, 1)));
+    }
+
+    @Test
+    public void put_exceedsMaxSize_removesLeastRecentlyUsed() throws IOException {
+        File directory = folder.newFolder();
+        LocalizationDiskCache cache = new LocalizationDiskCache(directory, Long.MAX_VALUE, TIME_TO_LIVE);
+        long now = System.currentTimeMillis();
+        cache.put(createLocalization(URL + "/1", now, 50));
+        long entrySize = cache.size();
+
+        cache = new LocalizationDiskCache(directory, entrySize * 2, TIME_TO_LIVE);
+        cache.put(createLocalization(URL + "/2", now, 50));
+        setLastModified(directory, now - 2000);
+
+        // reading the first entry makes the second entry the least recently used
+        assertNotNull(cache.get(URL + "/1"));
+        cache.put(createLocalization(URL + "/3", now, 50));
+
+        assertTrue(cache.size() <= entrySize * 2);
+        assertNotNull(cache.get(URL + "/1"));
+        assertNull(cache.get(URL + "/2"));
+        assertNotNull(cache.get(URL + "/3"));
+    }
+
+    @Test
+    public void clear() throws IOException {
+        LocalizationDiskCache cache = createCache(1024 * 1024);
+        cache.put(createLocalization(URL, System.currentTimeMillis(), 5));
+        cache.clear();
+        assertNull(cache.get(URL));
+        assertEquals(0, cache.size());
+    }
+
+    private LocalizationDiskCache createCache(long maxSize) throws IOException {
+        return new LocalizationDiskCache(folder.newFolder(), maxSize, TIME_TO_LIVE);
+    }
+
+    private static void setLastModified(File directory, long time) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                assertTrue(file.setLastModified(time));
+            }
+        }
+    }
+
+    private static CachedLocalization createLocalization(String url, long storedAt, int size) {
+        Map<String, String> entries = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            entries.put("key" + i, "value" + i);
+        }
+        return new CachedLocalization(url, "\"etag\"", null, storedAt, entries);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.google.gson.JsonSyntaxException;
+import com.payoneer.checkout.model.ListResult;
+
+public class BaseConnectionTest {
+
+    @Test
+    public void readFromInputStream_largeListResult() throws IOException {
+        String json = ListResultDecodeBenchmark.createListResultJson(50, 20);
+        ListResult result = createConnection().readFromInputStream(createInputStream(json), ListResult.class);
+        assertEquals("CHARGE", result.getOperationType());
+        assertEquals(50, result.getNetworks().getApplicable().size());
+        assertEquals(20, result.getAccounts().size());
+    }
+
+    @Test
+    public void readFromInputStream_emptyContent() throws IOException {
+        assertNull(createConnection().readFromInputStream(createInputStream(""), ListResult.class));
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void readFromInputStream_invalidJson() throws IOException {
+        createConnection().readFromInputStream(createInputStream("{\"resultInfo\": [}"), ListResult.class);
+    }
+
+    @Test(expected = IOException.class)
+    public void readFromInputStream_brokenStream() throws IOException {
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+        InputStream in = new SequenceInputStream(createInputStream("{\"resultInfo\":\"OK\","), failing);
+        createConnection().readFromInputStream(in, ListResult.class);
+    }
+
+    private static InputStream createInputStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static BaseConnection createConnection() {
+        return new BaseConnection() { };
+    }
+}
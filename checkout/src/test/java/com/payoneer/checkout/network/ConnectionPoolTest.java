@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.model.ListResult;
+import com.payoneer.checkout.test.util.TestHttpServer;
+import com.payoneer.checkout.test.util.TestHttpServer.Response;
+
+import android.content.Context;
+import androidx.test.core.app.ApplicationProvider;
+
+@RunWith(RobolectricTestRunner.class)
+public class ConnectionPoolTest {
+
+    private final static String LIST_JSON = "{\"resultInfo\":\"OK\",\"operationType\":\"CHARGE\"}";
+    private final static String ERROR_JSON = "{\"resultInfo\":\"Not found\"}";
+
+    private TestHttpServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new TestHttpServer(request -> {
+            if (request.path.startsWith("/missing")) {
+                return Response.json(HttpURLConnection.HTTP_NOT_FOUND, ERROR_JSON);
+            }
+            return Response.json(HttpURLConnection.HTTP_OK, LIST_JSON);
+        });
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void getListResult_multipleRequests_reuseSocket() throws PaymentException {
+        ListConnection conn = createListConnection();
+        for (int i = 0; i < 3; i++) {
+            ListResult result = conn.getListResult(server.url("/lists/" + i));
+            assertNotNull(result);
+            assertEquals("OK", result.getResultInfo());
+        }
+        assertEquals(3, server.getRequests().size());
+        assertEquals(1, server.getAcceptedSockets());
+    }
+
+    @Test
+    public void getListResult_errorResponse_reuseSocket() throws PaymentException {
+        ListConnection conn = createListConnection();
+        try {
+            conn.getListResult(server.url("/missing"));
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertFalse(e.getNetworkFailure());
+        }
+        assertNotNull(conn.getListResult(server.url("/lists/1")));
+        assertEquals(2, server.getRequests().size());
+        assertEquals(1, server.getAcceptedSockets());
+    }
+
+    @Test
+    public void open_maxConnectionsPerHost_timeout() throws IOException {
+        ConnectionPool pool = ConnectionPool.getInstance();
+        URL url = new URL(server.url("/lists/1"));
+        int max = pool.getMaxConnectionsPerHost();
+        HttpURLConnection[] conns = new HttpURLConnection[max];
+
+        for (int i = 0; i < max; i++) {
+            conns[i] = pool.open(url, 100);
+        }
+        try {
+            pool.open(url, 100);
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("Timed out"));
+        }
+        for (HttpURLConnection conn : conns) {
+            pool.release(conn);
+        }
+        HttpURLConnection conn = pool.open(url, 100);
+        assertNotNull(conn);
+        pool.release(conn);
+    }
+
+    private ListConnection createListConnection() {
+        Context context = ApplicationProvider.getApplicationContext();
+        return new ListConnection(context);
+    }
+}
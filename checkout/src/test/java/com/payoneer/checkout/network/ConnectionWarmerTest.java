@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.test.util.TestHttpServer;
+import com.payoneer.checkout.test.util.TestHttpServer.Response;
+
+import androidx.test.core.app.ApplicationProvider;
+
+@RunWith(RobolectricTestRunner.class)
+public class ConnectionWarmerTest {
+
+    private final static String LIST_JSON = "{\"resultInfo\":\"OK\",\"operationType\":\"CHARGE\"}";
+
+    private TestHttpServer server;
+    private ConnectionWarmer warmer;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new TestHttpServer(request -> Response.json(HttpURLConnection.HTTP_OK, LIST_JSON));
+        warmer = ConnectionWarmer.getInstance();
+        warmer.reset();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.close();
+        warmer.reset();
+    }
+
+    @Test
+    public void warmUpConnection_getListResult_reusesWarmSocket() throws IOException, PaymentException {
+        String listUrl = server.url("/lists/1");
+        assertTrue(warmer.warmUpConnection(new URL(listUrl)));
+
+        ListConnection conn = new ListConnection(ApplicationProvider.getApplicationContext());
+        assertNotNull(conn.getListResult(listUrl));
+
+        assertEquals(2, server.getRequests().size());
+        assertEquals("HEAD", server.getRequests().get(0).method);
+        assertEquals("GET", server.getRequests().get(1).method);
+        assertEquals(1, server.getAcceptedSockets());
+    }
+
+    @Test
+    public void warmUp_calledTwice_warmsUpOnce() throws Exception {
+        String listUrl = server.url("/lists/1");
+        warmer.warmUp(listUrl);
+        warmer.warmUp(server.url("/lists/2"));
+        assertTrue(warmer.isWarm(new URL(listUrl)));
+
+        for (int i = 0; i < 500 && server.getRequests().isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        assertEquals(1, server.getRequests().size());
+    }
+
+    @Test
+    public void warmUp_connectionFailed_notWarm() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        URL url = new URL("http://localhost:" + port + "/lists/1");
+        warmer.warmUp(url.toString());
+
+        for (int i = 0; i < 500 && warmer.isWarm(url); i++) {
+            Thread.sleep(10);
+        }
+        assertFalse(warmer.isWarm(url));
+    }
+}
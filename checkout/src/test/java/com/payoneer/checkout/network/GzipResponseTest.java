@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.localization.LocalizationHolder;
+import com.payoneer.checkout.model.ListResult;
+import com.payoneer.checkout.test.util.TestHttpServer;
+import com.payoneer.checkout.test.util.TestHttpServer.Request;
+import com.payoneer.checkout.test.util.TestHttpServer.Response;
+
+import android.content.Context;
+import androidx.test.core.app.ApplicationProvider;
+
+@RunWith(RobolectricTestRunner.class)
+public class GzipResponseTest {
+
+    private final static String LOCALIZATION_JSON = "{\"button.update.label\":\"Update\"}";
+    private final static String ERROR_JSON = "{\"resultInfo\":\"Invalid list\","
+        + "\"interaction\":{\"code\":\"ABORT\",\"reason\":\"INVALID_REQUEST\"}}";
+
+    private TestHttpServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new TestHttpServer(request -> {
+            if (!acceptsGzip(request)) {
+                return Response.json(HttpURLConnection.HTTP_NOT_ACCEPTABLE, ERROR_JSON);
+            }
+            if (request.path.startsWith("/empty")) {
+                Response response = new Response(HttpURLConnection.HTTP_NO_CONTENT, new byte[0]);
+                response.headers.put("Content-Encoding", "gzip");
+                return response;
+            }
+            if (request.path.startsWith("/invalid")) {
+                return Response.gzipJson(HttpURLConnection.HTTP_BAD_REQUEST, ERROR_JSON);
+            }
+            if (request.path.startsWith("/plain")) {
+                return Response.json(HttpURLConnection.HTTP_OK, ListResultDecodeBenchmark.createListResultJson(1, 1));
+            }
+            if (request.path.startsWith("/localization")) {
+                return Response.gzipJson(HttpURLConnection.HTTP_OK, LOCALIZATION_JSON);
+            }
+            return Response.gzipJson(HttpURLConnection.HTTP_OK, ListResultDecodeBenchmark.createListResultJson(50, 20));
+        });
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void getListResult_gzipResponse_decompressed() throws PaymentException {
+        ListResult result = createListConnection().getListResult(server.url("/lists/1"));
+        assertNotNull(result);
+        assertEquals(50, result.getNetworks().getApplicable().size());
+        assertEquals(20, result.getAccounts().size());
+    }
+
+    @Test
+    public void getListResult_plainResponse_notDecompressed() throws PaymentException {
+        ListResult result = createListConnection().getListResult(server.url("/plain"));
+        assertNotNull(result);
+        assertEquals(1, result.getAccounts().size());
+    }
+
+    @Test
+    public void getListResult_gzipErrorResponse_decompressed() {
+        try {
+            createListConnection().getListResult(server.url("/invalid"));
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertFalse(e.getNetworkFailure());
+            assertNotNull(e.getErrorInfo());
+            assertEquals("Invalid list", e.getErrorInfo().getResultInfo());
+            assertEquals("INVALID_REQUEST", e.getErrorInfo().getInteraction().getReason());
+        }
+    }
+
+    @Test
+    public void loadLocalization_gzipResponse_decompressed() throws PaymentException, IOException {
+        Context context = ApplicationProvider.getApplicationContext();
+        LocalizationConnection conn = new LocalizationConnection(context);
+        LocalizationHolder holder = conn.loadLocalization(new URL(server.url("/localization")));
+        assertEquals("Update", holder.translate("button.update.label"));
+    }
+
+    @Test
+    public void getInputStream_gzipEmptyResponse_returnsEmptyStream() throws IOException {
+        BaseConnection conn = new BaseConnection() { };
+        HttpURLConnection http = conn.createGetConnection(server.url("/empty"), RequestType.LIST);
+        try {
+            conn.connect(http);
+            assertEquals(HttpURLConnection.HTTP_NO_CONTENT, http.getResponseCode());
+            try (InputStream in = conn.getInputStream(http)) {
+                assertEquals(-1, in.read());
+            }
+        } finally {
+            conn.close(http);
+        }
+    }
+
+    private static boolean acceptsGzip(Request request) {
+        String value = request.getHeader("Accept-Encoding");
+        return value != null && value.contains("gzip");
+    }
+
+    private ListConnection createListConnection() {
+        Context context = ApplicationProvider.getApplicationContext();
+        return new ListConnection(context);
+    }
+}
@@ -8,14 +8,35 @@
 
 package com.payoneer.checkout.network;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.net.URL;
+
+import org.junit.After;
 import org.junit.Test;
 import org.junit.jupiter.api.Assertions;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.test.util.TestUtils;
 
 /**
  * Containing ImageConnection tests
  */
+@RunWith(RobolectricTestRunner.class)
 public class ImageConnectionTest {
 
+    private final static String LOGO_URL = "https://resources.test.payoneer.com/resource/network/VISA/logo.png";
+
+    @After
+    public void tearDown() {
+        HttpTransports.getInstance().setTransport(null);
+        RetryHandler.getInstance().reset();
+    }
+
     @Test()
     public void loadBitmap_invalidUrl_IllegalArgumentException() {
         Assertions.assertThrows(IllegalArgumentException.class, () -> {
@@ -23,4 +44,20 @@ public class ImageConnectionTest {
             conn.loadBitmap(null);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    public void loadImageData_notFound_notRetried() {
+        InMemoryTransport transport = new InMemoryTransport(request -> null);
+        HttpTransports.getInstance().setTransport(transport);
+        URL url = TestUtils.createTestURL(LOGO_URL);
+        try {
+            new ImageConnection().loadImageData(url);
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertFalse(e.getNetworkFailure());
+            assertEquals(0, e.getRetryCount());
+        }
+        assertEquals(1, transport.getRequests().size());
+        assertFalse(RetryHandler.getInstance().isCircuitOpen(LOGO_URL));
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.HttpURLConnection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.core.WorkerFuture;
+import com.payoneer.checkout.form.Operation;
+import com.payoneer.checkout.model.ListResult;
+import com.payoneer.checkout.model.OperationResult;
+import com.payoneer.checkout.test.util.TestUtils;
+
+import android.content.Context;
+import androidx.test.core.app.ApplicationProvider;
+
+@RunWith(RobolectricTestRunner.class)
+public class InMemoryTransportTest {
+
+    private final static String LIST_URL = "https://api.test.payoneer.com/pci/v1/lists/1";
+    private final static String LIST_RESULT = "{\"resultInfo\":\"Found\",\"operationType\":\"CHARGE\","
+        + "\"interaction\":{\"code\":\"PROCEED\",\"reason\":\"OK\"}}";
+    private final static String OPERATION_RESULT = "{\"resultInfo\":\"Approved\","
+        + "\"interaction\":{\"code\":\"PROCEED\",\"reason\":\"OK\"}}";
+
+    private ListConnection listConnection;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        listConnection = new ListConnection(context);
+        RetryHandler.getInstance().setRetryPolicy(RetryPolicy.createBuilder().
+            setMaxAttempts(3).
+            setInitialBackoff(1).
+            setMaxBackoff(2).
+            build());
+    }
+
+    @After
+    public void tearDown() {
+        HttpTransports.getInstance().setTransport(null);
+        RetryHandler.getInstance().setRetryPolicy(RetryPolicy.createDefault());
+    }
+
+    @Test
+    public void getListResult_servedFromMemory() throws PaymentException {
+        InMemoryTransport transport = install(request -> InMemoryTransport.Response.json(200, LIST_RESULT));
+
+        ListResult result = listConnection.getListResult(LIST_URL);
+        assertEquals("Found", result.getResultInfo());
+
+        InMemoryTransport.Request request = transport.getRequests().get(0);
+        assertEquals("GET", request.method);
+        assertEquals(LIST_URL, request.url.toString());
+        assertEquals("gzip", request.getHeader("Accept-Encoding"));
+        assertEquals(0, transport.getOpenConnections());
+    }
+
+    @Test
+    public void postOperation_receivesRequestBody() throws PaymentException {
+        InMemoryTransport transport = install(request -> InMemoryTransport.Response.json(200, OPERATION_RESULT));
+        PaymentConnection conn = new PaymentConnection(ApplicationProvider.getApplicationContext());
+        Operation operation = new Operation("VISA", "CREDIT_CARD", "CHARGE", TestUtils.createTestURL(LIST_URL + "/charge"));
+
+        OperationResult result = conn.postOperation(operation);
+        assertEquals("Approved", result.getResultInfo());
+
+        InMemoryTransport.Request request = transport.getRequests().get(0);
+        assertEquals("POST", request.method);
+        assertEquals(operation.toJson(), request.getBodyAsString());
+        assertEquals(operation.getIdempotencyKey(), request.getHeader("Idempotency-Key"));
+    }
+
+    @Test
+    public void getListResult_errorResponse_throwsErrorInfo() {
+        install(request -> InMemoryTransport.Response.json(422,
+            "{\"resultInfo\":\"Invalid\",\"interaction\":{\"code\":\"ABORT\",\"reason\":\"CLIENTSIDE_ERROR\"}}"));
+        try {
+            listConnection.getListResult(LIST_URL);
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertFalse(e.getNetworkFailure());
+            assertEquals("Invalid", e.getErrorInfo().getResultInfo());
+        }
+    }
+
+    @Test
+    public void getListResult_injectedFailures_retried() throws PaymentException {
+        InMemoryTransport transport = install(request -> InMemoryTransport.Response.json(200, LIST_RESULT));
+        transport.failNext(2);
+
+        assertEquals("Found", listConnection.getListResult(LIST_URL).getResultInfo());
+        assertEquals(3, transport.getRequests().size());
+        assertEquals(0, transport.getOpenConnections());
+    }
+
+    @Test
+    public void getListResult_failureRate_reproducibleWithSeed() {
+        assertEquals(countFailures(42), countFailures(42));
+    }
+
+    @Test
+    public void getListResult_latencyAndBandwidth_delayResponse() throws PaymentException {
+        StringBuilder padding = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            padding.append(' ');
+        }
+        InMemoryTransport transport = install(request -> InMemoryTransport.Response.json(200, LIST_RESULT + padding));
+        transport.setLatency(100);
+        transport.setBandwidth(20000);
+
+        long start = System.nanoTime();
+        listConnection.getListResult(LIST_URL);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 100ms latency and about 100ms to read 2KB with 20KB/s
+        assertTrue("elapsed: " + elapsed, elapsed >= 180);
+    }
+
+    @Test
+    public void cancel_duringLatency_abortsRequest() throws Exception {
+        InMemoryTransport transport = install(request -> InMemoryTransport.Response.json(200, LIST_RESULT));
+        transport.setLatency(10000);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch finished = new CountDownLatch(1);
+        try {
+            WorkerFuture<ListResult> future = WorkerFuture.submit(executor, () -> {
+                try {
+                    return listConnection.getListResult(LIST_URL);
+                } finally {
+                    finished.countDown();
+                }
+            });
+            while (transport.getRequests().isEmpty()) {
+                Thread.sleep(5);
+            }
+            future.cancel(true);
+            assertTrue(finished.await(5, TimeUnit.SECONDS));
+            assertEquals(1, transport.getRequests().size());
+            assertEquals(0, transport.getOpenConnections());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int countFailures(long seed) {
+        InMemoryTransport transport = install(request -> InMemoryTransport.Response.json(200, LIST_RESULT), seed);
+        RetryHandler.getInstance().setRetryPolicy(RetryPolicy.createNoRetry());
+        transport.setFailureRate(0.5);
+        int failures = 0;
+        for (int i = 0; i < 20; i++) {
+            try {
+                listConnection.getListResult(LIST_URL);
+            } catch (PaymentException e) {
+                assertTrue(e.getNetworkFailure());
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    @Test
+    public void close_transportReplaced_releasedToOpeningTransport() throws Exception {
+        InMemoryTransport opening = install(request -> InMemoryTransport.Response.json(200, LIST_RESULT));
+        HttpURLConnection conn = listConnection.createGetConnection(LIST_URL, "list");
+        assertEquals(1, opening.getOpenConnections());
+
+        InMemoryTransport replacement = install(request -> InMemoryTransport.Response.json(200, LIST_RESULT));
+        listConnection.close(conn);
+        assertEquals(0, opening.getOpenConnections());
+        assertEquals(0, replacement.getOpenConnections());
+    }
+
+    private static InMemoryTransport install(InMemoryTransport.Handler handler) {
+        return install(handler, 0);
+    }
+
+    private static InMemoryTransport install(InMemoryTransport.Handler handler, long seed) {
+        InMemoryTransport transport = new InMemoryTransport(handler, seed);
+        HttpTransports.getInstance().setTransport(transport);
+        return transport;
+    }
+}
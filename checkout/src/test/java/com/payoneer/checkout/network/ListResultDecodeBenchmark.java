@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.payoneer.checkout.model.ListResult;
+import com.payoneer.checkout.test.util.Benchmark;
+
+/**
+ * Benchmark comparing the String based decoding of a large ListResult with the streaming decoding.
+ */
+public class ListResultDecodeBenchmark {
+
+    private final static int NETWORKS = 400;
+    private final static int ACCOUNTS = 200;
+
+    private byte[] content;
+
+    @Before
+    public void setUp() {
+        Benchmark.assumeEnabled();
+        content = createListResultJson(NETWORKS, ACCOUNTS).getBytes(StandardCharsets.UTF_8);
+        System.out.println("ListResult size: " + content.length / 1024 + " KB");
+    }
+
+    @Test
+    public void decodeListResult() throws Exception {
+        BaseConnection conn = new BaseConnection() { };
+        Gson gson = new GsonBuilder().create();
+
+        Benchmark.Result stringResult = new Benchmark("ListResult string decoding", 10, 50).run(() -> {
+            ListResult result = gson.fromJson(readString(new ByteArrayInputStream(content)), ListResult.class);
+            assertEquals(ACCOUNTS, result.getAccounts().size());
+            return result;
+        });
+        Benchmark.Result streamResult = new Benchmark("ListResult streaming decoding", 10, 50).run(() -> {
+            ListResult result = conn.readFromInputStream(new ByteArrayInputStream(content), ListResult.class);
+            assertEquals(ACCOUNTS, result.getAccounts().size());
+            return result;
+        });
+        System.out.println(String.format("Allocation reduced by %d KB/op",
+            (stringResult.allocatedBytes - streamResult.allocatedBytes) / 1024));
+    }
+
+    /**
+     * The previous implementation reading the response into a String before decoding it
+     */
+    private static String readString(InputStream in) throws IOException {
+        try (InputStreamReader ir = new InputStreamReader(in, StandardCharsets.UTF_8);
+            BufferedReader rd = new BufferedReader(ir)) {
+            StringBuilder buf = new StringBuilder();
+            String line;
+            while ((line = rd.readLine()) != null) {
+                buf.append(line);
+            }
+            return buf.toString();
+        }
+    }
+
+    /**
+     * Create a synthetic ListResult json with the given number of networks and accounts
+     *
+     * @param networks number of applicable networks
+     * @param accounts number of registered accounts
+     * @return the ListResult as json String
+     */
+    public static String createListResultJson(int networks, int accounts) {
+        JsonObject root = new JsonObject();
+        root.addProperty("resultInfo", "1 applicable and 0 registered networks are found");
+        root.addProperty("operationType", "CHARGE");
+        root.addProperty("integrationType", "MOBILE_NATIVE");
+        root.add("links", createLinks("https://api.sandbox.oscato.com/pci/v1/5fd9f0e3cc", "self", "lang"));
+
+        JsonObject interaction = new JsonObject();
+        interaction.addProperty("code", "PROCEED");
+        interaction.addProperty("reason", "OK");
+        root.add("interaction", interaction);
+
+        JsonArray applicable = new JsonArray();
+        for (int i = 0; i < networks; i++) {
+            JsonObject network = new JsonObject();
+            network.addProperty("code", "NETWORK" + i);
+            network.addProperty("label", "Network " + i);
+            network.addProperty("method", "CREDIT_CARD");
+            network.addProperty("grouping", "CREDIT_CARD");
+            network.addProperty("registration", "OPTIONAL");
+            network.addProperty("recurrence", "NONE");
+            network.addProperty("redirect", false);
+            network.addProperty("operationType", "CHARGE");
+            network.add("links", createLinks("https://resources.sandbox.oscato.com/network/" + i, "logo", "operation", "lang"));
+            network.add("inputElements", createInputElements());
+            applicable.add(network);
+        }
+        JsonObject networksObject = new JsonObject();
+        networksObject.add("applicable", applicable);
+        root.add("networks", networksObject);
+
+        JsonArray registrations = new JsonArray();
+        for (int i = 0; i < accounts; i++) {
+            JsonObject account = new JsonObject();
+            account.addProperty("code", "VISA");
+            account.addProperty("label", "Visa");
+            account.addProperty("method", "CREDIT_CARD");
+            account.addProperty("operationType", "CHARGE");
+            account.add("links", createLinks("https://api.sandbox.oscato.com/accounts/" + i, "logo", "operation", "self", "lang"));
+            JsonObject mask = new JsonObject();
+            mask.addProperty("displayLabel", "41 *** 1111    12 | 30");
+            mask.addProperty("holderName", "John Doe " + i);
+            mask.addProperty("number", "41 *** 1111");
+            mask.addProperty("expiryMonth", 12);
+            mask.addProperty("expiryYear", 2030);
+            account.add("maskedAccount", mask);
+            account.add("inputElements", createInputElements());
+            registrations.add(account);
+        }
+        root.add("accounts", registrations);
+        return root.toString();
+    }
+
+    private static JsonObject createLinks(String baseUrl, String... names) {
+        JsonObject links = new JsonObject();
+        for (String name : names) {
+            links.addProperty(name, baseUrl + "/" + name);
+        }
+        return links;
+    }
+
+    private static JsonArray createInputElements() {
+        JsonArray elements = new JsonArray();
+        String[][] values = {
+            { "number", "numeric" },
+            { "expiryMonth", "integer" },
+            { "expiryYear", "integer" },
+            { "verificationCode", "integer" },
+            { "holderName", "string" }
+        };
+        for (String[] value : values) {
+            JsonObject element = new JsonObject();
+            element.addProperty("name", value[0]);
+            element.addProperty("type", value[1]);
+            elements.add(element);
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.model.ListResult;
+import com.payoneer.checkout.test.util.Benchmark;
+
+import androidx.test.core.app.ApplicationProvider;
+
+/**
+ * Benchmark loading a large ListResult through the InMemoryTransport with different network profiles.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ListResultLoadBenchmark {
+
+    private final static String LIST_URL = "https://api.test.payoneer.com/pci/v1/lists/1";
+    private final static int NETWORKS = 100;
+    private final static int ACCOUNTS = 50;
+
+    private InMemoryTransport transport;
+    private ListConnection conn;
+
+    @Before
+    public void setUp() {
+        Benchmark.assumeEnabled();
+        String json = ListResultDecodeBenchmark.createListResultJson(NETWORKS, ACCOUNTS);
+        transport = new InMemoryTransport(request -> InMemoryTransport.Response.json(200, json));
+        HttpTransports.getInstance().setTransport(transport);
+        conn = new ListConnection(ApplicationProvider.getApplicationContext());
+    }
+
+    @After
+    public void tearDown() {
+        HttpTransports.getInstance().setTransport(null);
+    }
+
+    @Test
+    public void loadListResult() throws Exception {
+        runProfile("ListResult load, no delays", 0, 0);
+        runProfile("ListResult load, 50ms latency 4G", 50, 2_000_000);
+        runProfile("ListResult load, 300ms latency 3G", 300, 250_000);
+    }
+
+    private void runProfile(String name, long latency, long bandwidth) throws Exception {
+        transport.setLatency(latency);
+        transport.setBandwidth(bandwidth);
+        new Benchmark(name, 2, 10).run(() -> {
+            ListResult result = conn.getListResult(LIST_URL);
+            assertEquals(ACCOUNTS, result.getAccounts().size());
+            return result;
+        });
+    }
+}
@@ -8,11 +8,25 @@
 
 package com.payoneer.checkout.network;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Collections;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
 import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.localization.CachedLocalization;
+import com.payoneer.checkout.test.util.TestHttpServer;
+import com.payoneer.checkout.test.util.TestHttpServer.Request;
+import com.payoneer.checkout.test.util.TestHttpServer.Response;
 
 import android.content.Context;
 import androidx.test.core.app.ApplicationProvider;
@@ -23,6 +37,10 @@ import androidx.test.core.app.ApplicationProvider;
 @RunWith(RobolectricTestRunner.class)
 public class LocalizationConnectionTest {
 
+    private final static String ETAG = "\"5fd9f0e3cc\"";
+    private final static String LAST_MODIFIED = "Wed, 21 Oct 2020 07:28:00 GMT";
+    private final static String LOCALIZATION_JSON = "{\"button.update.label\":\"Update\"}";
+
     /**
      * Gets LocalizationHolder with invalid URL
      */
@@ -32,4 +50,49 @@ public class LocalizationConnectionTest {
         LocalizationConnection conn = new LocalizationConnection(context);
         conn.loadLocalization(null);
     }
+
+    @Test
+    public void loadLocalization_withoutCached_unconditionalRequest() throws PaymentException, IOException {
+        try (TestHttpServer server = createServer()) {
+            Context context = ApplicationProvider.getApplicationContext();
+            LocalizationConnection conn = new LocalizationConnection(context);
+            String url = server.url("/localization");
+            CachedLocalization loaded = conn.loadLocalization(new URL(url), null);
+
+            assertEquals(url, loaded.getUrl());
+            assertEquals(ETAG, loaded.getETag());
+            assertEquals(LAST_MODIFIED, loaded.getLastModified());
+            assertEquals("Update", loaded.getEntries().get("button.update.label"));
+            assertNull(server.getRequests().get(0).getHeader("If-None-Match"));
+        }
+    }
+
+    @Test
+    public void loadLocalization_notModified_returnsCachedEntries() throws PaymentException, IOException {
+        try (TestHttpServer server = createServer()) {
+            Context context = ApplicationProvider.getApplicationContext();
+            LocalizationConnection conn = new LocalizationConnection(context);
+            String url = server.url("/localization");
+            CachedLocalization cached = new CachedLocalization(url, ETAG, LAST_MODIFIED, 0L,
+                Collections.singletonMap("button.update.label", "Cached"));
+            CachedLocalization loaded = conn.loadLocalization(new URL(url), cached);
+
+            Request request = server.getRequests().get(0);
+            assertEquals(ETAG, request.getHeader("If-None-Match"));
+            assertEquals(LAST_MODIFIED, request.getHeader("If-Modified-Since"));
+            assertSame(cached.getEntries(), loaded.getEntries());
+            assertTrue(loaded.getStoredAt() > cached.getStoredAt());
+        }
+    }
+
+    private static TestHttpServer createServer() throws IOException {
+        return new TestHttpServer(request -> {
+            if (ETAG.equals(request.getHeader("If-None-Match"))) {
+                return new Response(HttpURLConnection.HTTP_NOT_MODIFIED, new byte[0]).header("ETag", ETAG);
+            }
+            return Response.json(HttpURLConnection.HTTP_OK, LOCALIZATION_JSON)
+                .header("ETag", ETAG)
+                .header("Last-Modified", LAST_MODIFIED);
+        });
+    }
 }
@@ -8,11 +8,24 @@
 
 package com.payoneer.checkout.network;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.SocketException;
+
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
 import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.form.Operation;
+import com.payoneer.checkout.model.OperationResult;
+import com.payoneer.checkout.test.util.TestHttpServer;
+import com.payoneer.checkout.test.util.TestUtils;
 
 import androidx.test.core.app.ApplicationProvider;
 
@@ -22,6 +35,23 @@ import androidx.test.core.app.ApplicationProvider;
 @RunWith(RobolectricTestRunner.class)
 public class PaymentConnectionTest {
 
+    private final static String CHARGE_URL = "https://api.test.payoneer.com/pci/v1/lists/1/charge";
+    private final static String OPERATION_RESULT = "{\"resultInfo\":\"Approved\",\"interaction\":{\"code\":\"PROCEED\",\"reason\":\"OK\"}}";
+
+    @Before
+    public void setUp() {
+        RetryHandler.getInstance().setRetryPolicy(RetryPolicy.createBuilder().
+            setInitialBackoff(1).
+            setMaxBackoff(10).
+            build());
+    }
+
+    @After
+    public void tearDown() {
+        HttpTransports.getInstance().setTransport(null);
+        RetryHandler.getInstance().setRetryPolicy(RetryPolicy.createDefault());
+    }
+
     /**
      * Post operation invalid data invalid value error.
      *
@@ -32,4 +62,110 @@ public class PaymentConnectionTest {
         PaymentConnection conn = new PaymentConnection(ApplicationProvider.getApplicationContext());
         conn.postOperation(null);
     }
+
+    @Test
+    public void postOperation_sendsIdempotencyKey() throws Exception {
+        try (TestHttpServer server = new TestHttpServer(request -> TestHttpServer.Response.json(200, OPERATION_RESULT))) {
+            Operation operation = createOperation(server);
+            OperationResult result = createPaymentConnection().postOperation(operation);
+
+            assertEquals("Approved", result.getResultInfo());
+            assertEquals(1, server.getRequests().size());
+            assertNotNull(operation.getIdempotencyKey());
+            assertEquals(operation.getIdempotencyKey(), server.getRequests().get(0).getHeader("Idempotency-Key"));
+        }
+    }
+
+    @Test
+    public void postOperation_notSent_retriedWithSameIdempotencyKey() throws Exception {
+        InMemoryTransport transport = new InMemoryTransport(request -> InMemoryTransport.Response.json(200, OPERATION_RESULT));
+        transport.failNext(2);
+        HttpTransports.getInstance().setTransport(transport);
+        Operation operation = new Operation("VISA", "CREDIT_CARD", "CHARGE", TestUtils.createTestURL(CHARGE_URL));
+        OperationResult result = createPaymentConnection().postOperation(operation, 5000);
+
+        assertEquals("Approved", result.getResultInfo());
+        assertEquals(3, transport.getRequests().size());
+        for (InMemoryTransport.Request request : transport.getRequests()) {
+            assertEquals(operation.getIdempotencyKey(), request.getHeader("Idempotency-Key"));
+        }
+    }
+
+    @Test
+    public void postOperation_networkFailureAfterSent_notRetried() throws Exception {
+        InMemoryTransport transport = new InMemoryTransport(request -> {
+            throw new SocketException("Connection reset");
+        });
+        HttpTransports.getInstance().setTransport(transport);
+        Operation operation = new Operation("VISA", "CREDIT_CARD", "CHARGE", TestUtils.createTestURL(CHARGE_URL));
+        try {
+            createPaymentConnection().postOperation(operation, 5000);
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertTrue(e.getNetworkFailure());
+            assertEquals(0, e.getRetryCount());
+        }
+        assertEquals(1, transport.getRequests().size());
+    }
+
+    @Test
+    public void postOperation_retryTimeoutExpired_networkFailure() throws Exception {
+        InMemoryTransport transport = new InMemoryTransport(request -> InMemoryTransport.Response.json(200, OPERATION_RESULT));
+        transport.setFailureRate(1);
+        HttpTransports.getInstance().setTransport(transport);
+        Operation operation = new Operation("VISA", "CREDIT_CARD", "CHARGE", TestUtils.createTestURL(CHARGE_URL));
+        long start = System.currentTimeMillis();
+        try {
+            createPaymentConnection().postOperation(operation, 200);
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertTrue(e.getNetworkFailure());
+            assertTrue(e.getRetryCount() > 0);
+        }
+        assertTrue(System.currentTimeMillis() - start < 5000);
+    }
+
+    @Test
+    public void postOperation_slowResponse_attemptEndsAtRetryTimeout() throws Exception {
+        try (TestHttpServer server = new TestHttpServer(request -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return TestHttpServer.Response.json(200, OPERATION_RESULT);
+        })) {
+            Operation operation = createOperation(server);
+            long start = System.currentTimeMillis();
+            try {
+                createPaymentConnection().postOperation(operation, 500);
+                fail("Expected PaymentException");
+            } catch (PaymentException e) {
+                assertTrue(e.getNetworkFailure());
+            }
+            assertTrue(System.currentTimeMillis() - start < 3000);
+        }
+    }
+
+    @Test
+    public void postOperation_apiError_notRetried() throws Exception {
+        try (TestHttpServer server = new TestHttpServer(request -> TestHttpServer.Response.json(500, "{}"))) {
+            Operation operation = createOperation(server);
+            try {
+                createPaymentConnection().postOperation(operation, 5000);
+                fail("Expected PaymentException");
+            } catch (PaymentException e) {
+                assertEquals(1, server.getRequests().size());
+                assertEquals(0, e.getRetryCount());
+            }
+        }
+    }
+
+    private static PaymentConnection createPaymentConnection() {
+        return new PaymentConnection(ApplicationProvider.getApplicationContext());
+    }
+
+    private static Operation createOperation(TestHttpServer server) {
+        return new Operation("VISA", "CREDIT_CARD", "CHARGE", TestUtils.createTestURL(server.url("/charge")));
+    }
 }
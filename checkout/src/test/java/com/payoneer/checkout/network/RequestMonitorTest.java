@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.form.Operation;
+import com.payoneer.checkout.test.util.TestUtils;
+
+import android.content.Context;
+import androidx.test.core.app.ApplicationProvider;
+
+@RunWith(RobolectricTestRunner.class)
+public class RequestMonitorTest {
+
+    private final static String LIST_URL = "https://api.test.payoneer.com/pci/v1/lists/1";
+    private final static String LIST_RESULT = "{\"resultInfo\":\"Found\",\"operationType\":\"CHARGE\","
+        + "\"interaction\":{\"code\":\"PROCEED\",\"reason\":\"OK\"}}";
+    private final static String OPERATION_RESULT = "{\"resultInfo\":\"Approved\","
+        + "\"interaction\":{\"code\":\"PROCEED\",\"reason\":\"OK\"}}";
+
+    private final List<RequestMetrics> metrics = new CopyOnWriteArrayList<>();
+    private InMemoryTransport transport;
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        transport = new InMemoryTransport(request -> request.method.equals("POST") ?
+            InMemoryTransport.Response.json(200, OPERATION_RESULT) : InMemoryTransport.Response.json(200, LIST_RESULT));
+        HttpTransports.getInstance().setTransport(transport);
+        RequestMonitor.getInstance().setListener(metrics::add);
+        RetryHandler.getInstance().setRetryPolicy(RetryPolicy.createBuilder().
+            setMaxAttempts(3).
+            setInitialBackoff(1).
+            setMaxBackoff(2).
+            build());
+    }
+
+    @After
+    public void tearDown() {
+        RequestMonitor.getInstance().setListener(null);
+        HttpTransports.getInstance().setTransport(null);
+        RetryHandler.getInstance().setRetryPolicy(RetryPolicy.createDefault());
+    }
+
+    @Test
+    public void getListResult_reportsPhases() throws PaymentException {
+        transport.setLatency(50);
+        new ListConnection(context).getListResult(LIST_URL);
+
+        assertEquals(1, metrics.size());
+        RequestMetrics result = metrics.get(0);
+        assertEquals(RequestType.LIST, result.getRequestType());
+        assertEquals("GET", result.getMethod());
+        assertEquals(LIST_URL, result.getUrl());
+        assertEquals(200, result.getStatusCode());
+        assertEquals(0, result.getRetryCount());
+        assertEquals(LIST_RESULT.getBytes(StandardCharsets.UTF_8).length, result.getBytesReceived());
+        assertEquals(0, result.getBytesSent());
+        assertTrue(result.hasResponse());
+        assertTrue(result.getConnectMillis() >= 50);
+        assertTrue(result.getFirstByteMillis() >= 0);
+        assertTrue(result.getDownloadMillis() >= 0);
+        assertTrue(result.getDecodeMillis() >= 0);
+        assertTrue(result.getTotalMillis() >= result.getConnectMillis());
+    }
+
+    @Test
+    public void postOperation_reportsBytesSent() throws PaymentException {
+        Operation operation = new Operation("VISA", "CREDIT_CARD", "CHARGE", TestUtils.createTestURL(LIST_URL + "/charge"));
+        new PaymentConnection(context).postOperation(operation);
+
+        RequestMetrics result = metrics.get(0);
+        assertEquals(RequestType.OPERATION, result.getRequestType());
+        assertEquals("POST", result.getMethod());
+        assertEquals(operation.toJson().getBytes(StandardCharsets.UTF_8).length, result.getBytesSent());
+    }
+
+    @Test
+    public void getListResult_retried_reportsEveryAttempt() throws PaymentException {
+        transport.failNext(1);
+        new ListConnection(context).getListResult(LIST_URL);
+
+        assertEquals(2, metrics.size());
+        RequestMetrics failed = metrics.get(0);
+        assertFalse(failed.hasResponse());
+        assertEquals(0, failed.getRetryCount());
+        assertEquals(-1, failed.getFirstByteMillis());
+        assertEquals(-1, failed.getDownloadMillis());
+
+        RequestMetrics retried = metrics.get(1);
+        assertEquals(200, retried.getStatusCode());
+        assertEquals(1, retried.getRetryCount());
+    }
+
+    @Test
+    public void getListResult_errorResponse_reportsStatusCode() {
+        HttpTransports.getInstance().setTransport(new InMemoryTransport(request ->
+            InMemoryTransport.Response.json(422, "{\"resultInfo\":\"Invalid\"}")));
+        try {
+            new ListConnection(context).getListResult(LIST_URL);
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertEquals(1, metrics.size());
+            assertEquals(422, metrics.get(0).getStatusCode());
+            assertTrue(metrics.get(0).getBytesReceived() > 0);
+        }
+    }
+
+    @Test
+    public void listenerThrows_requestSucceeds() throws PaymentException {
+        RequestMonitor.getInstance().setListener(m -> {
+            throw new IllegalStateException("Listener failed");
+        });
+        assertEquals("Found", new ListConnection(context).getListResult(LIST_URL).getResultInfo());
+    }
+
+    @Test
+    public void noListener_requestsNotTimed() throws PaymentException {
+        RequestMonitor.getInstance().setListener(null);
+        new ListConnection(context).getListResult(LIST_URL);
+        assertTrue(metrics.isEmpty());
+    }
+}
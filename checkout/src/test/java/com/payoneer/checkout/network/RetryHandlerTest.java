@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowSystemClock;
+
+import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.model.ErrorInfo;
+import com.payoneer.checkout.model.Interaction;
+
+import android.content.Context;
+import androidx.test.core.app.ApplicationProvider;
+
+@RunWith(RobolectricTestRunner.class)
+public class RetryHandlerTest {
+
+    private final static String URL = "https://api.example.com/lists/1";
+
+    private RetryHandler handler;
+
+    @Before
+    public void setUp() {
+        handler = RetryHandler.getInstance();
+        handler.setRetryPolicy(RetryPolicy.createBuilder().
+            setMaxAttempts(3).
+            setInitialBackoff(1).
+            setMaxBackoff(2).
+            setFailureThreshold(5).
+            setOpenDuration(1000).
+            build());
+    }
+
+    @After
+    public void tearDown() {
+        handler.setRetryPolicy(RetryPolicy.createDefault());
+    }
+
+    @Test
+    public void execute_networkFailureThenSuccess_returnsResult() throws PaymentException {
+        AtomicInteger attempts = new AtomicInteger();
+        String result = handler.execute(URL, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw networkFailure();
+            }
+            return "result";
+        });
+        assertEquals("result", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void execute_networkFailures_throwsWithRetryCount() {
+        AtomicInteger attempts = new AtomicInteger();
+        try {
+            handler.execute(URL, () -> {
+                attempts.incrementAndGet();
+                throw networkFailure();
+            });
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertEquals(3, attempts.get());
+            assertEquals(2, e.getRetryCount());
+            assertTrue(e.getNetworkFailure());
+            assertTrue(e.getCause() instanceof IOException);
+            assertTrue(e.getMessage().contains("retried 2 times"));
+        }
+    }
+
+    @Test
+    public void execute_apiError_notRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        ErrorInfo errorInfo = new ErrorInfo("Not found", new Interaction("ABORT", "CLIENTSIDE_ERROR"));
+        try {
+            handler.execute(URL, () -> {
+                attempts.incrementAndGet();
+                throw new PaymentException(errorInfo);
+            });
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertEquals(1, attempts.get());
+            assertEquals(0, e.getRetryCount());
+            assertEquals(errorInfo, e.getErrorInfo());
+        }
+    }
+
+    @Test
+    public void execute_interrupted_notRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        try {
+            handler.execute(URL, () -> {
+                attempts.incrementAndGet();
+                Thread.currentThread().interrupt();
+                throw networkFailure();
+            });
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertEquals(1, attempts.get());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void execute_failureThresholdReached_failsFastUntilOpenDurationPassed() throws PaymentException {
+        handler.setRetryPolicy(RetryPolicy.createBuilder().
+            setFailureThreshold(2).
+            setOpenDuration(1000).
+            build());
+        AtomicInteger attempts = new AtomicInteger();
+        RetryHandler.Attempt<String> failing = () -> {
+            attempts.incrementAndGet();
+            throw networkFailure();
+        };
+        assertFails(failing);
+        assertFails(failing);
+        assertTrue(handler.isCircuitOpen(URL));
+
+        assertFails(failing);
+        assertEquals(2, attempts.get());
+
+        // Other hosts are not affected
+        assertEquals("other", handler.execute("https://other.example.com/logo.png", () -> "other"));
+
+        // A single trial request is allowed after the open duration, success closes the circuit
+        ShadowSystemClock.advanceBy(Duration.ofMillis(1000));
+        assertEquals("result", handler.execute(URL, () -> "result"));
+        assertFalse(handler.isCircuitOpen(URL));
+    }
+
+    @Test
+    public void execute_circuitOpen_failsFastWithLastNetworkFailure() {
+        handler.setRetryPolicy(RetryPolicy.createBuilder().
+            setFailureThreshold(1).
+            setOpenDuration(1000).
+            build());
+        IOException failure = new IOException("Connection reset");
+        assertFails(() -> {
+            throw new PaymentException(failure, true);
+        });
+        try {
+            handler.execute(URL, () -> "result");
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertTrue(e.getNetworkFailure());
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    @Test
+    public void executeUntil_circuitOpenForGetRequests_operationNotBlocked() throws PaymentException {
+        handler.setRetryPolicy(RetryPolicy.createBuilder().
+            setFailureThreshold(1).
+            setOpenDuration(1000).
+            build());
+        assertFails(() -> {
+            throw networkFailure();
+        });
+        assertTrue(handler.isCircuitOpen(URL));
+        assertEquals("operation", handler.executeUntil(URL, 0, () -> "operation"));
+
+        // Failing operations do not open the circuit of GET requests
+        handler.reset();
+        IOException failure = new IOException("Connection reset");
+        try {
+            handler.executeUntil(URL, 0, () -> {
+                throw new PaymentException(failure, true);
+            });
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertSame(failure, e.getCause());
+        }
+        assertFalse(handler.isCircuitOpen(URL));
+        assertEquals("result", handler.execute(URL, () -> "result"));
+    }
+
+    @Test
+    public void execute_trialRequestFailed_opensCircuitAgain() {
+        handler.setRetryPolicy(RetryPolicy.createBuilder().
+            setFailureThreshold(1).
+            setOpenDuration(1000).
+            build());
+        AtomicInteger attempts = new AtomicInteger();
+        RetryHandler.Attempt<String> failing = () -> {
+            attempts.incrementAndGet();
+            throw networkFailure();
+        };
+        assertFails(failing);
+        ShadowSystemClock.advanceBy(Duration.ofMillis(1000));
+        assertFails(failing);
+        assertFails(failing);
+        assertEquals(2, attempts.get());
+        assertTrue(handler.isCircuitOpen(URL));
+    }
+
+    @Test
+    public void getBackoff_growsExponentiallyWithJitter() {
+        RetryPolicy policy = RetryPolicy.createBuilder().
+            setInitialBackoff(100).
+            setMaxBackoff(1000).
+            build();
+        Random random = new Random(1);
+        for (int i = 0; i < 100; i++) {
+            assertInRange(policy.getBackoff(1, random), 50, 100);
+            assertInRange(policy.getBackoff(3, random), 200, 400);
+            assertInRange(policy.getBackoff(10, random), 500, 1000);
+        }
+    }
+
+    @Test
+    public void getListResult_connectionRefused_retriedAndFails() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        Context context = ApplicationProvider.getApplicationContext();
+        ListConnection conn = new ListConnection(context);
+        try {
+            conn.getListResult("http://localhost:" + port + "/lists/1");
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertTrue(e.getNetworkFailure());
+            assertEquals(2, e.getRetryCount());
+            assertNull(e.getErrorInfo());
+        }
+    }
+
+    @Test
+    public void executeUntil_notSentFailures_retriedUntilSuccess() throws PaymentException {
+        AtomicInteger attempts = new AtomicInteger();
+        String result = handler.executeUntil(URL, 5000, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new RequestNotSentException(new IOException("Connection refused"));
+            }
+            return "result";
+        });
+        assertEquals("result", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void executeUntil_failureAfterSent_notRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        try {
+            handler.executeUntil(URL, 5000, () -> {
+                attempts.incrementAndGet();
+                throw networkFailure();
+            });
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertEquals(1, attempts.get());
+            assertEquals(0, e.getRetryCount());
+        }
+    }
+
+    @Test
+    public void executeUntil_timeoutCappedAtTimeLeft() throws PaymentException {
+        assertEquals(30000, RetryHandler.getTimeout(30000));
+        int timeout = handler.executeUntil(URL, 1000, () -> RetryHandler.getTimeout(30000));
+        assertInRange(timeout, 1, 1000);
+        assertEquals(30000, RetryHandler.getTimeout(30000));
+    }
+
+    private void assertFails(RetryHandler.Attempt<String> attempt) {
+        try {
+            handler.execute(URL, attempt);
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertTrue(e.getNetworkFailure());
+        }
+    }
+
+    private static void assertInRange(long value, long min, long max) {
+        assertTrue(value + " < " + min, value >= min);
+        assertTrue(value + " > " + max, value <= max);
+    }
+
+    private static PaymentException networkFailure() {
+        return new PaymentException(new IOException("Connection reset"), true);
+    }
+}
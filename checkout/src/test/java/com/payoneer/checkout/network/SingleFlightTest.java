@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.core.WorkerFuture;
+import com.payoneer.checkout.model.ListResult;
+
+import android.content.Context;
+import androidx.test.core.app.ApplicationProvider;
+
+@RunWith(RobolectricTestRunner.class)
+public class SingleFlightTest {
+
+    private final static String KEY = SingleFlight.createKey("GET", "https://api.test.payoneer.com/lists/1");
+    private final static String LIST_URL = "https://api.test.payoneer.com/pci/v1/lists/1";
+    private final static String LIST_RESULT = "{\"resultInfo\":\"Found\",\"operationType\":\"CHARGE\","
+        + "\"interaction\":{\"code\":\"PROCEED\",\"reason\":\"OK\"}}";
+
+    private ExecutorService executor;
+    private SingleFlight singleFlight;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+        singleFlight = SingleFlight.getInstance();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        HttpTransports.getInstance().setTransport(null);
+    }
+
+    @Test
+    public void execute_concurrentCalls_mergedIntoOneRequest() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        SingleFlight.Copier<StringBuilder> copier = value -> new StringBuilder(value);
+
+        Future<StringBuilder> leader = executor.submit(() -> singleFlight.execute(KEY, () -> {
+            runs.incrementAndGet();
+            await(release);
+            return new StringBuilder("result");
+        }, copier));
+        awaitInFlight();
+
+        List<Future<StringBuilder>> followers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            followers.add(executor.submit(() -> singleFlight.execute(KEY, () -> {
+                runs.incrementAndGet();
+                return new StringBuilder("other");
+            }, copier)));
+        }
+        Thread.sleep(50);
+        release.countDown();
+
+        StringBuilder leaderValue = leader.get(5, TimeUnit.SECONDS);
+        for (Future<StringBuilder> follower : followers) {
+            StringBuilder value = follower.get(5, TimeUnit.SECONDS);
+            assertEquals("result", value.toString());
+            assertNotSame(leaderValue, value);
+        }
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void execute_leaderFailed_followersReceiveError() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PaymentException error = new PaymentException("Failed");
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute(KEY, () -> {
+            await(release);
+            throw error;
+        }, null));
+        awaitInFlight();
+        Future<String> follower = executor.submit(() -> singleFlight.execute(KEY, () -> "other", null));
+        Thread.sleep(50);
+        release.countDown();
+
+        assertFailedWith(error, leader);
+        assertFailedWith(error, follower);
+    }
+
+    @Test
+    public void execute_leaderCancelled_followerMakesRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute(KEY, () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PaymentException("Cancelled");
+            }
+            return "leader";
+        }, null));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<String> follower = executor.submit(() -> singleFlight.execute(KEY, () -> "follower", null));
+        Thread.sleep(50);
+        leader.cancel(true);
+
+        assertEquals("follower", follower.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void execute_followerCancelled_stopsWaiting() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.execute(KEY, () -> {
+            await(release);
+            return "leader";
+        }, null));
+        awaitInFlight();
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        WorkerFuture<String> follower = WorkerFuture.submit(executor, () -> {
+            try {
+                return singleFlight.execute(KEY, () -> "follower", null);
+            } finally {
+                stopped.countDown();
+            }
+        });
+        Thread.sleep(50);
+        assertTrue(follower.cancel(true));
+
+        // The follower stops waiting while the leader is still in flight
+        assertTrue(stopped.await(5, TimeUnit.SECONDS));
+        assertTrue(singleFlight.isInFlight(KEY));
+        release.countDown();
+        assertEquals("leader", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void execute_sequentialCalls_notMerged() throws PaymentException {
+        AtomicInteger runs = new AtomicInteger();
+        singleFlight.execute(KEY, runs::incrementAndGet, null);
+        singleFlight.execute(KEY, runs::incrementAndGet, null);
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    public void getListResult_concurrentCalls_singleNetworkRequest() throws Exception {
+        InMemoryTransport transport = new InMemoryTransport(request -> InMemoryTransport.Response.json(200, LIST_RESULT));
+        transport.setLatency(200);
+        HttpTransports.getInstance().setTransport(transport);
+        Context context = ApplicationProvider.getApplicationContext();
+
+        List<Future<ListResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(executor.submit(() -> new ListConnection(context).getListResult(LIST_URL)));
+        }
+        List<ListResult> results = new ArrayList<>();
+        for (Future<ListResult> future : futures) {
+            ListResult result = future.get(5, TimeUnit.SECONDS);
+            assertEquals("Found", result.getResultInfo());
+            for (ListResult other : results) {
+                assertNotSame(other, result);
+            }
+            results.add(result);
+        }
+        assertEquals(1, transport.getRequests().size());
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        for (int i = 0; i < 500 && !singleFlight.isInFlight(KEY); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(singleFlight.isInFlight(KEY));
+    }
+
+    private static void assertFailedWith(Exception expected, Future<?> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertSame(expected, e.getCause());
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
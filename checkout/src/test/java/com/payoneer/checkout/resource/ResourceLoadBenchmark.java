@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.resource;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.regex.Pattern;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.R;
+import com.payoneer.checkout.test.util.Benchmark;
+
+import android.content.res.Resources;
+import androidx.test.core.app.ApplicationProvider;
+
+/**
+ * Benchmark comparing loading the payment groups and validations from the raw json files with
+ * creating them from the tables generated at build time.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ResourceLoadBenchmark {
+
+    private final static String CARD_NUMBER = "4111111111111111";
+
+    @Before
+    public void setUp() {
+        Benchmark.assumeEnabled();
+    }
+
+    @Test
+    public void loadResources() throws Exception {
+        Resources res = ApplicationProvider.getApplicationContext().getResources();
+
+        new Benchmark("Resources json parsing", 20, 200).run(() -> {
+            ResourceLoader.loadPaymentGroups(res, R.raw.groups);
+            return ResourceLoader.loadValidations(res, R.raw.validations);
+        });
+        new Benchmark("Resources generated tables", 20, 200).run(() -> {
+            ResourceTables.createPaymentGroups();
+            return ResourceTables.createValidations();
+        });
+    }
+
+    @Test
+    public void matchRegex() throws Exception {
+        String regex = ResourceTables.createValidations().get("VISA").getValidationRegex("number");
+        Pattern pattern = Pattern.compile(regex);
+
+        new Benchmark("Regex String.matches", 1000, 10000).run(() -> {
+            assertTrue(CARD_NUMBER.matches(regex));
+            return null;
+        });
+        new Benchmark("Regex precompiled Pattern", 1000, 10000).run(() -> {
+            assertTrue(pattern.matcher(CARD_NUMBER).matches());
+            return null;
+        });
+    }
+}
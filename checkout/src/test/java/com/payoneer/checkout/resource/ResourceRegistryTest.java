@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.R;
+import com.payoneer.checkout.core.PaymentException;
+
+import android.content.Context;
+import android.content.res.Resources;
+import androidx.test.core.app.ApplicationProvider;
+
+@RunWith(RobolectricTestRunner.class)
+public class ResourceRegistryTest {
+
+    @Test
+    public void getPaymentGroups_parsedOnce() throws PaymentException {
+        Context context = ApplicationProvider.getApplicationContext();
+        CountingParser parser = new CountingParser();
+        ResourceRegistry registry = new ResourceRegistry(parser);
+
+        Map<String, PaymentGroup> groups = registry.getPaymentGroups(context);
+        assertNotNull(groups.get("VISA"));
+        assertSame(groups, registry.getPaymentGroups(context));
+        assertSame(groups, registry.getPaymentGroups(context));
+        assertEquals(1, parser.groupsCount.get());
+        assertEquals(0, parser.validationsCount.get());
+    }
+
+    @Test
+    public void getValidations_parsedOnce() throws PaymentException {
+        Context context = ApplicationProvider.getApplicationContext();
+        CountingParser parser = new CountingParser();
+        ResourceRegistry registry = new ResourceRegistry(parser);
+
+        Map<String, ValidationGroup> validations = registry.getValidations(context);
+        assertNotNull(validations.get("VISA"));
+        assertSame(validations, registry.getValidations(context));
+        assertEquals(1, parser.validationsCount.get());
+        assertEquals(0, parser.groupsCount.get());
+    }
+
+    @Test
+    public void getResources_concurrentCalls_parsedOnce() throws Exception {
+        Context context = ApplicationProvider.getApplicationContext();
+        CountingParser parser = new CountingParser();
+        ResourceRegistry registry = new ResourceRegistry(parser);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                final boolean groups = i % 2 == 0;
+                futures.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        start.await();
+                        return groups ? registry.getPaymentGroups(context) : registry.getValidations(context);
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Object> future : futures) {
+                assertNotNull(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, parser.groupsCount.get());
+        assertEquals(1, parser.validationsCount.get());
+        assertTrue(registry.isLoaded());
+    }
+
+    @Test
+    public void getPaymentGroups_failure_notMemoized() throws PaymentException {
+        Context context = ApplicationProvider.getApplicationContext();
+        CountingParser parser = new CountingParser();
+        parser.fail = true;
+        ResourceRegistry registry = new ResourceRegistry(parser);
+        try {
+            registry.getPaymentGroups(context);
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertFalse(registry.isLoaded());
+        }
+        parser.fail = false;
+        assertNotNull(registry.getPaymentGroups(context));
+        assertEquals(2, parser.groupsCount.get());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getPaymentGroups_immutable() throws PaymentException {
+        Context context = ApplicationProvider.getApplicationContext();
+        ResourceRegistry registry = new ResourceRegistry(new CountingParser());
+        registry.getPaymentGroups(context).clear();
+    }
+
+    private static class CountingParser implements ResourceRegistry.ResourceParser {
+        final AtomicInteger groupsCount = new AtomicInteger();
+        final AtomicInteger validationsCount = new AtomicInteger();
+        volatile boolean fail;
+
+        @Override
+        public Map<String, PaymentGroup> parsePaymentGroups(Resources res) throws PaymentException {
+            groupsCount.incrementAndGet();
+            if (fail) {
+                throw new PaymentException("Failed to parse payment groups");
+            }
+            return ResourceLoader.loadPaymentGroups(res, R.raw.groups);
+        }
+
+        @Override
+        public Map<String, ValidationGroup> parseValidations(Resources res) throws PaymentException {
+            validationsCount.incrementAndGet();
+            return ResourceLoader.loadValidations(res, R.raw.validations);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.payoneer.checkout.R;
+import com.payoneer.checkout.core.PaymentException;
+
+import android.content.res.Resources;
+import androidx.test.core.app.ApplicationProvider;
+
+/**
+ * Tests verifying that the tables generated at build time contain the same resources as the raw json files
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ResourceTablesTest {
+
+    @Test
+    public void createPaymentGroups_matchesJson() throws PaymentException {
+        Resources res = ApplicationProvider.getApplicationContext().getResources();
+        Map<String, PaymentGroup> expected = ResourceLoader.loadPaymentGroups(res, R.raw.groups);
+        Map<String, PaymentGroup> generated = ResourceTables.createPaymentGroups();
+
+        assertEquals(expected.keySet(), generated.keySet());
+        for (Map.Entry<String, PaymentGroup> entry : expected.entrySet()) {
+            String code = entry.getKey();
+            PaymentGroup group = generated.get(code);
+            assertEquals(entry.getValue().getId(), group.getId());
+            assertEquals(entry.getValue().getSmartSelectionRegex(code), group.getSmartSelectionRegex(code));
+            assertNotNull(group.getSmartSelectionPattern(code));
+        }
+    }
+
+    @Test
+    public void createValidations_matchesJson() throws PaymentException, IOException {
+        Resources res = ApplicationProvider.getApplicationContext().getResources();
+        Map<String, ValidationGroup> expected = ResourceLoader.loadValidations(res, R.raw.validations);
+        Map<String, ValidationGroup> generated = ResourceTables.createValidations();
+        assertEquals(expected.keySet(), generated.keySet());
+
+        JsonArray groups = JsonParser.parseString(ResourceLoader.readRawResource(res, R.raw.validations)).getAsJsonArray();
+        for (JsonElement element : groups) {
+            JsonObject group = element.getAsJsonObject();
+            String code = group.get("code").getAsString();
+            ValidationGroup expectedGroup = expected.get(code);
+            ValidationGroup generatedGroup = generated.get(code);
+            assertEquals(code, generatedGroup.getCode());
+
+            for (JsonElement item : group.getAsJsonArray("items")) {
+                String type = item.getAsJsonObject().get("type").getAsString();
+                assertEquals(expectedGroup.getValidationRegex(type), generatedGroup.getValidationRegex(type));
+                assertEquals(expectedGroup.getMaxLength(type), generatedGroup.getMaxLength(type));
+                assertEquals(expectedGroup.isHidden(type), generatedGroup.isHidden(type));
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.test.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+import org.junit.Assume;
+
+/**
+ * Class with utility functions for running micro benchmarks as unit tests.
+ * Benchmarks are skipped unless the "checkout.benchmark" system property is set to true, i.e.
+ * ./gradlew :checkout:testDebugUnitTest -Pcheckout.benchmark=true --tests '*Benchmark'
+ */
+public final class Benchmark {
+
+    private final static String PROPERTY_BENCHMARK = "checkout.benchmark";
+
+    private final String name;
+    private final int warmups;
+    private final int iterations;
+
+    /**
+     * Construct a new Benchmark
+     *
+     * @param name of the benchmark, used when reporting results
+     * @param warmups number of warmup runs that are not measured
+     * @param iterations number of measured runs
+     */
+    public Benchmark(String name, int warmups, int iterations) {
+        this.name = name;
+        this.warmups = warmups;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Skip the current test if benchmarks have not been enabled
+     */
+    public static void assumeEnabled() {
+        Assume.assumeTrue("Benchmarks are disabled", Boolean.getBoolean(PROPERTY_BENCHMARK));
+    }
+
+    /**
+     * Run the task and measure the average time, allocated bytes and peak heap usage
+     *
+     * @param task to be measured
+     * @return the measured result
+     */
+    public Result run(Callable<?> task) throws Exception {
+        for (int i = 0; i < warmups; i++) {
+            task.call();
+        }
+        System.gc();
+        resetPeakHeap();
+        long baseHeap = getPeakHeap();
+        long allocated = getAllocatedBytes();
+        long start = System.nanoTime();
+
+        for (int i = 0; i < iterations; i++) {
+            task.call();
+        }
+        long time = (System.nanoTime() - start) / iterations;
+        allocated = (getAllocatedBytes() - allocated) / iterations;
+        Result result = new Result(name, time, allocated, getPeakHeap() - baseHeap);
+        System.out.println(result);
+        return result;
+    }
+
+    private static long getAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long getPeakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * Class holding the result of a benchmark run
+     */
+    public static final class Result {
+        public final String name;
+        public final long averageNanos;
+        public final long allocatedBytes;
+        public final long peakHeapBytes;
+
+        Result(String name, long averageNanos, long allocatedBytes, long peakHeapBytes) {
+            this.name = name;
+            this.averageNanos = averageNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.peakHeapBytes = peakHeapBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-40s avg %8.3f ms, allocated %8d KB/op, peak heap %8d KB", name,
+                averageNanos / 1_000_000d, allocatedBytes / 1024, peakHeapBytes / 1024);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.test.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Minimal HTTP/1.1 server used as local stand-in for the Payment API in unit tests.
+ * The server supports keep-alive connections and counts the number of accepted sockets.
+ */
+public final class TestHttpServer implements Closeable {
+
+    private final ServerSocket serverSocket;
+    private final Handler handler;
+    private final AtomicInteger acceptedSockets = new AtomicInteger();
+    private final List<Request> requests = Collections.synchronizedList(new ArrayList<>());
+    private final List<Socket> sockets = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Create and start a new TestHttpServer listening on a free local port
+     *
+     * @param handler responsible for creating the responses
+     */
+    public TestHttpServer(Handler handler) throws IOException {
+        this.handler = handler;
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+
+        Thread thread = new Thread(this::acceptSockets, "TestHttpServer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Get the url for the given path on this server
+     *
+     * @param path of the resource, must start with a slash
+     * @return the url pointing to this server
+     */
+    public String url(String path) {
+        return "http://127.0.0.1:" + serverSocket.getLocalPort() + path;
+    }
+
+    /**
+     * Get the number of sockets accepted by this server
+     *
+     * @return number of accepted sockets
+     */
+    public int getAcceptedSockets() {
+        return acceptedSockets.get();
+    }
+
+    /**
+     * Get the list of requests received by this server
+     *
+     * @return copy of the received requests
+     */
+    public List<Request> getRequests() {
+        synchronized (requests) {
+            return new ArrayList<>(requests);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        synchronized (sockets) {
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+        }
+    }
+
+    private void acceptSockets() {
+        try {
+            while (!serverSocket.isClosed()) {
+                Socket socket = serverSocket.accept();
+                acceptedSockets.incrementAndGet();
+                sockets.add(socket);
+
+                Thread thread = new Thread(() -> serveSocket(socket), "TestHttpServer-socket");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        } catch (IOException e) {
+            // server socket has been closed
+        }
+    }
+
+    private void serveSocket(Socket socket) {
+        try (Socket s = socket;
+            InputStream in = s.getInputStream();
+            OutputStream out = s.getOutputStream()) {
+            Request request;
+            while ((request = readRequest(in)) != null) {
+                requests.add(request);
+                Response response = handler.handle(request);
+                if (response == Response.DISCONNECT) {
+                    // close the socket without sending a response
+                    return;
+                }
+                writeResponse(out, request, response);
+            }
+        } catch (SocketException e) {
+            // socket has been closed by the client or server
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Request readRequest(InputStream in) throws IOException {
+        String requestLine = readLine(in);
+        if (requestLine == null || requestLine.isEmpty()) {
+            return null;
+        }
+        String[] parts = requestLine.split(" ");
+        Map<String, String> headers = new HashMap<>();
+        String line;
+
+        while ((line = readLine(in)) != null && !line.isEmpty()) {
+            int index = line.indexOf(':');
+            headers.put(line.substring(0, index).trim().toLowerCase(Locale.ROOT), line.substring(index + 1).trim());
+        }
+        byte[] body = new byte[0];
+        String length = headers.get("content-length");
+        if (length != null) {
+            body = readBytes(in, Integer.parseInt(length));
+        }
+        return new Request(parts[0], parts[1], headers, body);
+    }
+
+    private void writeResponse(OutputStream out, Request request, Response response) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("HTTP/1.1 ").append(response.code).append(" Status\r\n");
+        for (Map.Entry<String, String> entry : response.headers.entrySet()) {
+            sb.append(entry.getKey()).append(": ").append(entry.getValue()).append("\r\n");
+        }
+        boolean hasBody = !"HEAD".equals(request.method) && response.code != 204 && response.code != 304;
+        if (hasBody) {
+            sb.append("Content-Length: ").append(response.body.length).append("\r\n");
+        }
+        sb.append("\r\n");
+        out.write(sb.toString().getBytes(StandardCharsets.US_ASCII));
+        if (hasBody) {
+            out.write(response.body);
+        }
+        out.flush();
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                return new String(buf.toByteArray(), StandardCharsets.US_ASCII).trim();
+            }
+            buf.write(b);
+        }
+        return buf.size() == 0 ? null : new String(buf.toByteArray(), StandardCharsets.US_ASCII).trim();
+    }
+
+    private static byte[] readBytes(InputStream in, int length) throws IOException {
+        byte[] body = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            int read = in.read(body, offset, length - offset);
+            if (read == -1) {
+                throw new IOException("Unexpected end of request body");
+            }
+            offset += read;
+        }
+        return body;
+    }
+
+    /**
+     * Handler creating responses for the received requests
+     */
+    public interface Handler {
+
+        /**
+         * Create the response for the given request
+         *
+         * @param request received by the server
+         * @return response to be send to the client
+         */
+        Response handle(Request request);
+    }
+
+    /**
+     * Class holding the received request
+     */
+    public static final class Request {
+        public final String method;
+        public final String path;
+        public final Map<String, String> headers;
+        public final byte[] body;
+
+        Request(String method, String path, Map<String, String> headers, byte[] body) {
+            this.method = method;
+            this.path = path;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        /**
+         * Get the value of the request header, header names are case insensitive
+         *
+         * @param name of the header
+         * @return the value or null if not found
+         */
+        public String getHeader(String name) {
+            return headers.get(name.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * Class holding the response send by the server
+     */
+    public static final class Response {
+
+        /** Response closing the connection without sending any data, simulating a network failure */
+        public static final Response DISCONNECT = new Response(0, new byte[0]);
+
+        public final int code;
+        public final Map<String, String> headers = new LinkedHashMap<>();
+        public final byte[] body;
+
+        public Response(int code, byte[] body) {
+            this.code = code;
+            this.body = body;
+        }
+
+        /**
+         * Create a new Response containing Json content
+         *
+         * @param code the HTTP status code
+         * @param json the body of the response
+         * @return newly created response
+         */
+        public static Response json(int code, String json) {
+            Response response = new Response(code, json.getBytes(StandardCharsets.UTF_8));
+            response.headers.put("Content-Type", "application/json;charset=UTF-8");
+            return response;
+        }
+
+        /**
+         * Create a new Response containing gzip compressed Json content
+         *
+         * @param code the HTTP status code
+         * @param json the body of the response before compression
+         * @return newly created response
+         */
+        public static Response gzipJson(int code, String json) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(json.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Response response = new Response(code, out.toByteArray());
+            response.headers.put("Content-Type", "application/json;charset=UTF-8");
+            response.headers.put("Content-Encoding", "gzip");
+            return response;
+        }
+
+        /**
+         * Add a header to this response
+         *
+         * @param name of the header
+         * @param value of the header
+         * @return this response
+         */
+        public Response header(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.list;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.localization.Localization;
+import com.payoneer.checkout.model.ListResult;
+import com.payoneer.checkout.network.ListResultDecodeBenchmark;
+import com.payoneer.checkout.ui.model.PaymentCard;
+import com.payoneer.checkout.ui.model.PaymentSection;
+import com.payoneer.checkout.ui.model.PaymentSession;
+import com.payoneer.checkout.ui.service.PaymentSessionBuilder;
+import com.payoneer.checkout.util.GsonHelper;
+
+@RunWith(RobolectricTestRunner.class)
+public class ListItemDiffTest {
+
+    @Before
+    public void setUp() {
+        Localization.setInstance(new Localization(key -> key, new HashMap<>()));
+    }
+
+    @After
+    public void tearDown() {
+        Localization.setInstance(null);
+    }
+
+    @Test
+    public void findHeaderItem_sameTitleAndMessage_found() {
+        HeaderItem header = new HeaderItem("Accounts", null);
+        List<ListItem> items = createItems(header, new HeaderItem("Networks", null));
+
+        assertEquals(header, ListItemDiff.findHeaderItem(items, "Accounts", null));
+        assertNull(ListItemDiff.findHeaderItem(items, "Accounts", "Message"));
+        assertNull(ListItemDiff.findHeaderItem(items, "Presets", null));
+    }
+
+    @Test
+    public void findPaymentCardItem_unchangedAccount_found() throws Exception {
+        PaymentCardItem item = new PaymentCardItem(getAccountCard(createPaymentSession(1, 2), 1));
+        List<ListItem> items = createItems(new PaymentCardItem(getAccountCard(createPaymentSession(1, 2), 0)), item);
+
+        assertEquals(item, ListItemDiff.findPaymentCardItem(items, getAccountCard(createPaymentSession(1, 2), 1)));
+        assertNull(ListItemDiff.findPaymentCardItem(items, getAccountCard(createPaymentSession(1, 3), 2)));
+    }
+
+    @Test
+    public void findPaymentCardItem_networkCard_notFound() throws Exception {
+        PaymentCard card = getNetworkCard(createPaymentSession(1, 0), 0);
+        List<ListItem> items = createItems(new PaymentCardItem(card));
+
+        assertNull(ListItemDiff.findPaymentCardItem(items, card));
+    }
+
+    @Test
+    public void areItemsTheSame_sameTitleOrCard() throws Exception {
+        List<ListItem> oldItems = createItems(new HeaderItem("Networks", null),
+            new PaymentCardItem(getNetworkCard(createPaymentSession(2, 0), 0)),
+            new PaymentCardItem(getNetworkCard(createPaymentSession(2, 0), 1)));
+        List<ListItem> newItems = createItems(new HeaderItem("Networks", "Message"),
+            new PaymentCardItem(getNetworkCard(createPaymentSession(2, 0), 0)));
+        ListItemDiff diff = new ListItemDiff(oldItems, newItems);
+
+        assertTrue(diff.areItemsTheSame(0, 0));
+        assertFalse(diff.areItemsTheSame(0, 1));
+        assertTrue(diff.areItemsTheSame(1, 1));
+        assertFalse(diff.areItemsTheSame(2, 1));
+    }
+
+    @Test
+    public void areContentsTheSame_onlySameItem() throws Exception {
+        PaymentCardItem item = new PaymentCardItem(getAccountCard(createPaymentSession(0, 1), 0));
+        List<ListItem> oldItems = createItems(item, new PaymentCardItem(getNetworkCard(createPaymentSession(1, 0), 0)));
+        List<ListItem> newItems = createItems(item, new PaymentCardItem(getNetworkCard(createPaymentSession(1, 0), 0)));
+        ListItemDiff diff = new ListItemDiff(oldItems, newItems);
+
+        assertTrue(diff.areContentsTheSame(0, 0));
+        assertFalse(diff.areContentsTheSame(1, 1));
+    }
+
+    /**
+     * Create a PaymentSession containing a section with the saved accounts followed by a section with the networks
+     *
+     * @param networks number of networks
+     * @param accounts number of saved accounts
+     * @return the newly created PaymentSession
+     */
+    static PaymentSession createPaymentSession(int networks, int accounts) throws Exception {
+        String json = ListResultDecodeBenchmark.createListResultJson(networks, accounts);
+        ListResult listResult = GsonHelper.getInstance().fromJson(json, ListResult.class);
+        return new PaymentSessionBuilder()
+            .setListResult(listResult)
+            .setPaymentGroups(new HashMap<>())
+            .build();
+    }
+
+    private static PaymentCard getAccountCard(PaymentSession session, int index) {
+        return getSection(session, 0).getPaymentCards().get(index);
+    }
+
+    private static PaymentCard getNetworkCard(PaymentSession session, int index) {
+        return getSection(session, session.getPaymentSections().size() - 1).getPaymentCards().get(index);
+    }
+
+    private static PaymentSection getSection(PaymentSession session, int index) {
+        return session.getPaymentSections().get(index);
+    }
+
+    private static List<ListItem> createItems(ListItem... items) {
+        return Arrays.asList(items);
+    }
+}
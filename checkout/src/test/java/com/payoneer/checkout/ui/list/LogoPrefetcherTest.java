@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.list;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class LogoPrefetcherTest {
+
+    @Test
+    public void orderByViewport_visibleRangeFirst() {
+        assertEquals(Arrays.asList(3, 4, 5, 6, 7, 2, 1, 0), LogoPrefetcher.orderByViewport(3, 5, 8));
+    }
+
+    @Test
+    public void orderByViewport_anchorPosition() {
+        assertEquals(Arrays.asList(0, 1, 2, 3), LogoPrefetcher.orderByViewport(0, 0, 4));
+        assertEquals(Arrays.asList(2, 3, 1, 0), LogoPrefetcher.orderByViewport(2, 2, 4));
+    }
+
+    @Test
+    public void orderByViewport_rangeOutsideList() {
+        assertEquals(Arrays.asList(0, 1, 2), LogoPrefetcher.orderByViewport(-1, -1, 3));
+        assertEquals(Arrays.asList(1, 0), LogoPrefetcher.orderByViewport(1, 10, 2));
+        assertEquals(Arrays.asList(1, 0), LogoPrefetcher.orderByViewport(5, 10, 2));
+        assertEquals(Collections.emptyList(), LogoPrefetcher.orderByViewport(0, 3, 0));
+    }
+
+    @Test
+    public void createLogoRequests_noPaymentCards_empty() {
+        HeaderItem header = new HeaderItem("title", "message");
+        assertTrue(LogoPrefetcher.createLogoRequests(Collections.singletonList(header), 52, 36, 36, 24).isEmpty());
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.list;
+
+import static com.payoneer.checkout.core.PaymentInputCategory.INPUTELEMENT;
+import static com.payoneer.checkout.core.PaymentInputType.ACCOUNT_NUMBER;
+import static com.payoneer.checkout.core.PaymentInputType.HOLDER_NAME;
+import static com.payoneer.checkout.core.PaymentInputType.VERIFICATION_CODE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.R;
+import com.payoneer.checkout.ui.model.NetworkCard;
+import com.payoneer.checkout.ui.model.PaymentCard;
+import com.payoneer.checkout.ui.widget.CheckboxWidget;
+import com.payoneer.checkout.ui.widget.FormWidget;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.ImageView;
+import android.widget.LinearLayout;
+import androidx.test.core.app.ApplicationProvider;
+
+@RunWith(RobolectricTestRunner.class)
+public class PaymentCardViewHolderTest {
+
+    private final static String HOLDER_NAME_KEY = FormWidget.createWidgetKey(INPUTELEMENT, HOLDER_NAME);
+    private final static String ACCOUNT_NUMBER_KEY = FormWidget.createWidgetKey(INPUTELEMENT, ACCOUNT_NUMBER);
+    private final static String VERIFICATION_CODE_KEY = FormWidget.createWidgetKey(INPUTELEMENT, VERIFICATION_CODE);
+
+    private TestViewHolder holder;
+    private PaymentCard card;
+
+    @Before
+    public void setUp() {
+        holder = new TestViewHolder(createCardView(ApplicationProvider.getApplicationContext()));
+        card = new NetworkCard(null);
+        holder.bind(card);
+    }
+
+    @Test
+    public void onRecycled_inputStatesStored() {
+        enterText(HOLDER_NAME_KEY, "John Doe");
+        holder.onRecycled();
+
+        assertEquals("John Doe", card.getWidgetState(HOLDER_NAME_KEY));
+        assertTrue(card.hasUserInputData());
+    }
+
+    @Test
+    public void onRecycled_sensitiveInputStatesNotStored() {
+        enterText(ACCOUNT_NUMBER_KEY, "4111111111111111");
+        enterText(VERIFICATION_CODE_KEY, "123");
+        holder.onRecycled();
+
+        assertNull(card.getWidgetState(ACCOUNT_NUMBER_KEY));
+        assertNull(card.getWidgetState(VERIFICATION_CODE_KEY));
+        assertFalse(card.hasUserInputData());
+    }
+
+    @Test
+    public void bind_otherCard_sensitiveInputStatesNotStoredAndNotRestored() {
+        enterText(HOLDER_NAME_KEY, "John Doe");
+        enterText(ACCOUNT_NUMBER_KEY, "4111111111111111");
+        holder.bind(new NetworkCard(null));
+
+        assertEquals("John Doe", card.getWidgetState(HOLDER_NAME_KEY));
+        assertNull(card.getWidgetState(ACCOUNT_NUMBER_KEY));
+        assertTrue(card.hasUserInputData());
+
+        holder.bind(card);
+        assertEquals("John Doe", getText(HOLDER_NAME_KEY));
+        assertNull(getText(ACCOUNT_NUMBER_KEY));
+    }
+
+    private void enterText(String key, String text) {
+        FormWidget widget = holder.getFormWidget(key);
+        widget.restoreInputState(text);
+        card.onTextInputChanged(widget.getName(), text);
+    }
+
+    private String getText(String key) {
+        return holder.getFormWidget(key).saveInputState();
+    }
+
+    private static View createCardView(Context context) {
+        FrameLayout view = new FrameLayout(context);
+        LinearLayout formLayout = new LinearLayout(context);
+        formLayout.setId(R.id.layout_form);
+        view.addView(formLayout);
+        ImageView logoView = new ImageView(context);
+        logoView.setId(R.id.image_logo);
+        view.addView(logoView);
+        View headerView = new View(context);
+        headerView.setId(R.id.layout_header);
+        view.addView(headerView);
+        return view;
+    }
+
+    private static class TestViewHolder extends PaymentCardViewHolder {
+
+        TestViewHolder(View parent) {
+            super(new ListAdapter(null, null), parent);
+        }
+
+        @Override
+        void addFormWidgets() {
+            putFormWidget(new TextWidget(HOLDER_NAME));
+            putFormWidget(new TextWidget(ACCOUNT_NUMBER));
+            putFormWidget(new TextWidget(VERIFICATION_CODE));
+        }
+
+        @Override
+        void onBind() {
+        }
+    }
+
+    /**
+     * Widget keeping its text without inflating a layout
+     */
+    private static class TextWidget extends CheckboxWidget {
+
+        private String text;
+
+        TextWidget(String name) {
+            super(INPUTELEMENT, name);
+        }
+
+        @Override
+        public View inflate(ViewGroup parent) {
+            return new View(parent.getContext());
+        }
+
+        @Override
+        public String saveInputState() {
+            return text;
+        }
+
+        @Override
+        public void restoreInputState(String state) {
+            text = state;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.list;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.R;
+import com.payoneer.checkout.model.ListResult;
+import com.payoneer.checkout.network.ListResultDecodeBenchmark;
+import com.payoneer.checkout.test.util.Benchmark;
+import com.payoneer.checkout.ui.model.PaymentCard;
+import com.payoneer.checkout.ui.model.PaymentSession;
+import com.payoneer.checkout.ui.service.PaymentSessionBuilder;
+import com.payoneer.checkout.ui.widget.FormWidget;
+import com.payoneer.checkout.util.GsonHelper;
+
+import android.app.Activity;
+import android.view.View;
+import android.view.ViewGroup;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Benchmark scrolling through a large payment list, the number of created ViewHolders, the number of binds and the
+ * memory used are reported. The created ViewHolders are compared with the number of ViewHolders created when every
+ * item had its own view type. ViewHolders are recycled between cards of the same kind, hence the number of created
+ * ViewHolders should be close to the number of visible cards and not to the number of cards in the list.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PaymentListRecyclingBenchmark {
+
+    private final static int NETWORKS = 200;
+    private final static int ACCOUNTS = 100;
+    private final static int WIDTH = 480;
+    private final static int HEIGHT = 800;
+
+    private PaymentSession session;
+
+    @Before
+    public void setUp() throws Exception {
+        Benchmark.assumeEnabled();
+        String json = ListResultDecodeBenchmark.createListResultJson(NETWORKS, ACCOUNTS);
+        ListResult listResult = GsonHelper.getInstance().fromJson(json, ListResult.class);
+        session = new PaymentSessionBuilder()
+            .setListResult(listResult)
+            .setPaymentGroups(new HashMap<>())
+            .build();
+    }
+
+    @Test
+    public void scrollPaymentList() throws Exception {
+        CountingAdapter[] counter = new CountingAdapter[1];
+
+        Benchmark.Result result = new Benchmark("Scroll payment list", 0, 1).run(() -> {
+            Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+            activity.setTheme(R.style.PaymentTheme);
+            RecyclerView recyclerView = new RecyclerView(activity);
+            PaymentList paymentList = new PaymentList(activity, new EmptyListener(), recyclerView);
+            paymentList.showPaymentSession(session);
+            counter[0] = new CountingAdapter(recyclerView.getAdapter());
+            recyclerView.setAdapter(counter[0]);
+            layout(recyclerView);
+
+            for (int i = 0; i < counter[0].getItemCount(); i++) {
+                recyclerView.scrollBy(0, HEIGHT / 4);
+                layout(recyclerView);
+            }
+            return paymentList;
+        });
+        CountingAdapter adapter = counter[0];
+        int items = adapter.getItemCount();
+        int shown = adapter.boundPositions.size();
+        System.out.println(String.format(Locale.ROOT, "Payment list: %d items, %d items shown, %d binds",
+            items, shown, adapter.binds));
+        System.out.println(String.format(Locale.ROOT,
+            "Payment list: %d ViewHolders created, %d ViewHolders created with one view type per item",
+            adapter.creates, shown));
+        System.out.println(String.format(Locale.ROOT, "Payment list: %d KB peak heap",
+            result.peakHeapBytes / 1024));
+        assertTrue(adapter.creates < shown);
+    }
+
+    private static void layout(RecyclerView recyclerView) {
+        recyclerView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+            View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        recyclerView.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    /**
+     * Adapter delegating to the adapter of the PaymentList and counting the created and bound ViewHolders. When every
+     * item had its own view type, a ViewHolder was created for every shown item, the number of shown items is
+     * therefore the number of ViewHolders created before recycling.
+     */
+    private static class CountingAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+        private final RecyclerView.Adapter<RecyclerView.ViewHolder> adapter;
+        private final Set<Integer> boundPositions = new HashSet<>();
+        private int creates;
+        private int binds;
+
+        @SuppressWarnings("unchecked")
+        CountingAdapter(RecyclerView.Adapter<?> adapter) {
+            this.adapter = (RecyclerView.Adapter<RecyclerView.ViewHolder>) adapter;
+        }
+
+        @Override
+        public @NonNull
+        RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            creates++;
+            return adapter.onCreateViewHolder(parent, viewType);
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+            binds++;
+            boundPositions.add(position);
+            adapter.onBindViewHolder(holder, position);
+        }
+
+        @Override
+        public void onViewRecycled(@NonNull RecyclerView.ViewHolder holder) {
+            adapter.onViewRecycled(holder);
+        }
+
+        @Override
+        public int getItemCount() {
+            return adapter.getItemCount();
+        }
+
+        @Override
+        public int getItemViewType(int position) {
+            return adapter.getItemViewType(position);
+        }
+    }
+
+    private static class EmptyListener implements PaymentListListener {
+
+        @Override
+        public void onActionClicked(PaymentCard paymentCard, Map<String, FormWidget> widgets) {
+        }
+
+        @Override
+        public void onDeleteClicked(PaymentCard paymentCard) {
+        }
+
+        @Override
+        public void onHintClicked(String code, String type) {
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.list;
+
+import static com.payoneer.checkout.ui.list.ListItemDiffTest.createPaymentSession;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.core.PaymentInputType;
+import com.payoneer.checkout.localization.Localization;
+import com.payoneer.checkout.network.HttpTransports;
+import com.payoneer.checkout.network.InMemoryTransport;
+import com.payoneer.checkout.ui.model.PaymentCard;
+import com.payoneer.checkout.ui.model.PaymentSession;
+import com.payoneer.checkout.ui.widget.FormWidget;
+
+import android.app.Activity;
+import androidx.recyclerview.widget.RecyclerView;
+
+@RunWith(RobolectricTestRunner.class)
+public class PaymentListTest {
+
+    private RecyclerView recyclerView;
+    private PaymentList paymentList;
+    private UpdateObserver observer;
+
+    @Before
+    public void setUp() {
+        Localization.setInstance(new Localization(key -> key, new HashMap<>()));
+        // Logos prefetched by the PaymentList are not downloaded from the network
+        InMemoryTransport transport = new InMemoryTransport(request -> new InMemoryTransport.Response(404, new byte[0]));
+        HttpTransports.getInstance().setTransport(transport);
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        recyclerView = new RecyclerView(activity);
+        paymentList = new PaymentList(activity, new EmptyListener(), recyclerView);
+        observer = new UpdateObserver();
+    }
+
+    @After
+    public void tearDown() {
+        paymentList.clear();
+        HttpTransports.getInstance().setTransport(null);
+        Localization.setInstance(null);
+    }
+
+    @Test
+    public void showPaymentSession_revalidatedUnchanged_onlyNetworksChanged() throws Exception {
+        paymentList.showPaymentSession(createPaymentSession(2, 3));
+        recyclerView.getAdapter().registerAdapterDataObserver(observer);
+        paymentList.showPaymentSession(createPaymentSession(2, 3));
+
+        assertEquals(0, observer.inserted);
+        assertEquals(0, observer.removed);
+        assertEquals(2, observer.changed);
+        assertEquals(7, recyclerView.getAdapter().getItemCount());
+    }
+
+    @Test
+    public void showPaymentSession_revalidatedAccountRemoved_accountItemRemoved() throws Exception {
+        paymentList.showPaymentSession(createPaymentSession(2, 3));
+        recyclerView.getAdapter().registerAdapterDataObserver(observer);
+        paymentList.showPaymentSession(createPaymentSession(2, 2));
+
+        assertEquals(0, observer.inserted);
+        assertEquals(1, observer.removed);
+        assertEquals(2, observer.changed);
+        assertEquals(6, recyclerView.getAdapter().getItemCount());
+    }
+
+    @Test
+    public void showPaymentSession_revalidatedAccountAdded_accountItemInserted() throws Exception {
+        paymentList.showPaymentSession(createPaymentSession(2, 2));
+        recyclerView.getAdapter().registerAdapterDataObserver(observer);
+        paymentList.showPaymentSession(createPaymentSession(2, 3));
+
+        assertEquals(1, observer.inserted);
+        assertEquals(0, observer.removed);
+        assertEquals(2, observer.changed);
+        assertEquals(7, recyclerView.getAdapter().getItemCount());
+    }
+
+    @Test
+    public void showPaymentSession_revalidatedAccountRemoved_removedCardReset() throws Exception {
+        PaymentSession session = createPaymentSession(1, 2);
+        PaymentCard removed = session.getPaymentSections().get(0).getPaymentCards().get(1);
+        removed.putWidgetState(PaymentInputType.VERIFICATION_CODE, "123");
+        paymentList.showPaymentSession(session);
+        paymentList.showPaymentSession(createPaymentSession(1, 1));
+
+        assertNull(removed.getWidgetState(PaymentInputType.VERIFICATION_CODE));
+    }
+
+    /**
+     * Observer counting the number of inserted, removed and changed items dispatched to the adapter
+     */
+    private static class UpdateObserver extends RecyclerView.AdapterDataObserver {
+        private int inserted;
+        private int removed;
+        private int changed;
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            inserted += itemCount;
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            removed += itemCount;
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            changed += itemCount;
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+            changed += itemCount;
+        }
+    }
+
+    private static class EmptyListener implements PaymentListListener {
+
+        @Override
+        public void onActionClicked(PaymentCard paymentCard, Map<String, FormWidget> widgets) {
+        }
+
+        @Override
+        public void onDeleteClicked(PaymentCard paymentCard) {
+        }
+
+        @Override
+        public void onHintClicked(String code, String type) {
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.core.PaymentInputType;
+import com.payoneer.checkout.model.PresetAccount;
+
+@RunWith(RobolectricTestRunner.class)
+public class PaymentCardTest {
+
+    @Test
+    public void putWidgetState_inputState_stored() {
+        PaymentCard card = new PresetCard(new PresetAccount(), "button", null);
+        card.putWidgetState(PaymentInputType.HOLDER_NAME, "John Doe");
+        assertEquals("John Doe", card.getWidgetState(PaymentInputType.HOLDER_NAME));
+
+        card.putWidgetState(PaymentInputType.HOLDER_NAME, null);
+        assertNull(card.getWidgetState(PaymentInputType.HOLDER_NAME));
+    }
+
+    @Test
+    public void reset_widgetStatesCleared() {
+        PaymentCard card = new PresetCard(new PresetAccount(), "button", null);
+        card.putWidgetState(PaymentInputType.HOLDER_NAME, "John Doe");
+        card.reset();
+
+        assertNull(card.getWidgetState(PaymentInputType.HOLDER_NAME));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.model.ListResult;
+import com.payoneer.checkout.network.ListResultDecodeBenchmark;
+import com.payoneer.checkout.ui.service.PaymentSessionBuilder;
+import com.payoneer.checkout.util.GsonHelper;
+
+@RunWith(RobolectricTestRunner.class)
+public class PaymentSessionTest {
+
+    @Test
+    public void removePaymentCard_accountRemoved() throws Exception {
+        PaymentSession session = createPaymentSession(2, 2);
+        URL url = new URL("https://api.sandbox.oscato.com/accounts/1/self");
+        PaymentSession removed = session.removePaymentCard(url);
+
+        List<PaymentSection> sections = removed.getPaymentSections();
+        assertEquals(2, sections.size());
+        assertEquals(1, sections.get(0).getPaymentCards().size());
+        assertFalse(sections.get(0).containsLink(PaymentSession.LINK_SELF, url));
+        assertEquals(2, sections.get(1).getPaymentCards().size());
+        assertTrue(session.getPaymentSections().get(0).containsLink(PaymentSession.LINK_SELF, url));
+    }
+
+    @Test
+    public void removePaymentCard_lastAccountRemoved_sectionRemoved() throws Exception {
+        PaymentSession session = createPaymentSession(2, 1);
+        PaymentSession removed = session.removePaymentCard(new URL("https://api.sandbox.oscato.com/accounts/0/self"));
+
+        assertEquals(1, removed.getPaymentSections().size());
+        assertEquals(session.getPaymentSections().get(1), removed.getPaymentSections().get(0));
+    }
+
+    private static PaymentSession createPaymentSession(int networks, int accounts) throws Exception {
+        String json = ListResultDecodeBenchmark.createListResultJson(networks, accounts);
+        ListResult listResult = GsonHelper.getInstance().fromJson(json, ListResult.class);
+        return new PaymentSessionBuilder()
+            .setListResult(listResult)
+            .setPaymentGroups(new HashMap<>())
+            .build();
+    }
+}
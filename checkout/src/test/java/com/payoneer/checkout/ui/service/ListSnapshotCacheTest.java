@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.model.ListResult;
+import com.payoneer.checkout.network.ListResultDecodeBenchmark;
+import com.payoneer.checkout.util.GsonHelper;
+
+import android.content.Context;
+import androidx.test.core.app.ApplicationProvider;
+
+@RunWith(RobolectricTestRunner.class)
+public class ListSnapshotCacheTest {
+
+    private final static String LIST_URL = "https://api.sandbox.oscato.com/pci/v1/lists/1";
+    private final static long MAX_AGE = TimeUnit.HOURS.toMillis(1);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void put_get_sameListResult() throws IOException {
+        ListSnapshotCache cache = new ListSnapshotCache(folder.newFolder(), 4, MAX_AGE);
+        cache.put(LIST_URL, createListResult(2));
+
+        ListResult listResult = cache.get(LIST_URL);
+        assertNotNull(listResult);
+        assertEquals("UPDATE", listResult.getOperationType());
+        assertEquals(2, listResult.getAccounts().size());
+        assertNull(cache.get(LIST_URL + "/other"));
+    }
+
+    @Test
+    public void contains_storedSnapshot() throws IOException {
+        ListSnapshotCache cache = new ListSnapshotCache(folder.newFolder(), 4, MAX_AGE);
+        assertFalse(cache.contains(LIST_URL));
+
+        cache.put(LIST_URL, createListResult(1));
+        assertTrue(cache.contains(LIST_URL));
+        assertFalse(cache.contains(LIST_URL + "/other"));
+
+        cache.remove(LIST_URL);
+        assertFalse(cache.contains(LIST_URL));
+    }
+
+    @Test
+    public void getInstance_returnsSharedInstance() {
+        Context context = ApplicationProvider.getApplicationContext();
+        assertSame(ListSnapshotCache.getInstance(context), ListSnapshotCache.getInstance(context));
+    }
+
+    @Test
+    public void get_expired_returnsNull() throws IOException {
+        ListSnapshotCache cache = new ListSnapshotCache(folder.newFolder(), 4, 0);
+        cache.put(LIST_URL, createListResult(1));
+        assertNull(cache.get(LIST_URL));
+    }
+
+    @Test
+    public void get_corruptedSnapshot_returnsNull() throws IOException {
+        File directory = folder.newFolder();
+        ListSnapshotCache cache = new ListSnapshotCache(directory, 4, MAX_AGE);
+        cache.put(LIST_URL, createListResult(1));
+
+        File[] files = directory.listFiles();
+        assertNotNull(files);
+        assertEquals(1, files.length);
+        try (FileOutputStream out = new FileOutputStream(files[0])) {
+            out.write("{\"listUrl\": [".getBytes(StandardCharsets.UTF_8));
+        }
+        assertNull(cache.get(LIST_URL));
+        assertFalse(files[0].exists());
+    }
+
+    @Test
+    public void put_maxEntriesExceeded_removesLeastRecentlyUsed() throws IOException {
+        File directory = folder.newFolder();
+        ListSnapshotCache cache = new ListSnapshotCache(directory, 2, MAX_AGE);
+        cache.put(LIST_URL + "/1", createListResult(1));
+        directory.listFiles()[0].setLastModified(System.currentTimeMillis() - 10000);
+        cache.put(LIST_URL + "/2", createListResult(1));
+        cache.put(LIST_URL + "/3", createListResult(1));
+
+        assertEquals(2, directory.listFiles().length);
+        assertNull(cache.get(LIST_URL + "/1"));
+        assertNotNull(cache.get(LIST_URL + "/3"));
+    }
+
+    @Test
+    public void remove_snapshotRemoved() throws IOException {
+        ListSnapshotCache cache = new ListSnapshotCache(folder.newFolder(), 4, MAX_AGE);
+        cache.put(LIST_URL, createListResult(1));
+        cache.remove(LIST_URL);
+        assertNull(cache.get(LIST_URL));
+    }
+
+    private static ListResult createListResult(int accounts) {
+        String json = ListResultDecodeBenchmark.createListResultJson(2, accounts).replace("\"CHARGE\"", "\"UPDATE\"");
+        return GsonHelper.getInstance().fromJson(json, ListResult.class);
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.payoneer.checkout.core.Cancellation;
+import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.core.WorkerFuture;
+import com.payoneer.checkout.localization.LocalizationHolder;
+
+public class LocalizationLoaderTest {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void loadAll_emptyUrls() throws PaymentException {
+        LocalizationLoader loader = new LocalizationLoader(executor, 4, 1000);
+        assertTrue(loader.loadAll(new LinkedHashMap<>(), url -> createHolder(url)).isEmpty());
+    }
+
+    @Test
+    public void loadAll_loadsConcurrently() throws Exception {
+        LocalizationLoader loader = new LocalizationLoader(executor, 4, 5000);
+        CountDownLatch started = new CountDownLatch(4);
+
+        // Each load only completes when all four loads are running at the same time
+        Map<String, LocalizationHolder> result = loader.loadAll(createUrls(4), url -> {
+            started.countDown();
+            await(started);
+            return createHolder(url);
+        });
+        assertEquals(4, result.size());
+        assertEquals("https://resources.sandbox.oscato.com/lang/2.json", result.get("NETWORK2").translate("url"));
+    }
+
+    @Test
+    public void loadAll_boundedParallelism() throws Exception {
+        LocalizationLoader loader = new LocalizationLoader(executor, 3, 5000);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+
+        Map<String, LocalizationHolder> result = loader.loadAll(createUrls(20), url -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            sleep(10);
+            active.decrementAndGet();
+            return createHolder(url);
+        });
+        assertEquals(20, result.size());
+        assertTrue(maxActive.get() <= 3);
+        assertTrue(maxActive.get() > 1);
+    }
+
+    @Test
+    public void loadAll_executorRejects_fails() throws Exception {
+        ExecutorService saturated = new ThreadPoolExecutor(0, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+        CountDownLatch blocked = new CountDownLatch(1);
+        saturated.execute(() -> await(blocked));
+        try {
+            LocalizationLoader loader = new LocalizationLoader(saturated, 4, 5000);
+            loader.loadAll(createUrls(5), url -> createHolder(url));
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        } finally {
+            blocked.countDown();
+            saturated.shutdownNow();
+        }
+    }
+
+    @Test
+    public void loadAll_multipleFailures_aggregated() throws Exception {
+        LocalizationLoader loader = new LocalizationLoader(executor, 2, 5000);
+        CountDownLatch started = new CountDownLatch(2);
+        try {
+            loader.loadAll(createUrls(2), url -> {
+                started.countDown();
+                await(started);
+                if (url.getPath().endsWith("0.json")) {
+                    throw new PaymentException(new IOException("Connection reset"), true);
+                }
+                throw new PaymentException("Invalid localization file");
+            });
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertTrue(e.getNetworkFailure());
+            assertEquals(1, e.getSuppressed().length);
+        }
+    }
+
+    @Test
+    public void loadAll_singleFailure_rethrown() throws Exception {
+        LocalizationLoader loader = new LocalizationLoader(executor, 2, 5000);
+        PaymentException failure = new PaymentException("Invalid localization file");
+        try {
+            loader.loadAll(createUrls(6), url -> {
+                if (url.getPath().endsWith("3.json")) {
+                    throw failure;
+                }
+                return createHolder(url);
+            });
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertEquals(failure, e);
+            assertFalse(e.getNetworkFailure());
+        }
+    }
+
+    @Test
+    public void loadAll_deadlineExpired_loadsDisconnected() throws Exception {
+        LocalizationLoader loader = new LocalizationLoader(executor, 2, 200);
+        AtomicInteger started = new AtomicInteger();
+        CountDownLatch disconnected = new CountDownLatch(2);
+        long start = System.currentTimeMillis();
+        try {
+            // Like a blocking socket read, each load only returns once its connection has been disconnected
+            loader.loadAll(createUrls(2), url -> {
+                CountDownLatch connection = new CountDownLatch(1);
+                Cancellation.current().register(connection, () -> {
+                    connection.countDown();
+                    disconnected.countDown();
+                });
+                started.incrementAndGet();
+                awaitUninterruptibly(connection);
+                throw new PaymentException(new IOException("Socket closed"), true);
+            });
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertTrue(e.getNetworkFailure());
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        assertTrue(System.currentTimeMillis() - start < 2000);
+        assertTrue(2 - disconnected.getCount() >= started.get());
+    }
+
+    @Test
+    public void loadAll_callerCancelled_loadsDisconnected() throws Exception {
+        LocalizationLoader loader = new LocalizationLoader(executor, 2, 5000);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch disconnected = new CountDownLatch(2);
+        WorkerFuture<Map<String, LocalizationHolder>> caller = WorkerFuture.submit(executor,
+            () -> loader.loadAll(createUrls(2), url -> {
+                CountDownLatch connection = new CountDownLatch(1);
+                Cancellation.current().register(connection, () -> {
+                    connection.countDown();
+                    disconnected.countDown();
+                });
+                started.countDown();
+                awaitUninterruptibly(connection);
+                throw new PaymentException(new IOException("Socket closed"), true);
+            }));
+        await(started);
+        caller.cancel(true);
+        assertTrue(disconnected.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void loadAll_deadlineExpiredBeforeLoadsStarted_timedOut() throws Exception {
+        LocalizationLoader loader = new LocalizationLoader(executor, 1, 1);
+        try {
+            loader.loadAll(createUrls(2), url -> {
+                sleep(50);
+                return createHolder(url);
+            });
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertTrue(e.getNetworkFailure());
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+    }
+
+    private static Map<String, URL> createUrls(int count) throws MalformedURLException {
+        Map<String, URL> urls = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            urls.put("NETWORK" + i, new URL("https://resources.sandbox.oscato.com/lang/" + i + ".json"));
+        }
+        return urls;
+    }
+
+    private static LocalizationHolder createHolder(URL url) {
+        String value = url.toString();
+        return key -> value;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (latch.getCount() > 0) {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.model.ListResult;
+import com.payoneer.checkout.ui.model.PaymentSession;
+
+@RunWith(RobolectricTestRunner.class)
+public class PaymentSessionPrefetcherTest {
+
+    private final static String LIST_URL = "https://api.sandbox.oscato.com/pci/v1/5fd9f0e3cc";
+    private final static Executor DIRECT = Runnable::run;
+
+    @Test
+    public void take_prefetchedSession_returnsSessionOnce() {
+        PaymentSessionPrefetcher prefetcher = new PaymentSessionPrefetcher(DIRECT, 60000);
+        CountingLoader loader = new CountingLoader();
+        prefetcher.prefetch(LIST_URL, loader);
+
+        assertTrue(prefetcher.isPrefetched(LIST_URL));
+        LoadedPaymentSession loaded = prefetcher.take(LIST_URL);
+        assertSame(loader.loaded, loaded);
+        assertNull(prefetcher.take(LIST_URL));
+        assertFalse(prefetcher.isPrefetched(LIST_URL));
+    }
+
+    @Test
+    public void prefetch_sameListUrl_loadedOnce() {
+        PaymentSessionPrefetcher prefetcher = new PaymentSessionPrefetcher(DIRECT, 60000);
+        CountingLoader loader = new CountingLoader();
+        prefetcher.prefetch(LIST_URL, loader);
+        prefetcher.prefetch(LIST_URL, loader);
+        assertEquals(1, loader.count.get());
+
+        prefetcher.prefetch(LIST_URL + "/other", loader);
+        assertEquals(2, loader.count.get());
+        assertNull(prefetcher.take(LIST_URL));
+    }
+
+    @Test
+    public void take_expiredSession_returnsNull() {
+        PaymentSessionPrefetcher prefetcher = new PaymentSessionPrefetcher(DIRECT, -1);
+        CountingLoader loader = new CountingLoader();
+        prefetcher.prefetch(LIST_URL, loader);
+
+        assertFalse(prefetcher.isPrefetched(LIST_URL));
+        assertNull(prefetcher.take(LIST_URL));
+
+        prefetcher.prefetch(LIST_URL, loader);
+        assertEquals(2, loader.count.get());
+    }
+
+    @Test
+    public void take_failedPrefetch_returnsNull() {
+        PaymentSessionPrefetcher prefetcher = new PaymentSessionPrefetcher(DIRECT, 60000);
+        CountingLoader loader = new CountingLoader();
+        loader.fail = true;
+        prefetcher.prefetch(LIST_URL, loader);
+
+        assertFalse(prefetcher.isPrefetched(LIST_URL));
+        assertNull(prefetcher.take(LIST_URL));
+    }
+
+    @Test
+    public void cancel_prefetchedSession_discarded() {
+        PaymentSessionPrefetcher prefetcher = new PaymentSessionPrefetcher(DIRECT, 60000);
+        prefetcher.prefetch(LIST_URL, new CountingLoader());
+        prefetcher.cancel();
+
+        assertFalse(prefetcher.isPrefetched(LIST_URL));
+        assertNull(prefetcher.take(LIST_URL));
+    }
+
+    @Test
+    public void await_loadingPrefetch_waitsForSession() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            PaymentSessionPrefetcher prefetcher = new PaymentSessionPrefetcher(executor, 60000);
+            CountDownLatch release = new CountDownLatch(1);
+            CountingLoader loader = new CountingLoader();
+            loader.release = release;
+            prefetcher.prefetch(LIST_URL, loader);
+
+            // The prefetch is still loading and must not be taken
+            assertNull(prefetcher.take(LIST_URL));
+            assertTrue(prefetcher.isPrefetched(LIST_URL));
+
+            Future<LoadedPaymentSession> future = executor.submit(() -> prefetcher.await(LIST_URL));
+            release.countDown();
+            LoadedPaymentSession loaded = future.get();
+            assertSame(loader.loaded, loaded);
+            assertNull(prefetcher.await(LIST_URL));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void await_cancelledCaller_keepsPrefetch() {
+        PaymentSessionPrefetcher prefetcher = new PaymentSessionPrefetcher(DIRECT, 60000);
+        CountingLoader loader = new CountingLoader();
+        prefetcher.prefetch(LIST_URL, loader);
+
+        Thread.currentThread().interrupt();
+        try {
+            assertNull(prefetcher.await(LIST_URL));
+        } finally {
+            Thread.interrupted();
+        }
+        assertTrue(prefetcher.isPrefetched(LIST_URL));
+        assertSame(loader.loaded, prefetcher.take(LIST_URL));
+        assertEquals(1, loader.count.get());
+    }
+
+    private static class CountingLoader implements PaymentSessionPrefetcher.Loader {
+        final AtomicInteger count = new AtomicInteger();
+        volatile LoadedPaymentSession loaded;
+        volatile CountDownLatch release;
+        volatile boolean fail;
+
+        @Override
+        public LoadedPaymentSession load(String listUrl) throws PaymentException {
+            count.incrementAndGet();
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new PaymentException("Interrupted", e);
+                }
+            }
+            if (fail) {
+                throw new PaymentException("Failed to load payment session");
+            }
+            PaymentSession session = new PaymentSession(new ListResult(), new ArrayList<>(), true);
+            loaded = new LoadedPaymentSession(session, null);
+            return loaded;
+        }
+    }
+}
@@ -8,14 +8,27 @@
 
 package com.payoneer.checkout.ui.service;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
+import java.net.HttpURLConnection;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
+import com.payoneer.checkout.core.PaymentException;
+import com.payoneer.checkout.localization.Localization;
 import com.payoneer.checkout.model.NetworkOperationType;
+import com.payoneer.checkout.network.ListResultDecodeBenchmark;
+import com.payoneer.checkout.test.util.TestHttpServer;
+import com.payoneer.checkout.test.util.TestHttpServer.Response;
+import com.payoneer.checkout.ui.model.PaymentSession;
+import com.payoneer.checkout.validation.Validator;
 
 import android.content.Context;
 import androidx.test.core.app.ApplicationProvider;
@@ -34,4 +47,83 @@ public class PaymentSessionServiceTest {
         assertFalse(service.isSupportedNetworkOperationType(NetworkOperationType.PAYOUT));
         assertFalse(service.isSupportedNetworkOperationType(null));
     }
+
+    @Test
+    public void asyncLoadPaymentSession_recordsTimings() throws IOException, PaymentException {
+        try (TestHttpServer server = createServer()) {
+            Context context = ApplicationProvider.getApplicationContext();
+            PaymentSessionService service = new PaymentSessionService(context);
+            assertNull(service.getTimings());
+
+            PaymentSession session = service.asyncLoadPaymentSession(server.url("/lists/1"), context);
+            assertNotNull(session);
+            assertEquals(3, session.getListResult().getNetworks().getApplicable().size());
+            assertNotNull(Validator.getInstance());
+            assertEquals("Update", Localization.translate("button.update.label"));
+
+            PaymentSessionTimings timings = service.getTimings();
+            assertNotNull(timings);
+            assertTrue(timings.getTotalMillis() >= timings.getListResultMillis());
+            assertTrue(timings.getTotalMillis() >= timings.getLocalizationsMillis());
+        }
+    }
+
+    @Test(expected = PaymentException.class)
+    public void asyncLoadPaymentSession_listError_throwsPaymentException() throws IOException, PaymentException {
+        try (TestHttpServer server = createServer()) {
+            Context context = ApplicationProvider.getApplicationContext();
+            PaymentSessionService service = new PaymentSessionService(context);
+            service.asyncLoadPaymentSession(server.url("/missing"), context);
+        }
+    }
+
+    @Test
+    public void asyncLoadSnapshotPaymentSession_updateList_loadedWithoutNetwork() throws IOException, PaymentException {
+        Context context = ApplicationProvider.getApplicationContext();
+        PaymentSessionService service = new PaymentSessionService(context);
+        String listUrl;
+        try (TestHttpServer server = createServer(NetworkOperationType.UPDATE)) {
+            listUrl = server.url("/lists/1");
+            service.asyncLoadPaymentSession(listUrl, context);
+        }
+        PaymentSession session = service.asyncLoadSnapshotPaymentSession(listUrl, context);
+        assertEquals(NetworkOperationType.UPDATE, session.getListOperationType());
+        assertEquals(3, session.getListResult().getNetworks().getApplicable().size());
+        assertEquals("Update", Localization.translate("button.update.label"));
+    }
+
+    @Test(expected = PaymentException.class)
+    public void asyncLoadSnapshotPaymentSession_chargeList_noSnapshot() throws IOException, PaymentException {
+        Context context = ApplicationProvider.getApplicationContext();
+        PaymentSessionService service = new PaymentSessionService(context);
+        String listUrl;
+        try (TestHttpServer server = createServer()) {
+            listUrl = server.url("/lists/2");
+            service.asyncLoadPaymentSession(listUrl, context);
+        }
+        service.asyncLoadSnapshotPaymentSession(listUrl, context);
+    }
+
+    private static TestHttpServer createServer() throws IOException {
+        return createServer(NetworkOperationType.CHARGE);
+    }
+
+    private static TestHttpServer createServer(String operationType) throws IOException {
+        String[] baseUrl = new String[1];
+        TestHttpServer server = new TestHttpServer(request -> {
+            if (request.path.startsWith("/missing")) {
+                return Response.json(HttpURLConnection.HTTP_NOT_FOUND, "{\"resultInfo\":\"Not found\"}");
+            }
+            if (request.path.endsWith("/lang")) {
+                return Response.json(HttpURLConnection.HTTP_OK, "{\"button.update.label\":\"Update\"}");
+            }
+            String json = ListResultDecodeBenchmark.createListResultJson(3, 1)
+                .replace("https://api.sandbox.oscato.com", baseUrl[0])
+                .replace("https://resources.sandbox.oscato.com", baseUrl[0])
+                .replace("\"CHARGE\"", "\"" + operationType + "\"");
+            return Response.json(HttpURLConnection.HTTP_OK, json);
+        });
+        baseUrl[0] = server.url("");
+        return server;
+    }
 }
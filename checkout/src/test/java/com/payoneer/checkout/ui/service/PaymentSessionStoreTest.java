@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.ui.service;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowSystemClock;
+
+import com.payoneer.checkout.model.ListResult;
+import com.payoneer.checkout.ui.model.PaymentSession;
+
+@RunWith(RobolectricTestRunner.class)
+public class PaymentSessionStoreTest {
+
+    private final static String LIST_URL = "https://api.sandbox.oscato.com/pci/v1/5fd9f0e3cc";
+    private final static long MAX_AGE = 60000;
+
+    @After
+    public void tearDown() {
+        PaymentSessionStore.getInstance().clear();
+    }
+
+    @Test
+    public void take_matchingVersion_returnsSessionOnce() {
+        PaymentSessionStore store = PaymentSessionStore.getInstance();
+        PaymentSession session = createPaymentSession();
+        long version = store.put(LIST_URL, session);
+
+        assertTrue(version > 0);
+        assertSame(session, store.take(LIST_URL, version, MAX_AGE));
+        assertNull(store.take(LIST_URL, version, MAX_AGE));
+    }
+
+    @Test
+    public void take_replacedSession_returnsNull() {
+        PaymentSessionStore store = PaymentSessionStore.getInstance();
+        long oldVersion = store.put(LIST_URL, createPaymentSession());
+        PaymentSession session = createPaymentSession();
+        long newVersion = store.put(LIST_URL, session);
+
+        assertNotEquals(oldVersion, newVersion);
+        assertNull(store.take(LIST_URL, oldVersion, MAX_AGE));
+        assertSame(session, store.take(LIST_URL, newVersion, MAX_AGE));
+    }
+
+    @Test
+    public void take_unknownListUrlOrVersion_returnsNull() {
+        PaymentSessionStore store = PaymentSessionStore.getInstance();
+        long version = store.put(LIST_URL, createPaymentSession());
+
+        assertNull(store.take(LIST_URL + "/other", version, MAX_AGE));
+        assertNull(store.take(LIST_URL, 0, MAX_AGE));
+    }
+
+    @Test
+    public void take_staleSession_returnsNull() {
+        PaymentSessionStore store = PaymentSessionStore.getInstance();
+        long version = store.put(LIST_URL, createPaymentSession());
+        assertNull(store.take(LIST_URL, version, -1));
+    }
+
+    @Test
+    public void put_expiredSessions_removed() {
+        PaymentSessionStore store = PaymentSessionStore.getInstance();
+        long version = store.put(LIST_URL, createPaymentSession());
+        ShadowSystemClock.advanceBy(Duration.ofMillis(PaymentSessionStore.MAX_AGE + 1));
+
+        store.put(LIST_URL + "/other", createPaymentSession());
+        assertFalse(store.contains(LIST_URL));
+        assertNull(store.take(LIST_URL, version, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void take_olderThanMaxAge_returnsNull() {
+        PaymentSessionStore store = PaymentSessionStore.getInstance();
+        long version = store.put(LIST_URL, createPaymentSession());
+        ShadowSystemClock.advanceBy(Duration.ofMillis(PaymentSessionStore.MAX_AGE + 1));
+        assertNull(store.take(LIST_URL, version, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void remove_storedSession_returnsNull() {
+        PaymentSessionStore store = PaymentSessionStore.getInstance();
+        long version = store.put(LIST_URL, createPaymentSession());
+        store.remove(LIST_URL);
+        assertNull(store.take(LIST_URL, version, MAX_AGE));
+    }
+
+    private static PaymentSession createPaymentSession() {
+        return new PaymentSession(new ListResult(), new ArrayList<>(), true);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import androidx.test.core.app.ApplicationProvider;
+
+@RunWith(RobolectricTestRunner.class)
+public class BitmapDecoderTest {
+
+    private final static String LOGO = "networklogos/visa.png";
+
+    @Test
+    public void calculateSampleSize() {
+        assertEquals(1, BitmapDecoder.calculateSampleSize(156, 96, 0, 0));
+        assertEquals(1, BitmapDecoder.calculateSampleSize(156, 96, 156, 108));
+        assertEquals(1, BitmapDecoder.calculateSampleSize(156, 96, 78, 54));
+        assertEquals(2, BitmapDecoder.calculateSampleSize(156, 96, 52, 36));
+        assertEquals(4, BitmapDecoder.calculateSampleSize(156, 96, 36, 24));
+        assertEquals(2, BitmapDecoder.calculateSampleSize(156, 96, 52, 0));
+        assertEquals(64, BitmapDecoder.calculateSampleSize(156, 96, 1, 1));
+    }
+
+    @Test
+    public void decode_default_fullSize() throws IOException {
+        Bitmap bitmap = decodeLogo(BitmapDecoder.createDefault());
+        assertNotNull(bitmap);
+        assertEquals(156, bitmap.getWidth());
+        assertEquals(96, bitmap.getHeight());
+        assertEquals(Bitmap.Config.ARGB_8888, bitmap.getConfig());
+    }
+
+    @Test
+    public void decode_targetSizeAndConfig_sampledDown() throws IOException {
+        BitmapDecoder decoder = BitmapDecoder.createBuilder()
+            .setTargetSize(52, 36)
+            .setConfig(Bitmap.Config.RGB_565)
+            .build();
+        Bitmap bitmap = decodeLogo(decoder);
+        assertNotNull(bitmap);
+        assertEquals(78, bitmap.getWidth());
+        assertEquals(48, bitmap.getHeight());
+        assertEquals(Bitmap.Config.RGB_565, bitmap.getConfig());
+        assertEquals(78 * 48 * 2, bitmap.getByteCount());
+    }
+
+    @Test
+    public void decode_knownSize_sampledWithoutReadingSize() throws IOException {
+        BitmapDecoder decoder = BitmapDecoder.createBuilder()
+            .setTargetSize(36, 24)
+            .build();
+        Context context = ApplicationProvider.getApplicationContext();
+        Bitmap bitmap;
+        try (InputStream in = context.getAssets().open(LOGO)) {
+            bitmap = decoder.decode(in, 156, 96);
+        }
+        assertNotNull(bitmap);
+        assertEquals(39, bitmap.getWidth());
+        assertEquals(24, bitmap.getHeight());
+    }
+
+    @Test
+    public void getKey_differentTargetSize_differentKey() {
+        BitmapDecoder small = BitmapDecoder.createBuilder().setTargetSize(36, 24).build();
+        BitmapDecoder large = BitmapDecoder.createBuilder().setTargetSize(52, 36).build();
+        assertEquals(small.getKey(), BitmapDecoder.createBuilder().setTargetSize(36, 24).build().getKey());
+        assertNotEquals(small.getKey(), large.getKey());
+    }
+
+    private static Bitmap decodeLogo(BitmapDecoder decoder) throws IOException {
+        Context context = ApplicationProvider.getApplicationContext();
+        try (InputStream in = context.getAssets().open(LOGO)) {
+            return decoder.decode(in);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import android.graphics.Bitmap;
+
+@RunWith(RobolectricTestRunner.class)
+public class BitmapPoolTest {
+
+    @Test
+    public void get_largeEnoughBitmap_reused() {
+        BitmapPool pool = new BitmapPool(BitmapPool.DEFAULT_MAX_SIZE);
+        Bitmap bitmap = Bitmap.createBitmap(156, 96, Bitmap.Config.ARGB_8888);
+        pool.put(bitmap);
+        assertEquals(156 * 96 * 4, pool.size());
+
+        assertSame(bitmap, pool.get(78, 48, Bitmap.Config.ARGB_8888));
+        assertEquals(0, pool.size());
+        assertNull(pool.get(78, 48, Bitmap.Config.ARGB_8888));
+    }
+
+    @Test
+    public void get_tooSmallOrOtherConfig_returnsNull() {
+        BitmapPool pool = new BitmapPool(BitmapPool.DEFAULT_MAX_SIZE);
+        pool.put(Bitmap.createBitmap(78, 48, Bitmap.Config.ARGB_8888));
+
+        assertNull(pool.get(156, 96, Bitmap.Config.ARGB_8888));
+        assertNull(pool.get(78, 48, Bitmap.Config.RGB_565));
+    }
+
+    @Test
+    public void put_immutableOrRecycled_ignored() {
+        BitmapPool pool = new BitmapPool(BitmapPool.DEFAULT_MAX_SIZE);
+        Bitmap mutable = Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888);
+        pool.put(mutable.copy(Bitmap.Config.ARGB_8888, false));
+
+        Bitmap recycled = Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888);
+        recycled.recycle();
+        pool.put(recycled);
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    public void put_maxSizeExceeded_oldestDropped() {
+        BitmapPool pool = new BitmapPool(2 * 100 * 4);
+        Bitmap first = Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888);
+        Bitmap second = Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888);
+        Bitmap third = Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888);
+        pool.put(first);
+        pool.put(second);
+        pool.put(third);
+
+        assertEquals(2 * 100 * 4, pool.size());
+        assertSame(second, pool.get(10, 10, Bitmap.Config.ARGB_8888));
+        assertSame(third, pool.get(10, 10, Bitmap.Config.ARGB_8888));
+    }
+}
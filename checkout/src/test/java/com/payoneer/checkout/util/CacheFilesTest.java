@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class CacheFilesTest {
+
+    private final static String URL = "https://resources.sandbox.oscato.com/resource/network/VISA/logo.png";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void getFile_hashedUrl() throws IOException {
+        File directory = folder.newFolder();
+        File file = CacheFiles.getFile(directory, URL, ".img");
+        assertEquals(directory, file.getParentFile());
+        assertEquals(CacheFiles.hash(URL) + ".img", file.getName());
+        assertEquals(40, CacheFiles.hash(URL).length());
+        assertNotEquals(CacheFiles.hash(URL), CacheFiles.hash(URL + "/other"));
+    }
+
+    @Test
+    public void write_createsDirectoryAndRemovesTempFile() throws IOException {
+        File directory = new File(folder.getRoot(), "cache");
+        File file = CacheFiles.getFile(directory, URL, ".img");
+
+        assertTrue(CacheFiles.write(file, out -> out.write(new byte[] { 1, 2, 3 })));
+        assertArrayEquals(new byte[] { 1, 2, 3 }, Files.readAllBytes(file.toPath()));
+        assertEquals(1, directory.listFiles().length);
+    }
+
+    @Test
+    public void write_failed_keepsPreviousFile() throws IOException {
+        File file = CacheFiles.getFile(folder.newFolder(), URL, ".img");
+        assertTrue(CacheFiles.write(file, out -> out.write(new byte[] { 1 })));
+
+        assertFalse(CacheFiles.write(file, out -> {
+            out.write(new byte[] { 2 });
+            throw new IOException("Disk full");
+        }));
+        assertArrayEquals(new byte[] { 1 }, Files.readAllBytes(file.toPath()));
+        assertEquals(1, file.getParentFile().listFiles().length);
+    }
+
+    @Test
+    public void trimToCount_oldestFilesRemoved() throws IOException {
+        File directory = folder.newFolder();
+        File[] files = new File[3];
+        for (int i = 0; i < files.length; i++) {
+            files[i] = CacheFiles.getFile(directory, URL + i, ".img");
+            assertTrue(CacheFiles.write(files[i], out -> out.write(new byte[] { 1 })));
+            assertTrue(files[i].setLastModified(1000L * (i + 1)));
+        }
+        CacheFiles.trimToCount(directory, 2);
+        assertFalse(files[0].exists());
+        assertTrue(files[1].exists());
+        assertTrue(files[2].exists());
+
+        CacheFiles.trimToSize(directory, 1);
+        assertFalse(files[1].exists());
+        assertTrue(files[2].exists());
+
+        CacheFiles.deleteFiles(directory);
+        assertEquals(0, directory.listFiles().length);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.test.util.Benchmark;
+
+import android.content.Context;
+import android.content.res.AssetManager;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import androidx.test.core.app.ApplicationProvider;
+
+/**
+ * Benchmark comparing decoding all bundled network logos at full size with decoding them sampled down to the size of
+ * the logo views, with and without the size of the logos from the NetworkLogoIndex. Besides the time, the number of
+ * bytes held by the decoded Bitmaps and the number of bytes of the bundled logo assets are reported.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class LogoDecodeBenchmark {
+
+    /** Size in pixels of the small logo view, 36x24dp on a mdpi screen */
+    private final static int LOGO_WIDTH = 36;
+    private final static int LOGO_HEIGHT = 24;
+
+    private final List<BundledLogo> bundledLogos = new ArrayList<>();
+    private final List<byte[]> logos = new ArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        Benchmark.assumeEnabled();
+        AssetManager assets = ApplicationProvider.<Context>getApplicationContext().getAssets();
+        for (BundledLogo logo : NetworkLogoIndex.createBundledLogos().values()) {
+            bundledLogos.add(logo);
+            try (InputStream in = assets.open(logo.fileName)) {
+                byte[] data = new byte[in.available()];
+                int read = 0;
+                while (read < data.length) {
+                    read += in.read(data, read, data.length - read);
+                }
+                logos.add(data);
+            }
+        }
+    }
+
+    @Test
+    public void decodeLogos() throws Exception {
+        long assetBytes = 0;
+        for (byte[] data : logos) {
+            assetBytes += data.length;
+        }
+        System.out.println(String.format(Locale.ROOT, "Bundled logo assets: %d logos, %d bytes, %d bytes/logo",
+            logos.size(), assetBytes, assetBytes / logos.size()));
+
+        Benchmark.Result full = new Benchmark("Logos full size ARGB_8888", 2, 10).run(this::decodeAllFullSize);
+        report(full, decodeAllFullSize());
+
+        BitmapDecoder sampled = BitmapDecoder.createBuilder()
+            .setTargetSize(LOGO_WIDTH, LOGO_HEIGHT)
+            .build();
+        report(new Benchmark("Logos sampled ARGB_8888", 2, 10).run(() -> decodeAll(sampled)), decodeAll(sampled));
+        report(new Benchmark("Logos sampled with indexed size", 2, 10).run(() -> decodeAllIndexed(sampled)),
+            decodeAllIndexed(sampled));
+
+        BitmapDecoder sampled565 = BitmapDecoder.createBuilder()
+            .setTargetSize(LOGO_WIDTH, LOGO_HEIGHT)
+            .setConfig(Bitmap.Config.RGB_565)
+            .build();
+        report(new Benchmark("Logos sampled RGB_565", 2, 10).run(() -> decodeAll(sampled565)), decodeAll(sampled565));
+    }
+
+    private List<Bitmap> decodeAllFullSize() {
+        List<Bitmap> bitmaps = new ArrayList<>();
+        for (byte[] data : logos) {
+            bitmaps.add(BitmapFactory.decodeByteArray(data, 0, data.length));
+        }
+        return bitmaps;
+    }
+
+    private List<Bitmap> decodeAll(BitmapDecoder decoder) {
+        List<Bitmap> bitmaps = new ArrayList<>();
+        for (byte[] data : logos) {
+            bitmaps.add(decoder.decode(data));
+        }
+        return bitmaps;
+    }
+
+    private List<Bitmap> decodeAllIndexed(BitmapDecoder decoder) {
+        List<Bitmap> bitmaps = new ArrayList<>();
+        for (int i = 0; i < logos.size(); i++) {
+            BundledLogo logo = bundledLogos.get(i);
+            bitmaps.add(decoder.decode(logos.get(i), logo.width, logo.height));
+        }
+        return bitmaps;
+    }
+
+    private void report(Benchmark.Result result, List<Bitmap> bitmaps) {
+        long bytes = 0;
+        for (Bitmap bitmap : bitmaps) {
+            bytes += bitmap.getByteCount();
+        }
+        System.out.println(String.format(Locale.ROOT, "%-40s %d logos, %8.1f us/logo, %6d bitmap bytes/logo", result.name,
+            bitmaps.size(), result.averageNanos / 1000d / bitmaps.size(), bytes / bitmaps.size()));
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class LogoDiskCacheTest {
+
+    private final static String URL = "https://resources.sandbox.oscato.com/resource/network/VISA/logo.png";
+    private final static long TIME_TO_LIVE = TimeUnit.HOURS.toMillis(1);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void put_get_sameData() throws IOException {
+        LogoDiskCache cache = new LogoDiskCache(folder.newFolder(), 1024, TIME_TO_LIVE);
+        assertNull(cache.get(URL));
+        cache.put(URL, new byte[] { 1, 2, 3 });
+
+        assertArrayEquals(new byte[] { 1, 2, 3 }, cache.get(URL));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void get_expired_returnsNull() throws IOException {
+        File directory = folder.newFolder();
+        LogoDiskCache cache = new LogoDiskCache(directory, 1024, TIME_TO_LIVE);
+        cache.put(URL, new byte[] { 1, 2, 3 });
+        File[] files = directory.listFiles();
+        assertNotNull(files);
+        files[0].setLastModified(System.currentTimeMillis() - TIME_TO_LIVE - 1000);
+
+        assertNull(cache.get(URL));
+        assertEquals(0, directory.listFiles().length);
+    }
+
+    @Test
+    public void put_maxSizeExceeded_oldestRemoved() throws IOException {
+        File directory = folder.newFolder();
+        LogoDiskCache cache = new LogoDiskCache(directory, 200, TIME_TO_LIVE);
+        cache.put(URL + "/1", new byte[100]);
+        directory.listFiles()[0].setLastModified(System.currentTimeMillis() - 10000);
+        cache.put(URL + "/2", new byte[100]);
+        cache.put(URL + "/3", new byte[100]);
+
+        assertNull(cache.get(URL + "/1"));
+        assertNotNull(cache.get(URL + "/2"));
+        assertNotNull(cache.get(URL + "/3"));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import com.payoneer.checkout.R;
+
+import android.content.Context;
+import android.content.res.AssetManager;
+import android.graphics.BitmapFactory;
+import androidx.test.core.app.ApplicationProvider;
+
+@RunWith(RobolectricTestRunner.class)
+public class NetworkLogoIndexTest {
+
+    @Test
+    public void createBundledLogos_allLogosIndexed() throws IOException {
+        Map<String, BundledLogo> logos = NetworkLogoIndex.createBundledLogos();
+        AssetManager assets = ApplicationProvider.<Context>getApplicationContext().getAssets();
+
+        assertEquals(NetworkLogoIndex.LOGO_COUNT, logos.size());
+        assertEquals(NetworkLogoIndex.LOGO_COUNT, assets.list("networklogos").length);
+        assertNotNull(logos.get("networklogos/visa.png"));
+    }
+
+    @Test
+    public void createBundledLogos_allMappedLogosIndexed() {
+        Map<String, BundledLogo> logos = NetworkLogoIndex.createBundledLogos();
+        String[] items = ApplicationProvider.<Context>getApplicationContext().getResources()
+            .getStringArray(R.array.networklogos);
+
+        for (String item : items) {
+            String[] values = item.split(",");
+            assertNotNull(item, logos.get("networklogos/" + values[1]));
+        }
+        assertTrue(Arrays.asList(items).contains("PAYOLUTION.images,payolution.images.png"));
+    }
+
+    @Test
+    public void createBundledLogos_sizeMatchesAsset() throws IOException {
+        AssetManager assets = ApplicationProvider.<Context>getApplicationContext().getAssets();
+
+        for (Map.Entry<String, BundledLogo> entry : NetworkLogoIndex.createBundledLogos().entrySet()) {
+            BundledLogo logo = entry.getValue();
+            assertEquals(entry.getKey(), logo.fileName);
+
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inJustDecodeBounds = true;
+            try (InputStream in = assets.open(logo.fileName)) {
+                BitmapFactory.decodeStream(in, null, options);
+            }
+            assertEquals(logo.fileName, logo.width, options.outWidth);
+            assertEquals(logo.fileName, logo.height, options.outHeight);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2021 Payoneer Germany GmbH
+ * https://www.payoneer.com
+ *
+ * This file is open source and available under the MIT license.
+ * See the LICENSE file for more information.
+ */
+
+package com.payoneer.checkout.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import com.payoneer.checkout.network.HttpTransports;
+import com.payoneer.checkout.network.InMemoryTransport;
+
+import android.app.Activity;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.drawable.BitmapDrawable;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.ImageView;
+import androidx.test.core.app.ApplicationProvider;
+
+@RunWith(RobolectricTestRunner.class)
+public class NetworkLogoLoaderTest {
+
+    private final static String LOGO_URL = "https://resources.sandbox.oscato.com/resource/network/UNKNOWN/logo.png";
+
+    private Context context;
+    private NetworkLogoLoader loader;
+    private InMemoryTransport transport;
+
+    @Before
+    public void setUp() throws IOException {
+        context = ApplicationProvider.getApplicationContext();
+        loader = NetworkLogoLoader.getInstance();
+        loader.clearCaches();
+
+        byte[] logo;
+        try (InputStream in = context.getAssets().open("networklogos/visa.png")) {
+            logo = readAll(in);
+        }
+        transport = new InMemoryTransport(request -> new InMemoryTransport.Response(200, logo));
+        HttpTransports.getInstance().setTransport(transport);
+    }
+
+    @After
+    public void tearDown() {
+        HttpTransports.getInstance().setTransport(null);
+        loader.clearCaches();
+    }
+
+    @Test
+    public void loadNetworkLogo_shownAgain_memoryHit() throws Exception {
+        ImageView first = createImageView(52, 36);
+        NetworkLogoLoader.loadNetworkLogo(first, "VISA", new URL(LOGO_URL));
+        Bitmap bitmap = awaitBitmap(first);
+
+        ImageView second = createImageView(52, 36);
+        NetworkLogoLoader.loadNetworkLogo(second, "VISA", new URL(LOGO_URL));
+        assertSame(bitmap, getBitmap(second));
+
+        LogoCacheStats stats = loader.getCacheStats();
+        assertEquals(1, stats.getMemoryHits());
+        assertEquals(1, stats.getMemoryMisses());
+        assertEquals(0, transport.getRequests().size());
+    }
+
+    @Test
+    public void loadNetworkLogo_remoteLogo_downloadedOnce() throws Exception {
+        ImageView large = createImageView(52, 36);
+        NetworkLogoLoader.loadNetworkLogo(large, "UNKNOWN", new URL(LOGO_URL));
+        awaitBitmap(large);
+
+        // A view of another size misses the memory cache but finds the encoded logo on disk
+        ImageView small = createImageView(36, 24);
+        NetworkLogoLoader.loadNetworkLogo(small, "UNKNOWN", new URL(LOGO_URL));
+        awaitBitmap(small);
+
+        LogoCacheStats stats = loader.getCacheStats();
+        assertEquals(2, stats.getMemoryMisses());
+        assertEquals(1, stats.getDiskMisses());
+        assertEquals(1, stats.getDiskHits());
+        assertEquals(1, transport.getRequests().size());
+    }
+
+    @Test
+    public void loadNetworkLogo_viewRebound_previousRequestCancelled() throws Exception {
+        transport.setLatency(200);
+        ImageView view = createImageView(52, 36);
+        NetworkLogoLoader.loadNetworkLogo(view, "UNKNOWN", new URL(LOGO_URL));
+        NetworkLogoLoader.loadNetworkLogo(view, "VISA", new URL(LOGO_URL));
+        Bitmap bitmap = awaitBitmap(view);
+
+        // The result of the cancelled remote logo request must not replace the logo shown by the view
+        for (int i = 0; i < 40; i++) {
+            ShadowLooper.idleMainLooper();
+            Thread.sleep(10);
+        }
+        assertSame(bitmap, getBitmap(view));
+    }
+
+    @Test
+    public void loadNetworkLogo_sameLogoInFlight_loadedOnce() throws Exception {
+        transport.setLatency(100);
+        ImageView first = createImageView(52, 36);
+        ImageView second = createImageView(52, 36);
+        NetworkLogoLoader.loadNetworkLogo(first, "UNKNOWN", new URL(LOGO_URL));
+        NetworkLogoLoader.loadNetworkLogo(second, "UNKNOWN", new URL(LOGO_URL));
+
+        Bitmap bitmap = awaitBitmap(first);
+        assertSame(bitmap, awaitBitmap(second));
+        assertEquals(1, loader.getCacheStats().getDiskMisses());
+        assertEquals(1, transport.getRequests().size());
+    }
+
+    @Test
+    public void cancelNetworkLogo_pendingRequest_notShown() throws Exception {
+        transport.setLatency(100);
+        ImageView view = createImageView(52, 36);
+        NetworkLogoLoader.loadNetworkLogo(view, "UNKNOWN", new URL(LOGO_URL));
+        NetworkLogoLoader.cancelNetworkLogo(view);
+
+        for (int i = 0; i < 30; i++) {
+            ShadowLooper.idleMainLooper();
+            Thread.sleep(10);
+        }
+        assertNull(getBitmap(view));
+    }
+
+    @Test
+    public void loadNetworkLogo_detachedAndAttachedAgain_loadRestarted() throws Exception {
+        transport.setLatency(100);
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        FrameLayout parent = new FrameLayout(activity);
+        activity.setContentView(parent);
+        ImageView view = createImageView(52, 36);
+        parent.addView(view);
+
+        NetworkLogoLoader.loadNetworkLogo(view, "UNKNOWN", new URL(LOGO_URL));
+        parent.removeView(view);
+        for (int i = 0; i < 30; i++) {
+            ShadowLooper.idleMainLooper();
+            Thread.sleep(10);
+        }
+        assertNull(getBitmap(view));
+
+        parent.addView(view);
+        awaitBitmap(view);
+    }
+
+    @Test
+    public void prefetchNetworkLogos_shownWithoutLoading() throws Exception {
+        URL url = new URL(LOGO_URL);
+        int count = NetworkLogoLoader.prefetchNetworkLogos(context, Arrays.asList(
+            new LogoRequest("VISA", url, 52, 36), new LogoRequest("UNKNOWN", url, 52, 36)), 1024 * 1024).get();
+        assertEquals(2, count);
+
+        ImageView visa = createImageView(52, 36);
+        ImageView unknown = createImageView(52, 36);
+        NetworkLogoLoader.loadNetworkLogo(visa, "VISA", url);
+        NetworkLogoLoader.loadNetworkLogo(unknown, "UNKNOWN", url);
+        assertNotNull(getBitmap(visa));
+        assertNotNull(getBitmap(unknown));
+
+        LogoCacheStats stats = loader.getCacheStats();
+        assertEquals(2, stats.getMemoryHits());
+        assertEquals(0, stats.getMemoryMisses());
+        assertEquals(1, transport.getRequests().size());
+    }
+
+    @Test
+    public void prefetchNetworkLogos_downloadBudgetUsed_remainingLogosSkipped() throws Exception {
+        List<LogoRequest> requests = Arrays.asList(
+            new LogoRequest("UNKNOWN", new URL(LOGO_URL), 52, 36),
+            new LogoRequest("OTHER", new URL(LOGO_URL.replace("UNKNOWN", "OTHER")), 52, 36),
+            new LogoRequest("MASTERCARD", new URL(LOGO_URL.replace("UNKNOWN", "MASTERCARD")), 52, 36));
+
+        // The first download uses up the budget, bundled logos are still prefetched
+        int count = NetworkLogoLoader.prefetchNetworkLogos(context, requests, 1).get();
+        assertEquals(2, count);
+        assertEquals(1, transport.getRequests().size());
+        assertEquals(LOGO_URL, transport.getRequests().get(0).url.toString());
+    }
+
+    private ImageView createImageView(int width, int height) {
+        ImageView view = new ImageView(context);
+        view.setLayoutParams(new ViewGroup.LayoutParams(width, height));
+        return view;
+    }
+
+    private static Bitmap awaitBitmap(ImageView view) throws InterruptedException {
+        for (int i = 0; i < 500 && getBitmap(view) == null; i++) {
+            ShadowLooper.idleMainLooper();
+            Thread.sleep(10);
+        }
+        Bitmap bitmap = getBitmap(view);
+        assertNotNull(bitmap);
+        return bitmap;
+    }
+
+    private static Bitmap getBitmap(ImageView view) {
+        return view.getDrawable() instanceof BitmapDrawable ? ((BitmapDrawable) view.getDrawable()).getBitmap() : null;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        byte[] data = new byte[in.available()];
+        int read = 0;
+        while (read < data.length) {
+            read += in.read(data, read, data.length - read);
+        }
+        return data;
+    }
+}